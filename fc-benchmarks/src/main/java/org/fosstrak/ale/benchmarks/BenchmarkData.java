@@ -0,0 +1,176 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.fosstrak.ale.server.Tag;
+import org.fosstrak.ale.util.ECReportSetEnum;
+import org.fosstrak.ale.xsd.ale.epcglobal.ECFilterSpec;
+import org.fosstrak.ale.xsd.ale.epcglobal.ECGroupSpec;
+import org.fosstrak.ale.xsd.ale.epcglobal.ECReportOutputSpec;
+import org.fosstrak.ale.xsd.ale.epcglobal.ECReportSetSpec;
+import org.fosstrak.ale.xsd.ale.epcglobal.ECReportSpec;
+
+/**
+ * creates the tag populations and report specs the benchmarks run on. all 
+ * tags are SGTIN-96 tags with company prefix length 7. the tags are spread 
+ * round robin over <code>groupCount</code> company prefixes, so a group 
+ * pattern on the company prefix yields <code>groupCount</code> groups. 
+ * filter pattern <code>i</code> includes the tags of company prefix 
+ * <code>i</code>.
+ * 
+ * @author agent
+ *
+ */
+public final class BenchmarkData {
+	
+	/** the name of the reader delivering the benchmark tags. */
+	public static final String READER = "BenchmarkReader";
+	
+	/** the first company prefix. */
+	public static final int COMPANY_PREFIX = 37000;
+	
+	/** the item reference of all the tags. */
+	public static final int ITEM_REFERENCE = 30241;
+	
+	/** the filter value of all the tags. */
+	public static final int FILTER = 3;
+	
+	/** the group pattern grouping the tags by company prefix. */
+	public static final String GROUP_BY_COMPANY = "urn:epc:pat:sgtin-96:*.X.*.*";
+	
+	private BenchmarkData() {
+	}
+	
+	/**
+	 * create a population of SGTIN-96 tags.
+	 * @param tagCount the number of tags.
+	 * @param groupCount the number of company prefixes the tags are spread over.
+	 * @param firstSerial the serial number of the first tag. populations with 
+	 * overlapping serial ranges share tags (used for additions and deletions).
+	 * @return the tags.
+	 */
+	public static List<Tag> createTags(int tagCount, int groupCount, long firstSerial) {
+		List<Tag> tags = new ArrayList<Tag>(tagCount);
+		for (int i=0; i<tagCount; i++) {
+			long serial = firstSerial + i;
+			int company = COMPANY_PREFIX + (int) (serial % groupCount);
+			Tag tag = new Tag(READER);
+			tag.setTagAsBinary(createBinary(company, serial));
+			tag.setTagIDAsPureURI(String.format("urn:epc:tag:sgtin-96:%d.%07d.%06d.%d", FILTER, company, ITEM_REFERENCE, serial));
+			tag.setTagLength("96");
+			tag.setFilter("" + FILTER);
+			tag.setCompanyPrefixLength("7");
+			tag.setTimestamp(System.currentTimeMillis());
+			tags.add(tag);
+		}
+		return tags;
+	}
+	
+	/**
+	 * the binary representation of an SGTIN-96 tag.
+	 * @param company the company prefix.
+	 * @param serial the serial number.
+	 * @return the binary string.
+	 */
+	public static String createBinary(int company, long serial) {
+		return toBinary(48, 8) + toBinary(FILTER, 3) + toBinary(5, 3) + toBinary(company, 24) + toBinary(ITEM_REFERENCE, 20) + toBinary(serial, 38);
+	}
+	
+	/**
+	 * create the filter patterns. pattern <code>i</code> matches the tags of 
+	 * company prefix <code>i</code>.
+	 * @param patternCount the number of patterns.
+	 * @return the patterns.
+	 */
+	public static List<String> createFilterPatterns(int patternCount) {
+		List<String> patterns = new ArrayList<String>(patternCount);
+		for (int i=0; i<patternCount; i++) {
+			patterns.add(String.format("urn:epc:pat:sgtin-96:%d.%07d.*.*", FILTER, COMPANY_PREFIX + i));
+		}
+		return patterns;
+	}
+	
+	/**
+	 * create disjoint group patterns. pattern <code>i</code> groups the tags 
+	 * of company prefix <code>i</code> by serial number.
+	 * @param patternCount the number of patterns.
+	 * @return the patterns.
+	 */
+	public static List<String> createGroupPatterns(int patternCount) {
+		List<String> patterns = new ArrayList<String>(patternCount);
+		for (int i=0; i<patternCount; i++) {
+			patterns.add(String.format("urn:epc:pat:sgtin-96:*.%07d.*.X", COMPANY_PREFIX + i));
+		}
+		return patterns;
+	}
+	
+	/**
+	 * create a report spec filtering with <code>patternCount</code> include 
+	 * patterns and grouping by company prefix.
+	 * @param reportSet CURRENT, ADDITIONS or DELETIONS.
+	 * @param patternCount the number of include patterns, 0 for no filter.
+	 * @return the report spec.
+	 */
+	public static ECReportSpec createReportSpec(ECReportSetEnum reportSet, int patternCount) {
+		ECReportSpec reportSpec = new ECReportSpec();
+		reportSpec.setReportName(reportSet.name().toLowerCase());
+		reportSpec.setReportIfEmpty(true);
+		
+		ECReportSetSpec reportSetSpec = new ECReportSetSpec();
+		reportSetSpec.setSet(reportSet.name());
+		reportSpec.setReportSet(reportSetSpec);
+		
+		if (patternCount > 0) {
+			ECFilterSpec filterSpec = new ECFilterSpec();
+			filterSpec.setIncludePatterns(new ECFilterSpec.IncludePatterns());
+			filterSpec.getIncludePatterns().getIncludePattern().addAll(createFilterPatterns(patternCount));
+			filterSpec.setExcludePatterns(new ECFilterSpec.ExcludePatterns());
+			reportSpec.setFilterSpec(filterSpec);
+		}
+		
+		ECGroupSpec groupSpec = new ECGroupSpec();
+		groupSpec.getPattern().add(GROUP_BY_COMPANY);
+		reportSpec.setGroupSpec(groupSpec);
+		
+		ECReportOutputSpec output = new ECReportOutputSpec();
+		output.setIncludeEPC(true);
+		output.setIncludeTag(true);
+		output.setIncludeCount(true);
+		reportSpec.setOutput(output);
+		return reportSpec;
+	}
+	
+	/**
+	 * @param value the value.
+	 * @param bits the number of bits.
+	 * @return the value as binary string left padded with zeros.
+	 */
+	public static String toBinary(long value, int bits) {
+		StringBuilder binary = new StringBuilder(Long.toBinaryString(value));
+		while (binary.length() < bits) {
+			binary.insert(0, '0');
+		}
+		return binary.toString();
+	}
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.benchmarks;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Observable;
+import java.util.Set;
+
+import org.fosstrak.ale.server.EventCycle;
+import org.fosstrak.ale.server.Tag;
+import org.fosstrak.ale.xsd.ale.epcglobal.ECReport;
+import org.fosstrak.ale.xsd.ale.epcglobal.ECReportSpec;
+
+/**
+ * an event cycle that only holds the tags of the current and the last 
+ * cycle. used to evaluate reports without readers, threads or spring.
+ * 
+ * @author agent
+ *
+ */
+public class BenchmarkEventCycle implements EventCycle {
+	
+	/** the tags of the current event cycle. */
+	private final Set<Tag> tags;
+	
+	/** the tags of the last event cycle. */
+	private final Set<Tag> lastEventCycleTags;
+	
+	/**
+	 * @param tags the tags of the current event cycle.
+	 * @param lastEventCycleTags the tags of the last event cycle.
+	 */
+	public BenchmarkEventCycle(Set<Tag> tags, Set<Tag> lastEventCycleTags) {
+		this.tags = tags;
+		this.lastEventCycleTags = lastEventCycleTags;
+	}
+
+	@Override
+	public void addTag(Tag tag) {
+		tags.add(tag);
+	}
+
+	@Override
+	public void update(Observable o, Object arg) {
+		if (arg instanceof Tag) {
+			addTag((Tag) arg);
+		}
+	}
+
+	@Override
+	public void stop() {
+	}
+
+	@Override
+	public String getName() {
+		return "BenchmarkEventCycle";
+	}
+
+	@Override
+	public boolean isTerminated() {
+		return false;
+	}
+
+	@Override
+	public boolean awaitTermination(long timeoutMillis) {
+		return false;
+	}
+
+	@Override
+	public void launch() {
+	}
+
+	@Override
+	public Set<Tag> getLastEventCycleTags() {
+		return lastEventCycleTags;
+	}
+
+	@Override
+	public Set<Tag> getTags() {
+		return tags;
+	}
+
+	@Override
+	public int getRounds() {
+		return 1;
+	}
+
+	@Override
+	public void join() throws InterruptedException {
+	}
+
+	@Override
+	public ECReportSpec getReportSpecByName(String name) {
+		return null;
+	}
+
+	@Override
+	public Map<String, ECReport> getLastReports() {
+		return Collections.emptyMap();
+	}
+}
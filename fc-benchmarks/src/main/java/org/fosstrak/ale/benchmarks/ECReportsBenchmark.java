@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.benchmarks;
+
+import java.io.CharArrayWriter;
+import java.util.GregorianCalendar;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.datatype.DatatypeFactory;
+
+import org.fosstrak.ale.server.Report;
+import org.fosstrak.ale.server.Tag;
+import org.fosstrak.ale.server.impl.TagTable;
+import org.fosstrak.ale.server.util.ECReportsHelper;
+import org.fosstrak.ale.util.ECReportSetEnum;
+import org.fosstrak.ale.util.SerializerUtil;
+import org.fosstrak.ale.xsd.ale.epcglobal.ECReport;
+import org.fosstrak.ale.xsd.ale.epcglobal.ECReportSpec;
+import org.fosstrak.ale.xsd.ale.epcglobal.ECReports;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * compares and serializes the reports of an event cycle. the reports are 
+ * CURRENT reports filtered with <code>patternCount</code> include patterns 
+ * and grouped by company prefix (<code>groupCount</code> groups). the 
+ * comparison runs on two equal reports, the worst case for 
+ * reportOnlyOnChange.
+ * 
+ * @author agent
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ECReportsBenchmark {
+	
+	/** the number of tags. */
+	@Param({"100", "1000", "10000"})
+	private int tagCount;
+	
+	/** the number of include patterns. */
+	@Param({"1", "10"})
+	private int patternCount;
+	
+	/** the number of company prefixes the tags are spread over. */
+	@Param({"1", "10", "100"})
+	private int groupCount;
+	
+	/** the report spec. */
+	private ECReportSpec reportSpec;
+	
+	/** the report of the current event cycle. */
+	private ECReport newReport;
+	
+	/** an equal report of the last event cycle. */
+	private ECReport oldReport;
+	
+	/** the reports of the event cycle. */
+	private ECReports ecReports;
+	
+	/** the helper comparing the reports. */
+	private final ECReportsHelper ecReportsHelper = new ECReportsHelper();
+	
+	/** the writer the reports are serialized to (reused). */
+	private final CharArrayWriter writer = new CharArrayWriter();
+	
+	@Setup
+	public void setup() throws Exception {
+		Set<Tag> tags = new TagTable();
+		tags.addAll(BenchmarkData.createTags(tagCount, groupCount, 1));
+		BenchmarkEventCycle eventCycle = new BenchmarkEventCycle(tags, new TagTable());
+		reportSpec = BenchmarkData.createReportSpec(ECReportSetEnum.CURRENT, patternCount);
+		Report report = new Report(reportSpec, eventCycle);
+		newReport = report.getECReport();
+		oldReport = report.getECReport();
+		
+		ecReports = new ECReports();
+		ecReports.setSpecName("BenchmarkSpec");
+		ecReports.setALEID("ETHZ-ALE");
+		ecReports.setDate(DatatypeFactory.newInstance().newXMLGregorianCalendar(new GregorianCalendar()));
+		ecReports.setTotalMilliseconds(1000);
+		ecReports.setInitiationCondition("REQUESTED");
+		ecReports.setTerminationCondition("DURATION");
+		ecReports.setReports(new ECReports.Reports());
+		ecReports.getReports().getReport().add(newReport);
+	}
+	
+	@Benchmark
+	public boolean areReportsEqual() {
+		return ecReportsHelper.areReportsEqual(reportSpec, newReport, oldReport);
+	}
+	
+	@Benchmark
+	public int serializeECReports() throws Exception {
+		writer.reset();
+		SerializerUtil.serializeECReports(ecReports, writer);
+		return writer.size();
+	}
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.fosstrak.ale.server.Pattern;
+import org.fosstrak.ale.server.PatternUsage;
+import org.fosstrak.ale.server.Tag;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * matches a tag population against filter and group patterns the way 
+ * {@link org.fosstrak.ale.server.Report} does: a tag is a member if any 
+ * include pattern matches, the group is taken from the first pattern 
+ * returning a group name. the score is the time for the whole population.
+ * 
+ * @author agent
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PatternBenchmark {
+	
+	/** the number of tags. */
+	@Param({"100", "1000", "10000"})
+	private int tagCount;
+	
+	/** the number of filter and group patterns. */
+	@Param({"1", "10"})
+	private int patternCount;
+	
+	/** the number of company prefixes the tags are spread over. */
+	@Param({"1", "10", "100"})
+	private int groupCount;
+	
+	/** the pure URIs of the tags. */
+	private String[] tagURIs;
+	
+	/** the filter patterns. */
+	private Pattern[] filterPatterns;
+	
+	/** the group patterns. */
+	private Pattern[] groupPatterns;
+	
+	@Setup
+	public void setup() throws Exception {
+		List<Tag> tags = BenchmarkData.createTags(tagCount, groupCount, 1);
+		tagURIs = new String[tags.size()];
+		for (int i=0; i<tagURIs.length; i++) {
+			tagURIs[i] = tags.get(i).getTagIDAsPureURI();
+		}
+		filterPatterns = createPatterns(BenchmarkData.createFilterPatterns(patternCount), PatternUsage.FILTER);
+		groupPatterns = createPatterns(BenchmarkData.createGroupPatterns(patternCount), PatternUsage.GROUP);
+	}
+	
+	@Benchmark
+	public int isMember() throws Exception {
+		int members = 0;
+		for (String tagURI : tagURIs) {
+			for (Pattern pattern : filterPatterns) {
+				if (pattern.isMember(tagURI)) {
+					members++;
+					break;
+				}
+			}
+		}
+		return members;
+	}
+	
+	@Benchmark
+	public void getGroupName(Blackhole blackhole) throws Exception {
+		for (String tagURI : tagURIs) {
+			for (Pattern pattern : groupPatterns) {
+				String groupName = pattern.getGroupName(tagURI);
+				if (null != groupName) {
+					blackhole.consume(groupName);
+					break;
+				}
+			}
+		}
+	}
+	
+	private Pattern[] createPatterns(List<String> patterns, PatternUsage usage) throws Exception {
+		Pattern[] result = new Pattern[patterns.size()];
+		for (int i=0; i<result.length; i++) {
+			result[i] = new Pattern(patterns.get(i), usage);
+		}
+		return result;
+	}
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.benchmarks;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.fosstrak.ale.server.Report;
+import org.fosstrak.ale.server.Tag;
+import org.fosstrak.ale.server.impl.TagTable;
+import org.fosstrak.ale.util.ECReportSetEnum;
+import org.fosstrak.ale.xsd.ale.epcglobal.ECReport;
+import org.fosstrak.ale.xsd.ale.epcglobal.ECReportSpec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * evaluates a report over an event cycle. the last event cycle shares half 
+ * of its tags with the current one, so ADDITIONS and DELETIONS both report 
+ * half of the population. the report filters with <code>patternCount</code> 
+ * include patterns and groups by company prefix (<code>groupCount</code> 
+ * groups).
+ * 
+ * @author agent
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReportBenchmark {
+	
+	/** the number of tags per event cycle. */
+	@Param({"100", "1000", "10000"})
+	private int tagCount;
+	
+	/** the number of include patterns. */
+	@Param({"1", "10"})
+	private int patternCount;
+	
+	/** the number of company prefixes the tags are spread over. */
+	@Param({"1", "10", "100"})
+	private int groupCount;
+	
+	/** the report set. */
+	@Param({"CURRENT", "ADDITIONS", "DELETIONS"})
+	private ECReportSetEnum reportSet;
+	
+	/** the tags of the current event cycle. */
+	private List<Tag> tags;
+	
+	/** the report spec. */
+	private ECReportSpec reportSpec;
+	
+	/** the event cycle the report is evaluated on. */
+	private BenchmarkEventCycle eventCycle;
+	
+	/** the report (reset by every evaluation). */
+	private Report report;
+	
+	@Setup
+	public void setup() throws Exception {
+		tags = BenchmarkData.createTags(tagCount, groupCount, 1);
+		Set<Tag> current = new TagTable();
+		current.addAll(tags);
+		Set<Tag> last = new TagTable();
+		last.addAll(BenchmarkData.createTags(tagCount, groupCount, 1 + tagCount / 2));
+		
+		reportSpec = BenchmarkData.createReportSpec(reportSet, patternCount);
+		eventCycle = new BenchmarkEventCycle(current, last);
+		report = new Report(reportSpec, eventCycle);
+	}
+	
+	/**
+	 * a new report for every invocation of {@link ReportBenchmark#addTag(EmptyReport)}, 
+	 * as the groups of a report only grow until it is evaluated.
+	 */
+	@State(Scope.Thread)
+	public static class EmptyReport {
+		
+		/** the report. */
+		private Report report;
+		
+		@Setup(Level.Invocation)
+		public void setup(ReportBenchmark benchmark) throws Exception {
+			report = new Report(benchmark.reportSpec, benchmark.eventCycle);
+		}
+	}
+	
+	@Benchmark
+	public Report addTag(EmptyReport empty) throws Exception {
+		Report report = empty.report;
+		for (Tag tag : tags) {
+			report.addTag(tag);
+		}
+		return report;
+	}
+	
+	@Benchmark
+	public ECReport getECReport() throws Exception {
+		return report.getECReport();
+	}
+}
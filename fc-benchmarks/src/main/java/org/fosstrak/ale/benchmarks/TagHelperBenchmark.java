@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.fosstrak.ale.server.Tag;
+import org.fosstrak.ale.server.util.TagHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * decodes the binary representation of a tag population to pure identity 
+ * URIs through the TDT engine. the score is the time for the whole 
+ * population.
+ * 
+ * @author agent
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TagHelperBenchmark {
+	
+	/** the number of tags. */
+	@Param({"100", "1000", "10000"})
+	private int tagCount;
+	
+	/** the number of company prefixes the tags are spread over. */
+	@Param({"1", "10", "100"})
+	private int groupCount;
+	
+	/** the binary representation of the tags. */
+	private String[] binaries;
+	
+	@Setup
+	public void setup() {
+		List<Tag> tags = BenchmarkData.createTags(tagCount, groupCount, 1);
+		binaries = new String[tags.size()];
+		for (int i=0; i<binaries.length; i++) {
+			binaries[i] = tags.get(i).getTagAsBinary();
+		}
+		// load the TDT schemes outside of the measurement.
+		TagHelper.getTDTEngine();
+	}
+	
+	@Benchmark
+	public void convertToPureIdentity(Blackhole blackhole) {
+		for (String binary : binaries) {
+			blackhole.consume(TagHelper.convert_to_PURE_IDENTITY("96", null, null, binary));
+		}
+	}
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.benchmarks;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.fosstrak.ale.server.Tag;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * collects tags in a {@link HashSet} the way an event cycle sees them: every 
+ * tag is read twice, the second read is an equal but not identical tag, so 
+ * {@link Tag#hashCode()} and {@link Tag#equals(Object)} are both exercised. 
+ * the score is the time for the whole population.
+ * 
+ * @author agent
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TagSetBenchmark {
+	
+	/** the number of distinct tags. */
+	@Param({"100", "1000", "10000"})
+	private int tagCount;
+	
+	/** the number of company prefixes the tags are spread over. */
+	@Param({"1", "10", "100"})
+	private int groupCount;
+	
+	/** every tag followed later by an equal copy. */
+	private List<Tag> reads;
+	
+	/** the set holding the distinct tags. */
+	private Set<Tag> tagSet;
+	
+	@Setup
+	public void setup() {
+		List<Tag> tags = BenchmarkData.createTags(tagCount, groupCount, 1);
+		reads = new ArrayList<Tag>(2 * tags.size());
+		reads.addAll(tags);
+		reads.addAll(BenchmarkData.createTags(tagCount, groupCount, 1));
+		tagSet = new HashSet<Tag>(tags);
+	}
+	
+	@Benchmark
+	public Set<Tag> add() {
+		Set<Tag> set = new HashSet<Tag>();
+		for (Tag tag : reads) {
+			set.add(tag);
+		}
+		return set;
+	}
+	
+	@Benchmark
+	public int contains() {
+		int found = 0;
+		for (Tag tag : reads) {
+			if (tagSet.contains(tag)) {
+				found++;
+			}
+		}
+		return found;
+	}
+}
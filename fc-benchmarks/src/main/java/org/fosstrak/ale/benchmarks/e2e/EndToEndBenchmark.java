@@ -0,0 +1,399 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.benchmarks.e2e;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.log4j.Logger;
+import org.fosstrak.ale.benchmarks.BenchmarkData;
+import org.fosstrak.ale.server.ALE;
+import org.fosstrak.ale.server.ALEApplicationContext;
+import org.fosstrak.ale.server.ALESettings;
+import org.fosstrak.ale.server.persistence.type.PersistenceConfig;
+import org.fosstrak.ale.server.readers.LogicalReader;
+import org.fosstrak.ale.server.readers.LogicalReaderManager;
+import org.fosstrak.ale.server.readers.test.TestAdaptor;
+import org.fosstrak.ale.util.ECReportSetEnum;
+import org.fosstrak.ale.util.ECTimeUnit;
+import org.fosstrak.ale.xsd.ale.epcglobal.ECBoundarySpec;
+import org.fosstrak.ale.xsd.ale.epcglobal.ECFilterSpec;
+import org.fosstrak.ale.xsd.ale.epcglobal.ECGroupSpec;
+import org.fosstrak.ale.xsd.ale.epcglobal.ECReportOutputSpec;
+import org.fosstrak.ale.xsd.ale.epcglobal.ECReportSetSpec;
+import org.fosstrak.ale.xsd.ale.epcglobal.ECReportSpec;
+import org.fosstrak.ale.xsd.ale.epcglobal.ECSpec;
+import org.fosstrak.ale.xsd.ale.epcglobal.ECTime;
+import org.fosstrak.ale.xsd.ale.epcglobal.LRProperty;
+import org.fosstrak.ale.xsd.ale.epcglobal.LRSpec;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+
+/**
+ * headless end-to-end benchmark of the ALE. the ALE is started in-process 
+ * (the beans of the server without the web service endpoints, see 
+ * <code>e2e-context.xml</code>) with N {@link TestAdaptor} readers running 
+ * a synthetic workload and M ECSpecs reading from all the readers. every 
+ * ECSpec is subscribed to local TCP, HTTP and file sinks. after the warmup 
+ * the benchmark measures:
+ * <ul>
+ * <li>the sustained reads per second delivered by the readers.</li>
+ * <li>the reports and reported tags per second received by the sinks.</li>
+ * <li>the latency percentiles from the close of an event cycle to the 
+ * delivery of its reports, per sink and overall.</li>
+ * <li>the garbage collections and the allocation rate of the JVM.</li>
+ * </ul>
+ * the results are written as JSON, so the runs can be compared across 
+ * commits. see {@link EndToEndConfig} for the configuration.
+ * 
+ * @author agent
+ *
+ */
+public class EndToEndBenchmark {
+	
+	static {
+		// before the first logger: the configuration of the server logs to the servlet container.
+		if (null == System.getProperty("log4j.configuration")) {
+			System.setProperty("log4j.configuration", "e2e-log4j.xml");
+		}
+	}
+	
+	/** logger. */
+	private static final Logger LOG = Logger.getLogger(EndToEndBenchmark.class);
+	
+	/** the pattern of the last include pattern, matching all the tags. */
+	public static final String MATCH_ALL = "urn:epc:pat:sgtin-96:*.*.*.*";
+	
+	/** the prefix of the reader names. */
+	public static final String READER = "E2EReader";
+	
+	/** the prefix of the ECSpec names. */
+	public static final String SPEC = "E2ESpec";
+	
+	private final EndToEndConfig config;
+	
+	private final List<String> readerNames = new ArrayList<String>();
+	
+	private final List<ReportSink> sinks = new ArrayList<ReportSink>();
+	
+	/**
+	 * @param config the configuration of the run.
+	 */
+	public EndToEndBenchmark(EndToEndConfig config) {
+		this.config = config;
+	}
+	
+	/**
+	 * run the benchmark and write the results.
+	 * @param args an optional properties file overriding the defaults.
+	 * @throws Exception if the benchmark fails.
+	 */
+	public static void main(String[] args) throws Exception {
+		EndToEndConfig config = new EndToEndConfig((args.length > 0) ? args[0] : null);
+		String result = new EndToEndBenchmark(config).run();
+		
+		File output = new File(config.getOutput()).getAbsoluteFile();
+		output.getParentFile().mkdirs();
+		Writer writer = new OutputStreamWriter(new FileOutputStream(output), "UTF-8");
+		try {
+			writer.write(result);
+		} finally {
+			writer.close();
+		}
+		LOG.info("results written to " + output);
+		// the event cycles of the ALE do not terminate on their own.
+		System.exit(0);
+	}
+	
+	/**
+	 * start the ALE, run the warmup and the measurement and stop the ALE.
+	 * @return the results as JSON.
+	 * @throws Exception if the benchmark fails.
+	 */
+	public String run() throws Exception {
+		File workDir = new File(config.getWorkDir());
+		delete(new File(workDir, "WEB-INF"));
+		
+		ClassPathXmlApplicationContext context = new ClassPathXmlApplicationContext("e2e-context.xml");
+		try {
+			ALEApplicationContext.getBean(PersistenceConfig.class).setRealPathWebapp(workDir.getAbsolutePath());
+			LogicalReaderManager logicalReaderManager = ALEApplicationContext.getBean(LogicalReaderManager.class);
+			ALE ale = ALEApplicationContext.getBean(ALE.class);
+			
+			startSinks(workDir);
+			defineReaders(logicalReaderManager);
+			defineSpecs(ale);
+			
+			LOG.info("warmup for " + config.getWarmup() + "ms.");
+			Thread.sleep(config.getWarmup());
+			
+			LOG.info("measuring for " + config.getDuration() + "ms.");
+			long startReads = getReads(logicalReaderManager);
+			JvmMetrics startMetrics = JvmMetrics.snapshot();
+			long start = System.nanoTime();
+			setMeasuring(true);
+			Thread.sleep(config.getDuration());
+			setMeasuring(false);
+			double seconds = (System.nanoTime() - start) / 1e9;
+			JvmMetrics endMetrics = JvmMetrics.snapshot();
+			long reads = getReads(logicalReaderManager) - startReads;
+			
+			return toJson(ALEApplicationContext.getBean(ALESettings.class), seconds, reads, getMaxLag(logicalReaderManager), startMetrics, endMetrics);
+		} finally {
+			for (ReportSink sink : sinks) {
+				sink.close();
+			}
+			context.close();
+		}
+	}
+	
+	/**
+	 * start one sink per configured type.
+	 * @param workDir the directory of the report files.
+	 * @throws Exception if a sink cannot be started.
+	 */
+	private void startSinks(File workDir) throws Exception {
+		for (String type : config.getSinks()) {
+			ReportSink sink;
+			if (EndToEndConfig.SINK_TCP.equals(type) || EndToEndConfig.SINK_HTTP.equals(type)) {
+				sink = new SocketReportSink(type);
+			} else if (EndToEndConfig.SINK_FILE.equals(type)) {
+				sink = new FileReportSink(new File(workDir, "reports.xml"), config.getFilePollPeriod());
+			} else {
+				throw new IllegalArgumentException("unknown sink type: " + type);
+			}
+			sink.start();
+			sinks.add(sink);
+		}
+	}
+	
+	/**
+	 * define the TestAdaptor readers. the seed of the workload is incremented per reader.
+	 * @param logicalReaderManager the logical reader manager.
+	 * @throws Exception if a reader cannot be defined.
+	 */
+	private void defineReaders(LogicalReaderManager logicalReaderManager) throws Exception {
+		Map<String, String> properties = config.getReaderProperties();
+		long seed = properties.containsKey("Seed") ? Long.parseLong(properties.get("Seed")) : 0;
+		for (int i=0; i<config.getReaders(); i++) {
+			properties.put("Seed", String.valueOf(seed + i));
+			properties.put(LogicalReader.PROPERTY_READER_TYPE, TestAdaptor.class.getName());
+			
+			LRSpec spec = new LRSpec();
+			spec.setIsComposite(false);
+			spec.setProperties(new LRSpec.Properties());
+			for (Map.Entry<String, String> entry : properties.entrySet()) {
+				LRProperty property = new LRProperty();
+				property.setName(entry.getKey());
+				property.setValue(entry.getValue());
+				spec.getProperties().getProperty().add(property);
+			}
+			String name = READER + i;
+			logicalReaderManager.define(name, spec);
+			readerNames.add(name);
+		}
+	}
+	
+	/**
+	 * define the ECSpecs and subscribe the sinks. subscribing starts the event cycles.
+	 * @param ale the ALE.
+	 * @throws Exception if a spec cannot be defined.
+	 */
+	private void defineSpecs(ALE ale) throws Exception {
+		for (int i=0; i<config.getECSpecs(); i++) {
+			String name = SPEC + i;
+			ale.define(name, createSpec());
+			for (ReportSink sink : sinks) {
+				ale.subscribe(name, sink.getNotificationURI());
+			}
+		}
+	}
+	
+	/**
+	 * @return an ECSpec reading from all the readers.
+	 */
+	private ECSpec createSpec() {
+		ECSpec spec = new ECSpec();
+		spec.setLogicalReaders(new ECSpec.LogicalReaders());
+		spec.getLogicalReaders().getLogicalReader().addAll(readerNames);
+		
+		ECBoundarySpec boundarySpec = new ECBoundarySpec();
+		boundarySpec.setDuration(createTime(config.getCyclePeriod()));
+		boundarySpec.setRepeatPeriod(createTime(config.getCyclePeriod()));
+		spec.setBoundarySpec(boundarySpec);
+		
+		spec.setReportSpecs(new ECSpec.ReportSpecs());
+		ECReportSetEnum[] reportSets = ECReportSetEnum.values();
+		for (int i=0; i<config.getReportsPerSpec(); i++) {
+			spec.getReportSpecs().getReportSpec().add(createReportSpec(i, reportSets[i % reportSets.length]));
+		}
+		spec.setIncludeSpecInReports(false);
+		return spec;
+	}
+	
+	/**
+	 * create a report spec. the report filters with the configured number 
+	 * of include patterns, only the last one matches the tags, so every 
+	 * tag is tested against all the patterns.
+	 * @param index the index of the report in the spec.
+	 * @param reportSet CURRENT, ADDITIONS or DELETIONS.
+	 * @return the report spec.
+	 */
+	private ECReportSpec createReportSpec(int index, ECReportSetEnum reportSet) {
+		ECReportSpec reportSpec = new ECReportSpec();
+		reportSpec.setReportName("report" + index + "-" + reportSet.name().toLowerCase());
+		reportSpec.setReportIfEmpty(true);
+		
+		ECReportSetSpec reportSetSpec = new ECReportSetSpec();
+		reportSetSpec.setSet(reportSet.name());
+		reportSpec.setReportSet(reportSetSpec);
+		
+		int patternCount = config.getPatternsPerReport();
+		if (patternCount > 0) {
+			ECFilterSpec filterSpec = new ECFilterSpec();
+			filterSpec.setIncludePatterns(new ECFilterSpec.IncludePatterns());
+			filterSpec.getIncludePatterns().getIncludePattern().addAll(BenchmarkData.createFilterPatterns(patternCount - 1));
+			filterSpec.getIncludePatterns().getIncludePattern().add(MATCH_ALL);
+			filterSpec.setExcludePatterns(new ECFilterSpec.ExcludePatterns());
+			reportSpec.setFilterSpec(filterSpec);
+		}
+		
+		if (config.isGroupBy()) {
+			ECGroupSpec groupSpec = new ECGroupSpec();
+			groupSpec.getPattern().add(BenchmarkData.GROUP_BY_COMPANY);
+			reportSpec.setGroupSpec(groupSpec);
+		}
+		
+		ECReportOutputSpec output = new ECReportOutputSpec();
+		output.setIncludeEPC(true);
+		output.setIncludeCount(true);
+		reportSpec.setOutput(output);
+		return reportSpec;
+	}
+	
+	private ECTime createTime(long millis) {
+		ECTime time = new ECTime();
+		time.setUnit(ECTimeUnit.MS);
+		time.setValue(millis);
+		return time;
+	}
+	
+	private void setMeasuring(boolean measuring) {
+		for (ReportSink sink : sinks) {
+			sink.setMeasuring(measuring);
+		}
+	}
+	
+	/**
+	 * @return the number of reads emitted by all the TestAdaptor readers.
+	 */
+	private long getReads(LogicalReaderManager logicalReaderManager) {
+		long reads = 0;
+		for (LogicalReader reader : logicalReaderManager.getLogicalReaders()) {
+			if (reader instanceof TestAdaptor) {
+				reads += ((TestAdaptor) reader).getEmitted();
+			}
+		}
+		return reads;
+	}
+	
+	/**
+	 * @return the maximum lag of a TestAdaptor reader behind its schedule in milliseconds.
+	 */
+	private long getMaxLag(LogicalReaderManager logicalReaderManager) {
+		long lag = 0;
+		for (LogicalReader reader : logicalReaderManager.getLogicalReaders()) {
+			if (reader instanceof TestAdaptor) {
+				lag = Math.max(lag, ((TestAdaptor) reader).getMaxLag());
+			}
+		}
+		return lag;
+	}
+	
+	private String toJson(ALESettings settings, double seconds, long reads, long maxLag, JvmMetrics startMetrics, JvmMetrics endMetrics) {
+		JsonWriter json = new JsonWriter();
+		json.beginObject();
+		json.name("benchmark").value("e2e");
+		json.name("label").value(config.getLabel());
+		json.name("date").value(String.format("%tFT%<tT%<tz", new Date()));
+		
+		json.name("jvm").beginObject();
+		json.name("version").value(System.getProperty("java.version"));
+		json.name("vm").value(System.getProperty("java.vm.name"));
+		json.name("processors").value(Runtime.getRuntime().availableProcessors());
+		json.name("maxHeapBytes").value(Runtime.getRuntime().maxMemory());
+		json.endObject();
+		
+		json.name("ale").beginObject();
+		json.name("vendorVersion").value(settings.getVendorVersion());
+		json.name("eventCycleSharingEnabled").value(settings.isEventCycleSharingEnabled());
+		json.name("reportEvaluationThreads").value(settings.getReportEvaluationThreads());
+		json.name("reportEvaluationPartitionSize").value(settings.getReportEvaluationPartitionSize());
+		json.endObject();
+		
+		json.name("config").value(config.toMap());
+		json.name("seconds").value(seconds);
+		
+		json.name("readers").beginObject();
+		json.name("reads").value(reads);
+		json.name("readsPerSecond").value(reads / seconds);
+		json.name("maxLagMillis").value(maxLag);
+		json.endObject();
+		
+		Latencies latencies = new Latencies();
+		json.name("sinks").beginArray();
+		for (ReportSink sink : sinks) {
+			sink.write(json, seconds);
+			latencies.addAll(sink.getLatencies());
+		}
+		json.endArray();
+		json.name("latencyMillis");
+		latencies.write(json);
+		
+		json.name("gc");
+		endMetrics.write(json, startMetrics);
+		json.endObject();
+		return json.toString();
+	}
+	
+	/**
+	 * delete a file or a directory recursively.
+	 * @param file the file.
+	 * @throws IOException if the file cannot be deleted.
+	 */
+	private static void delete(File file) throws IOException {
+		File[] children = file.listFiles();
+		if (null != children) {
+			for (File child : children) {
+				delete(child);
+			}
+		}
+		if (file.exists() && !file.delete()) {
+			throw new IOException("could not delete " + file);
+		}
+	}
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.benchmarks.e2e;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * the configuration of an end-to-end run. the defaults are read from the
+ * resource <code>/e2e-benchmark.properties</code>, overridden by an optional
+ * properties file and finally by the system properties (all the keys start
+ * with <code>e2e.</code>).
+ *
+ * @author agent
+ *
+ */
+public class EndToEndConfig {
+
+	/** the prefix of all the configuration keys. */
+	public static final String PREFIX = "e2e.";
+
+	/** the prefix of the LRSpec properties of the readers. */
+	public static final String READER_PREFIX = PREFIX + "reader.";
+
+	/** the resource holding the defaults. */
+	public static final String DEFAULTS = "/e2e-benchmark.properties";
+
+	/** the sink types. */
+	public static final String SINK_TCP = "tcp";
+	public static final String SINK_HTTP = "http";
+	public static final String SINK_FILE = "file";
+
+	private final Properties properties = new Properties();
+
+	/**
+	 * read the configuration.
+	 * @param file an optional properties file overriding the defaults, null if none.
+	 * @throws IOException if the defaults or the file cannot be read.
+	 */
+	public EndToEndConfig(String file) throws IOException {
+		load(EndToEndConfig.class.getResourceAsStream(DEFAULTS));
+		if (null != file) {
+			load(new FileInputStream(file));
+		}
+		for (String name : System.getProperties().stringPropertyNames()) {
+			if (name.startsWith(PREFIX)) {
+				properties.setProperty(name, System.getProperty(name));
+			}
+		}
+	}
+
+	private void load(InputStream in) throws IOException {
+		if (null == in) {
+			throw new IOException("missing benchmark configuration " + DEFAULTS);
+		}
+		try {
+			properties.load(in);
+		} finally {
+			in.close();
+		}
+	}
+
+	/**
+	 * @return the number of TestAdaptor readers.
+	 */
+	public int getReaders() {
+		return getInt("readers");
+	}
+
+	/**
+	 * @return the number of ECSpecs, each reading from all the readers.
+	 */
+	public int getECSpecs() {
+		return getInt("ecspecs");
+	}
+
+	/**
+	 * @return the number of reports per ECSpec (cycling through CURRENT, ADDITIONS and DELETIONS).
+	 */
+	public int getReportsPerSpec() {
+		return getInt("reportsPerSpec");
+	}
+
+	/**
+	 * @return the number of include patterns per report, 0 for no filter.
+	 */
+	public int getPatternsPerReport() {
+		return getInt("patternsPerReport");
+	}
+
+	/**
+	 * @return whether the reports group the tags by company prefix.
+	 */
+	public boolean isGroupBy() {
+		return Boolean.parseBoolean(getString("groupBy"));
+	}
+
+	/**
+	 * @return the duration and repeat period of the event cycles in milliseconds.
+	 */
+	public long getCyclePeriod() {
+		return getLong("cyclePeriod");
+	}
+
+	/**
+	 * @return the warmup in milliseconds before the measurement starts.
+	 */
+	public long getWarmup() {
+		return getLong("warmup") * 1000;
+	}
+
+	/**
+	 * @return the duration of the measurement in milliseconds.
+	 */
+	public long getDuration() {
+		return getLong("duration") * 1000;
+	}
+
+	/**
+	 * @return the sink types every ECSpec is subscribed to.
+	 */
+	public List<String> getSinks() {
+		List<String> sinks = new ArrayList<String>();
+		for (String sink : getString("sinks").split(",")) {
+			if (sink.trim().length() > 0) {
+				sinks.add(sink.trim().toLowerCase());
+			}
+		}
+		return sinks;
+	}
+
+	/**
+	 * @return the poll period of the file sink in milliseconds.
+	 */
+	public long getFilePollPeriod() {
+		return getLong("filePollPeriod");
+	}
+
+	/**
+	 * @return the directory holding the persisted specs and the report files, relative to the working directory.
+	 */
+	public String getWorkDir() {
+		return getString("workDir");
+	}
+
+	/**
+	 * @return the file the results are written to.
+	 */
+	public String getOutput() {
+		return getString("output");
+	}
+
+	/**
+	 * @return a free label identifying the run (for example the commit).
+	 */
+	public String getLabel() {
+		return getString("label");
+	}
+
+	/**
+	 * @return the LRSpec properties of the readers (without the prefix).
+	 */
+	public Map<String, String> getReaderProperties() {
+		Map<String, String> readerProperties = new TreeMap<String, String>();
+		for (String name : properties.stringPropertyNames()) {
+			if (name.startsWith(READER_PREFIX)) {
+				readerProperties.put(name.substring(READER_PREFIX.length()), properties.getProperty(name).trim());
+			}
+		}
+		return readerProperties;
+	}
+
+	/**
+	 * @return all the configuration values, sorted by key.
+	 */
+	public Map<String, String> toMap() {
+		Map<String, String> values = new TreeMap<String, String>();
+		for (String name : properties.stringPropertyNames()) {
+			values.put(name, properties.getProperty(name).trim());
+		}
+		return values;
+	}
+
+	private String getString(String name) {
+		String value = properties.getProperty(PREFIX + name);
+		if (null == value) {
+			throw new IllegalArgumentException("missing benchmark configuration " + PREFIX + name);
+		}
+		return value.trim();
+	}
+
+	private long getLong(String name) {
+		try {
+			return Long.parseLong(getString(name));
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("invalid benchmark configuration " + PREFIX + name + ": " + getString(name));
+		}
+	}
+
+	private int getInt(String name) {
+		return (int) getLong(name);
+	}
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.benchmarks.e2e;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import org.apache.log4j.Logger;
+
+/**
+ * receives the reports appended to a file. the file subscriber output 
+ * channel appends the xml declaration and the ECReports as lines, the sink 
+ * polls the file for new lines. the poll period adds up to one period to 
+ * the measured latency.
+ * 
+ * @author agent
+ *
+ */
+public class FileReportSink extends ReportSink implements Runnable {
+	
+	/** logger. */
+	private static final Logger LOG = Logger.getLogger(FileReportSink.class);
+	
+	private static final String XML_DECLARATION = "<?xml";
+	
+	private final File file;
+	
+	private final long pollPeriod;
+	
+	private volatile boolean running = false;
+	
+	private Thread thread;
+	
+	private final StringBuilder line = new StringBuilder(64 * 1024);
+	
+	private final byte[] buffer = new byte[64 * 1024];
+	
+	/**
+	 * @param file the file the reports are written to. the path must be 
+	 * relative to the working directory, as the file subscriber output 
+	 * channel resolves the path of a notification URI against it.
+	 * @param pollPeriod the poll period in milliseconds.
+	 */
+	public FileReportSink(File file, long pollPeriod) {
+		super(EndToEndConfig.SINK_FILE);
+		if (file.isAbsolute()) {
+			throw new IllegalArgumentException("the report file must be relative to the working directory: " + file);
+		}
+		this.file = file;
+		this.pollPeriod = pollPeriod;
+	}
+	
+	@Override
+	public void start() throws IOException {
+		file.getParentFile().mkdirs();
+		if (file.exists() && !file.delete()) {
+			throw new IOException("could not delete the report file " + file);
+		}
+		running = true;
+		thread = new Thread(this, "file-sink");
+		thread.setDaemon(true);
+		thread.start();
+	}
+	
+	@Override
+	public void close() {
+		running = false;
+	}
+	
+	@Override
+	public String getNotificationURI() {
+		return "file:///" + file.getPath().replace(File.separatorChar, '/');
+	}
+	
+	/**
+	 * poll the file until the sink is closed.
+	 */
+	public void run() {
+		long position = 0;
+		while (running) {
+			try {
+				if (file.length() > position) {
+					position = read(position);
+				}
+				Thread.sleep(pollPeriod);
+			} catch (InterruptedException e) {
+				return;
+			} catch (IOException e) {
+				LOG.error("file sink could not read reports.", e);
+			}
+		}
+	}
+	
+	/**
+	 * read the complete lines appended since the last read.
+	 * @param position the position to read from.
+	 * @return the position to read from next time.
+	 * @throws IOException if the file cannot be read.
+	 */
+	private long read(long position) throws IOException {
+		RandomAccessFile in = new RandomAccessFile(file, "r");
+		try {
+			in.seek(position);
+			int read;
+			while ((read = in.read(buffer)) > 0) {
+				long received = System.currentTimeMillis();
+				for (int i=0; i<read; i++) {
+					position++;
+					if (buffer[i] != '\n') {
+						line.append((char) buffer[i]);
+					} else {
+						// the xml declaration is written on a line of its own.
+						if ((line.length() > 0) && !startsWith(line, XML_DECLARATION)) {
+							received(line.toString(), received);
+						}
+						line.setLength(0);
+					}
+				}
+			}
+			return position;
+		} finally {
+			in.close();
+		}
+	}
+	
+	private static boolean startsWith(StringBuilder line, String prefix) {
+		return (line.length() >= prefix.length()) && prefix.equals(line.substring(0, prefix.length()));
+	}
+}
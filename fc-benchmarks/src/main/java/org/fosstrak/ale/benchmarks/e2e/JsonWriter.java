@@ -0,0 +1,232 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.benchmarks.e2e;
+
+import java.util.Map;
+
+/**
+ * a minimal writer of indented JSON, enough for the benchmark results.
+ * 
+ * @author agent
+ *
+ */
+public class JsonWriter {
+	
+	private final StringBuilder out = new StringBuilder();
+	
+	/** the nesting depth. */
+	private int depth = 0;
+	
+	/** whether the current object or array has no member yet. */
+	private boolean first = true;
+	
+	/** whether a name was written and awaits its value. */
+	private boolean named = false;
+	
+	/**
+	 * start an object.
+	 * @return this writer.
+	 */
+	public JsonWriter beginObject() {
+		return begin('{');
+	}
+	
+	/**
+	 * end an object.
+	 * @return this writer.
+	 */
+	public JsonWriter endObject() {
+		return end('}');
+	}
+	
+	/**
+	 * start an array.
+	 * @return this writer.
+	 */
+	public JsonWriter beginArray() {
+		return begin('[');
+	}
+	
+	/**
+	 * end an array.
+	 * @return this writer.
+	 */
+	public JsonWriter endArray() {
+		return end(']');
+	}
+	
+	/**
+	 * write the name of the next member of an object.
+	 * @param name the name.
+	 * @return this writer.
+	 */
+	public JsonWriter name(String name) {
+		separate();
+		quote(name);
+		out.append(": ");
+		named = true;
+		return this;
+	}
+	
+	/**
+	 * write a string value, null is written as null.
+	 * @param value the value.
+	 * @return this writer.
+	 */
+	public JsonWriter value(String value) {
+		separate();
+		if (null == value) {
+			out.append("null");
+		} else {
+			quote(value);
+		}
+		return this;
+	}
+	
+	/**
+	 * write an integral value.
+	 * @param value the value.
+	 * @return this writer.
+	 */
+	public JsonWriter value(long value) {
+		separate();
+		out.append(value);
+		return this;
+	}
+	
+	/**
+	 * write a decimal value rounded to three decimals, NaN and infinity are written as null.
+	 * @param value the value.
+	 * @return this writer.
+	 */
+	public JsonWriter value(double value) {
+		separate();
+		if (Double.isNaN(value) || Double.isInfinite(value)) {
+			out.append("null");
+		} else {
+			out.append(Math.round(value * 1000) / 1000.0);
+		}
+		return this;
+	}
+	
+	/**
+	 * write a boolean value.
+	 * @param value the value.
+	 * @return this writer.
+	 */
+	public JsonWriter value(boolean value) {
+		separate();
+		out.append(value);
+		return this;
+	}
+	
+	/**
+	 * write the entries of a map as object of strings.
+	 * @param values the entries.
+	 * @return this writer.
+	 */
+	public JsonWriter value(Map<String, String> values) {
+		beginObject();
+		for (Map.Entry<String, String> entry : values.entrySet()) {
+			name(entry.getKey()).value(entry.getValue());
+		}
+		return endObject();
+	}
+	
+	private JsonWriter begin(char bracket) {
+		separate();
+		out.append(bracket);
+		depth++;
+		first = true;
+		return this;
+	}
+	
+	private JsonWriter end(char bracket) {
+		depth--;
+		if (!first) {
+			newLine();
+		}
+		out.append(bracket);
+		first = false;
+		return this;
+	}
+	
+	/**
+	 * separate the next member from the previous one, unless it is the value of a name.
+	 */
+	private void separate() {
+		if (named) {
+			named = false;
+			return;
+		}
+		if (depth == 0) {
+			return;
+		}
+		if (!first) {
+			out.append(',');
+		}
+		newLine();
+		first = false;
+	}
+	
+	private void newLine() {
+		out.append('\n');
+		for (int i=0; i<depth; i++) {
+			out.append("  ");
+		}
+	}
+	
+	private void quote(String value) {
+		out.append('"');
+		for (int i=0; i<value.length(); i++) {
+			char c = value.charAt(i);
+			switch (c) {
+			case '"':
+				out.append("\\\"");
+				break;
+			case '\\':
+				out.append("\\\\");
+				break;
+			case '\n':
+				out.append("\\n");
+				break;
+			case '\r':
+				out.append("\\r");
+				break;
+			case '\t':
+				out.append("\\t");
+				break;
+			default:
+				if (c < 0x20) {
+					out.append(String.format("\\u%04x", (int) c));
+				} else {
+					out.append(c);
+				}
+			}
+		}
+		out.append('"');
+	}
+	
+	@Override
+	public String toString() {
+		return out.toString() + "\n";
+	}
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.benchmarks.e2e;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * a snapshot of the garbage collections and the allocated bytes of the JVM. 
+ * the collection time is the accumulated time reported by the collectors 
+ * (for concurrent collectors this includes the concurrent phases). the 
+ * allocated bytes are summed over the live threads, so the allocations of 
+ * threads terminated between two snapshots are missed, the benchmark keeps 
+ * its own threads alive for that reason. the allocated bytes are only 
+ * available on HotSpot JVMs, -1 otherwise.
+ * 
+ * @author agent
+ *
+ */
+public class JvmMetrics {
+	
+	private final long time;
+	
+	private final long collections;
+	
+	private final long collectionTime;
+	
+	private final long allocatedBytes;
+	
+	private JvmMetrics(long time, long collections, long collectionTime, long allocatedBytes) {
+		this.time = time;
+		this.collections = collections;
+		this.collectionTime = collectionTime;
+		this.allocatedBytes = allocatedBytes;
+	}
+	
+	/**
+	 * @return a snapshot of the current state.
+	 */
+	public static JvmMetrics snapshot() {
+		long collections = 0;
+		long collectionTime = 0;
+		for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+			collections += Math.max(0, collector.getCollectionCount());
+			collectionTime += Math.max(0, collector.getCollectionTime());
+		}
+		return new JvmMetrics(System.nanoTime(), collections, collectionTime, getAllocatedBytes());
+	}
+	
+	private static long getAllocatedBytes() {
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+			return -1;
+		}
+		com.sun.management.ThreadMXBean hotspot = (com.sun.management.ThreadMXBean) threads;
+		if (!hotspot.isThreadAllocatedMemorySupported() || !hotspot.isThreadAllocatedMemoryEnabled()) {
+			return -1;
+		}
+		long allocated = 0;
+		for (long bytes : hotspot.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+			allocated += Math.max(0, bytes);
+		}
+		return allocated;
+	}
+	
+	/**
+	 * write the difference to an earlier snapshot as JSON object.
+	 * @param json the writer.
+	 * @param start the earlier snapshot.
+	 */
+	public void write(JsonWriter json, JvmMetrics start) {
+		double seconds = (time - start.time) / 1e9;
+		long allocated = ((allocatedBytes < 0) || (start.allocatedBytes < 0)) ? -1 : allocatedBytes - start.allocatedBytes;
+		json.beginObject();
+		json.name("gcCount").value(collections - start.collections);
+		json.name("gcTimeMillis").value(collectionTime - start.collectionTime);
+		json.name("gcTimeFraction").value((collectionTime - start.collectionTime) / (seconds * 1000));
+		json.name("allocatedBytes").value(allocated);
+		json.name("allocationRateMBPerSecond").value((allocated < 0) ? -1 : allocated / seconds / (1024 * 1024));
+		json.name("heapUsedBytes").value(ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed());
+		json.endObject();
+	}
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.benchmarks.e2e;
+
+import java.util.Arrays;
+
+/**
+ * records latencies in milliseconds and computes their percentiles.
+ * 
+ * @author agent
+ *
+ */
+public class Latencies {
+	
+	/** the percentiles reported. */
+	public static final double[] PERCENTILES = new double[] { 50, 90, 99, 99.9 };
+	
+	private long[] values = new long[1024];
+	
+	private int size = 0;
+	
+	/**
+	 * record a latency.
+	 * @param latency the latency in milliseconds.
+	 */
+	public synchronized void add(long latency) {
+		if (size == values.length) {
+			values = Arrays.copyOf(values, 2 * size);
+		}
+		values[size++] = latency;
+	}
+	
+	/**
+	 * record all the latencies of another recorder.
+	 * @param other the other recorder.
+	 */
+	public void addAll(Latencies other) {
+		for (long latency : other.toArray()) {
+			add(latency);
+		}
+	}
+	
+	/**
+	 * @return the number of recorded latencies.
+	 */
+	public synchronized int size() {
+		return size;
+	}
+	
+	/**
+	 * @return the recorded latencies sorted ascending.
+	 */
+	public synchronized long[] toArray() {
+		long[] sorted = Arrays.copyOf(values, size);
+		Arrays.sort(sorted);
+		return sorted;
+	}
+	
+	/**
+	 * the nearest-rank percentile.
+	 * @param sorted the latencies sorted ascending.
+	 * @param percentile the percentile between 0 and 100.
+	 * @return the latency or -1 if no latency was recorded.
+	 */
+	public static long percentile(long[] sorted, double percentile) {
+		if (sorted.length == 0) {
+			return -1;
+		}
+		int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+		return sorted[Math.min(sorted.length, Math.max(1, rank)) - 1];
+	}
+	
+	/**
+	 * write the count, mean, percentiles and maximum as JSON object.
+	 * @param json the writer.
+	 */
+	public void write(JsonWriter json) {
+		long[] sorted = toArray();
+		long sum = 0;
+		for (long latency : sorted) {
+			sum += latency;
+		}
+		json.beginObject();
+		json.name("count").value(sorted.length);
+		json.name("mean").value((sorted.length == 0) ? -1 : (double) sum / sorted.length);
+		json.name("min").value((sorted.length == 0) ? -1 : sorted[0]);
+		for (double percentile : PERCENTILES) {
+			json.name("p" + String.valueOf(percentile).replace(".0", "").replace('.', '_')).value(percentile(sorted, percentile));
+		}
+		json.name("max").value((sorted.length == 0) ? -1 : sorted[sorted.length - 1]);
+		json.endObject();
+	}
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.benchmarks.e2e;
+
+import javax.xml.datatype.DatatypeConfigurationException;
+import javax.xml.datatype.DatatypeFactory;
+
+import org.apache.log4j.Logger;
+
+/**
+ * a local subscriber receiving the ECReports delivered by the ALE. the 
+ * latency of a delivery is the time from the creation of the ECReports 
+ * (their <code>date</code> attribute, set when the event cycle closes) to 
+ * the complete receipt by the sink. the reports are not deserialized, the 
+ * sink only scans them for the date and the members, so the cost of the 
+ * sink itself stays small compared to the ALE.
+ * 
+ * @author agent
+ *
+ */
+public abstract class ReportSink {
+	
+	/** logger. */
+	private static final Logger LOG = Logger.getLogger(ReportSink.class);
+	
+	private static final String DATE = "date=\"";
+	
+	private static final String MEMBER = "<member>";
+	
+	private final String type;
+	
+	private final DatatypeFactory datatypeFactory;
+	
+	private final Latencies latencies = new Latencies();
+	
+	private volatile boolean measuring = false;
+	
+	private long reports = 0;
+	
+	private long tags = 0;
+	
+	private long invalid = 0;
+	
+	/**
+	 * @param type the type of the sink (tcp, http or file).
+	 */
+	protected ReportSink(String type) {
+		this.type = type;
+		try {
+			datatypeFactory = DatatypeFactory.newInstance();
+		} catch (DatatypeConfigurationException e) {
+			throw new IllegalStateException("no datatype factory", e);
+		}
+	}
+	
+	/**
+	 * start receiving reports.
+	 * @throws Exception if the sink cannot be started.
+	 */
+	public abstract void start() throws Exception;
+	
+	/**
+	 * stop receiving reports.
+	 */
+	public abstract void close();
+	
+	/**
+	 * @return the notification URI to subscribe to the ECSpecs.
+	 */
+	public abstract String getNotificationURI();
+	
+	/**
+	 * @return the type of the sink.
+	 */
+	public String getType() {
+		return type;
+	}
+	
+	/**
+	 * @param measuring whether the received reports are recorded.
+	 */
+	public void setMeasuring(boolean measuring) {
+		this.measuring = measuring;
+	}
+	
+	/**
+	 * handle the xml of one ECReports.
+	 * @param xml the serialized ECReports.
+	 * @param received the time the reports were received.
+	 */
+	protected void received(String xml, long received) {
+		if (!measuring) {
+			return;
+		}
+		int start = xml.indexOf(DATE);
+		int end = (start < 0) ? -1 : xml.indexOf('"', start + DATE.length());
+		if (end < 0) {
+			LOG.warn(type + " sink received reports without date.");
+			synchronized (this) {
+				invalid++;
+			}
+			return;
+		}
+		long date = datatypeFactory.newXMLGregorianCalendar(xml.substring(start + DATE.length(), end)).toGregorianCalendar().getTimeInMillis();
+		int members = 0;
+		for (int i = xml.indexOf(MEMBER); i >= 0; i = xml.indexOf(MEMBER, i + MEMBER.length())) {
+			members++;
+		}
+		latencies.add(received - date);
+		synchronized (this) {
+			reports++;
+			tags += members;
+		}
+	}
+	
+	/**
+	 * @return the latencies of the recorded reports.
+	 */
+	public Latencies getLatencies() {
+		return latencies;
+	}
+	
+	/**
+	 * @return the number of recorded reports.
+	 */
+	public synchronized long getReports() {
+		return reports;
+	}
+	
+	/**
+	 * @return the number of members (tags) in the recorded reports.
+	 */
+	public synchronized long getTags() {
+		return tags;
+	}
+	
+	/**
+	 * write the statistics of the sink as JSON object.
+	 * @param json the writer.
+	 * @param seconds the duration of the measurement in seconds.
+	 */
+	public synchronized void write(JsonWriter json, double seconds) {
+		json.beginObject();
+		json.name("type").value(type);
+		json.name("uri").value(getNotificationURI());
+		json.name("reports").value(reports);
+		json.name("reportsPerSecond").value(reports / seconds);
+		json.name("reportedTags").value(tags);
+		json.name("reportedTagsPerSecond").value(tags / seconds);
+		json.name("invalid").value(invalid);
+		json.name("latencyMillis");
+		latencies.write(json);
+		json.endObject();
+	}
+}
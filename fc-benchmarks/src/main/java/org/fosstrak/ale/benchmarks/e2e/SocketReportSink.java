@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.benchmarks.e2e;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+
+import org.apache.log4j.Logger;
+
+/**
+ * receives the reports delivered over TCP or HTTP. both subscriber output 
+ * channels open a connection per delivery, write the reports and close the 
+ * connection, so a delivery is complete at the end of the stream. the HTTP 
+ * headers are skipped, the sink does not answer.
+ * 
+ * @author agent
+ *
+ */
+public class SocketReportSink extends ReportSink implements Runnable {
+	
+	/** logger. */
+	private static final Logger LOG = Logger.getLogger(SocketReportSink.class);
+	
+	private ServerSocket serverSocket;
+	
+	private Thread thread;
+	
+	private final byte[] buffer = new byte[64 * 1024];
+	
+	private final ByteArrayOutputStream data = new ByteArrayOutputStream(64 * 1024);
+	
+	/**
+	 * @param type tcp or http.
+	 */
+	public SocketReportSink(String type) {
+		super(type);
+	}
+	
+	@Override
+	public void start() throws IOException {
+		serverSocket = new ServerSocket(0, 50, InetAddress.getByName("localhost"));
+		thread = new Thread(this, getType() + "-sink");
+		thread.setDaemon(true);
+		thread.start();
+	}
+	
+	@Override
+	public void close() {
+		try {
+			serverSocket.close();
+		} catch (IOException e) {
+			LOG.debug("could not close the server socket.", e);
+		}
+	}
+	
+	@Override
+	public String getNotificationURI() {
+		return getType() + "://localhost:" + serverSocket.getLocalPort() + "/" + getType() + "-sink";
+	}
+	
+	/**
+	 * accept the deliveries until the sink is closed.
+	 */
+	public void run() {
+		while (!serverSocket.isClosed()) {
+			try {
+				Socket socket = serverSocket.accept();
+				try {
+					String xml = read(socket.getInputStream());
+					long received = System.currentTimeMillis();
+					int start = xml.indexOf('<');
+					if (start >= 0) {
+						received(xml.substring(start), received);
+					}
+				} finally {
+					socket.close();
+				}
+			} catch (IOException e) {
+				if (!serverSocket.isClosed()) {
+					LOG.error(getType() + " sink could not receive reports.", e);
+				}
+			}
+		}
+	}
+	
+	private String read(InputStream in) throws IOException {
+		data.reset();
+		int read;
+		while ((read = in.read(buffer)) >= 0) {
+			data.write(buffer, 0, read);
+		}
+		return data.toString("UTF-8");
+	}
+}
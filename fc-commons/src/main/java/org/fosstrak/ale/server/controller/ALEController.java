@@ -74,4 +74,15 @@ public interface ALEController {
 	@WebMethod
 	public String[] getLogicalReaderNames(boolean isComposite);
 	
+	/**
+	 * obtain the profiles of the last rounds of an ECSpec. the ECSpec is profiled if defined 
+	 * with the extension attribute profileRounds (namespace urn:fosstrak:ale:xsd:extension).
+	 * @param specName the name of the specification.
+	 * @return one entry per round (the oldest first) as name=value pairs, the stages in nanoseconds. 
+	 * empty if the specification is not profiled.
+	 * @throws org.fosstrak.ale.exception.NoSuchNameException the requested ECSpec does not exist. 
+	 */
+	@WebMethod
+	public String[] getECSpecProfile(String specName) throws org.fosstrak.ale.exception.NoSuchNameException;
+	
 }
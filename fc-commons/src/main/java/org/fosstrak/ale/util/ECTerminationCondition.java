@@ -43,4 +43,10 @@ public class ECTerminationCondition {
 	
 	/** termination by undefine. */
 	public static final String UNDEFINE = "UNDEFINE";
+	
+	/** fosstrak extension: termination as the requested number of distinct tags has been seen. */
+	public static final String TAG_COUNT = "TAG_COUNT";
+	
+	/** fosstrak extension: termination as a tag matching the termination pattern has been seen. */
+	public static final String TAG_PATTERN = "TAG_PATTERN";
 }
@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.xsd.extension;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlSchemaType;
+import javax.xml.bind.annotation.XmlType;
+import javax.xml.datatype.XMLGregorianCalendar;
+
+import org.fosstrak.ale.xsd.ale.epcglobal.ECSightingStat;
+
+/**
+ * a sighting of the Fosstrak stat profile <code>ReaderSightingSignals</code>:
+ * antenna, signal strength, first and last sighting time and read count of a 
+ * tag on one reader.
+ * 
+ * <pre>
+ * &lt;complexType name="ECSightingSignalStat">
+ *   &lt;complexContent>
+ *     &lt;extension base="{urn:epcglobal:ale:xsd:1}ECSightingStat">
+ *       &lt;sequence>
+ *         &lt;element name="antenna" type="{http://www.w3.org/2001/XMLSchema}int" minOccurs="0"/>
+ *         &lt;element name="strength" type="{http://www.w3.org/2001/XMLSchema}int" minOccurs="0"/>
+ *         &lt;element name="firstSightingTime" type="{http://www.w3.org/2001/XMLSchema}dateTime"/>
+ *         &lt;element name="lastSightingTime" type="{http://www.w3.org/2001/XMLSchema}dateTime"/>
+ *         &lt;element name="count" type="{http://www.w3.org/2001/XMLSchema}int"/>
+ *       &lt;/sequence>
+ *     &lt;/extension>
+ *   &lt;/complexContent>
+ * &lt;/complexType>
+ * </pre>
+ * 
+ * @author agent
+ */
+@XmlAccessorType(XmlAccessType.FIELD)
+@XmlType(name = "ECSightingSignalStat", propOrder = {
+    "antenna",
+    "strength",
+    "firstSightingTime",
+    "lastSightingTime",
+    "count"
+})
+public class ECSightingSignalStat extends ECSightingStat {
+
+	protected Integer antenna;
+	
+	protected Integer strength;
+	
+	@XmlElement(required = true)
+	@XmlSchemaType(name = "dateTime")
+	protected XMLGregorianCalendar firstSightingTime;
+	
+	@XmlElement(required = true)
+	@XmlSchemaType(name = "dateTime")
+	protected XMLGregorianCalendar lastSightingTime;
+	
+	protected int count;
+
+	/**
+	 * @return the antenna of the sighting, null if unknown.
+	 */
+	public Integer getAntenna() {
+		return antenna;
+	}
+
+	/**
+	 * @param value the antenna of the sighting, null if unknown.
+	 */
+	public void setAntenna(Integer value) {
+		this.antenna = value;
+	}
+
+	/**
+	 * @return the signal strength of the sighting, null if unknown.
+	 */
+	public Integer getStrength() {
+		return strength;
+	}
+
+	/**
+	 * @param value the signal strength of the sighting, null if unknown.
+	 */
+	public void setStrength(Integer value) {
+		this.strength = value;
+	}
+
+	/**
+	 * @return the time of the first sighting.
+	 */
+	public XMLGregorianCalendar getFirstSightingTime() {
+		return firstSightingTime;
+	}
+
+	/**
+	 * @param value the time of the first sighting.
+	 */
+	public void setFirstSightingTime(XMLGregorianCalendar value) {
+		this.firstSightingTime = value;
+	}
+
+	/**
+	 * @return the time of the last sighting.
+	 */
+	public XMLGregorianCalendar getLastSightingTime() {
+		return lastSightingTime;
+	}
+
+	/**
+	 * @param value the time of the last sighting.
+	 */
+	public void setLastSightingTime(XMLGregorianCalendar value) {
+		this.lastSightingTime = value;
+	}
+
+	/**
+	 * @return the number of reads on the reader.
+	 */
+	public int getCount() {
+		return count;
+	}
+
+	/**
+	 * @param value the number of reads on the reader.
+	 */
+	public void setCount(int value) {
+		this.count = value;
+	}
+}
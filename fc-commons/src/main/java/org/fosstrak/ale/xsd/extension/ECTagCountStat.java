@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.xsd.extension;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlType;
+
+import org.fosstrak.ale.xsd.ale.epcglobal.ECTagStat;
+
+/**
+ * statistics of the Fosstrak stat profile <code>TagCount</code>: the number
+ * of times a tag has been read during the event cycle.
+ * 
+ * <pre>
+ * &lt;complexType name="ECTagCountStat">
+ *   &lt;complexContent>
+ *     &lt;extension base="{urn:epcglobal:ale:xsd:1}ECTagStat">
+ *       &lt;sequence>
+ *         &lt;element name="count" type="{http://www.w3.org/2001/XMLSchema}int"/>
+ *       &lt;/sequence>
+ *     &lt;/extension>
+ *   &lt;/complexContent>
+ * &lt;/complexType>
+ * </pre>
+ * 
+ * @author agent
+ */
+@XmlAccessorType(XmlAccessType.FIELD)
+@XmlType(name = "ECTagCountStat", propOrder = {
+    "count"
+})
+public class ECTagCountStat extends ECTagStat {
+
+	/** namespace of the Fosstrak extension schema. */
+	public static final String NAMESPACE = "urn:fosstrak:ale:xsd:extension";
+
+	protected int count;
+
+	/**
+	 * @return the number of reads of the tag.
+	 */
+	public int getCount() {
+		return count;
+	}
+
+	/**
+	 * @param value the number of reads of the tag.
+	 */
+	public void setCount(int value) {
+		this.count = value;
+	}
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+/**
+ * JAXB classes of the Fosstrak extension schema
+ * <code>fosstrak-ale-extension.xsd</code>. the classes are registered with the
+ * JAXB context of the ALE package through the factory methods of its
+ * <code>ObjectFactory</code>.
+ */
+@XmlSchema(namespace = ECTagCountStat.NAMESPACE)
+package org.fosstrak.ale.xsd.extension;
+
+import javax.xml.bind.annotation.XmlSchema;
@@ -21,6 +21,8 @@ import org.fosstrak.ale.xsd.ale.epcglobal.ECSpecExtension.PrimaryKeyFields;
 import org.fosstrak.ale.xsd.ale.epcglobal.ECTagStat.StatBlocks;
 import org.fosstrak.ale.xsd.ale.epcglobal.LRSpec.Properties;
 import org.fosstrak.ale.xsd.ale.epcglobal.LRSpec.Readers;
+import org.fosstrak.ale.xsd.extension.ECSightingSignalStat;
+import org.fosstrak.ale.xsd.extension.ECTagCountStat;
 
 
 /**
@@ -35,6 +37,9 @@ import org.fosstrak.ale.xsd.ale.epcglobal.LRSpec.Readers;
  * type definitions, element declarations and model 
  * groups.  Factory methods for each of these are 
  * provided in this class.
+ * <p>The types of the Fosstrak extension schema 
+ * (urn:fosstrak:ale:xsd:extension) are registered 
+ * with the JAXB context through their factory methods.
  * 
  */
 @XmlRegistry
@@ -253,6 +258,22 @@ public class ObjectFactory {
         return new ECTagTimestampStat();
     }
 
+    /**
+     * Create an instance of the Fosstrak extension {@link ECTagCountStat }
+     * 
+     */
+    public ECTagCountStat createECTagCountStat() {
+        return new ECTagCountStat();
+    }
+
+    /**
+     * Create an instance of the Fosstrak extension {@link ECSightingSignalStat }
+     * 
+     */
+    public ECSightingSignalStat createECSightingSignalStat() {
+        return new ECSightingSignalStat();
+    }
+
     /**
      * Create an instance of {@link StatProfileNames }
      * 
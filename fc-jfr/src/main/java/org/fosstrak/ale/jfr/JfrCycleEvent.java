@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import org.fosstrak.ale.server.jfr.CycleEvent;
+import org.fosstrak.ale.server.jfr.FlightEvents;
+
+/**
+ * flight recorder event spanning a round of an event cycle from its start until it is closed.
+ * 
+ * @author agent
+ *
+ */
+@Name(FlightEvents.PREFIX + "EventCycle")
+@Label("Event Cycle")
+@Category({ FlightEvents.CATEGORY, "Event Cycle" })
+@Description("a round of an event cycle from its start until it is closed")
+final class JfrCycleEvent extends jdk.jfr.Event implements CycleEvent {
+	
+	@Label("Event Cycle")
+	String eventCycle;
+	
+	@Label("Round")
+	long round;
+	
+	@Label("Tags")
+	@Description("number of tags read in the round")
+	int tags;
+
+	@Override
+	public void setEventCycle(String eventCycle) {
+		this.eventCycle = eventCycle;
+	}
+
+	@Override
+	public void setRound(long round) {
+		this.round = round;
+	}
+
+	@Override
+	public void setTags(int tags) {
+		this.tags = tags;
+	}
+}
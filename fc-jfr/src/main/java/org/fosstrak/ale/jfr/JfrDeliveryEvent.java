@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import org.fosstrak.ale.server.jfr.DeliveryEvent;
+import org.fosstrak.ale.server.jfr.FlightEvents;
+
+/**
+ * flight recorder event spanning the delivery of the reports to one subscriber.
+ * 
+ * @author agent
+ *
+ */
+@Name(FlightEvents.PREFIX + "Delivery")
+@Label("Delivery")
+@Category({ FlightEvents.CATEGORY, "Delivery" })
+final class JfrDeliveryEvent extends jdk.jfr.Event implements DeliveryEvent {
+	
+	@Label("Notification URI")
+	String uri;
+	
+	@Label("Serialized Size")
+	@DataAmount
+	long bytes;
+	
+	@Label("Outcome")
+	String outcome;
+
+	@Override
+	public void setUri(String uri) {
+		this.uri = uri;
+	}
+
+	@Override
+	public void setBytes(long bytes) {
+		this.bytes = bytes;
+	}
+
+	@Override
+	public void setOutcome(String outcome) {
+		this.outcome = outcome;
+	}
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.jfr;
+
+import org.fosstrak.ale.server.jfr.CycleEvent;
+import org.fosstrak.ale.server.jfr.DeliveryEvent;
+import org.fosstrak.ale.server.jfr.FlightEventFactory;
+import org.fosstrak.ale.server.jfr.FlightEvents;
+import org.fosstrak.ale.server.jfr.NotificationEvent;
+import org.fosstrak.ale.server.jfr.ReportEvent;
+
+/**
+ * creates the flight recorder events of the ALE. loaded by {@link FlightEvents} when this 
+ * module is on the class path of the server and the JVM provides the flight recorder.
+ * 
+ * @author agent
+ *
+ */
+public class JfrEventFactory implements FlightEventFactory {
+
+	@Override
+	public CycleEvent createCycleEvent() {
+		return new JfrCycleEvent();
+	}
+
+	@Override
+	public ReportEvent createReportEvent() {
+		return new JfrReportEvent();
+	}
+
+	@Override
+	public NotificationEvent createNotificationEvent() {
+		return new JfrNotificationEvent();
+	}
+
+	@Override
+	public DeliveryEvent createDeliveryEvent() {
+		return new JfrDeliveryEvent();
+	}
+}
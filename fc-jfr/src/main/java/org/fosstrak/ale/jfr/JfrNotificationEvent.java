@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+import org.fosstrak.ale.server.jfr.FlightEvents;
+import org.fosstrak.ale.server.jfr.NotificationEvent;
+
+/**
+ * flight recorder event spanning the notification of the reports of a round to the subscribers 
+ * and the pollers of an ECSpec, including the cloning of the reports and the comparison with 
+ * the reports of the previous round.
+ * 
+ * @author agent
+ *
+ */
+@Name(FlightEvents.PREFIX + "Notification")
+@Label("Notification")
+@Category({ FlightEvents.CATEGORY, "Delivery" })
+@Description("the notification of the reports of a round to the subscribers and pollers of an ECSpec")
+final class JfrNotificationEvent extends jdk.jfr.Event implements NotificationEvent {
+	
+	@Label("ECSpec")
+	String ecSpec;
+	
+	@Label("Reports")
+	@Description("number of reports of the round")
+	int reports;
+	
+	@Label("Cloning Time")
+	@Timespan(Timespan.NANOSECONDS)
+	long cloningTime;
+	
+	@Label("Equality Time")
+	@Description("time to compare the reports with the ones of the previous round (reportOnlyOnChange)")
+	@Timespan(Timespan.NANOSECONDS)
+	long equalityTime;
+	
+	@Label("Delivered")
+	@Description("false if the delivery to the subscribers was suppressed")
+	boolean delivered;
+
+	@Override
+	public void setEcSpec(String ecSpec) {
+		this.ecSpec = ecSpec;
+	}
+
+	@Override
+	public void setReports(int reports) {
+		this.reports = reports;
+	}
+
+	@Override
+	public void setCloningTime(long cloningTime) {
+		this.cloningTime = cloningTime;
+	}
+
+	@Override
+	public void setEqualityTime(long equalityTime) {
+		this.equalityTime = equalityTime;
+	}
+
+	@Override
+	public void setDelivered(boolean delivered) {
+		this.delivered = delivered;
+	}
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import org.fosstrak.ale.server.jfr.FlightEvents;
+import org.fosstrak.ale.server.jfr.ReportEvent;
+
+/**
+ * flight recorder event spanning the evaluation of a report (filtering, grouping and conversion of the tags).
+ * 
+ * @author agent
+ *
+ */
+@Name(FlightEvents.PREFIX + "Report")
+@Label("Report")
+@Category({ FlightEvents.CATEGORY, "Event Cycle" })
+@Description("the evaluation of a report: filtering, grouping and conversion of the tags")
+final class JfrReportEvent extends jdk.jfr.Event implements ReportEvent {
+	
+	@Label("Report")
+	String report;
+	
+	@Label("Groups")
+	int groups;
+	
+	@Label("Members")
+	@Description("number of group members (tags) in the report")
+	int members;
+
+	@Override
+	public void setReport(String report) {
+		this.report = report;
+	}
+
+	@Override
+	public void setGroups(int groups) {
+		this.groups = groups;
+	}
+
+	@Override
+	public void setMembers(int members) {
+		this.members = members;
+	}
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.jfr.test;
+
+import java.io.File;
+import java.io.InputStreamReader;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import junit.framework.Assert;
+
+import org.easymock.EasyMock;
+import org.fosstrak.ale.exception.ImplementationException;
+import org.fosstrak.ale.server.Subscriber;
+import org.fosstrak.ale.server.jfr.FlightEvents;
+import org.fosstrak.ale.server.type.SubscriberOutputChannel;
+import org.fosstrak.ale.xsd.ale.epcglobal.ECReport;
+import org.fosstrak.ale.xsd.ale.epcglobal.ECReportGroup;
+import org.fosstrak.ale.xsd.ale.epcglobal.ECReportGroupList;
+import org.fosstrak.ale.xsd.ale.epcglobal.ECReportGroupListMember;
+import org.fosstrak.ale.xsd.ale.epcglobal.ECReports;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * test the flight recorder events with the bundled settings. the test is skipped on a 
+ * JVM without flight recorder.
+ * 
+ * @author agent
+ *
+ */
+public class JfrEventsTest {
+	
+	private Recording recording;
+	
+	private File file;
+	
+	@Before
+	public void setUp() throws Exception {
+		Assume.assumeTrue(FlightEvents.isEnabled());
+		InputStreamReader reader = new InputStreamReader(JfrEventsTest.class.getResourceAsStream("/fosstrak-ale.jfc"), "UTF-8");
+		try {
+			recording = new Recording(Configuration.create(reader));
+		} finally {
+			reader.close();
+		}
+		file = File.createTempFile("ale", ".jfr");
+		recording.start();
+	}
+	
+	@After
+	public void tearDown() throws Exception {
+		FlightEvents.setEnabled(true);
+		if (null != recording) {
+			recording.close();
+		}
+		if (null != file) {
+			file.delete();
+		}
+	}
+	
+	/**
+	 * test the events of a round, a report, the notification and the deliveries.
+	 */
+	@Test
+	public void testEvents() throws Exception {
+		FlightEvents.commitCycle(FlightEvents.beginCycle("spec", 3), 42);
+		FlightEvents.commitReport(FlightEvents.beginReport("report"), createReport(2, 5));
+		FlightEvents.commitNotification(FlightEvents.beginNotification("spec"), 2, 1000, 2000, true);
+		
+		SubscriberOutputChannel channel = EasyMock.createMock(SubscriberOutputChannel.class);
+		EasyMock.expect(channel.notify(EasyMock.isA(ECReports.class))).andReturn(true);
+		EasyMock.expect(channel.notify(EasyMock.isA(ECReports.class))).andThrow(new ImplementationException("down"));
+		EasyMock.replay(channel);
+		Subscriber subscriber = new Subscriber("http://localhost:9999");
+		subscriber.setSubscriberOutputChannel(channel);
+		subscriber.notify(new ECReports());
+		try {
+			subscriber.notify(new ECReports());
+			Assert.fail("the exception of the channel must be propagated");
+		} catch (ImplementationException e) {
+			// expected
+		}
+		EasyMock.verify(channel);
+		
+		Map<String, RecordedEvent> events = recordedEvents();
+		RecordedEvent cycle = events.get(FlightEvents.PREFIX + "EventCycle");
+		Assert.assertEquals("spec", cycle.getString("eventCycle"));
+		Assert.assertEquals(3, cycle.getLong("round"));
+		Assert.assertEquals(42, cycle.getInt("tags"));
+		
+		RecordedEvent report = events.get(FlightEvents.PREFIX + "Report");
+		Assert.assertEquals("report", report.getString("report"));
+		Assert.assertEquals(2, report.getInt("groups"));
+		Assert.assertEquals(10, report.getInt("members"));
+		
+		RecordedEvent notification = events.get(FlightEvents.PREFIX + "Notification");
+		Assert.assertEquals(2, notification.getInt("reports"));
+		Assert.assertEquals(1000, notification.getDuration("cloningTime").toNanos());
+		Assert.assertEquals(2000, notification.getDuration("equalityTime").toNanos());
+		Assert.assertTrue(notification.getBoolean("delivered"));
+		
+		// the failed delivery is recorded last.
+		RecordedEvent delivery = events.get(FlightEvents.PREFIX + "Delivery");
+		Assert.assertEquals("http://localhost:9999", delivery.getString("uri"));
+		Assert.assertEquals(FlightEvents.OUTCOME_FAILED, delivery.getString("outcome"));
+	}
+	
+	/**
+	 * test that no events are emitted when disabled.
+	 */
+	@Test
+	public void testDisabled() throws Exception {
+		FlightEvents.setEnabled(false);
+		Assert.assertNull(FlightEvents.beginCycle("spec", 1));
+		Assert.assertNull(FlightEvents.beginReport("report"));
+		Assert.assertNull(FlightEvents.beginNotification("spec"));
+		Assert.assertNull(FlightEvents.beginDelivery("http://localhost:9999"));
+		// null events are ignored.
+		FlightEvents.commitCycle(null, 1);
+		FlightEvents.commitDelivery(null, 1, FlightEvents.OUTCOME_DELIVERED);
+		Assert.assertTrue(recordedEvents().isEmpty());
+	}
+	
+	/**
+	 * @return the last recorded ALE event per event name.
+	 */
+	private Map<String, RecordedEvent> recordedEvents() throws Exception {
+		recording.stop();
+		recording.dump(file.toPath());
+		Map<String, RecordedEvent> events = new HashMap<String, RecordedEvent>();
+		List<RecordedEvent> recorded = RecordingFile.readAllEvents(file.toPath());
+		for (RecordedEvent event : recorded) {
+			String name = event.getEventType().getName();
+			if (name.startsWith(FlightEvents.PREFIX)) {
+				events.put(name, event);
+			}
+		}
+		return events;
+	}
+	
+	private ECReport createReport(int groups, int members) {
+		ECReport report = new ECReport();
+		for (int i=0; i<groups; i++) {
+			ECReportGroup group = new ECReportGroup();
+			group.setGroupList(new ECReportGroupList());
+			for (int j=0; j<members; j++) {
+				group.getGroupList().getMember().add(new ECReportGroupListMember());
+			}
+			report.getGroup().add(group);
+		}
+		return report;
+	}
+}
@@ -40,6 +40,33 @@ public class ALESettings {
 	
 	@Value(value = "${vendor.version}")
 	private String vendorVersion;
+	
+	@Value(value = "${eventcycle.sharing.enabled}")
+	private boolean eventCycleSharingEnabled;
+	
+	@Value(value = "${report.evaluation.threads}")
+	private int reportEvaluationThreads;
+	
+	@Value(value = "${report.evaluation.partitionSize}")
+	private int reportEvaluationPartitionSize;
+	
+	@Value(value = "${reader.polling.threads}")
+	private int readerPollingThreads;
+	
+	@Value(value = "${metrics.jmx.enabled}")
+	private boolean metricsJmxEnabled;
+	
+	@Value(value = "${tag.trace.sampleRate}")
+	private int tagTraceSampleRate;
+	
+	@Value(value = "${tag.flow.enabled}")
+	private boolean tagFlowEnabled;
+	
+	@Value(value = "${jfr.events.enabled}")
+	private boolean jfrEventsEnabled;
+	
+	@Value(value = "${metrics.locks.enabled}")
+	private boolean metricsLocksEnabled;
 
 	/**
 	 * return the current standard version of the ALE.
@@ -76,4 +103,112 @@ public class ALESettings {
 	public void setVendorVersion(String vendorVersion) {
 		this.vendorVersion = vendorVersion;
 	}
+
+	/**
+	 * whether ECSpecs with equivalent logical readers and boundary spec share one event cycle.
+	 * @return true if event cycles are shared.
+	 */
+	public boolean isEventCycleSharingEnabled() {
+		return eventCycleSharingEnabled;
+	}
+
+	public void setEventCycleSharingEnabled(boolean eventCycleSharingEnabled) {
+		this.eventCycleSharingEnabled = eventCycleSharingEnabled;
+	}
+
+	/**
+	 * the number of threads evaluating the reports of an event cycle concurrently.
+	 * @return the number of threads, 0 or 1 for sequential evaluation.
+	 */
+	public int getReportEvaluationThreads() {
+		return reportEvaluationThreads;
+	}
+
+	public void setReportEvaluationThreads(int reportEvaluationThreads) {
+		this.reportEvaluationThreads = reportEvaluationThreads;
+	}
+
+	/**
+	 * the maximum number of tags per partition when evaluating a single report concurrently.
+	 * @return the partition size, 0 if the tags of a report are not partitioned.
+	 */
+	public int getReportEvaluationPartitionSize() {
+		return reportEvaluationPartitionSize;
+	}
+
+	public void setReportEvaluationPartitionSize(int reportEvaluationPartitionSize) {
+		this.reportEvaluationPartitionSize = reportEvaluationPartitionSize;
+	}
+
+	/**
+	 * the number of worker threads polling the readers that do not deliver their tags by themselves.
+	 * @return the number of polling threads.
+	 */
+	public int getReaderPollingThreads() {
+		return readerPollingThreads;
+	}
+
+	public void setReaderPollingThreads(int readerPollingThreads) {
+		this.readerPollingThreads = readerPollingThreads;
+	}
+
+	/**
+	 * whether the metrics of the logical readers and ECSpecs are exported through JMX.
+	 * @return true if exported.
+	 */
+	public boolean isMetricsJmxEnabled() {
+		return metricsJmxEnabled;
+	}
+
+	public void setMetricsJmxEnabled(boolean metricsJmxEnabled) {
+		this.metricsJmxEnabled = metricsJmxEnabled;
+	}
+
+	/**
+	 * the rate of the sampled tag trace, see {@link org.fosstrak.ale.server.util.TagLogger}.
+	 * @return log one tag in this rate, 0 if disabled.
+	 */
+	public int getTagTraceSampleRate() {
+		return tagTraceSampleRate;
+	}
+
+	public void setTagTraceSampleRate(int tagTraceSampleRate) {
+		this.tagTraceSampleRate = tagTraceSampleRate;
+	}
+
+	/**
+	 * whether the tags are stamped along the pipeline, see {@link org.fosstrak.ale.server.util.TagFlow}.
+	 * @return true if the tags are stamped.
+	 */
+	public boolean isTagFlowEnabled() {
+		return tagFlowEnabled;
+	}
+
+	public void setTagFlowEnabled(boolean tagFlowEnabled) {
+		this.tagFlowEnabled = tagFlowEnabled;
+	}
+
+	/**
+	 * whether the flight recorder events are emitted, see {@link org.fosstrak.ale.server.jfr.FlightEvents}.
+	 * @return true if the events are emitted.
+	 */
+	public boolean isJfrEventsEnabled() {
+		return jfrEventsEnabled;
+	}
+
+	public void setJfrEventsEnabled(boolean jfrEventsEnabled) {
+		this.jfrEventsEnabled = jfrEventsEnabled;
+	}
+
+	/**
+	 * whether the locks record their wait and hold times, see {@link org.fosstrak.ale.server.metrics.InstrumentedLock}.
+	 * @return true if the locks are instrumented.
+	 */
+	public boolean isMetricsLocksEnabled() {
+		return metricsLocksEnabled;
+	}
+
+	public void setMetricsLocksEnabled(boolean metricsLocksEnabled) {
+		this.metricsLocksEnabled = metricsLocksEnabled;
+	}
 }
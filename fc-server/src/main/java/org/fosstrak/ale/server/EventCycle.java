@@ -78,6 +78,14 @@ public interface EventCycle extends Observer {
 	 */
 	boolean isTerminated();
 	
+	/**
+	 * wait until this event cycle is terminated.
+	 * @param timeoutMillis the maximum time to wait in milliseconds.
+	 * @return true if this event cycle is terminated and false otherwise.
+	 * @throws InterruptedException if interrupted while waiting.
+	 */
+	boolean awaitTermination(long timeoutMillis) throws InterruptedException;
+	
 	/**
 	 * starts this EventCycle.
 	 */
@@ -0,0 +1,181 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.server;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * immutable path of the readers a tag passed through the ALE. each reader name is 
+ * mapped once to a small integer id, the path itself only holds the ids. the trace 
+ * string is rendered on demand.
+ * @author agent
+ *
+ */
+public final class ReaderPath {
+	
+	/** separator between two readers in the trace string. */
+	private static final String SEPARATOR = "-";
+	
+	/** key = reader name, value = reader id. */
+	private static final ConcurrentMap<String, Integer> IDS = new ConcurrentHashMap<String, Integer>();
+	
+	/** reader names indexed by the reader id. */
+	private static final List<String> NAMES = new ArrayList<String>();
+	
+	/** the reader ids from the base reader to the last composite reader. */
+	private final int[] ids;
+	
+	/** the rendered trace string, created on first use. */
+	private String trace = null;
+	
+	/**
+	 * @param ids the reader ids (not copied).
+	 */
+	private ReaderPath(int[] ids) {
+		this.ids = ids;
+	}
+	
+	/**
+	 * creates a path with one reader.
+	 * @param readerName the name of the reader.
+	 * @return the path.
+	 */
+	public static ReaderPath of(String readerName) {
+		return new ReaderPath(new int[] { idOf(readerName) });
+	}
+	
+	/**
+	 * returns the id of the given reader name, a new id is assigned on the first call.
+	 * @param readerName the name of the reader.
+	 * @return the id of the reader.
+	 */
+	public static int idOf(String readerName) {
+		Integer id = IDS.get(readerName);
+		if (null != id) {
+			return id;
+		}
+		synchronized (NAMES) {
+			id = IDS.get(readerName);
+			if (null == id) {
+				id = NAMES.size();
+				NAMES.add(readerName);
+				IDS.put(readerName, id);
+			}
+			return id;
+		}
+	}
+	
+	/**
+	 * @param id the id of a reader.
+	 * @return the name of the reader.
+	 */
+	public static String nameOf(int id) {
+		synchronized (NAMES) {
+			return NAMES.get(id);
+		}
+	}
+	
+	/**
+	 * creates a new path with the given reader appended.
+	 * @param readerName the name of the reader to append.
+	 * @return the new path.
+	 */
+	public ReaderPath append(String readerName) {
+		int[] result = new int[ids.length + 1];
+		System.arraycopy(ids, 0, result, 0, ids.length);
+		result[ids.length] = idOf(readerName);
+		return new ReaderPath(result);
+	}
+	
+	/**
+	 * creates a new path with the given path appended.
+	 * @param suffix the path to append, null appends nothing.
+	 * @return the new path.
+	 */
+	public ReaderPath append(ReaderPath suffix) {
+		if (null == suffix) {
+			return this;
+		}
+		int[] result = new int[ids.length + suffix.ids.length];
+		System.arraycopy(ids, 0, result, 0, ids.length);
+		System.arraycopy(suffix.ids, 0, result, ids.length, suffix.ids.length);
+		return new ReaderPath(result);
+	}
+	
+	/**
+	 * @return the number of readers in the path.
+	 */
+	public int length() {
+		return ids.length;
+	}
+	
+	/**
+	 * @param index the position in the path.
+	 * @return the reader id at the given position.
+	 */
+	public int getId(int index) {
+		return ids[index];
+	}
+	
+	/**
+	 * @return the name of the last reader in the path.
+	 */
+	public String getLast() {
+		return nameOf(ids[ids.length - 1]);
+	}
+	
+	@Override
+	public boolean equals(Object obj) {
+		if (obj instanceof ReaderPath) {
+			return Arrays.equals(ids, ((ReaderPath) obj).ids);
+		}
+		return false;
+	}
+	
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(ids);
+	}
+	
+	/**
+	 * @return the trace string, the reader names separated by a dash.
+	 */
+	@Override
+	public String toString() {
+		String result = trace;
+		if (null == result) {
+			StringBuilder sb = new StringBuilder();
+			for (int i = 0; i < ids.length; i++) {
+				if (i > 0) {
+					sb.append(SEPARATOR);
+				}
+				sb.append(nameOf(ids[i]));
+			}
+			result = sb.toString();
+			trace = result;
+		}
+		return result;
+	}
+}
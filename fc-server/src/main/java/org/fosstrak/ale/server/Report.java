@@ -20,16 +20,34 @@
 
 package org.fosstrak.ale.server;
 
+import java.util.ArrayList;
+import java.util.GregorianCalendar;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import javax.xml.datatype.DatatypeConfigurationException;
+import javax.xml.datatype.DatatypeFactory;
+import javax.xml.datatype.XMLGregorianCalendar;
 
 import org.apache.log4j.Logger;
 import org.fosstrak.ale.exception.ECSpecValidationException;
 import org.fosstrak.ale.exception.ImplementationException;
+import org.fosstrak.ale.server.impl.TagTable;
+import org.fosstrak.ale.server.jfr.FlightEvents;
+import org.fosstrak.ale.server.jfr.ReportEvent;
+import org.fosstrak.ale.server.metrics.CycleProfile;
+import org.fosstrak.ale.server.metrics.CycleProfile.Stage;
+import org.fosstrak.ale.server.metrics.SpecMetrics;
+import org.fosstrak.ale.server.util.TagFlow;
 import org.fosstrak.ale.server.util.TagHelper;
+import org.fosstrak.ale.server.util.TagLogger;
 import org.fosstrak.ale.util.ECReportSetEnum;
 import org.fosstrak.ale.xsd.ale.epcglobal.ECFilterSpec;
 import org.fosstrak.ale.xsd.ale.epcglobal.ECReaderStat;
@@ -50,6 +68,9 @@ import org.fosstrak.ale.xsd.ale.epcglobal.ECReportSpecExtension;
 import org.fosstrak.ale.xsd.ale.epcglobal.ECSightingStat;
 import org.fosstrak.ale.xsd.ale.epcglobal.ECTagStat;
 import org.fosstrak.ale.xsd.ale.epcglobal.ECTagStat.StatBlocks;
+import org.fosstrak.ale.xsd.ale.epcglobal.ECTagTimestampStat;
+import org.fosstrak.ale.xsd.extension.ECSightingSignalStat;
+import org.fosstrak.ale.xsd.extension.ECTagCountStat;
 import org.fosstrak.tdt.TDTEngine;
 
 /**
@@ -65,6 +86,24 @@ public class Report {
 	/** logger. */
 	private static final Logger LOG = Logger.getLogger(Report.class);
 	
+	/** logger of the per-tag code paths. */
+	private static final TagLogger TAG_LOG = TagLogger.getLogger(Report.class);
+	
+	/** statistics profile: first and last sighting time of a tag. */
+	public static final String STAT_PROFILE_TAG_TIMESTAMPS = "TagTimestamps";
+	
+	/** statistics profile: number of sightings of a tag. */
+	public static final String STAT_PROFILE_TAG_COUNT = "TagCount";
+	
+	/** statistics profile: the readers that saw a tag. */
+	public static final String STAT_PROFILE_READER_NAMES = "ReaderNames";
+	
+	/** statistics profile: antenna, peak RSSI, times and count of the sightings per reader. */
+	public static final String STAT_PROFILE_READER_SIGHTING_SIGNALS = "ReaderSightingSignals";
+	
+	/** factory for the sighting times, null if not available. */
+	private static final DatatypeFactory DATATYPE_FACTORY = createDatatypeFactory();
+	
 	/** name of this report. */
 	private final String name;
 	/** current event cycle delivers tags. */
@@ -86,6 +125,45 @@ public class Report {
 	/** ec report specification. */
 	private ECReportSpec reportSpec;
 	
+	/** the profile of the round being evaluated, null if the round is not profiled. */
+	private CycleProfile profile = null;
+	
+	/** the decode stamps of the tags included in the report of the current round. */
+	private long[] decodeStamps = new long[16];
+	
+	/** the number of decode stamps of the current round. */
+	private int decodeStampCount = 0;
+	
+	/** the tags of the current round selected by the sampled tag trace. */
+	private final List<Tag> sampledTags = new ArrayList<Tag>();
+	
+	/** the time the report of the current round was evaluated, 0 if not stamped. */
+	private long reportNanos = 0;
+	
+	/** the tags of the evaluated round holding the merged sightings (see {@link TagTable}), null if not evaluating. */
+	private Set<Tag> sightedTags = null;
+	
+	/**
+	 * a tag member of the report together with its group, computed independently from the report state.
+	 */
+	private static final class GroupedMember {
+		
+		/** the name of the group or null for the default group. */
+		private final String groupName;
+		
+		/** the report group member. */
+		private final ECReportGroupListMember member;
+		
+		/** the tag of the member. */
+		private final Tag tag;
+		
+		private GroupedMember(String groupName, ECReportGroupListMember member, Tag tag) {
+			this.groupName = groupName;
+			this.member = member;
+			this.tag = tag;
+		}
+	}
+	
 	/**
 	 * Constructor set parameters, read specifiaction and initializes patterns.
 	 * 
@@ -134,9 +212,12 @@ public class Report {
 		String tagURI = tag.getTagIDAsPureURI();
 	
 		// check if the tag is a member of this report (use filter patterns and set spec)
-		if (isMember(tagURI)) {
+		long start = stamp();
+		boolean member = isMember(tagURI);
+		record(Stage.FILTERING, start);
+		if (member) {
 	
-				LOG.debug("Event '" + tag + "' is member of report '" + name + "'");
+				TAG_LOG.tag("member of report", tag, name);
 			
 				// add tag to report
 				addTagToReportGroup(tag);
@@ -179,6 +260,35 @@ public class Report {
 		LOG.trace(out);
 	}
 	
+	/**
+	 * set the profile of the round to evaluate next. the profile is set on the event cycle 
+	 * thread before the evaluation, the partitions evaluated on other threads see it as 
+	 * they are submitted afterwards.
+	 * @param profile the profile of the round, null if the round is not profiled.
+	 */
+	public void setProfile(CycleProfile profile) {
+		this.profile = profile;
+	}
+	
+	/**
+	 * the report of the current round has been delivered. the latencies of the included 
+	 * tags are recorded and the sampled tags are exported as timeline.
+	 * @param metrics the metrics of the ECSpec owning the report.
+	 * @param specName the name of the ECSpec owning the report.
+	 * @param deliveryNanos the time the report was delivered, 0 if not stamped.
+	 */
+	public void tagsDelivered(SpecMetrics metrics, String specName, long deliveryNanos) {
+		if ((0 != reportNanos) && (0 != deliveryNanos)) {
+			for (int i = 0; i < decodeStampCount; i++) {
+				metrics.tagDelivered(reportNanos - decodeStamps[i], deliveryNanos - decodeStamps[i]);
+			}
+			for (Tag tag : sampledTags) {
+				TagFlow.timeline(tag, specName, name, reportNanos, deliveryNanos);
+			}
+		}
+		clearIncluded();
+	}
+	
 	/**
 	 * This method returns the new ec report.
 	 * 
@@ -187,8 +297,29 @@ public class Report {
 	 * @throws ImplementationException if an implementation exception occurs
 	 */
 	public ECReport getECReport() throws ECSpecValidationException, ImplementationException {
+		return getECReport(null, 0);
+	}
+	
+	/**
+	 * This method returns the new ec report. if an executor is given and the report covers more 
+	 * tags than the partition size, the tags are split into partitions that are filtered, grouped 
+	 * and converted concurrently. the partitions are merged in their order, therefore the resulting 
+	 * report is the same as the one of the sequential evaluation.
+	 * <br/>
+	 * <strong>do not call this method from a thread of the given executor</strong> (the calling thread waits for the partitions).
+	 * 
+	 * @param executor the executor evaluating the partitions, null for sequential evaluation.
+	 * @param partitionSize the maximum number of tags per partition, 0 for sequential evaluation.
+	 * @return ec report
+	 * @throws ECSpecValidationException if a tag is invalid
+	 * @throws ImplementationException if an implementation exception occurs
+	 */
+	public ECReport getECReport(ExecutorService executor, int partitionSize) throws ECSpecValidationException, ImplementationException {
+		ReportEvent event = FlightEvents.beginReport(name);
+		clearIncluded();
 		Set<Tag> currentCycleTags = currentEventCycle.getTags();
 		Set<Tag> lastCycleTags = currentEventCycle.getLastEventCycleTags();
+		sightedTags = ECReportSetEnum.isSameECReportSet(ECReportSetEnum.DELETIONS, reportType) ? lastCycleTags : currentCycleTags;
 		
 		//generate new ECReport
 		if (ECReportSetEnum.isSameECReportSet(ECReportSetEnum.ADDITIONS, reportType)) {
@@ -208,16 +339,24 @@ public class Report {
 				}
 			}
 
-			for (Tag tag : reportTags.values()) {
-				addTag(tag);
+			if (isPartitioned(executor, partitionSize, reportTags.size())) {
+				addTagsPartitioned(new ArrayList<Tag>(reportTags.values()), executor, partitionSize);
+			} else {
+				for (Tag tag : reportTags.values()) {
+					addTag(tag);
+				}
 			}
 			//writeDebugInformation(reportTags);
 	
 		} else if (ECReportSetEnum.isSameECReportSet(ECReportSetEnum.CURRENT, reportType)) {
 
 			// get tags from current EventCycle 
-			for (Tag tag : currentCycleTags) {
-				addTag(tag);
+			if (isPartitioned(executor, partitionSize, currentCycleTags.size())) {
+				addTagsPartitioned(new ArrayList<Tag>(currentCycleTags), executor, partitionSize);
+			} else {
+				for (Tag tag : currentCycleTags) {
+					addTag(tag);
+				}
 			}
 		} else if (ECReportSetEnum.isSameECReportSet(ECReportSetEnum.DELETIONS, reportType)) {
 			
@@ -237,8 +376,12 @@ public class Report {
 			}
 				
 			// add tags to report with filtering
-			for (Tag tag : reportTags.values()) {
-				addTag(tag);
+			if (isPartitioned(executor, partitionSize, reportTags.size())) {
+				addTagsPartitioned(new ArrayList<Tag>(reportTags.values()), executor, partitionSize);
+			} else {
+				for (Tag tag : reportTags.values()) {
+					addTag(tag);
+				}
 			}
 			if (LOG.isTraceEnabled()) {
 				writeTraceInformation(reportTags);
@@ -246,6 +389,9 @@ public class Report {
 		} else {
 			LOG.info("unknown reportType: " + reportType);
 		}
+		sightedTags = null;
+		reportNanos = TagFlow.stamp();
+		FlightEvents.commitReport(event, report);
 		
 
 		if (reportSpec.isReportIfEmpty() || !isEmpty()) {
@@ -264,6 +410,80 @@ public class Report {
 	// private methods
 	//
 	
+	/**
+	 * whether the tags of the report shall be evaluated in partitions.
+	 * @param executor the executor evaluating the partitions.
+	 * @param partitionSize the maximum number of tags per partition.
+	 * @param numberOfTags the number of tags of the report.
+	 * @return true if more than one partition is needed and an executor is available.
+	 */
+	private boolean isPartitioned(ExecutorService executor, int partitionSize, int numberOfTags) {
+		return (null != executor) && (partitionSize > 0) && (numberOfTags > partitionSize);
+	}
+	
+	/**
+	 * filter, group and convert the given tags in partitions on the executor and merge the 
+	 * results into the report in the order of the partitions. the tags need to be filtered 
+	 * against the last event cycle already (ADDITIONS).
+	 * @param tags the tags of the report.
+	 * @param executor the executor evaluating the partitions.
+	 * @param partitionSize the maximum number of tags per partition.
+	 * @throws ECSpecValidationException if a tag is invalid
+	 * @throws ImplementationException if an implementation exception occurs
+	 */
+	private void addTagsPartitioned(final List<Tag> tags, ExecutorService executor, int partitionSize) throws ECSpecValidationException, ImplementationException {
+		List<Future<List<GroupedMember>>> partitions = new ArrayList<Future<List<GroupedMember>>>();
+		for (int start = 0; start < tags.size(); start += partitionSize) {
+			final List<Tag> partition = tags.subList(start, Math.min(tags.size(), start + partitionSize));
+			partitions.add(executor.submit(new Callable<List<GroupedMember>>() {
+				@Override
+				public List<GroupedMember> call() throws Exception {
+					List<GroupedMember> members = new ArrayList<GroupedMember>(partition.size());
+					for (Tag tag : partition) {
+						long start = stamp();
+						boolean member = matchesFilterPatterns(tag.getTagIDAsPureURI());
+						start = record(Stage.FILTERING, start);
+						if (member) {
+							String groupName = getGroupName(getTagURI(tag));
+							start = record(Stage.GROUPING, start);
+							ECReportGroupListMember groupMember = createGroupMember(tag);
+							record(Stage.CONVERSION, start);
+							members.add(new GroupedMember(groupName, groupMember, tag));
+						}
+					}
+					return members;
+				}
+			}));
+		}
+		
+		try {
+			for (Future<List<GroupedMember>> partition : partitions) {
+				List<GroupedMember> members = partition.get();
+				long start = stamp();
+				for (GroupedMember groupedMember : members) {
+					addToReportGroup(groupedMember.groupName, groupedMember.member);
+					included(groupedMember.tag);
+				}
+				record(Stage.GROUPING, start);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ImplementationException("interrupted while evaluating the report " + name);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof ECSpecValidationException) {
+				throw (ECSpecValidationException) e.getCause();
+			} else if (e.getCause() instanceof ImplementationException) {
+				throw (ImplementationException) e.getCause();
+			}
+			LOG.error("could not evaluate the report " + name, e.getCause());
+			throw new ImplementationException("could not evaluate the report " + name + ": " + e.getCause());
+		} finally {
+			for (Future<List<GroupedMember>> partition : partitions) {
+				partition.cancel(true);
+			}
+		}
+	}
+	
 	/**
 	 * This method initializes the filter patterns on the basis of the ec report specification.
 	 */
@@ -345,6 +565,19 @@ public class Report {
 			}
 		}			
 
+		return matchesFilterPatterns(tagURI);
+	}
+	
+	/**
+	 * This method checks on the basis of the include and exclude patterns only if the specified tag could be a member of this report.
+	 * 
+	 * @param tagURI to check for possible membership
+	 * @return true if the tag passes the filter patterns and false otherwise
+	 * @throws ECSpecValidationException if the tag is invalid
+	 * @throws ImplementationException if an implementation exception occurs
+	 */
+	private boolean matchesFilterPatterns(String tagURI) throws ECSpecValidationException, ImplementationException {
+		
 		// check if tagURI is member of an exclude pattern
 		for (Pattern pattern : excludePatterns) {
 			if (pattern.isMember(tagURI)) {
@@ -377,16 +610,44 @@ public class Report {
 	private void addTagToReportGroup(Tag tag) throws ImplementationException, ECSpecValidationException {
 		
 		// get tag URI
+		String tagURI = getTagURI(tag);
+		
+		// get group name (use group patterns)
+		long start = stamp();
+		String groupName = getGroupName(tagURI);
+		start = record(Stage.GROUPING, start);
+		
+		ECReportGroupListMember groupMember = createGroupMember(tag);
+		start = record(Stage.CONVERSION, start);
+		
+		addToReportGroup(groupName, groupMember);
+		record(Stage.GROUPING, start);
+		included(tag);
+		
+		TAG_LOG.tag("added to report group", tag, name, groupName);
+	}
+	
+	/**
+	 * the pure URI of the tag used for the grouping.
+	 * @param tag the tag.
+	 * @return the pure URI or the hex representation if no pure URI is available.
+	 */
+	private String getTagURI(Tag tag) {
 		String tagURI = tag.getTagIDAsPureURI();
 		// if this one is null, try something different to compense crashes...
 		if (null == tagURI) {
 			tagURI = TagHelper.getTDTEngine().bin2hex(tag.getTagAsBinary());
 		}
-		
-		// get group name (use group patterns)
-		String groupName = getGroupName(tagURI);
-		
-		LOG.debug("The group name for tag '" + tagURI + "' is '" + groupName + "'");
+		return tagURI;
+	}
+	
+	/**
+	 * This method adds a group member to the group of the report with the given name. if the group does not exist yet, it is created.
+	 * 
+	 * @param groupName the name of the group (null for the default group).
+	 * @param groupMember the group member to add.
+	 */
+	private void addToReportGroup(String groupName, ECReportGroupListMember groupMember) {
 		
 		// get matching group
 		ECReportGroup matchingGroup = null;
@@ -411,7 +672,7 @@ public class Report {
 		// create group if group does not already exist
 		if (matchingGroup == null) {
 			
-			LOG.debug("Group '" + groupName + "' does not already exist, create it");
+			TAG_LOG.debug("Group '", groupName, "' does not already exist, create it");
 						
 			// create group
 			matchingGroup = new ECReportGroup();
@@ -434,6 +695,25 @@ public class Report {
 			
 		}
 		
+		// add list member to group list
+		List<ECReportGroupListMember> members = matchingGroup.getGroupList().getMember();		
+		members.add(groupMember);
+		
+		// increment group counter
+		if (reportSpec.getOutput().isIncludeCount()) {
+			matchingGroup.getGroupCount().setCount(matchingGroup.getGroupCount().getCount() + 1);
+		}
+	}
+	
+	/**
+	 * This method creates the group list member for a tag according to the output spec of the report. 
+	 * the report itself is not modified.
+	 * 
+	 * @param tag the tag.
+	 * @return the group list member.
+	 */
+	private ECReportGroupListMember createGroupMember(Tag tag) {
+		
 		// create group list member
 		ECReportGroupListMember groupMember = new ECReportGroupListMember();
 			
@@ -482,21 +762,12 @@ public class Report {
 		}
 		//ORANGE End
 		
-		// add list member to group list
-		List<ECReportGroupListMember> members = matchingGroup.getGroupList().getMember();		
-		members.add(groupMember);
-		
-		// increment group counter
-		if (reportSpec.getOutput().isIncludeCount()) {
-			matchingGroup.getGroupCount().setCount(matchingGroup.getGroupCount().getCount() + 1);
-		}
-		
-		LOG.debug("Tag '" + tagURI + "' successfully added to group '" + groupName + "' of report '" + name + "'");
-		
+		return groupMember;
 	}
 
 	/**
-	 * for each statistics profile name add the respective statistics profile.
+	 * for each statistics profile name add the respective statistics profile. the 
+	 * statistics are taken from the sighting record the event cycle aggregated for the tag.
 	 * @param tag the tag holding information the statistics.
 	 * @param groupMember the group member where to add the statistics.
 	 * @param statProfileName a list of statistic profile names.
@@ -508,12 +779,16 @@ public class Report {
 			new ECReportGroupListMemberExtension();
 		groupMember.setExtension(extension);
 		
+		TagSighting sighting = TagTable.getSighting(sightedTags, tag);
+		if (null == sighting) {
+			sighting = TagSighting.of(tag);
+		}
 		extension.setStats(new Stats());
 		List<ECTagStat> ecTagStats = extension.getStats().getStat();
 		for (String profile : statProfileName) {		
 			LOG.debug("adding stat profile: " + profile);
 		
-			ECTagStat ecTagStat = new ECTagStat();
+			ECTagStat ecTagStat = createTagStat(profile, sighting);
 			ecTagStats.add(ecTagStat);
 			
 			ecTagStat.setProfile(profile);
@@ -523,7 +798,75 @@ public class Report {
 			
 			readerStat.setReaderName(tag.getReader());
 			readerStat.setSightings(new Sightings());
-			readerStat.getSightings().getSighting().add(new ECSightingStat());
+			if (STAT_PROFILE_READER_SIGHTING_SIGNALS.equals(profile)) {
+				readerStat.getSightings().getSighting().add(createSightingSignalStat(sighting));
+			} else if (!STAT_PROFILE_READER_NAMES.equals(profile)) {
+				readerStat.getSightings().getSighting().add(new ECSightingStat());
+			}
+		}
+	}
+	
+	/**
+	 * create the tag statistics of the given profile.
+	 * @param profile the statistics profile name.
+	 * @param sighting the sighting record of the tag.
+	 * @return the tag statistics.
+	 */
+	private ECTagStat createTagStat(String profile, TagSighting sighting) {
+		if (STAT_PROFILE_TAG_COUNT.equals(profile)) {
+			ECTagCountStat stat = new ECTagCountStat();
+			stat.setCount(sighting.getSeenCount());
+			return stat;
+		} else if (STAT_PROFILE_TAG_TIMESTAMPS.equals(profile) && (null != DATATYPE_FACTORY)) {
+			ECTagTimestampStat stat = new ECTagTimestampStat();
+			stat.setFirstSightingTime(toXMLTime(sighting.getFirstSeen()));
+			stat.setLastSightingTime(toXMLTime(sighting.getLastSeen()));
+			return stat;
+		}
+		return new ECTagStat();
+	}
+	
+	/**
+	 * create the sighting statistics of the profile ReaderSightingSignals.
+	 * @param sighting the sighting record of the tag.
+	 * @return the sighting statistics.
+	 */
+	private ECSightingStat createSightingSignalStat(TagSighting sighting) {
+		if (null == DATATYPE_FACTORY) {
+			return new ECSightingStat();
+		}
+		ECSightingSignalStat stat = new ECSightingSignalStat();
+		if (sighting.getAntennaID() != TagSighting.NO_ANTENNA) {
+			stat.setAntenna(sighting.getAntennaID());
+		}
+		if (sighting.getPeakRSSI() != TagSighting.NO_RSSI) {
+			stat.setStrength(sighting.getPeakRSSI());
+		}
+		stat.setFirstSightingTime(toXMLTime(sighting.getFirstSeen()));
+		stat.setLastSightingTime(toXMLTime(sighting.getLastSeen()));
+		stat.setCount(sighting.getSeenCount());
+		return stat;
+	}
+	
+	/**
+	 * @param millis a time in milliseconds.
+	 * @return the time as xml date time.
+	 */
+	private static XMLGregorianCalendar toXMLTime(long millis) {
+		GregorianCalendar calendar = new GregorianCalendar();
+		calendar.setTimeInMillis(millis);
+		return DATATYPE_FACTORY.newXMLGregorianCalendar(calendar);
+	}
+	
+	/**
+	 * @return the datatype factory or null if not available.
+	 */
+	private static DatatypeFactory createDatatypeFactory() {
+		try {
+			return DatatypeFactory.newInstance();
+		} catch (DatatypeConfigurationException e) {
+			LOG.error("no datatype factory available, sighting times are not reported.", e);
+			return null;
 		}
 	}
 	
@@ -567,6 +910,58 @@ public class Report {
 		
 	}
 	
+	/**
+	 * keep the decode stamp of a tag included in the report of the current round.
+	 * @param tag the included tag.
+	 */
+	private void included(Tag tag) {
+		long decodeNanos = tag.getDecodeNanos();
+		if (0 == decodeNanos) {
+			return;
+		}
+		if (decodeStampCount == decodeStamps.length) {
+			long[] grown = new long[decodeStamps.length * 2];
+			System.arraycopy(decodeStamps, 0, grown, 0, decodeStampCount);
+			decodeStamps = grown;
+		}
+		decodeStamps[decodeStampCount++] = decodeNanos;
+		if (TagFlow.isTimelineEnabled() && TagLogger.isSampled(tag)) {
+			sampledTags.add(tag);
+		}
+	}
+	
+	/**
+	 * forget the tags included in the report of the last round.
+	 */
+	private void clearIncluded() {
+		decodeStampCount = 0;
+		sampledTags.clear();
+		reportNanos = 0;
+	}
+	
+	/**
+	 * @return the current time in nanoseconds if the round is profiled, 0 otherwise.
+	 */
+	private long stamp() {
+		return (null == profile) ? 0 : System.nanoTime();
+	}
+	
+	/**
+	 * record the time since the given stamp to a stage of the profile.
+	 * @param stage the stage.
+	 * @param start the stamp the stage started.
+	 * @return the current time in nanoseconds if the round is profiled, 0 otherwise.
+	 */
+	private long record(Stage stage, long start) {
+		CycleProfile current = profile;
+		if (null == current) {
+			return 0;
+		}
+		long now = System.nanoTime();
+		current.add(stage, now - start);
+		return now;
+	}
+	
 	/**
 	 * This method indicates if the report contains any tags.
 	 * 
@@ -114,6 +114,13 @@ public interface ReportsGenerator {
 	 */
 	ECReports getPollReports();
 	
+	/**
+	 * wait until the ec reports of a poll have been generated.
+	 * @return ec reports
+	 * @throws InterruptedException if interrupted while waiting.
+	 */
+	ECReports awaitPollReports() throws InterruptedException;
+	
 	/**
 	 * This method returns the name of this reports generator.
 	 * 
@@ -23,6 +23,9 @@ package org.fosstrak.ale.server;
 import org.apache.log4j.Logger;
 import org.fosstrak.ale.exception.ImplementationException;
 import org.fosstrak.ale.exception.InvalidURIException;
+import org.fosstrak.ale.server.jfr.DeliveryEvent;
+import org.fosstrak.ale.server.jfr.FlightEvents;
+import org.fosstrak.ale.server.type.AbstractSubscriberOutputChannel;
 import org.fosstrak.ale.server.type.FileSubscriberOutputChannel;
 import org.fosstrak.ale.server.type.HTTPSubscriberOutputChannel;
 import org.fosstrak.ale.server.type.SubscriberOutputChannel;
@@ -52,6 +55,8 @@ public class Subscriber {
 
 	/** number representing the protocol of this subscriber */
 	private final String protocol;
+	/** the notification uri of this subscriber */
+	private final String notificationURI;
 	/** handle on the helper delivering the report */
 	private SubscriberOutputChannel subscriberOutputChannel;
 
@@ -62,6 +67,7 @@ public class Subscriber {
 	 * @throws InvalidURIException if the notification uri is invalid
 	 */
 	public Subscriber(String notificationURI) throws InvalidURIException {
+		this.notificationURI = notificationURI;
 		try {
 			String[] parts = notificationURI.split(":");
 			protocol = parts[0];
@@ -123,7 +129,34 @@ public class Subscriber {
 	 * @throws ImplementationException if an implementation exception occures
 	 */
 	public void notify(ECReports reports) throws ImplementationException {
-		subscriberOutputChannel.notify(reports);
+		DeliveryEvent event = FlightEvents.beginDelivery(notificationURI);
+		String outcome = FlightEvents.OUTCOME_FAILED;
+		try {
+			boolean delivered = subscriberOutputChannel.notify(reports);
+			outcome = delivered ? FlightEvents.OUTCOME_DELIVERED : FlightEvents.OUTCOME_NOT_DELIVERED;
+		} finally {
+			FlightEvents.commitDelivery(event, getSerializedLength(), outcome);
+		}
+	}
+
+	/**
+	 * @return the number of bytes of the reports serialized by the last notification, 0 if unknown.
+	 */
+	public long getSerializedLength() {
+		if (subscriberOutputChannel instanceof AbstractSubscriberOutputChannel) {
+			return ((AbstractSubscriberOutputChannel) subscriberOutputChannel).getSerializedLength();
+		}
+		return 0;
+	}
+
+	/**
+	 * @return the time in nanoseconds to serialize the reports of the last notification, 0 if unknown.
+	 */
+	public long getSerializationNanos() {
+		if (subscriberOutputChannel instanceof AbstractSubscriberOutputChannel) {
+			return ((AbstractSubscriberOutputChannel) subscriberOutputChannel).getSerializationNanos();
+		}
+		return 0;
 	}
 
 	/**
@@ -30,7 +30,7 @@ public class Tag {
 	private String binary = null;
 	
 	/** trace where the tag passed through the ALE.  */
-	private String trace = null;
+	private ReaderPath path = null;
 	
 	/** timestamp when the tag occured. */
 	private long timestamp = -1;
@@ -47,6 +47,18 @@ public class Tag {
 	/** ORANGE: user memory of the tag. */
 	private String userMemory = null;
 	
+	/** antenna, RSSI and read-count of the sightings, null if not reported. */
+	private TagSighting sighting = null;
+	
+	/** monotonic time the adaptor decoded the tag, 0 if not stamped. */
+	private long decodeNanos = 0;
+	
+	/** monotonic time a composite reader routed the tag, 0 if not stamped. */
+	private long routeNanos = 0;
+	
+	/** monotonic time the tag arrived at an event cycle, 0 if not stamped. */
+	private long insertNanos = 0;
+	
 	/**
 	 * constructor for a tag. (default constructor).
 	 */
@@ -84,8 +96,32 @@ public class Tag {
 		setOrigin(tag.getOrigin());
 		setTimestamp(tag.getTimestamp());
 		setReader(tag.getReader());
-		this.trace = tag.getTrace();
+		this.path = tag.getPath();
 		setTagID(tag.getTagID());
+		this.decodeNanos = tag.decodeNanos;
+		this.routeNanos = tag.routeNanos;
+		this.insertNanos = tag.insertNanos;
+	}
+	
+	/**
+	 * returns a copy of this tag as delivered by the given composite reader. all
+	 * fields are shared with this tag, this tag itself is not modified.
+	 * @param compositeReader the name of the reader delivering the copy.
+	 * @param suffix the readers to append to the trace path.
+	 * @return the copy of the tag.
+	 */
+	public Tag deliveredBy(String compositeReader, ReaderPath suffix) {
+		Tag tag = new Tag(this);
+		tag.setReader(compositeReader);
+		tag.path = (null == path) ? suffix : path.append(suffix);
+		tag.setTagIDAsPureURI(getTagIDAsPureURI());
+		tag.setTagAsBinary(getTagAsBinary());
+		tag.setTagLength(getTagLength());
+		tag.setFilter(getFilter());
+		tag.setCompanyPrefixLength(getCompanyPrefixLength());
+		tag.setUserMemory(getUserMemory());
+		tag.setSighting(getSighting());
+		return tag;
 	}
 
 	/**
@@ -144,10 +180,10 @@ public class Tag {
 	 * @param suffix  a trace path item
 	 */
 	public void addTrace(String suffix) {
-		if (trace == null) {
-			trace = suffix;
+		if (path == null) {
+			path = ReaderPath.of(suffix);
 		} else {
-			trace = trace + "-" + suffix;
+			path = path.append(suffix);
 		}
 	}
 	
@@ -156,7 +192,15 @@ public class Tag {
 	 * @return a string containing the tracepath
 	 */
 	public String getTrace() {
-		return trace;
+		return (null == path) ? null : path.toString();
+	}
+	
+	/**
+	 * returns the trace path of the tag as reader ids.
+	 * @return the trace path or null if not traced.
+	 */
+	public ReaderPath getPath() {
+		return path;
 	}
 	
 	@Override
@@ -342,4 +386,61 @@ public class Tag {
 	public void setUserMemory(String userMemory) {
 		this.userMemory = userMemory;
 	}
+	
+	/**
+	 * @return the sighting record of this tag or null if not reported.
+	 */
+	public TagSighting getSighting() {
+		return sighting;
+	}
+	
+	/**
+	 * @param sighting the sighting record of this tag.
+	 */
+	public void setSighting(TagSighting sighting) {
+		this.sighting = sighting;
+	}
+	
+	/**
+	 * @return the monotonic time (nanoseconds) the adaptor decoded the tag, 0 if not stamped.
+	 */
+	public long getDecodeNanos() {
+		return decodeNanos;
+	}
+	
+	/**
+	 * @param decodeNanos the monotonic time (nanoseconds) the adaptor decoded the tag.
+	 */
+	public void setDecodeNanos(long decodeNanos) {
+		this.decodeNanos = decodeNanos;
+	}
+	
+	/**
+	 * @return the monotonic time (nanoseconds) a composite reader routed the tag, 0 if not stamped.
+	 */
+	public long getRouteNanos() {
+		return routeNanos;
+	}
+	
+	/**
+	 * @param routeNanos the monotonic time (nanoseconds) a composite reader routed the tag.
+	 */
+	public void setRouteNanos(long routeNanos) {
+		this.routeNanos = routeNanos;
+	}
+	
+	/**
+	 * @return the monotonic time (nanoseconds) the tag arrived at an event cycle, 0 if not stamped. 
+	 * if the tag is read by several event cycles, the last arrival is kept.
+	 */
+	public long getInsertNanos() {
+		return insertNanos;
+	}
+	
+	/**
+	 * @param insertNanos the monotonic time (nanoseconds) the tag arrived at an event cycle.
+	 */
+	public void setInsertNanos(long insertNanos) {
+		this.insertNanos = insertNanos;
+	}
 }
@@ -0,0 +1,220 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.server;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * compact record of the sightings of one tag: antenna, peak RSSI, first and last 
+ * seen time and the number of sightings. the event cycle keeps one record per 
+ * distinct tag and merges all further sightings into it, so the statistics 
+ * profiles can be reported without keeping the individual reads.<br/>
+ * the merge is lock-free: every field is updated by compare-and-set, antenna and 
+ * peak RSSI are packed into one field to be updated together. a reader concurrent 
+ * to a merge may see the fields of different merges.
+ * @author agent
+ *
+ */
+public final class TagSighting {
+	
+	/** marker for an unknown antenna. */
+	public static final int NO_ANTENNA = -1;
+	
+	/** marker for an unknown RSSI. */
+	public static final int NO_RSSI = Integer.MIN_VALUE;
+	
+	private static final AtomicLongFieldUpdater<TagSighting> SIGNAL = AtomicLongFieldUpdater.newUpdater(TagSighting.class, "signal");
+	
+	private static final AtomicLongFieldUpdater<TagSighting> FIRST_SEEN = AtomicLongFieldUpdater.newUpdater(TagSighting.class, "firstSeen");
+	
+	private static final AtomicLongFieldUpdater<TagSighting> LAST_SEEN = AtomicLongFieldUpdater.newUpdater(TagSighting.class, "lastSeen");
+	
+	private static final AtomicIntegerFieldUpdater<TagSighting> SEEN_COUNT = AtomicIntegerFieldUpdater.newUpdater(TagSighting.class, "seenCount");
+	
+	/** the antenna of the strongest sighting (high word) and the peak RSSI over all sightings (low word). */
+	private volatile long signal;
+	
+	/** time of the first sighting in milliseconds. */
+	private volatile long firstSeen;
+	
+	/** time of the last sighting in milliseconds. */
+	private volatile long lastSeen;
+	
+	/** number of sightings. */
+	private volatile int seenCount;
+	
+	/**
+	 * creates a sighting record.
+	 * @param antennaID the antenna or {@link #NO_ANTENNA}.
+	 * @param peakRSSI the peak RSSI or {@link #NO_RSSI}.
+	 * @param firstSeen time of the first sighting.
+	 * @param lastSeen time of the last sighting.
+	 * @param seenCount number of sightings.
+	 */
+	public TagSighting(int antennaID, int peakRSSI, long firstSeen, long lastSeen, int seenCount) {
+		this.signal = signal(antennaID, peakRSSI);
+		this.firstSeen = firstSeen;
+		this.lastSeen = lastSeen;
+		this.seenCount = seenCount;
+	}
+	
+	/**
+	 * creates the record of a single sighting at the given time.
+	 * @param timestamp the time of the sighting.
+	 */
+	public TagSighting(long timestamp) {
+		this(NO_ANTENNA, NO_RSSI, timestamp, timestamp, 1);
+	}
+	
+	/**
+	 * creates the record of a tag, either a copy of the record of the tag or a 
+	 * single sighting at the timestamp of the tag.
+	 * @param tag the tag.
+	 * @return a new record.
+	 */
+	public static TagSighting of(Tag tag) {
+		TagSighting sighting = tag.getSighting();
+		if (null == sighting) {
+			return new TagSighting(tag.getTimestamp());
+		}
+		return sighting.copy();
+	}
+	
+	/**
+	 * @return a copy of this record.
+	 */
+	public TagSighting copy() {
+		long currentSignal = signal;
+		return new TagSighting(antennaOf(currentSignal), rssiOf(currentSignal), firstSeen, lastSeen, seenCount);
+	}
+	
+	/**
+	 * merges the sightings of a tag into this record.
+	 * @param tag the tag seen again.
+	 */
+	public void merge(Tag tag) {
+		TagSighting other = tag.getSighting();
+		if (null == other) {
+			merge(NO_ANTENNA, NO_RSSI, tag.getTimestamp(), tag.getTimestamp(), 1);
+		} else {
+			merge(other);
+		}
+	}
+	
+	/**
+	 * merges the sightings of another record into this record.
+	 * @param other the other record.
+	 */
+	public void merge(TagSighting other) {
+		long otherSignal = other.signal;
+		merge(antennaOf(otherSignal), rssiOf(otherSignal), other.firstSeen, other.lastSeen, other.seenCount);
+	}
+	
+	/**
+	 * merges further sightings into this record.
+	 * @param otherAntennaID the antenna of the sightings.
+	 * @param otherPeakRSSI the peak RSSI of the sightings.
+	 * @param otherFirstSeen time of the first of the sightings.
+	 * @param otherLastSeen time of the last of the sightings.
+	 * @param otherSeenCount number of sightings.
+	 */
+	private void merge(int otherAntennaID, int otherPeakRSSI, long otherFirstSeen, long otherLastSeen, int otherSeenCount) {
+		while (true) {
+			long current = signal;
+			int antennaID = antennaOf(current);
+			int peakRSSI = rssiOf(current);
+			if ((otherPeakRSSI != NO_RSSI) && ((peakRSSI == NO_RSSI) || (otherPeakRSSI > peakRSSI))) {
+				peakRSSI = otherPeakRSSI;
+				antennaID = otherAntennaID;
+			} else if (antennaID == NO_ANTENNA) {
+				antennaID = otherAntennaID;
+			}
+			long merged = signal(antennaID, peakRSSI);
+			if ((merged == current) || SIGNAL.compareAndSet(this, current, merged)) {
+				break;
+			}
+		}
+		long current = firstSeen;
+		while ((otherFirstSeen < current) && !FIRST_SEEN.compareAndSet(this, current, otherFirstSeen)) {
+			current = firstSeen;
+		}
+		current = lastSeen;
+		while ((otherLastSeen > current) && !LAST_SEEN.compareAndSet(this, current, otherLastSeen)) {
+			current = lastSeen;
+		}
+		SEEN_COUNT.addAndGet(this, otherSeenCount);
+	}
+	
+	private static long signal(int antennaID, int peakRSSI) {
+		return ((long) antennaID << 32) | (peakRSSI & 0xFFFFFFFFL);
+	}
+	
+	private static int antennaOf(long signal) {
+		return (int) (signal >> 32);
+	}
+	
+	private static int rssiOf(long signal) {
+		return (int) signal;
+	}
+	
+	/**
+	 * @return the antenna of the strongest sighting or {@link #NO_ANTENNA}.
+	 */
+	public int getAntennaID() {
+		return antennaOf(signal);
+	}
+	
+	/**
+	 * @return the peak RSSI or {@link #NO_RSSI}.
+	 */
+	public int getPeakRSSI() {
+		return rssiOf(signal);
+	}
+	
+	/**
+	 * @return time of the first sighting in milliseconds.
+	 */
+	public long getFirstSeen() {
+		return firstSeen;
+	}
+	
+	/**
+	 * @return time of the last sighting in milliseconds.
+	 */
+	public long getLastSeen() {
+		return lastSeen;
+	}
+	
+	/**
+	 * @return the number of sightings.
+	 */
+	public int getSeenCount() {
+		return seenCount;
+	}
+	
+	@Override
+	public String toString() {
+		long currentSignal = signal;
+		return String.format("[Sighting antenna: %d, peakRSSI: %d, firstSeen: %d, lastSeen: %d, count: %d]", 
+				antennaOf(currentSignal), rssiOf(currentSignal), firstSeen, lastSeen, seenCount);
+	}
+}
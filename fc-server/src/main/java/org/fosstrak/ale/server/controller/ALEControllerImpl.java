@@ -9,6 +9,10 @@ import java.util.Set;
 import org.apache.log4j.Logger;
 import org.fosstrak.ale.server.ALE;
 import org.fosstrak.ale.server.ReportsGenerator;
+import org.fosstrak.ale.server.metrics.CycleProfile;
+import org.fosstrak.ale.server.metrics.CycleProfiler;
+import org.fosstrak.ale.server.metrics.MetricsRegistry;
+import org.fosstrak.ale.server.metrics.SpecMetrics;
 import org.fosstrak.ale.server.readers.LogicalReader;
 import org.fosstrak.ale.server.readers.LogicalReaderManager;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -30,6 +34,9 @@ public class ALEControllerImpl implements ALEController {
 	@Autowired
 	private LogicalReaderManager logicalReaderManager;
 	
+	@Autowired
+	private MetricsRegistry metricsRegistry;
+	
 	@Override
 	public boolean ecSpecIsStarted(String specName) throws org.fosstrak.ale.exception.NoSuchNameException {			
 		
@@ -221,4 +228,27 @@ public class ALEControllerImpl implements ALEController {
 		
 	}
 	
+	@Override
+	public String[] getECSpecProfile(String specName) throws org.fosstrak.ale.exception.NoSuchNameException {
+		
+		LOG.debug("get the profile of ECSpec " + specName);
+		
+		if (!ale.getReportGenerators().containsKey(specName)) {
+			throw new org.fosstrak.ale.exception.NoSuchNameException();			
+		}
+		
+		SpecMetrics metrics = metricsRegistry.getSpecMetrics().get(specName);
+		CycleProfiler profiler = (null == metrics) ? null : metrics.getProfiler();
+		if (null == profiler) {
+			return new String[0];
+		}
+		
+		List<String> result = new ArrayList<String>();
+		for (CycleProfile profile : profiler.getProfiles()) {
+			result.add(profile.toString());
+		}
+		return result.toArray(new String[0]);
+		
+	}
+	
 }
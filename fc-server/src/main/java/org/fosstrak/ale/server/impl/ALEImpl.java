@@ -36,10 +36,15 @@ import org.fosstrak.ale.server.ALESettings;
 import org.fosstrak.ale.server.ReportsGenerator;
 import org.fosstrak.ale.server.impl.type.InputGeneratorProvider;
 import org.fosstrak.ale.server.impl.type.ReportsGeneratorsProvider;
+import org.fosstrak.ale.server.jfr.FlightEvents;
+import org.fosstrak.ale.server.metrics.InstrumentedLock;
+import org.fosstrak.ale.server.metrics.MetricsRegistry;
 import org.fosstrak.ale.server.persistence.RemoveConfig;
 import org.fosstrak.ale.server.persistence.WriteConfig;
 import org.fosstrak.ale.server.readers.LogicalReaderManager;
 import org.fosstrak.ale.server.readers.rp.InputGenerator;
+import org.fosstrak.ale.server.util.TagFlow;
+import org.fosstrak.ale.server.util.TagLogger;
 import org.fosstrak.ale.xsd.ale.epcglobal.ECReports;
 import org.fosstrak.ale.xsd.ale.epcglobal.ECSpec;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -85,6 +90,9 @@ public class ALEImpl implements ALE {
     
     // autowired
     private ALESettings aleSettings;
+    
+    // autowired
+    private MetricsRegistry metricsRegistry = new MetricsRegistry();
 
     /**
      * setup the ALE directly after the construction of the bean.<br/>
@@ -102,6 +110,12 @@ public class ALEImpl implements ALE {
 		isReady = false;
 		reportGeneratorsProvider.clear();
 		inputGenerators.clear();
+		if (null != aleSettings) {
+			TagLogger.setSampleRate(aleSettings.getTagTraceSampleRate());
+			TagFlow.setEnabled(aleSettings.isTagFlowEnabled());
+			FlightEvents.setEnabled(aleSettings.isJfrEventsEnabled());
+			InstrumentedLock.setInstrumented(aleSettings.isMetricsLocksEnabled());
+		}
 		isReady = true;
 		LOG.info("ALE initialized");	
 	}
@@ -127,6 +141,7 @@ public class ALEImpl implements ALE {
 		throwNoSuchNameExceptionIfNoSuchSpec(specName);
 		
 		reportGeneratorsProvider.remove(specName);
+		metricsRegistry.removeSpecMetrics(specName);
 		persistenceRemoveAPI.removeECSpec(specName);
 	}
 	
@@ -170,10 +185,13 @@ public class ALEImpl implements ALE {
 	
 	@Override
 	public ECReports immediate(ECSpec spec) throws ECSpecValidationException, ImplementationException {		
+		String name = getNextReportGeneratorName();
 		try {
-			return poll(reportGeneratorsProvider.createNewReportGenerator(getNextReportGeneratorName(), spec));
+			return poll(reportGeneratorsProvider.createNewReportGenerator(name, spec));
 		} catch (NoSuchNameException e) {
 			throw new ImplementationException("immediate failed");
+		} finally {
+			metricsRegistry.removeSpecMetrics(name);
 		}
 	}
 	
@@ -212,13 +230,7 @@ public class ALEImpl implements ALE {
 		ECReports reports = null;
 		reportGenerator.poll();
 		try {
-			synchronized (reportGenerator) {
-				reports = reportGenerator.getPollReports();
-				while (reports == null) {
-					reportGenerator.wait();
-					reports = reportGenerator.getPollReports();
-				}
-			}
+			reports = reportGenerator.awaitPollReports();
 		} catch (InterruptedException e) {
 			LOG.debug("got interrupted.");
 		}		
@@ -259,6 +271,15 @@ public class ALEImpl implements ALE {
 		this.aleSettings = aleSettings;
 	}
 	
+	/**
+	 * allow to inject the metrics registry.
+	 * @param metricsRegistry the metrics registry.
+	 */
+	@Autowired
+	public void setMetricsRegistry(MetricsRegistry metricsRegistry) {
+		this.metricsRegistry = metricsRegistry;
+	}
+	
 	/**
 	 * allow to inject a new report generator provider.
 	 * @param reportGeneratorsProvider the new report generator provider.
@@ -31,6 +31,14 @@ import java.util.Map;
 import java.util.Observable;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
 
 import javax.xml.datatype.DatatypeConfigurationException;
 import javax.xml.datatype.DatatypeFactory;
@@ -40,11 +48,25 @@ import org.fosstrak.ale.exception.ECSpecValidationException;
 import org.fosstrak.ale.exception.ImplementationException;
 import org.fosstrak.ale.server.ALEApplicationContext;
 import org.fosstrak.ale.server.EventCycle;
+import org.fosstrak.ale.server.Pattern;
+import org.fosstrak.ale.server.PatternUsage;
 import org.fosstrak.ale.server.Report;
 import org.fosstrak.ale.server.ReportsGenerator;
 import org.fosstrak.ale.server.Tag;
+import org.fosstrak.ale.server.TagSighting;
+import org.fosstrak.ale.server.jfr.CycleEvent;
+import org.fosstrak.ale.server.jfr.FlightEvents;
+import org.fosstrak.ale.server.metrics.CycleProfile;
+import org.fosstrak.ale.server.metrics.CycleProfiler;
+import org.fosstrak.ale.server.metrics.InstrumentedLock;
+import org.fosstrak.ale.server.metrics.MetricsRegistry;
+import org.fosstrak.ale.server.metrics.ReaderMetrics;
+import org.fosstrak.ale.server.metrics.SpecMetrics;
 import org.fosstrak.ale.server.readers.LogicalReader;
 import org.fosstrak.ale.server.readers.LogicalReaderManager;
+import org.fosstrak.ale.server.util.ExtensionHelper;
+import org.fosstrak.ale.server.util.TagFlow;
+import org.fosstrak.ale.server.util.TagLogger;
 import org.fosstrak.ale.util.ECTerminationCondition;
 import org.fosstrak.ale.util.ECTimeUnit;
 import org.fosstrak.ale.xsd.ale.epcglobal.ECReport;
@@ -56,7 +78,16 @@ import org.fosstrak.ale.xsd.ale.epcglobal.ECTime;
 
 
 /**
- * default implementation of the event cycle.
+ * default implementation of the event cycle.<br/>
+ * an event cycle collects the tags for the reports generator that created it. further reports 
+ * generators with an equivalent set of logical readers and boundary spec can be attached 
+ * to the same event cycle (see {@link EventCyclePlanner}). the tags are then collected only 
+ * once and the reports of all the participating generators are evaluated over the same set 
+ * of tags.<br/>
+ * the lifecycle of the event cycle is a single state machine (see {@link State}) held in an 
+ * atomic reference. each round is numbered (epoch) and owns its set of tags. the readers 
+ * insert the tags into the round they observed without taking a monitor, the round is only 
+ * evaluated once all the inserts into it have completed.
  * 
  * @author regli
  * @author swieland
@@ -67,6 +98,12 @@ public final class EventCycleImpl implements EventCycle, Runnable {
 
 	/** logger. */
 	private static final Logger LOG = Logger.getLogger(EventCycleImpl.class);
+	
+	/** logger of the per-tag code paths. */
+	private static final TagLogger TAG_LOG = TagLogger.getLogger(EventCycleImpl.class);
+	
+	/** the lock site of the reports generators waiting for the termination of their event cycle. */
+	public static final String LOCK_SITE_TERMINATION = "EventCycle.termination";
 
 	/** random numbers generator. */
 	private static final Random rand = new Random(System.currentTimeMillis());
@@ -80,9 +117,6 @@ public final class EventCycleImpl implements EventCycle, Runnable {
 	/** name of this event cycle. */
 	private final String name;
 	
-	/** report generator which contains this event cycle. */
-	private final ReportsGenerator generator;
-	
 	/** thread. */
 	private final Thread thread;
 	
@@ -92,39 +126,27 @@ public final class EventCycleImpl implements EventCycle, Runnable {
 	/** set of logical readers which deliver tags for this event cycle. */
 	private final Set<LogicalReader> logicalReaders = new HashSet<LogicalReader>();
 	
-	/** set of reports for this event cycle. */
-	private final Set<Report> reports = new HashSet<Report>();
+	/** the participant of the reports generator which created this event cycle. */
+	private final Participant owner;
 	
-	/** a hash map with all the reports generated in the last round. */
-	private final Map<String, ECReport> lastReports = new HashMap<String, ECReport> ();
+	/** all the participants (reports generators) sharing this event cycle, including the owner. */
+	private final List<Participant> participants = new CopyOnWriteArrayList<Participant>();
 	
-	/** contains all the ec report specs hashed by their report name. */
-	private final Map<String, ECReportSpec> reportSpecByName = new HashMap<String, ECReportSpec> ();
+	/** flags whether the event cycle has been shut down as the last participant has been detached. */
+	private boolean shutdown = false;
 	
-	/** set of tags for this event cycle. */
-	private  Set<Tag> tags = Collections.synchronizedSet(new HashSet<Tag>());
+	/** the current state of the lifecycle together with the round it refers to. all transitions are done by compare and set. */
+	private final AtomicReference<Phase> phase = new AtomicReference<Phase>(new Phase(State.IDLE, new Round(0)));
 	
-	/** this set stores the tags from the previous EventCycle run. */
-	private Set<Tag> lastEventCycleTags = null;
+	/** the round whose tags are currently collected or evaluated (written by the event cycle thread only). */
+	private volatile Round activeRound = phase.get().round;
 	
 	/** this set stores the tags between two event cycle in the case of rejectTagsBetweenCycle is false */
-	private Set<Tag> betweenEventsCycleTags =  Collections.synchronizedSet(new HashSet<Tag>());	
+	private final TagTable betweenEventsCycleTags = createTagSet();
 
 	/** flags to know if the event cycle haven t to reject tags in the case than duration and repeatPeriod is same */
 	private boolean rejectTagsBetweenCycle = true;
 
-	/** indicates if this event cycle is terminated or not .*/
-	private boolean isTerminated = false;
-	
-	/** 
-	 * lock for thread synchronization between reports generator and this.
-	 * swieland 2012-09-29: do not use primitive type as int or Integer as autoboxing can result in new thread object for the lock -> non-threadsafe... 
-	 */
-	private final EventCycleLock lock = new EventCycleLock();
-	
-	/** flag whether the event cycle has passed through or not. */ 
-	private boolean roundOver = false;
-	
 	/** the duration of collecting tags for this event cycle in milliseconds. */
 	private long durationValue;
 	
@@ -133,19 +155,247 @@ public final class EventCycleImpl implements EventCycle, Runnable {
 	
 	/** the termination condition of this event cycle. */
 	private String terminationCondition = null;
-
-	/** flags the eventCycle whether it shall run several times or not.	 */
-	private boolean running = false;
 	
-	/** flags whether the EventCycle is currently not accepting tags. */
-	private boolean acceptTags = false;
+	/** number of distinct tags after which the event cycle terminates (fosstrak extension), -1 if not set. */
+	private final int terminationTagCount;
+	
+	/** pattern of a tag terminating the event cycle on arrival (fosstrak extension), null if not set. */
+	private final Pattern terminationPattern;
+	
+	/** the window over the last rounds the reports are evaluated on (fosstrak extension), null if the reports cover only the current round. */
+	private final TagWindow window;
+	
+	/** evaluates the reports at the end of each round. */
+	private final ReportEvaluator reportEvaluator;
 	
+	/** delivers the metrics of the ECSpecs of the participants. */
+	private final MetricsRegistry metricsRegistry;
+	
+	/** lock of the reports generators waiting for the termination of their participant. */
+	private final InstrumentedLock terminationLock;
+	
+	/** signalled when a participant is detached. */
+	private final Condition participantTerminated;
+
 	/** tells how many times this EventCycle has been scheduled. */
-	private int rounds = 0;
+	private volatile int rounds = 0;
+	
+	/**
+	 * the states of the event cycle lifecycle.
+	 */
+	private enum State {
+		/** no round is collecting tags, the event cycle waits for a launch. */
+		IDLE,
+		/** a participant launched the event cycle, the next round is about to start. */
+		LAUNCHED,
+		/** a round is collecting tags. */
+		COLLECTING,
+		/** the event cycle has been stopped, this state is final. */
+		STOPPED
+	}
+	
+	/**
+	 * immutable snapshot of the lifecycle: the state together with the round it refers to. 
+	 * while IDLE, the round is the last round. while LAUNCHED or COLLECTING, it is the 
+	 * upcoming respectively the running round.
+	 */
+	private static final class Phase {
+		
+		/** the state. */
+		private final State state;
+		
+		/** the round the state refers to. */
+		private final Round round;
+		
+		private Phase(State state, Round round) {
+			this.state = state;
+			this.round = round;
+		}
+		
+		/**
+		 * whether tags and launches can still be registered with the given round.
+		 * @param candidate the round to check.
+		 * @return true if the candidate is upcoming or collecting tags.
+		 */
+		private boolean isOpen(Round candidate) {
+			return (round == candidate) && ((state == State.LAUNCHED) || (state == State.COLLECTING));
+		}
+	}
+	
+	/**
+	 * one round (epoch) of the event cycle.
+	 */
+	private static final class Round {
+		
+		/** the number of the round. */
+		private final int epoch;
+		
+		/** the tags collected in this round. */
+		private final TagTable tags = createTagSet();
+		
+		/** the participants that launched the event cycle for this round. */
+		private final Set<Participant> recipients = Collections.newSetFromMap(new ConcurrentHashMap<Participant, Boolean>());
+		
+		/** number of tag inserts and launches in progress on this round. the round is evaluated once zero. */
+		private final AtomicInteger pending = new AtomicInteger();
+		
+		/** released once the reports of this round have been delivered (or the event cycle is stopped). */
+		private final CountDownLatch completion = new CountDownLatch(1);
+		
+		/** the next round, created by the first launch for it. */
+		private final AtomicReference<Round> successor = new AtomicReference<Round>();
+		
+		/** the termination condition, written by the thread closing the round before it releases its pending count. */
+		private volatile String terminationCondition = null;
+		
+		private Round(int epoch) {
+			this.epoch = epoch;
+		}
+		
+		/**
+		 * @return the next round. all the launches for the next round register with the same instance.
+		 */
+		private Round successor() {
+			Round next = successor.get();
+			if (null == next) {
+				successor.compareAndSet(null, new Round(epoch + 1));
+				next = successor.get();
+			}
+			return next;
+		}
+	}
 	
-	// TODO: check if we can use this instead of the dummy class.
-	private final class EventCycleLock {
+	/**
+	 * a reports generator participating in this event cycle together with its reports.
+	 */
+	private final class Participant {
+		
+		/** the reports generator to notify. */
+		private final ReportsGenerator generator;
+		
+		/** the event cycle handed to the reports generator. */
+		private final EventCycle eventCycle;
+		
+		/** the reports of the generator, in the order of the report specs in the ECSpec. */
+		private final List<Report> reports = new ArrayList<Report>();
+		
+		/** a hash map with all the reports generated in the last round. */
+		private final Map<String, ECReport> lastReports = new HashMap<String, ECReport> ();
+		
+		/** contains all the ec report specs hashed by their report name. */
+		private final Map<String, ECReportSpec> reportSpecByName = new HashMap<String, ECReportSpec> ();
+		
+		/** flags whether the generator has stopped the event cycle. */
+		private volatile boolean terminated = false;
+		
+		/** the round the generator launched last, joined by the generator. */
+		private volatile Round launched = phase.get().round;
+		
+		/** the tags of the last round the generator received, for its ADDITIONS and DELETIONS reports. */
+		private volatile TagTable lastTags = createTagSet();
+		
+		/** the metrics of the ECSpec of the generator. */
+		private final SpecMetrics metrics;
 		
+		/**
+		 * create a report for each report spec of the generators ECSpec.
+		 * @param generator the reports generator.
+		 * @param eventCycle the event cycle handed to the reports generator.
+		 * @throws ImplementationException if a report cannot be created.
+		 */
+		private Participant(ReportsGenerator generator, EventCycle eventCycle) throws ImplementationException {
+			this.generator = generator;
+			this.eventCycle = eventCycle;
+			this.metrics = metricsRegistry.getSpecMetrics(generator.getName());
+			for (ECReportSpec reportSpec : generator.getSpec().getReportSpecs().getReportSpec()) {
+				reports.add(new Report(reportSpec, eventCycle));
+				reportSpecByName.put(reportSpec.getReportName(), reportSpec);
+			}
+		}
+	}
+	
+	/**
+	 * the event cycle handed to a reports generator attached to an already existing event cycle. 
+	 * the tags are collected by the enclosing event cycle, whereas the reports and the 
+	 * lifecycle are kept per reports generator.
+	 */
+	private final class AttachedEventCycle implements EventCycle {
+		
+		/** the participant of the attached reports generator. */
+		private final Participant participant;
+		
+		/**
+		 * @param generator the attached reports generator.
+		 * @throws ImplementationException if the reports cannot be created.
+		 */
+		private AttachedEventCycle(ReportsGenerator generator) throws ImplementationException {
+			participant = new Participant(generator, this);
+		}
+
+		@Override
+		public void addTag(Tag tag) {
+			EventCycleImpl.this.addTag(tag);
+		}
+
+		@Override
+		public void update(Observable o, Object arg) {
+			EventCycleImpl.this.update(o, arg);
+		}
+
+		@Override
+		public void stop() {
+			detach(participant);
+		}
+
+		@Override
+		public String getName() {
+			return EventCycleImpl.this.getName();
+		}
+
+		@Override
+		public boolean isTerminated() {
+			return participant.terminated;
+		}
+
+		@Override
+		public boolean awaitTermination(long timeoutMillis) throws InterruptedException {
+			return EventCycleImpl.this.awaitTermination(participant, timeoutMillis);
+		}
+
+		@Override
+		public void launch() {
+			EventCycleImpl.this.launch(participant);
+		}
+
+		@Override
+		public Set<Tag> getLastEventCycleTags() {
+			return copyContentToNewDatastructure(participant.lastTags);
+		}
+
+		@Override
+		public Set<Tag> getTags() {
+			return EventCycleImpl.this.getTags();
+		}
+
+		@Override
+		public int getRounds() {
+			return EventCycleImpl.this.getRounds();
+		}
+
+		@Override
+		public void join() throws InterruptedException {
+			EventCycleImpl.this.join(participant);
+		}
+
+		@Override
+		public ECReportSpec getReportSpecByName(String name) {
+			return participant.reportSpecByName.get(name);
+		}
+
+		@Override
+		public Map<String, ECReport> getLastReports() {
+			return participant.lastReports;
+		}
 	}
 
 	/**
@@ -155,40 +405,70 @@ public final class EventCycleImpl implements EventCycle, Runnable {
 	 * @throws ImplementationException if an implementation exception occurs
 	 */
 	public EventCycleImpl(ReportsGenerator generator) throws ImplementationException {
-		this(generator, ALEApplicationContext.getBean(LogicalReaderManager.class));
+		this(generator, ALEApplicationContext.getBean(LogicalReaderManager.class), ALEApplicationContext.getBean(ReportEvaluator.class), ALEApplicationContext.getBean(MetricsRegistry.class));
+	}
+	
+	/**
+	 * Constructor sets parameter and starts thread. the reports are evaluated sequentially.
+	 * 
+	 * @param generator to which this event cycle belongs to
+	 * @throws ImplementationException if an implementation exception occurs
+	 */
+	public EventCycleImpl(ReportsGenerator generator, LogicalReaderManager logicalReaderManager) throws ImplementationException {
+		this(generator, logicalReaderManager, new ReportEvaluator());
+	}
+	
+	/**
+	 * Constructor sets parameter and starts thread.
+	 * 
+	 * @param generator to which this event cycle belongs to
+	 * @param logicalReaderManager the logical reader manager delivering the logical readers.
+	 * @param reportEvaluator the evaluator for the reports at the end of each round.
+	 * @throws ImplementationException if an implementation exception occurs
+	 */
+	public EventCycleImpl(ReportsGenerator generator, LogicalReaderManager logicalReaderManager, ReportEvaluator reportEvaluator) throws ImplementationException {
+		this(generator, logicalReaderManager, reportEvaluator, new MetricsRegistry());
 	}
 	
 	/**
 	 * Constructor sets parameter and starts thread.
 	 * 
 	 * @param generator to which this event cycle belongs to
+	 * @param logicalReaderManager the logical reader manager delivering the logical readers.
+	 * @param reportEvaluator the evaluator for the reports at the end of each round.
+	 * @param metricsRegistry the registry delivering the metrics of the ECSpecs.
 	 * @throws ImplementationException if an implementation exception occurs
 	 */
-	public EventCycleImpl(ReportsGenerator generator, LogicalReaderManager logicalReaderManager) throws ImplementationException {	
+	public EventCycleImpl(ReportsGenerator generator, LogicalReaderManager logicalReaderManager, ReportEvaluator reportEvaluator, MetricsRegistry metricsRegistry) throws ImplementationException {	
 		
 		// set name
 		name = generator.getName() + "_" + number++;
 		
-		// set ReportGenerator
-		this.generator = generator;
+		this.reportEvaluator = reportEvaluator;
+		this.metricsRegistry = metricsRegistry;
+		terminationLock = new InstrumentedLock(metricsRegistry.getLockMetrics(LOCK_SITE_TERMINATION));
+		participantTerminated = terminationLock.newCondition();
 		
 		// set spec
 		spec = generator.getSpec();
 		
 		// get report specs and create a report for each spec
-		for (ECReportSpec reportSpec : spec.getReportSpecs().getReportSpec()) {
-			
-			// add report spec and report to reports
-			reports.add(new Report(reportSpec, this));
-			
-			// hash into the report spec structure
-			reportSpecByName.put(reportSpec.getReportName(), reportSpec);
-			
-		}
+		owner = new Participant(generator, this);
+		participants.add(owner);
 		
 		// init BoundarySpec values
 		durationValue = getDurationValue();
 		
+		// init the early termination extensions
+		try {
+			terminationTagCount = ExtensionHelper.getTagCount(spec.getBoundarySpec());
+			String pattern = ExtensionHelper.getTagPattern(spec.getBoundarySpec());
+			terminationPattern = (null == pattern) ? null : new Pattern(pattern, PatternUsage.FILTER);
+			window = createWindow();
+		} catch (ECSpecValidationException e) {
+			throw new ImplementationException("invalid boundary spec extension: " + e.getMessage());
+		}
+		
 		long repeatPeriod = getRepeatPeriodValue();
 		if (durationValue == repeatPeriod) {
 			setRejectTagsBetweenCycle(false);
@@ -197,8 +477,6 @@ public final class EventCycleImpl implements EventCycle, Runnable {
 		LOG.debug(String.format("durationValue: %s\n",
 				durationValue));
 		
-		setAcceptTags(false);
-		
 		LOG.debug("adding logicalReaders to EventCycle");
 		// get LogicalReaderStubs
 		if (spec.getLogicalReaders() != null) {
@@ -224,8 +502,6 @@ public final class EventCycleImpl implements EventCycle, Runnable {
 			logicalReader.addObserver(this);
 		}
 		
-		rounds = 0;
-		
 		// create and start Thread
 		thread = new Thread(this, "EventCycle" + name);
 		thread.setDaemon(true);
@@ -235,19 +511,108 @@ public final class EventCycleImpl implements EventCycle, Runnable {
 	}
 	
 	/**
-	 * This method returns the ec reports.
+	 * attach a further reports generator to this event cycle. the reports generator must 
+	 * use an equivalent set of logical readers and boundary spec.
+	 * @param generator the reports generator to attach.
+	 * @return the event cycle to be used by the reports generator or null if this event cycle has already been shut down.
+	 * @throws ImplementationException if the reports of the generator cannot be created.
+	 */
+	EventCycle attach(ReportsGenerator generator) throws ImplementationException {
+		AttachedEventCycle attached = new AttachedEventCycle(generator);
+		synchronized (participants) {
+			if (shutdown) {
+				return null;
+			}
+			participants.add(attached.participant);
+		}
+		LOG.debug("attached ReportsGenerator " + generator.getName() + " to EventCycle " + name);
+		return attached;
+	}
+	
+	/**
+	 * whether this event cycle has been shut down (as all its participants have been detached).
+	 * @return true if shut down.
+	 */
+	boolean isShutdown() {
+		synchronized (participants) {
+			return shutdown;
+		}
+	}
+	
+	/**
+	 * detach a participant from this event cycle. once the last participant is detached, the 
+	 * event cycle unsubscribes from the logical readers and stops its thread.
+	 * @param participant the participant to detach.
+	 */
+	private void detach(Participant participant) {
+		participant.terminated = true;
+		
+		// wake up the reports generator waiting for the termination.
+		terminationLock.lock();
+		try {
+			participantTerminated.signalAll();
+		} finally {
+			terminationLock.unlock();
+		}
+		synchronized (participants) {
+			participants.remove(participant);
+			if (shutdown || !participants.isEmpty()) {
+				return;
+			}
+			shutdown = true;
+		}
+		
+		// unsubscribe this event cycle from logical readers
+		for (LogicalReader logicalReader : logicalReaders) {
+			logicalReader.deleteObserver(this);
+		}
+
+		while (true) {
+			Phase current = phase.get();
+			if ((current.state == State.STOPPED) || phase.compareAndSet(current, new Phase(State.STOPPED, current.round))) {
+				break;
+			}
+		}
+		thread.interrupt();
+		LOG.debug("EventCycle '" + name + "' stopped.");
+	}
+	
+	/**
+	 * wait until a participant is detached from this event cycle.
+	 * @param participant the participant.
+	 * @param timeoutMillis the maximum time to wait in milliseconds.
+	 * @return true if the participant is detached.
+	 * @throws InterruptedException if interrupted while waiting.
+	 */
+	private boolean awaitTermination(Participant participant, long timeoutMillis) throws InterruptedException {
+		terminationLock.lock();
+		try {
+			if (!participant.terminated) {
+				terminationLock.await(participantTerminated, timeoutMillis);
+			}
+			return participant.terminated;
+		} finally {
+			terminationLock.unlock();
+		}
+	}
+	
+	/**
+	 * This method returns the ec reports for the given participant.
 	 * 
+	 * @param participant the participant for which to create the reports.
+	 * @param numberOfTags the number of tags the reports are evaluated on.
+	 * @param profile the profile of the round, null if the round is not profiled.
 	 * @return ec reports
 	 * @throws ECSpecValidationException if the tags of the report are not valid
 	 * @throws ImplementationException if an implementation exception occurs.
 	 */
-	private ECReports getECReports() throws ECSpecValidationException, ImplementationException {
+	private ECReports getECReports(Participant participant, int numberOfTags, CycleProfile profile) throws ECSpecValidationException, ImplementationException {
 		
 		// create ECReports
 		ECReports reports = new ECReports();
 
 		// set spec name
-		reports.setSpecName(generator.getName());
+		reports.setSpecName(participant.generator.getName());
 		
 		// set date
 		try {
@@ -266,98 +631,176 @@ public final class EventCycleImpl implements EventCycle, Runnable {
 		reports.setTerminationCondition(terminationCondition);
 		
 		// set spec
-		if (spec.isIncludeSpecInReports()) {
-			reports.setECSpec(spec);
+		ECSpec participantSpec = participant.generator.getSpec();
+		if (participantSpec.isIncludeSpecInReports()) {
+			reports.setECSpec(participantSpec);
 		}
 		
 		// set reports
 		reports.setReports(new Reports());
-		reports.getReports().getReport().addAll(getReportList());
+		reports.getReports().getReport().addAll(getReportList(participant, numberOfTags, profile));
 		
 		return reports;
 	}
 
 	@Override
 	public void addTag(Tag tag) {
-		
-		if (!isAcceptingTags()) {
-			return;
+		Phase current = phase.get();
+		if (current.state == State.COLLECTING) {
+			addTag(current.round, tag);
 		}
-		
-		// add event only if EventCycle is still running
-		if (isEventCycleActive()) {
+	}
+	
+	/**
+	 * insert a tag into the given round. the insert is announced on the round before the 
+	 * round is validated to be still collecting tags. as the event cycle thread waits for all 
+	 * the announced inserts after closing a round, a tag is either part of the evaluated 
+	 * round or rejected - no monitor is required.
+	 * @param round the round observed by the caller.
+	 * @param tag the tag to insert.
+	 * @return false if the round has been closed meanwhile and the tag was not inserted.
+	 */
+	private boolean addTag(Round round, Tag tag) {
+		return addTag(round, tag, null);
+	}
+	
+	/**
+	 * insert a tag together with the sightings merged for it so far into the given round.
+	 * @param round the round observed by the caller.
+	 * @param tag the tag to insert.
+	 * @param sighting the merged sightings of the tag, null to take them from the tag.
+	 * @return false if the round has been closed meanwhile and the tag was not inserted.
+	 */
+	private boolean addTag(Round round, Tag tag, TagSighting sighting) {
+		round.pending.incrementAndGet();
+		try {
+			Phase current = phase.get();
+			if ((current.state != State.COLLECTING) || (current.round != round)) {
+				return false;
+			}
 			logTagOnDebugEnabled(tag);
 			
 			// add tag to tags
-			addTagAndLogOnNotAdded(tags, tag);
+			if (addTagAndLogOnNotAdded(round.tags, tag, sighting)) {
+				checkEarlyTermination(current, tag);
+			}
+			return true;
+		} finally {
+			release(round);
+		}
+	}
+	
+	/**
+	 * release a tag insert or launch announced on the given round. the last release on a 
+	 * closed round wakes up the event cycle thread waiting for the evaluation.
+	 * @param round the round.
+	 */
+	private void release(Round round) {
+		if ((0 == round.pending.decrementAndGet()) && !phase.get().isOpen(round)) {
+			LockSupport.unpark(thread);
+		}
+	}
+	
+	/**
+	 * checks the early termination extensions after a new tag has been added to the 
+	 * event cycle. if a condition is met, the round is closed and the event cycle thread 
+	 * is woken up. as this check runs in the insert path, no polling is required.
+	 * @param current the phase of the round the tag has been added to.
+	 * @param tag the tag that has just been added.
+	 */
+	private void checkEarlyTermination(Phase current, Tag tag) {
+		String condition = null;
+		if ((terminationTagCount > 0) && (current.round.tags.size() >= terminationTagCount)) {
+			condition = ECTerminationCondition.TAG_COUNT;
+		} else if ((null != terminationPattern) && (null != tag.getTagIDAsPureURI())) {
+			try {
+				if (terminationPattern.isMember(tag.getTagIDAsPureURI())) {
+					condition = ECTerminationCondition.TAG_PATTERN;
+				}
+			} catch (Exception e) {
+				LOG.debug("could not match tag against termination pattern: " + e.getMessage());
+			}
+		}
+		
+		if ((null != condition) && closeRound(current, condition)) {
+			LOG.debug("EventCycle " + getName() + ": early termination by " + condition);
+		}
+	}
+	
+	/**
+	 * close a collecting round and wake up the event cycle thread.
+	 * @param current the phase of the collecting round.
+	 * @param condition the termination condition.
+	 * @return true if the round has been closed, false if it was already closed (or the event cycle stopped).
+	 */
+	private boolean closeRound(Phase current, String condition) {
+		if (!phase.compareAndSet(current, new Phase(State.IDLE, current.round))) {
+			return false;
 		}
+		// published to the event cycle thread as the closing thread still holds a pending count or is the event cycle thread.
+		current.round.terminationCondition = condition;
+		LockSupport.unpark(thread);
+		return true;
 	}
 
 	/**
 	 * This method adds a tag between 2 event cycle.
 	 * 
 	 * @param tag to add
-	 * @throws ImplementationException if an implementation exception occurs
-	 * @throws ECSpecValidationException if the tag is not valid
 	 */
 	private void addTagBetweenEventsCycle(Tag tag) {
-		
 		if (isRejectTagsBetweenCycle()) {
 			return;
 		}
+		logTagOnDebugEnabled(tag);
 		
-		// add event only if EventCycle is still running
-		if (isEventCycleActive()) {
-			logTagOnDebugEnabled(tag);
-			
-			// add tag to tags
-			addTagAndLogOnNotAdded(betweenEventsCycleTags, tag);			
-		}
+		// add tag to tags
+		addTagAndLogOnNotAdded(betweenEventsCycleTags, tag, null);
 	}
 	
 	/**
-	 * determine if this event cycle is active (running) or not.
-	 * @return true if the event cycle is active, false if not.
-	 */
-	private boolean isEventCycleActive() {
-		return thread.isAlive();
-	}
-
-	/**
-	 * log a tag to the logger if debug is enabled. the event cycles name and the tag as pure URI is written to the log on one line.
+	 * log a tag to the logger if debug is enabled (or to the sampled trace if the tag is selected). 
+	 * the event cycles name and the tag as pure URI is written to the log on one line.
 	 * @param tagToLog the tag to be logged.
 	 */
 	private void logTagOnDebugEnabled(Tag tagToLog) {
-		if (LOG.isDebugEnabled()) {
-			LOG.debug("EventCycle '" + name + "' add Tag '" + tagToLog.getTagIDAsPureURI() + "'."); 
-		}
+		TAG_LOG.tag("add Tag", tagToLog, name);
 	}
 
 	/**
 	 * little helper method adding a tag to a given set. if the tag is not added (as already contained) log it.
 	 * @param whereToAddTheTag the set where to add the tag to.
 	 * @param theTagToAdd the tag which is meant to be added.
+	 * @param sighting the merged sightings of the tag, null to take them from the tag.
+	 * @return true if the tag has been added, false if it was already contained.
 	 */
-	private void addTagAndLogOnNotAdded(Set<Tag> whereToAddTheTag, Tag theTagToAdd) {
-		if (!whereToAddTheTag.add(theTagToAdd) && LOG.isDebugEnabled()) {
-			LOG.debug("tag already contained, therefore not adding.");
+	private boolean addTagAndLogOnNotAdded(TagTable whereToAddTheTag, Tag theTagToAdd, TagSighting sighting) {
+		boolean added = (null == sighting) ? whereToAddTheTag.add(theTagToAdd) : whereToAddTheTag.add(theTagToAdd, sighting);
+		if (!added) {
+			TAG_LOG.debug("tag already contained, therefore not adding.");
+			return false;
 		}
+		return true;
 	}
 
 	@Override
 	public void update(Observable o, Object arg) {
-		LOG.debug("EventCycle "+ getName() + ": Update notification received. ");
+		TAG_LOG.debug("EventCycle ", name, ": Update notification received. ");
 		List<Tag> tags = new LinkedList<Tag> ();
+		long now = TagFlow.stamp();
+		ReaderMetrics readerMetrics = (o instanceof LogicalReader) ? ((LogicalReader) o).getMetrics() : null;
 		// process the new tag.
 		if (arg instanceof Tag) {
-			LOG.debug("processing one tag");
+			TAG_LOG.debug("processing one tag");
 			// process one tag
 			tags.add((Tag) arg);
+			stampInsert((Tag) arg, now, readerMetrics);
 		} else if (arg instanceof List) {
-			LOG.debug("processing a list of tags");
+			TAG_LOG.debug("processing a list of tags");
 			for (Object entry : (List<?>) arg) {
 				if (entry instanceof Tag) {
 					tags.add((Tag) entry);					
+					stampInsert((Tag) entry, now, readerMetrics);
 				}
 			}
 		}
@@ -365,34 +808,60 @@ public final class EventCycleImpl implements EventCycle, Runnable {
 		if (tags.size() > 0) {
 			handleTags(tags);
 		} else {
-			LOG.debug("EventCycle "+ getName() + ": Update notification received - but not with any tags - ignoring. ");			
+			TAG_LOG.debug("EventCycle ", name, ": Update notification received - but not with any tags - ignoring. ");
+		}
+	}
+	
+	/**
+	 * stamp a tag arriving at the event cycle and record its latency since the decoding.
+	 * @param tag the tag.
+	 * @param now the stamp of the arrival, 0 if the tags are not stamped.
+	 * @param readerMetrics the metrics of the reader delivering the tag, null if unknown.
+	 */
+	private void stampInsert(Tag tag, long now, ReaderMetrics readerMetrics) {
+		if ((0 != now) && (0 != tag.getDecodeNanos())) {
+			tag.setInsertNanos(now);
+			if (null != readerMetrics) {
+				readerMetrics.tagInserted(now - tag.getDecodeNanos());
+			}
 		}
 	}
 	
 	private void handleTags(List<Tag> tags) {
-		if (!isAcceptingTags()) {
+		Phase current = phase.get();
+		if (current.state == State.COLLECTING) {
+			handleTagsWhileAccepting(current.round, tags);
+		} else if (current.state != State.STOPPED) {
 			handleTagsWhileNotAccepting(tags);
-		} else {
-			handleTagsWhileAccepting(tags);
-		}		
+		}
 	}
 	
 	/**
-	 * deal with new tags.
-	 * @param tags
+	 * deal with new tags. all the tags of the list go to the round observed when the list 
+	 * arrived. if this round is closed meanwhile, the remaining tags are treated as received 
+	 * between two event cycles.
+	 * @param round the round collecting tags.
+	 * @param tags the tags to insert.
 	 */
-	private void handleTagsWhileAccepting(List<Tag> tags) {	
+	private void handleTagsWhileAccepting(Round round, List<Tag> tags) {	
 		// process all the tags we did not process between two eventcycles (or while we did not accept any tags).
 		if (!isRejectTagsBetweenCycle()) {			
 			for (Tag tag : betweenEventsCycleTags) {
-				addTag(tag);			
+				TagSighting sighting = betweenEventsCycleTags.removeSighting(tag);
+				if ((null != sighting) && !addTag(round, tag, sighting)) {
+					betweenEventsCycleTags.add(tag, sighting);
+				}
 			}
-			
-			betweenEventsCycleTags.clear();			
 		}
-		LOG.debug("EventCycle "+ getName() + ": Received list of tags :");
+		TAG_LOG.debug("EventCycle ", name, ": Received list of tags :");
+		List<Tag> rejected = new LinkedList<Tag> ();
 		for (Tag tag : tags) {
-			addTag(tag);
+			if (!rejected.isEmpty() || !addTag(round, tag)) {
+				rejected.add(tag);
+			}
+		}
+		if (!rejected.isEmpty()) {
+			handleTagsWhileNotAccepting(rejected);
 		}
 	}
 
@@ -403,7 +872,7 @@ public final class EventCycleImpl implements EventCycle, Runnable {
 	private void handleTagsWhileNotAccepting(List<Tag> tags) {
 		if (!isRejectTagsBetweenCycle()) {
 			for (Tag tag : tags) {	
-				LOG.debug("received tag between eventcycles: " + tag.getTagIDAsPureURI());					
+				TAG_LOG.tag("received tag between eventcycles", tag, name);
 				addTagBetweenEventsCycle(tag);	
 			}
 		}
@@ -411,20 +880,7 @@ public final class EventCycleImpl implements EventCycle, Runnable {
 
 	@Override
 	public void stop() {
-		// unsubscribe this event cycle from logical readers
-		for (LogicalReader logicalReader : logicalReaders) {
-			logicalReader.deleteObserver(this);
-		}
-
-		running = false;
-		thread.interrupt();
-		LOG.debug("EventCycle '" + name + "' stopped.");
-		
-		isTerminated = true;
-		
-		synchronized (this) {
-			this.notifyAll();
-		}		
+		detach(owner);
 	}
 
 	@Override
@@ -434,7 +890,12 @@ public final class EventCycleImpl implements EventCycle, Runnable {
 
 	@Override
 	public boolean isTerminated() {
-		return isTerminated;
+		return owner.terminated;
+	}
+
+	@Override
+	public boolean awaitTermination(long timeoutMillis) throws InterruptedException {
+		return awaitTermination(owner, timeoutMillis);
 	}
 	
 	/**
@@ -444,66 +905,37 @@ public final class EventCycleImpl implements EventCycle, Runnable {
 	@Override
 	public void run() {
 		
-		lastEventCycleTags = new HashSet<Tag>();
-		
 		// wait for the start
-		// running will be set by the ReportsGenerator when the EventCycle
+		// the event cycle will be launched by the ReportsGenerator when the EventCycle
 		// has a subscriber
-		if (!running) {
-			synchronized (this) {
-				try {
-					this.wait();
-				} catch (InterruptedException e) {
-					LOG.info("eventcycle got interrupted");
-					return;
-				}
-			}
-		}
-		
-		while (running) {
-			rounds ++;
-			synchronized (lock) {
-				roundOver = false;
-			}
+		Round round = awaitLaunch();
+		while (null != round) {
+			rounds = round.epoch;
+			activeRound = round;
 			LOG.info("EventCycle "+ getName() + ": Starting (Round " + rounds + ").");
 			
 			// set start time
 			long startTime = System.currentTimeMillis();
-	
-			// accept tags
-			setAcceptTags(true);
+			long startNanos = System.nanoTime();
+			CycleEvent cycleEvent = FlightEvents.beginCycle(getName(), rounds);
 			
 			//------------------------------ run for the specified time
-			try {
+			if (!awaitEndOfRound(round, startTime)) {
 				
-				if (durationValue > 0) {
-					
-					// if durationValue is specified and larger than zero, 
-					// wait for notify or durationValue elapsed.
-					synchronized (this) {
-						long dt = (System.currentTimeMillis() - startTime);
-						this.wait(Math.max(1, durationValue - dt));
-						terminationCondition = ECTerminationCondition.DURATION;
-					}
-				} else {
-					
-					// if durationValue is not specified or smaller than zero, 
-					// wait for notify.
-					synchronized (this) {
-						this.wait();
-					}
-				}
-			
-			} catch (InterruptedException e) {
-				
-				// if Thread is stopped with method stop(), 
+				// if the event cycle is stopped with method stop(), 
 				// then return without notify subscribers.
-				LOG.info("eventcycle got interrupted");
+				LOG.info("eventcycle got stopped");
+				round.completion.countDown();
+				releaseJoiners();
 				return;
 			}
-			
-			// don't accept tags anymore
-			setAcceptTags(false);
+			terminationCondition = round.terminationCondition;
+			long cycleNanos = System.nanoTime() - startNanos;
+			FlightEvents.commitCycle(cycleEvent, round.tags.size());
+			List<Participant> recipients = getRecipients(round);
+			for (Participant recipient : recipients) {
+				recipient.metrics.cycleCompleted(round.tags.size(), cycleNanos);
+			}
 			//------------------------ generate the reports
 			
 			// get reports
@@ -513,80 +945,286 @@ public final class EventCycleImpl implements EventCycle, Runnable {
 				
 				LOG.info("EventCycle "+ getName() + 
 						": Number of Tags read in the current EventCyle.java: " 
-						+ tags.size());
+						+ round.tags.size());
 				
-				ECReports ecReports = getECReports();
-				
-				// notifySubscribers
-				generator.notifySubscribers(ecReports, this);
-				
-				// store the current tags into the old tags
-				// explicitly clear the tags
-				if (lastEventCycleTags != null) {
-					lastEventCycleTags.clear();
+				// with a window, the round is the newest bucket of the window
+				boolean reportDue = true;
+				if (null != window) {
+					window.advance(copyContentToNewDatastructure(round.tags));
+					reportDue = window.isReportDue();
+					if (!reportDue) {
+						continueUntilWindowComplete(recipients);
+					}
 				}
-				if (null != tags) {
-					lastEventCycleTags.addAll(tags);
+				
+				// all the participants evaluate their reports over the same set of tags
+				if (reportDue) {
+					int numberOfTags = (null != window) ? window.size() : round.tags.size();
+					for (Participant recipient : recipients) {
+						CycleProfiler profiler = recipient.metrics.getProfiler();
+						CycleProfile profile = (null == profiler) ? null : profiler.start(rounds, numberOfTags, cycleNanos);
+						try {
+							long buildStart = System.nanoTime();
+							ECReports ecReports = getECReports(recipient, numberOfTags, profile);
+							long buildNanos = System.nanoTime() - buildStart;
+							recipient.metrics.reportsBuilt(buildNanos);
+							if (null != profile) {
+								profile.add(CycleProfile.Stage.BUILD, buildNanos);
+							}
+							
+							// notifySubscribers
+							recipient.generator.notifySubscribers(ecReports, recipient.eventCycle);
+							long deliveryNanos = TagFlow.stamp();
+							for (Report report : recipient.reports) {
+								report.tagsDelivered(recipient.metrics, recipient.generator.getName(), deliveryNanos);
+							}
+						} catch (Exception e) {
+							LOG.error("EventCycle "+ getName() + ": Could not create ECReports for " + recipient.generator.getName(), e);
+						} finally {
+							if (null != profiler) {
+								profiler.complete(profile);
+							}
+						}
+					}
+					
+					// store the current tags (or window) into the old tags of the participants of the round
+					TagTable roundTags = snapshotTags();
+					for (Participant recipient : recipients) {
+						recipient.lastTags = roundTags;
+					}
 				}
 				
-				tags = Collections.synchronizedSet(new HashSet<Tag>());
+				// explicitly clear the tags. no more inserts can happen as the round is closed.
+				round.tags.clear();
 				
 			} catch (Exception e) {
-				if (e instanceof InterruptedException) {
-					LOG.info("eventcycle got interrupted");
-					return;
-				}
 				LOG.error("EventCycle "+ getName() + ": Could not create ECReports", e);
 			}
 			
-			
 			LOG.info("EventCycle "+ getName() +  ": EventCycle finished (Round " + rounds + ").");
-			try {
-				// inform possibly waiting workers about the finish
-				synchronized (lock) {
-					roundOver = true;
-					lock.notifyAll();
-				}
-				// wait until reschedule.
-				synchronized (this) {	
-					this.wait();
-				}
-				LOG.debug("eventcycle continues");
-			} catch (InterruptedException e) {
-				LOG.info("eventcycle got interrupted");
-				return;
-			}			
-		}
 			
+			// inform possibly waiting workers about the finish
+			round.completion.countDown();
+			startSuccessor(round);
 			
-		// stop EventCycle
-		stop();
-		
+			// wait until reschedule.
+			round = awaitLaunch();
+			LOG.debug("eventcycle continues");
+		}
+		releaseJoiners();
+	}
+	
+	/**
+	 * release the participants joining the round left in the final phase, once the event cycle is stopped.
+	 */
+	private void releaseJoiners() {
+		phase.get().round.completion.countDown();
 	}
 
 	@Override
 	public void launch() {
-		this.running = true;
-		LOG.debug("launching eventCycle" + getName());
-		synchronized (this) {
-			this.notifyAll();
+		launch(owner);
+	}
+	
+	/**
+	 * launch the event cycle on behalf of a participant. the participant will receive the 
+	 * reports of the upcoming round, a new round is started if none is upcoming. the rounds 
+	 * are only shared between participants launched on the same round boundary: a participant 
+	 * launching while a round is collecting tags receives the next round, which starts as soon 
+	 * as the collecting round is over.<br/>
+	 * like a tag insert, the launch is announced on the round before it is validated, 
+	 * thus a launch is never lost while the round closes. the round is remembered by the 
+	 * participant before the launch returns, so a subsequent join waits for this very round.
+	 * @param participant the participant launching the event cycle.
+	 */
+	private void launch(Participant participant) {
+		LOG.debug("launching eventCycle" + getName() + " for " + participant.generator.getName());
+		while (true) {
+			Phase current = phase.get();
+			if (current.state == State.STOPPED) {
+				return;
+			}
+			if (current.state == State.IDLE) {
+				// the launch is announced on the next round before it is opened, thus the 
+				// participant is registered before the round can be evaluated.
+				Round next = current.round.successor();
+				next.pending.incrementAndGet();
+				try {
+					if (phase.compareAndSet(current, new Phase(State.LAUNCHED, next))) {
+						next.recipients.add(participant);
+						participant.launched = next;
+						LockSupport.unpark(thread);
+						return;
+					}
+				} finally {
+					release(next);
+				}
+				continue;
+			}
+			
+			// upcoming or collecting round.
+			Round round = current.round;
+			round.pending.incrementAndGet();
+			try {
+				Phase validated = phase.get();
+				if (validated.isOpen(round)) {
+					if ((validated.state == State.COLLECTING) && !round.recipients.contains(participant)) {
+						// launched in the middle of the round, the participant receives the next round.
+						Round next = round.successor();
+						next.recipients.add(participant);
+						participant.launched = next;
+						return;
+					}
+					round.recipients.add(participant);
+					participant.launched = round;
+					if ((validated.state == State.COLLECTING) && (durationValue <= 0)) {
+						// a round without duration is terminated by the next launch (such event cycles are not shared).
+						closeRound(validated, null);
+					}
+					return;
+				}
+			} finally {
+				release(round);
+			}
+		}
+	}
+	
+	/**
+	 * start the next round right after the given round if participants launched it meanwhile.
+	 * @param round the completed round.
+	 */
+	private void startSuccessor(Round round) {
+		Round next = round.successor.get();
+		if ((null == next) || next.recipients.isEmpty()) {
+			return;
+		}
+		Phase current = phase.get();
+		if ((current.state == State.IDLE) && (current.round == round)) {
+			// fails if a launch opened the next round meanwhile or the event cycle has been stopped.
+			phase.compareAndSet(current, new Phase(State.LAUNCHED, next));
+		}
+	}
+	
+	/**
+	 * wait until a participant requests a new round and start collecting tags for it.
+	 * @return the new round or null if the event cycle is stopped meanwhile.
+	 */
+	private Round awaitLaunch() {
+		while (true) {
+			Phase current = phase.get();
+			if (current.state == State.STOPPED) {
+				return null;
+			}
+			if (current.state == State.LAUNCHED) {
+				if (phase.compareAndSet(current, new Phase(State.COLLECTING, current.round))) {
+					return current.round;
+				}
+			} else {
+				LockSupport.park(this);
+			}
+		}
+	}
+	
+	/**
+	 * wait until the round is closed - either as the duration elapsed or by an early 
+	 * termination - and until all the inserts and launches into the round have completed.
+	 * @param round the collecting round.
+	 * @param startTime the start time of the round.
+	 * @return false if the event cycle has been stopped meanwhile.
+	 */
+	private boolean awaitEndOfRound(Round round, long startTime) {
+		while (true) {
+			Phase current = phase.get();
+			if ((current.state != State.COLLECTING) || (current.round != round)) {
+				break;
+			}
+			if (durationValue > 0) {
+				
+				// if durationValue is specified and larger than zero, 
+				// wait for an early termination or durationValue elapsed.
+				long remaining = durationValue - (System.currentTimeMillis() - startTime);
+				if (remaining <= 0) {
+					closeRound(current, ECTerminationCondition.DURATION);
+				} else {
+					LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(remaining));
+				}
+			} else {
+				
+				// if durationValue is not specified or smaller than zero, 
+				// wait for the next launch or an early termination.
+				LockSupport.park(this);
+			}
+		}
+		
+		// the round is closed, wait for the inserts still in progress. the last one unparks this thread.
+		while ((round.pending.get() > 0) && (phase.get().state != State.STOPPED)) {
+			LockSupport.park(this);
 		}
+		return phase.get().state != State.STOPPED;
 	}
 	
 	/**
-	 * This method returns all reports of this event cycle as event cycle 
+	 * determine the participants that launched the event cycle for the given (closed) round. 
+	 * those will receive the reports.
+	 * @param round the closed round.
+	 * @return the participants to notify, in the order they joined the event cycle.
+	 */
+	private List<Participant> getRecipients(Round round) {
+		List<Participant> recipients = new LinkedList<Participant> ();
+		for (Participant participant : participants) {
+			if (round.recipients.contains(participant)) {
+				recipients.add(participant);
+			}
+		}
+		return recipients;
+	}
+	
+	/**
+	 * a tumbling window is reported only once complete. the participants of an incomplete 
+	 * window stay launched and the next bucket is collected immediately.
+	 * @param recipients the participants of the round.
+	 */
+	private void continueUntilWindowComplete(List<Participant> recipients) {
+		for (Participant recipient : recipients) {
+			launch(recipient);
+		}
+	}
+	
+	/**
+	 * This method returns all reports of the given participant as event cycle 
 	 * reports. 
+	 * @param participant the participant owning the reports.
+	 * @param numberOfTags the number of tags the reports are evaluated on.
+	 * @param profile the profile of the round, null if the round is not profiled.
 	 * @return array of ec reports
 	 * @throws ECSpecValidationException if a tag of this report is not valid
 	 * @throws ImplementationException if an implementation exception occurs.
 	 */
-	private List<ECReport> getReportList() throws ECSpecValidationException, ImplementationException {
-		ArrayList<ECReport> ecReports = new ArrayList<ECReport>();
-		for (Report report : reports) {
-			ECReport r = report.getECReport();
-			if (null != r) ecReports.add(r);
+	private List<ECReport> getReportList(Participant participant, int numberOfTags, CycleProfile profile) throws ECSpecValidationException, ImplementationException {
+		for (Report report : participant.reports) {
+			report.setProfile(profile);
 		}
-		return ecReports;		
+		return reportEvaluator.evaluate(participant.reports, numberOfTags);
+	}
+	
+	/**
+	 * create the window over the last rounds if the boundary spec requests one. each round 
+	 * (of the length of the duration) is one bucket of the window.
+	 * @return the window or null if none requested.
+	 * @throws ECSpecValidationException if the window definition is invalid.
+	 */
+	private TagWindow createWindow() throws ECSpecValidationException {
+		String mode = ExtensionHelper.getWindowMode(spec.getBoundarySpec());
+		if (null == mode) {
+			return null;
+		}
+		int size = ExtensionHelper.getWindowSize(spec.getBoundarySpec());
+		if ((size <= 0) || (durationValue <= 0)) {
+			throw new ECSpecValidationException("A window requires a windowSize and a positive duration.");
+		}
+		int numberOfBuckets = (int) Math.max(1, size / durationValue);
+		LOG.debug(String.format("window: %s over %d rounds", mode, numberOfBuckets));
+		return new TagWindow(numberOfBuckets, ExtensionHelper.WINDOW_TUMBLING.equals(mode));
 	}
 	
 	/**
@@ -633,31 +1271,51 @@ public final class EventCycleImpl implements EventCycle, Runnable {
 
 	@Override
 	public Set<Tag> getLastEventCycleTags() {
-		return copyContentToNewDatastructure(lastEventCycleTags);
+		return copyContentToNewDatastructure(owner.lastTags);
 	}
 
+	/**
+	 * This method return all tags of this event cycle. if a window is configured, these are the 
+	 * tags of the window including the last completed round.
+	 * 
+	 * @return set of tags
+	 */
 	@Override
 	public Set<Tag> getTags() {
-		return copyContentToNewDatastructure(tags);		
+		return snapshotTags();
+	}
+	
+	/**
+	 * @return a copy of the tags of this event cycle (or window) together with their merged sightings.
+	 */
+	private TagTable snapshotTags() {
+		if (null != window) {
+			return window.getTags();
+		}
+		return copyContentToNewDatastructure(activeRound.tags);		
 	}
 	
 	/**
-	 * create a copy of the content of the given data structure -> we use synchronized sets -> make sure not to leak them.<br/>
-	 * this method synchronizes the original data structure during to copy process.
+	 * create a copy of the content of the given data structure -> we use concurrent sets -> make sure not to leak them.<br/>
+	 * the iteration over the original data structure is weakly consistent, no lock is taken.
 	 * <br/>
-	 * <strong>Notice that the content is NOT cloned, simply referenced!</strong>
+	 * <strong>Notice that the content is NOT cloned, simply referenced!</strong> the copy shares 
+	 * the sighting records of the tags.
 	 * 
 	 * @param contentToCopy the data structure to copy.
 	 * @return a copy of the data structure with the content of the input.
 	 */
-	private Set<Tag> copyContentToNewDatastructure(Set<Tag> contentToCopy) {
-		Set<Tag> copy = new HashSet<Tag> ();
-		synchronized (contentToCopy) {
-			for (Tag tag : contentToCopy) {
-				copy.add(tag);
-			}
-		}
-		return copy;
+	private TagTable copyContentToNewDatastructure(TagTable contentToCopy) {
+		return new TagTable(contentToCopy);
+	}
+	
+	/**
+	 * create a set of tags that can be modified and iterated concurrently. repeated 
+	 * sightings of a tag are merged into the sighting record of the tag, see {@link TagTable}.
+	 * @return the set.
+	 */
+	private static TagTable createTagSet() {
+		return new TagTable();
 	}
 	
 	private boolean isRejectTagsBetweenCycle() {
@@ -668,22 +1326,6 @@ public final class EventCycleImpl implements EventCycle, Runnable {
 		this.rejectTagsBetweenCycle = rejectTagsBetweenCycle;
 	}
 
-	/** 
-	 * tells whether the ec accepts tags.
-	 * @return boolean telling whether the ec accepts tags
-	 */
-	private boolean isAcceptingTags() {
-		return acceptTags;
-	}
-
-	/**
-	 * sets the flag acceptTags to the passed boolean value. 
-	 * @param acceptTags sets the flag acceptTags to the passed boolean value.
-	 */
-	private void setAcceptTags(boolean acceptTags) {
-		this.acceptTags = acceptTags;
-	}
-
 	@Override
 	public int getRounds() {
 		return rounds;
@@ -691,11 +1333,16 @@ public final class EventCycleImpl implements EventCycle, Runnable {
 
 	@Override
 	public void join() throws InterruptedException {
-		synchronized (lock) {
-			while (!isRoundOver()) {
-				lock.wait();
-			}
-		}
+		join(owner);
+	}
+	
+	/**
+	 * wait until the round the participant launched last is over.
+	 * @param participant the participant.
+	 * @throws InterruptedException if interrupted while waiting.
+	 */
+	private void join(Participant participant) throws InterruptedException {
+		participant.launched.completion.await();
 	}
 
 	/**
@@ -704,13 +1351,13 @@ public final class EventCycleImpl implements EventCycle, Runnable {
 	 * @return true if over, false otherwise
 	 */
 	public boolean isRoundOver() {
-		return roundOver;
+		return owner.launched.completion.getCount() == 0;
 	}
 
 	// FIXME: Implementation is currently leaking... need to do something.
 	@Override
 	public ECReportSpec getReportSpecByName(String name) {
-		return reportSpecByName.get(name);
+		return owner.reportSpecByName.get(name);
 	}
 
 	/**
@@ -718,13 +1365,13 @@ public final class EventCycleImpl implements EventCycle, Runnable {
 	 * @return the map.
 	 */
 	protected Map<String, ECReportSpec> getReportSpecByName() {
-		return reportSpecByName;
+		return owner.reportSpecByName;
 	}
 
 	// FIXME: Implementation is currently leaking... need to do something.
 	@Override
 	public Map<String, ECReport> getLastReports() {
-		return lastReports;
+		return owner.lastReports;
 	}
 
 }
\ No newline at end of file
@@ -0,0 +1,208 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+package org.fosstrak.ale.server.impl;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import javax.xml.namespace.QName;
+
+import org.apache.log4j.Logger;
+import org.fosstrak.ale.exception.ImplementationException;
+import org.fosstrak.ale.server.ALESettings;
+import org.fosstrak.ale.server.EventCycle;
+import org.fosstrak.ale.server.ReportsGenerator;
+import org.fosstrak.ale.server.metrics.MetricsRegistry;
+import org.fosstrak.ale.server.readers.LogicalReaderManager;
+import org.fosstrak.ale.xsd.ale.epcglobal.ECBoundarySpec;
+import org.fosstrak.ale.xsd.ale.epcglobal.ECSpec;
+import org.fosstrak.ale.xsd.ale.epcglobal.ECTime;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * plans the event cycles of the reports generators.<br/>
+ * ECSpecs that differ only in their report specs collect the very same tags. the planner detects 
+ * such specs (equivalent set of logical readers and equivalent boundary spec) and lets their 
+ * reports generators share one event cycle: the tags are inserted only once and all the reports 
+ * are evaluated over the same collected set.<br/>
+ * a round is only shared between the reports generators launched on the same round boundary, a 
+ * generator launching during a round receives the next one. the tags of the previous round 
+ * (ADDITIONS and DELETIONS reports) are kept per reports generator. the sharing is disabled by 
+ * default, see <code>eventcycle.sharing.enabled</code>.
+ * 
+ * @author agent
+ *
+ */
+@Service("eventCyclePlanner")
+public class EventCyclePlanner {
+	
+	/** logger. */
+	private static final Logger LOG = Logger.getLogger(EventCyclePlanner.class);
+	
+	/** the shared event cycles hashed by their sharing key. */
+	private final Map<String, EventCycleImpl> sharedEventCycles = new HashMap<String, EventCycleImpl> ();
+	
+	// autowired
+	private LogicalReaderManager logicalReaderManager;
+	
+	// autowired
+	private ALESettings aleSettings;
+	
+	// autowired
+	private ReportEvaluator reportEvaluator;
+	
+	// autowired
+	private MetricsRegistry metricsRegistry = new MetricsRegistry();
+	
+	/**
+	 * obtain an event cycle for the given reports generator. if there is already an event cycle 
+	 * running for an equivalent ECSpec, the reports generator is attached to this event cycle, 
+	 * otherwise a new event cycle is created.
+	 * @param generator the reports generator requesting the event cycle.
+	 * @return the event cycle to use.
+	 * @throws ImplementationException if the event cycle cannot be created.
+	 */
+	public synchronized EventCycle getEventCycle(ReportsGenerator generator) throws ImplementationException {
+		String key = getSharingKey(generator.getSpec());
+		if ((null == key) || !aleSettings.isEventCycleSharingEnabled()) {
+			return new EventCycleImpl(generator, logicalReaderManager, reportEvaluator, metricsRegistry);
+		}
+		
+		removeShutdownEventCycles();
+		
+		EventCycleImpl shared = sharedEventCycles.get(key);
+		if (null != shared) {
+			EventCycle attached = shared.attach(generator);
+			if (null != attached) {
+				LOG.debug("ReportsGenerator " + generator.getName() + " shares EventCycle " + shared.getName());
+				return attached;
+			}
+		}
+		shared = new EventCycleImpl(generator, logicalReaderManager, reportEvaluator, metricsRegistry);
+		sharedEventCycles.put(key, shared);
+		return shared;
+	}
+	
+	/**
+	 * remove all the event cycles that have been shut down meanwhile.
+	 */
+	private void removeShutdownEventCycles() {
+		Iterator<EventCycleImpl> it = sharedEventCycles.values().iterator();
+		while (it.hasNext()) {
+			if (it.next().isShutdown()) {
+				it.remove();
+			}
+		}
+	}
+	
+	/**
+	 * compute the key under which event cycles can be shared: the sorted logical reader names and 
+	 * the content of the boundary spec. specs with boundary extension elements not known to the 
+	 * planner are not shared. neither are specs without a positive duration: their rounds are closed 
+	 * by the next launch of the reports generator, and one participant would close the round of all.
+	 * @param spec the ECSpec.
+	 * @return the sharing key or null if the spec cannot share an event cycle.
+	 */
+	public String getSharingKey(ECSpec spec) {
+		if ((null == spec) || (null == spec.getLogicalReaders()) || (null == spec.getBoundarySpec())) {
+			return null;
+		}
+		ECBoundarySpec boundarySpec = spec.getBoundarySpec();
+		if ((null != boundarySpec.getExtension()) || !boundarySpec.getAny().isEmpty()) {
+			return null;
+		}
+		if ((null == boundarySpec.getDuration()) || (boundarySpec.getDuration().getValue() <= 0)) {
+			return null;
+		}
+		
+		StringBuilder key = new StringBuilder();
+		key.append(new TreeSet<String>(spec.getLogicalReaders().getLogicalReader()));
+		key.append("|start=").append(boundarySpec.getStartTrigger());
+		key.append("|stop=").append(boundarySpec.getStopTrigger());
+		key.append("|duration=").append(getTimeKey(boundarySpec.getDuration()));
+		key.append("|repeat=").append(getTimeKey(boundarySpec.getRepeatPeriod()));
+		key.append("|stable=").append(getTimeKey(boundarySpec.getStableSetInterval()));
+		key.append("|ext=").append(new TreeMap<String, String>(getAttributesByName(boundarySpec.getOtherAttributes())));
+		return key.toString();
+	}
+	
+	/**
+	 * @param time the time value.
+	 * @return the value and the unit of the time, null if not set.
+	 */
+	private String getTimeKey(ECTime time) {
+		if (null == time) {
+			return null;
+		}
+		return time.getValue() + time.getUnit();
+	}
+	
+	/**
+	 * @param attributes the attributes with qualified names.
+	 * @return the attributes hashed by the string representation of their qualified name.
+	 */
+	private Map<String, String> getAttributesByName(Map<QName, String> attributes) {
+		Map<String, String> result = new HashMap<String, String> ();
+		for (Map.Entry<QName, String> entry : attributes.entrySet()) {
+			result.put(entry.getKey().toString(), entry.getValue());
+		}
+		return result;
+	}
+	
+	/**
+	 * allow to inject the logical reader manager.
+	 * @param logicalReaderManager the logical reader manager.
+	 */
+	@Autowired
+	public void setLogicalReaderManager(LogicalReaderManager logicalReaderManager) {
+		this.logicalReaderManager = logicalReaderManager;
+	}
+	
+	/**
+	 * allow to inject the report evaluator.
+	 * @param reportEvaluator the report evaluator.
+	 */
+	@Autowired
+	public void setReportEvaluator(ReportEvaluator reportEvaluator) {
+		this.reportEvaluator = reportEvaluator;
+	}
+	
+	/**
+	 * allow to inject the metrics registry.
+	 * @param metricsRegistry the metrics registry.
+	 */
+	@Autowired
+	public void setMetricsRegistry(MetricsRegistry metricsRegistry) {
+		this.metricsRegistry = metricsRegistry;
+	}
+	
+	/**
+	 * allow to inject a new ALESettings.
+	 * @param aleSettings the new ALESettings to be used.
+	 */
+	@Autowired
+	public void setAleSettings(ALESettings aleSettings) {
+		this.aleSettings = aleSettings;
+	}
+}
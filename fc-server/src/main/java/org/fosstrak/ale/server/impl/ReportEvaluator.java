@@ -0,0 +1,203 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+package org.fosstrak.ale.server.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.apache.log4j.Logger;
+import org.fosstrak.ale.exception.ECSpecValidationException;
+import org.fosstrak.ale.exception.ImplementationException;
+import org.fosstrak.ale.server.ALESettings;
+import org.fosstrak.ale.server.Report;
+import org.fosstrak.ale.xsd.ale.epcglobal.ECReport;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * evaluates the reports of an event cycle round.<br/>
+ * by default the reports are evaluated one after the other on the event cycle thread. if 
+ * more than one evaluation thread is configured, the reports are evaluated concurrently. if 
+ * further a partition size is configured and the round holds more tags than the partition size, 
+ * the reports are evaluated one after the other but the tags of each report are split into 
+ * partitions evaluated concurrently. in any case the resulting reports are merged in the 
+ * order of the report specs in the ECSpec.
+ * 
+ * @author agent
+ *
+ */
+@Service("reportEvaluator")
+public class ReportEvaluator {
+	
+	/** logger. */
+	private static final Logger LOG = Logger.getLogger(ReportEvaluator.class);
+	
+	/** the executor for the concurrent evaluation, null for sequential evaluation. */
+	private ExecutorService executor;
+	
+	/** the maximum number of tags per partition, 0 if the tags are not partitioned. */
+	private int partitionSize;
+	
+	// autowired
+	private ALESettings aleSettings;
+	
+	/**
+	 * create a sequential report evaluator. the evaluator is configured from the ALE settings on initialization.
+	 */
+	public ReportEvaluator() {
+	}
+	
+	/**
+	 * create a report evaluator.
+	 * @param threads the number of evaluation threads, 0 or 1 for sequential evaluation.
+	 * @param partitionSize the maximum number of tags per partition, 0 if the tags shall not be partitioned.
+	 */
+	public ReportEvaluator(int threads, int partitionSize) {
+		configure(threads, partitionSize);
+	}
+	
+	/**
+	 * configure the evaluator from the ALE settings.
+	 */
+	@PostConstruct
+	public void initialize() {
+		configure(aleSettings.getReportEvaluationThreads(), aleSettings.getReportEvaluationPartitionSize());
+	}
+	
+	/**
+	 * stop the evaluation threads.
+	 */
+	@PreDestroy
+	public void shutdown() {
+		if (null != executor) {
+			executor.shutdownNow();
+		}
+	}
+	
+	/**
+	 * @param threads the number of evaluation threads.
+	 * @param partitionSize the maximum number of tags per partition.
+	 */
+	private void configure(int threads, int partitionSize) {
+		this.partitionSize = Math.max(0, partitionSize);
+		if (threads > 1) {
+			LOG.info(String.format("evaluating reports on %d threads, partition size %d", threads, this.partitionSize));
+			executor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+				
+				private final AtomicInteger number = new AtomicInteger();
+				
+				@Override
+				public Thread newThread(Runnable runnable) {
+					Thread thread = new Thread(runnable, "ReportEvaluator-" + number.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+		}
+	}
+	
+	/**
+	 * evaluate the given reports.
+	 * @param reports the reports in the order of the report specs.
+	 * @param numberOfTags the number of tags in the round (decides on the partitioning).
+	 * @return the non-null ec reports in the order of the given reports.
+	 * @throws ECSpecValidationException if a tag of a report is not valid
+	 * @throws ImplementationException if an implementation exception occurs.
+	 */
+	public List<ECReport> evaluate(List<Report> reports, int numberOfTags) throws ECSpecValidationException, ImplementationException {
+		List<ECReport> ecReports = new ArrayList<ECReport>(reports.size());
+		if ((null == executor) || ((partitionSize == 0) && (reports.size() < 2))) {
+			for (Report report : reports) {
+				addIfNotNull(ecReports, report.getECReport());
+			}
+		} else if ((partitionSize > 0) && (numberOfTags > partitionSize)) {
+			for (Report report : reports) {
+				addIfNotNull(ecReports, report.getECReport(executor, partitionSize));
+			}
+		} else {
+			evaluateConcurrently(reports, ecReports);
+		}
+		return ecReports;
+	}
+
+	/**
+	 * evaluate each report in its own task and collect the results in the order of the reports.
+	 * @param reports the reports.
+	 * @param ecReports the list receiving the results.
+	 * @throws ECSpecValidationException if a tag of a report is not valid
+	 * @throws ImplementationException if an implementation exception occurs.
+	 */
+	private void evaluateConcurrently(List<Report> reports, List<ECReport> ecReports) throws ECSpecValidationException, ImplementationException {
+		List<Future<ECReport>> results = new ArrayList<Future<ECReport>>(reports.size());
+		for (final Report report : reports) {
+			results.add(executor.submit(new Callable<ECReport>() {
+				@Override
+				public ECReport call() throws Exception {
+					return report.getECReport();
+				}
+			}));
+		}
+		try {
+			for (Future<ECReport> result : results) {
+				addIfNotNull(ecReports, result.get());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ImplementationException("interrupted while evaluating the reports");
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof ECSpecValidationException) {
+				throw (ECSpecValidationException) e.getCause();
+			} else if (e.getCause() instanceof ImplementationException) {
+				throw (ImplementationException) e.getCause();
+			}
+			LOG.error("could not evaluate the reports", e.getCause());
+			throw new ImplementationException("could not evaluate the reports: " + e.getCause());
+		} finally {
+			for (Future<ECReport> result : results) {
+				result.cancel(true);
+			}
+		}
+	}
+	
+	private void addIfNotNull(List<ECReport> ecReports, ECReport ecReport) {
+		if (null != ecReport) {
+			ecReports.add(ecReport);
+		}
+	}
+	
+	/**
+	 * allow to inject a new ALESettings.
+	 * @param aleSettings the new ALESettings to be used.
+	 */
+	@Autowired
+	public void setAleSettings(ALESettings aleSettings) {
+		this.aleSettings = aleSettings;
+	}
+}
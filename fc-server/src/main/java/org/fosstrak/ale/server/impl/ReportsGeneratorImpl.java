@@ -25,6 +25,9 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Condition;
+
+import javax.xml.parsers.ParserConfigurationException;
 
 import org.apache.log4j.Logger;
 import org.fosstrak.ale.exception.DuplicateSubscriptionException;
@@ -37,13 +40,23 @@ import org.fosstrak.ale.server.EventCycle;
 import org.fosstrak.ale.server.ReportsGenerator;
 import org.fosstrak.ale.server.ReportsGeneratorState;
 import org.fosstrak.ale.server.Subscriber;
+import org.fosstrak.ale.server.jfr.FlightEvents;
+import org.fosstrak.ale.server.jfr.NotificationEvent;
+import org.fosstrak.ale.server.metrics.CycleProfile;
+import org.fosstrak.ale.server.metrics.CycleProfile.Stage;
+import org.fosstrak.ale.server.metrics.CycleProfiler;
+import org.fosstrak.ale.server.metrics.InstrumentedLock;
+import org.fosstrak.ale.server.metrics.MetricsRegistry;
+import org.fosstrak.ale.server.metrics.SpecMetrics;
 import org.fosstrak.ale.server.util.ECReportsHelper;
 import org.fosstrak.ale.server.util.ECSpecValidator;
+import org.fosstrak.ale.server.util.ExtensionHelper;
 import org.fosstrak.ale.util.ECTimeUnit;
 import org.fosstrak.ale.xsd.ale.epcglobal.ECReport;
 import org.fosstrak.ale.xsd.ale.epcglobal.ECReportGroup;
 import org.fosstrak.ale.xsd.ale.epcglobal.ECReportSpec;
 import org.fosstrak.ale.xsd.ale.epcglobal.ECReports;
+import org.fosstrak.ale.xsd.ale.epcglobal.ECReportsExtension;
 import org.fosstrak.ale.xsd.ale.epcglobal.ECReports.Reports;
 import org.fosstrak.ale.xsd.ale.epcglobal.ECSpec;
 import org.fosstrak.ale.xsd.ale.epcglobal.ECTime;
@@ -66,6 +79,12 @@ public class ReportsGeneratorImpl implements ReportsGenerator, Runnable {
 	 * period for how long to wait for calls in between waiting times. 
 	 */
 	private static final long WAKEUP_PERIOD = 50L;
+	
+	/** the lock site of the generator threads waiting for the state and the repeat period. */
+	public static final String LOCK_SITE_STATE = "ReportsGenerator.state";
+	
+	/** the lock site of the pollers waiting for the poll reports. */
+	public static final String LOCK_SITE_POLL = "ReportsGenerator.poll";
 
 	/** logger */
 	private static final Logger LOG = Logger.getLogger(ReportsGenerator.class);
@@ -99,8 +118,8 @@ public class ReportsGeneratorImpl implements ReportsGenerator, Runnable {
 	/** thread to run the main loop */
 	private Thread thread;
 	
-	/** state of this report generator */
-	private ReportsGeneratorState state = ReportsGeneratorState.UNREQUESTED;
+	/** state of this report generator. written under the state lock. */
+	private volatile ReportsGeneratorState state = ReportsGeneratorState.UNREQUESTED;
 	
 	/** indicates if this report generator is running or not */
 	private boolean reportsGeneratorRunning = false;
@@ -111,11 +130,26 @@ public class ReportsGeneratorImpl implements ReportsGenerator, Runnable {
 	/** ec report for the poller */
 	private ECReports pollReport = null;
 	
+	/** lock of the generator thread waiting for the state REQUESTED and the repeat period. */
+	private final InstrumentedLock stateLock;
+	
+	/** signalled when the state changes to REQUESTED. */
+	private final Condition stateRequested;
+	
+	/** lock of the pollers waiting for the poll reports. */
+	private final InstrumentedLock pollLock;
+	
+	/** signalled when the poll reports are available. */
+	private final Condition pollReportsAvailable;
+	
 	
 	private EventCycle eventCycle = null;
 
 	private ECReportsHelper reportsHelper;
 	
+	/** the metrics of the ECSpec. */
+	private final SpecMetrics metrics;
+	
 	/**
 	 * Constructor validates the ec specification and sets some parameters.
 	 * 
@@ -125,7 +159,7 @@ public class ReportsGeneratorImpl implements ReportsGenerator, Runnable {
 	 * @throws ImplementationException if an implementation exception occurs
 	 */
 	public ReportsGeneratorImpl(String name, ECSpec spec) throws ECSpecValidationException, ImplementationException {
-		this(name, spec, ALEApplicationContext.getBean(ECSpecValidator.class), ALEApplicationContext.getBean(ECReportsHelper.class));
+		this(name, spec, ALEApplicationContext.getBean(ECSpecValidator.class), ALEApplicationContext.getBean(ECReportsHelper.class), ALEApplicationContext.getBean(MetricsRegistry.class));
 		
 	}
 	/**
@@ -138,6 +172,21 @@ public class ReportsGeneratorImpl implements ReportsGenerator, Runnable {
 	 * @throws ImplementationException if an implementation exception occurs
 	 */
 	public ReportsGeneratorImpl(String name, ECSpec spec, ECSpecValidator validator, ECReportsHelper reportsHelper) throws ECSpecValidationException, ImplementationException {
+		this(name, spec, validator, reportsHelper, new MetricsRegistry());
+	}
+	
+	/**
+	 * Constructor validates the ec specification and sets some parameters.
+	 * 
+	 * @param name of this reports generator
+	 * @param spec which defines how the reports of this generator should be build
+	 * @param validator the ECSpec validator to use for the validation of the ECSpec.
+	 * @param reportsHelper the helper comparing the reports.
+	 * @param metricsRegistry the registry delivering the metrics of the ECSpec.
+	 * @throws ECSpecValidationException if the ec specification is invalid
+	 * @throws ImplementationException if an implementation exception occurs
+	 */
+	public ReportsGeneratorImpl(String name, ECSpec spec, ECSpecValidator validator, ECReportsHelper reportsHelper, MetricsRegistry metricsRegistry) throws ECSpecValidationException, ImplementationException {
 
 		LOG.debug("Try to create new ReportGenerator '" + name + "'.");
 				
@@ -157,6 +206,17 @@ public class ReportsGeneratorImpl implements ReportsGenerator, Runnable {
 			throw e;
 		}
 		this.spec = spec;
+		this.metrics = metricsRegistry.getSpecMetrics(name);
+		stateLock = new InstrumentedLock(metricsRegistry.getLockMetrics(LOCK_SITE_STATE));
+		stateRequested = stateLock.newCondition();
+		pollLock = new InstrumentedLock(metricsRegistry.getLockMetrics(LOCK_SITE_POLL));
+		pollReportsAvailable = pollLock.newCondition();
+		int profileRounds = ExtensionHelper.getProfileRounds(spec);
+		if (profileRounds > 0) {
+			metrics.enableProfiling(profileRounds);
+		} else {
+			metrics.disableProfiling();
+		}
 		
 		// init boundary spec values
 		startTriggerValue = getStartTriggerValue();
@@ -190,8 +250,17 @@ public class ReportsGeneratorImpl implements ReportsGenerator, Runnable {
 	 * @param state to set
 	 */
 	public void setState(ReportsGeneratorState state) {		
-		ReportsGeneratorState oldState = this.state;
-		this.state = state;
+		ReportsGeneratorState oldState;
+		stateLock.lock();
+		try {
+			oldState = this.state;
+			this.state = state;
+			if ((state == ReportsGeneratorState.REQUESTED) && (oldState != state)) {
+				stateRequested.signalAll();
+			}
+		} finally {
+			stateLock.unlock();
+		}
 		
 		LOG.debug("ReportGenerator '" + name + "' change state from '" + oldState + "' to '" + state + "'");
 		
@@ -314,6 +383,10 @@ public class ReportsGeneratorImpl implements ReportsGenerator, Runnable {
 //		an event cycle, even if that ECReports instance contains zero ECReport instances.
 		
 		
+		CycleProfile profile = getCurrentProfile();
+		NotificationEvent event = FlightEvents.beginNotification(name);
+		long start = System.nanoTime();
+		
 		Cloner cloner  = new Cloner();
 		// deep clone the original input in order to keep it as the 
 		// next event cycles last cycle reports. 
@@ -325,6 +398,11 @@ public class ReportsGeneratorImpl implements ReportsGenerator, Runnable {
 			// deep clone for the pollers (poll and immediate)
 			pollReport = cloner.deepClone(reports);
 		}
+		long cloningNanos = System.nanoTime() - start;
+		long equalityNanos = 0;
+		if (null != profile) {
+			profile.add(Stage.CLONING, cloningNanos);
+		}
 
 		// we remove the reports that are equal to the ones in the 
 		// last event cycle. then we send the subscribers.
@@ -348,7 +426,14 @@ public class ReportsGeneratorImpl implements ReportsGenerator, Runnable {
 				ECReport oldR = ec.getLastReports().get(r.getReportName());
 				
 				// compare the new report with the old one.
-				if (reportsHelper.areReportsEqual(reportSpec, r, oldR)) {
+				start = System.nanoTime();
+				boolean equal = reportsHelper.areReportsEqual(reportSpec, r, oldR);
+				long nanos = System.nanoTime() - start;
+				equalityNanos += nanos;
+				if (null != profile) {
+					profile.add(Stage.EQUALITY, nanos);
+				}
+				if (equal) {
 					equalReps.add(r);
 				}
 			}
@@ -367,17 +452,24 @@ public class ReportsGeneratorImpl implements ReportsGenerator, Runnable {
 		LOG.debug("reports size: " + reports.getReports().getReport().size());
 
 		// next step is to check, if the total report is empty (even if requestIfEmpty but when all reports are equal, do not deliver) 
-		if (reportsToNotify.size() > 0) {
+		boolean delivered = reportsToNotify.size() > 0;
+		if (delivered) {
+			if (null != profile) {
+				attachProfile(reports, profile);
+			}
 			// notify the ECReports
 			notifySubscribersWithFilteredReports(reports);
 		}		
 		// store the new reports as old reports
 		ec.getLastReports().clear();
+		int numberOfReports = 0;
 		if (null != originalInput.getReports()) {
 			for (ECReport r : originalInput.getReports().getReport()) {
 				ec.getLastReports().put(r.getReportName(), r);
+				numberOfReports++;
 			}
 		}
+		FlightEvents.commitNotification(event, numberOfReports, cloningNanos, equalityNanos, delivered);
 		
 		// notify pollers
 		// pollers always receive reports (even when empty).
@@ -386,8 +478,11 @@ public class ReportsGeneratorImpl implements ReportsGenerator, Runnable {
 			if (subscribers.isEmpty()) {
 				setState(ReportsGeneratorState.UNREQUESTED);
 			}
-			synchronized (this) {
-				this.notifyAll();
+			pollLock.lock();
+			try {
+				pollReportsAvailable.signalAll();
+			} finally {
+				pollLock.unlock();
 			}
 		}	
 	}
@@ -409,16 +504,55 @@ public class ReportsGeneratorImpl implements ReportsGenerator, Runnable {
 		}
 		return false;
 	}
+	/**
+	 * @return the profile of the round being evaluated, null if the ECSpec is not profiled.
+	 */
+	private CycleProfile getCurrentProfile() {
+		CycleProfiler profiler = metrics.getProfiler();
+		return (null == profiler) ? null : profiler.getCurrent();
+	}
+	
+	/**
+	 * attach the profile of the round as extension element to the reports. the serialization 
+	 * and the delivery are not yet done, their times are only kept in the profiler.
+	 * @param reports the reports to deliver.
+	 * @param profile the profile of the round.
+	 */
+	private void attachProfile(ECReports reports, CycleProfile profile) {
+		try {
+			if (null == reports.getExtension()) {
+				reports.setExtension(new ECReportsExtension());
+			}
+			reports.getExtension().getAny().add(profile.toElement());
+		} catch (ParserConfigurationException e) {
+			LOG.debug("could not attach the profile to the reports", e);
+		}
+	}
+	
 	/**
 	 * once all the filtering is done eventually notify the subscribers with the reports.
 	 * @param reports the filtered reports.
 	 */
 	protected void notifySubscribersWithFilteredReports(ECReports reports) {
+		CycleProfile profile = getCurrentProfile();
 		// notify subscribers 
 		for (Subscriber listener : subscribers.values()) {
+			long start = System.nanoTime();
 			try {
 				listener.notify(reports);
+				long nanos = System.nanoTime() - start;
+				metrics.delivered(nanos, listener.getSerializedLength());
+				if (null != profile) {
+					long serializationNanos = Math.min(nanos, listener.getSerializationNanos());
+					profile.add(Stage.SERIALIZATION, serializationNanos);
+					profile.add(Stage.DELIVERY, nanos - serializationNanos);
+				}
 			} catch (Exception e) {
+				long nanos = System.nanoTime() - start;
+				metrics.deliveryFailed(nanos);
+				if (null != profile) {
+					profile.add(Stage.DELIVERY, nanos);
+				}
 				LOG.error("Could not notify subscriber '" + listener.toString(), e);
 			}
 		}
@@ -449,6 +583,50 @@ public class ReportsGeneratorImpl implements ReportsGenerator, Runnable {
 		return pollReport;
 	}
 	
+	@Override
+	public ECReports awaitPollReports() throws InterruptedException {
+		pollLock.lock();
+		try {
+			while (null == pollReport) {
+				pollLock.await(pollReportsAvailable, 0);
+			}
+			return pollReport;
+		} finally {
+			pollLock.unlock();
+		}
+	}
+	
+	/**
+	 * wait until the state is REQUESTED. the state is checked under the state lock, 
+	 * so a change to REQUESTED cannot be missed.
+	 * @throws InterruptedException if interrupted while waiting.
+	 */
+	private void awaitStateRequested() throws InterruptedException {
+		stateLock.lock();
+		try {
+			while (!isStateRequested()) {
+				stateLock.await(stateRequested, 0);
+			}
+		} finally {
+			stateLock.unlock();
+		}
+	}
+	
+	/**
+	 * wait for the repeat period. returns early if the state changes from 
+	 * UNREQUESTED to REQUESTED in the meantime.
+	 * @param repeatPeriod the repeat period in milliseconds.
+	 * @throws InterruptedException if interrupted while waiting.
+	 */
+	private void awaitRepeatPeriod(long repeatPeriod) throws InterruptedException {
+		stateLock.lock();
+		try {
+			stateLock.await(stateRequested, repeatPeriod);
+		} finally {
+			stateLock.unlock();
+		}
+	}
+	
 	/**
 	 * This method starts the main loop of the report generator.
 	 */
@@ -486,13 +664,14 @@ public class ReportsGeneratorImpl implements ReportsGenerator, Runnable {
 	}
 	
 	/**
-	 * create a new EventCycle that can be used by this reports generator.
+	 * create a new EventCycle that can be used by this reports generator. the event cycle 
+	 * might be shared with other reports generators (see {@link EventCyclePlanner}).
 	 * @return the newly created event cycle.
 	 * @throws ImplementationException when the event cycle cannot be created.
 	 */
 	protected EventCycle createEventCycle() throws ImplementationException {
 		LOG.debug("creating new event cycle.");
-		return new EventCycleImpl(this);
+		return ALEApplicationContext.getBean(EventCyclePlanner.class).getEventCycle(this);
 	}
 	
 	/**
@@ -528,16 +707,11 @@ public class ReportsGeneratorImpl implements ReportsGenerator, Runnable {
 				while (isRunning()) {
 					
 					// wait until state is REQUESTED
-					synchronized (state) {
-						while (!isStateRequested()) {
-							try {
-								// wakeup the reports generator every once in a while
-								state.wait(WAKEUP_PERIOD);
-							} catch (InterruptedException e) {
-								LOG.debug("caught interrupted exception - leaving reports generator.");
-								return;
-							}
-						}
+					try {
+						awaitStateRequested();
+					} catch (InterruptedException e) {
+						LOG.debug("caught interrupted exception - leaving reports generator.");
+						return;
 					}
 					
 					// while state is REQUESTED start every repeatPeriod a 
@@ -550,9 +724,7 @@ public class ReportsGeneratorImpl implements ReportsGenerator, Runnable {
 						}
 
 						try {
-							synchronized (state) {
-								state.wait(repeatPeriodValue);
-							}
+							awaitRepeatPeriod(repeatPeriodValue);
 							// wait for the event cycle to finish...
 							eventCycle.join();
 							
@@ -574,15 +746,11 @@ public class ReportsGeneratorImpl implements ReportsGenerator, Runnable {
 				while (isRunning()) {
 					
 					// wait until state is REQUESTED
-					while (!isStateRequested()) {
-						try {
-							synchronized (state) {
-								state.wait();
-							}
-						} catch (InterruptedException e) {
-							LOG.debug("caught interrupted exception - leaving reports generator.");
-							return;
-						}
+					try {
+						awaitStateRequested();
+					} catch (InterruptedException e) {
+						LOG.debug("caught interrupted exception - leaving reports generator.");
+						return;
 					}
 					
 					// while state is REQUESTED start one EventCycle 
@@ -592,9 +760,7 @@ public class ReportsGeneratorImpl implements ReportsGenerator, Runnable {
 						
 						while (!eventCycle.isTerminated()) {
 							try {
-								synchronized (eventCycle) {
-									eventCycle.wait(WAKEUP_PERIOD);
-								}
+								eventCycle.awaitTermination(WAKEUP_PERIOD);
 							} catch (InterruptedException e) {
 								LOG.debug("caught interrupted exception - leaving reports generator.");
 								return;
@@ -0,0 +1,162 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+package org.fosstrak.ale.server.impl;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.fosstrak.ale.server.Tag;
+import org.fosstrak.ale.server.TagSighting;
+
+/**
+ * the tag table of an event cycle round. the table stores the first delivered instance of 
+ * every distinct tag together with one {@link TagSighting} aggregating the sightings of 
+ * the tag. a repeated sighting of a tag is merged into this record instead of being 
+ * dropped. as the delivered tags may be shared with other event cycles, they are never 
+ * modified, the aggregated record is obtained by {@link #getSighting(Object)}.
+ * <br/>
+ * the table is safe for concurrent inserts, the merge is lock-free. tags without origin 
+ * are only equal to themselves, the hash map finds them by identity.
+ * 
+ * @author agent
+ *
+ */
+public final class TagTable extends AbstractSet<Tag> {
+	
+	/** key = the tag as first delivered, value = the merged sightings of the tag. */
+	private final ConcurrentMap<Tag, TagSighting> tags = new ConcurrentHashMap<Tag, TagSighting>();
+	
+	/**
+	 * create an empty table.
+	 */
+	public TagTable() {
+	}
+	
+	/**
+	 * create a snapshot of the given table. the snapshot shares the sighting records with 
+	 * the given table, take it once no more tags are merged.
+	 * @param table the table to copy.
+	 */
+	public TagTable(TagTable table) {
+		tags.putAll(table.tags);
+	}
+	
+	/**
+	 * insert a tag or merge its sightings into the record of the stored tag.
+	 * @param tag the tag.
+	 * @return true if the tag is new in the table, false if merged.
+	 */
+	@Override
+	public boolean add(Tag tag) {
+		TagSighting sighting = tags.get(tag);
+		if (null == sighting) {
+			sighting = tags.putIfAbsent(tag, TagSighting.of(tag));
+			if (null == sighting) {
+				return true;
+			}
+		}
+		sighting.merge(tag);
+		return false;
+	}
+	
+	/**
+	 * insert a tag with the sightings of the given record or merge them into the record 
+	 * of the stored tag.
+	 * @param tag the tag.
+	 * @param sighting the sightings of the tag.
+	 * @return true if the tag is new in the table, false if merged.
+	 */
+	public boolean add(Tag tag, TagSighting sighting) {
+		TagSighting stored = tags.get(tag);
+		if (null == stored) {
+			stored = tags.putIfAbsent(tag, sighting.copy());
+			if (null == stored) {
+				return true;
+			}
+		}
+		stored.merge(sighting);
+		return false;
+	}
+	
+	/**
+	 * insert a tag not yet contained in the table together with its record. the record is 
+	 * not copied.
+	 * @param tag the tag.
+	 * @param sighting the sightings of the tag.
+	 */
+	void put(Tag tag, TagSighting sighting) {
+		tags.put(tag, sighting);
+	}
+	
+	/**
+	 * @param tag the tag.
+	 * @return the merged sightings of the tag or null if not contained.
+	 */
+	public TagSighting getSighting(Object tag) {
+		return tags.get(tag);
+	}
+	
+	/**
+	 * remove a tag.
+	 * @param tag the tag.
+	 * @return the merged sightings of the removed tag or null if not contained.
+	 */
+	public TagSighting removeSighting(Object tag) {
+		return tags.remove(tag);
+	}
+	
+	/**
+	 * looks up the merged sightings of a tag in a set of tags.
+	 * @param tags the set of tags, a tag table or any other set.
+	 * @param tag the tag.
+	 * @return the merged sightings if the set is a tag table containing the tag, null otherwise.
+	 */
+	public static TagSighting getSighting(Set<Tag> tags, Tag tag) {
+		return (tags instanceof TagTable) ? ((TagTable) tags).getSighting(tag) : null;
+	}
+	
+	@Override
+	public boolean contains(Object o) {
+		return tags.containsKey(o);
+	}
+	
+	@Override
+	public boolean remove(Object o) {
+		return null != tags.remove(o);
+	}
+	
+	@Override
+	public Iterator<Tag> iterator() {
+		return tags.keySet().iterator();
+	}
+	
+	@Override
+	public int size() {
+		return tags.size();
+	}
+	
+	@Override
+	public void clear() {
+		tags.clear();
+	}
+}
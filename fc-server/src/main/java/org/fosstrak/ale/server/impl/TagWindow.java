@@ -0,0 +1,176 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+package org.fosstrak.ale.server.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.fosstrak.ale.server.Tag;
+import org.fosstrak.ale.server.TagSighting;
+
+/**
+ * a window over the tags of the last event cycle rounds.<br/>
+ * the window is organized as a ring of buckets, one bucket holding the tags of one round. for each 
+ * tag in the window, the number of buckets containing the tag is maintained. therefore advancing 
+ * the window only touches the tags of the newest and the expired bucket - the window is never rescanned.
+ * <br/>
+ * a sliding window reports after every round, a tumbling window reports once all its buckets are 
+ * filled and starts over empty afterwards.
+ * 
+ * @author agent
+ *
+ */
+public final class TagWindow {
+	
+	/**
+	 * a tag in the window together with the number of buckets containing it.
+	 */
+	private static final class Occurrence {
+		
+		/** the latest sighting of the tag. */
+		private Tag tag;
+		
+		/** the sightings merged for the latest sighting of the tag, null if the bucket did not merge sightings. */
+		private TagSighting sighting;
+		
+		/** the number of buckets containing the tag. */
+		private int buckets;
+	}
+	
+	/** the ring of buckets. */
+	private final List<Set<Tag>> buckets;
+	
+	/** the occurrences of the tags in the window hashed by the tag. */
+	private final Map<Tag, Occurrence> occurrences = new HashMap<Tag, Occurrence> ();
+	
+	/** whether the window is tumbling or sliding. */
+	private final boolean tumbling;
+	
+	/** the index of the bucket to fill next. */
+	private int next = 0;
+	
+	/** the number of filled buckets. */
+	private int filled = 0;
+	
+	/**
+	 * create a new empty window.
+	 * @param numberOfBuckets the number of rounds covered by the window.
+	 * @param tumbling true for a tumbling window, false for a sliding window.
+	 */
+	public TagWindow(int numberOfBuckets, boolean tumbling) {
+		if (numberOfBuckets <= 0) {
+			throw new IllegalArgumentException("the window needs at least one bucket: " + numberOfBuckets);
+		}
+		buckets = new ArrayList<Set<Tag>>(numberOfBuckets);
+		for (int i=0; i<numberOfBuckets; i++) {
+			buckets.add(null);
+		}
+		this.tumbling = tumbling;
+	}
+	
+	/**
+	 * advance the window by one round: the tags of the round are added as newest bucket, the 
+	 * oldest bucket is expired if the window is full (a full tumbling window is emptied first).
+	 * @param bucket the tags of the round. the window keeps the given set, do not modify it afterwards.
+	 */
+	public synchronized void advance(Set<Tag> bucket) {
+		if (filled == buckets.size()) {
+			if (tumbling) {
+				clear();
+			} else {
+				expire(buckets.get(next));
+			}
+		}
+		if (filled < buckets.size()) {
+			filled ++;
+		}
+		buckets.set(next, bucket);
+		for (Tag tag : bucket) {
+			Occurrence occurrence = occurrences.get(tag);
+			if (null == occurrence) {
+				occurrence = new Occurrence();
+				occurrences.put(tag, occurrence);
+			}
+			occurrence.tag = tag;
+			occurrence.sighting = TagTable.getSighting(bucket, tag);
+			occurrence.buckets ++;
+		}
+		next = (next + 1) % buckets.size();
+	}
+	
+	/**
+	 * remove the tags of an expired bucket from the window.
+	 * @param bucket the expired bucket.
+	 */
+	private void expire(Set<Tag> bucket) {
+		for (Tag tag : bucket) {
+			Occurrence occurrence = occurrences.get(tag);
+			if ((null != occurrence) && (--occurrence.buckets == 0)) {
+				occurrences.remove(tag);
+			}
+		}
+	}
+	
+	/**
+	 * empty the window.
+	 */
+	public synchronized void clear() {
+		for (int i=0; i<buckets.size(); i++) {
+			buckets.set(i, null);
+		}
+		occurrences.clear();
+		filled = 0;
+		next = 0;
+	}
+	
+	/**
+	 * whether the window content shall be reported after the last advance: always for a sliding 
+	 * window, only when all the buckets are filled for a tumbling window.
+	 * @return true if the window shall be reported.
+	 */
+	public synchronized boolean isReportDue() {
+		return !tumbling || (filled == buckets.size());
+	}
+	
+	/**
+	 * @return a copy of the tags in the window (the latest sighting of each tag).
+	 */
+	public synchronized TagTable getTags() {
+		TagTable tags = new TagTable();
+		for (Occurrence occurrence : occurrences.values()) {
+			if (null == occurrence.sighting) {
+				tags.add(occurrence.tag);
+			} else {
+				tags.put(occurrence.tag, occurrence.sighting);
+			}
+		}
+		return tags;
+	}
+	
+	/**
+	 * @return the number of distinct tags in the window.
+	 */
+	public synchronized int size() {
+		return occurrences.size();
+	}
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.server.jfr;
+
+/**
+ * flight recorder event spanning a round of an event cycle from its start until it is closed.
+ * 
+ * @author agent
+ *
+ */
+public interface CycleEvent extends FlightEvent {
+	
+	/**
+	 * @param eventCycle the name of the event cycle.
+	 */
+	void setEventCycle(String eventCycle);
+	
+	/**
+	 * @param round the number of the round.
+	 */
+	void setRound(long round);
+	
+	/**
+	 * @param tags the number of tags read in the round.
+	 */
+	void setTags(int tags);
+}
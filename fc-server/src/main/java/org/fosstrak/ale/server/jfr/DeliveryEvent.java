@@ -0,0 +1,45 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.server.jfr;
+
+/**
+ * flight recorder event spanning the delivery of the reports to one subscriber.
+ * 
+ * @author agent
+ *
+ */
+public interface DeliveryEvent extends FlightEvent {
+	
+	/**
+	 * @param uri the notification URI of the subscriber.
+	 */
+	void setUri(String uri);
+	
+	/**
+	 * @param bytes the number of bytes of the serialized reports, 0 if unknown.
+	 */
+	void setBytes(long bytes);
+	
+	/**
+	 * @param outcome the outcome of the delivery.
+	 */
+	void setOutcome(String outcome);
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.server.jfr;
+
+/**
+ * a flight recorder event. the methods are the ones of <code>jdk.jfr.Event</code>, which 
+ * implements them in the event classes of the optional fc-jfr module.
+ * 
+ * @author agent
+ *
+ */
+public interface FlightEvent {
+	
+	/**
+	 * @return true if the event is enabled in the running recordings.
+	 */
+	boolean isEnabled();
+	
+	/**
+	 * start the timing of the event.
+	 */
+	void begin();
+	
+	/**
+	 * stop the timing of the event.
+	 */
+	void end();
+	
+	/**
+	 * @return true if the event is enabled and exceeds the threshold of the recordings.
+	 */
+	boolean shouldCommit();
+	
+	/**
+	 * write the event to the recordings.
+	 */
+	void commit();
+}
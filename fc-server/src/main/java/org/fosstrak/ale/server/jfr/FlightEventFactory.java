@@ -0,0 +1,50 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.server.jfr;
+
+/**
+ * creates the flight recorder events. implemented by the optional fc-jfr module, see {@link FlightEvents}.
+ * 
+ * @author agent
+ *
+ */
+public interface FlightEventFactory {
+	
+	/**
+	 * @return a new event of a round of an event cycle.
+	 */
+	CycleEvent createCycleEvent();
+	
+	/**
+	 * @return a new event of the evaluation of a report.
+	 */
+	ReportEvent createReportEvent();
+	
+	/**
+	 * @return a new event of the notification of the reports of a round.
+	 */
+	NotificationEvent createNotificationEvent();
+	
+	/**
+	 * @return a new event of the delivery of the reports to a subscriber.
+	 */
+	DeliveryEvent createDeliveryEvent();
+}
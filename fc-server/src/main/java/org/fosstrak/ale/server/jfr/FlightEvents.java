@@ -0,0 +1,250 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.server.jfr;
+
+import org.apache.log4j.Logger;
+import org.fosstrak.ale.xsd.ale.epcglobal.ECReport;
+import org.fosstrak.ale.xsd.ale.epcglobal.ECReportGroup;
+
+/**
+ * emits the JDK Flight Recorder events of the ALE: the rounds of the event cycles, the 
+ * evaluation of the reports, the notification of the reports and the delivery to the 
+ * subscribers. the events are recorded together with the GC, lock and I/O events of the 
+ * JVM, the bundled settings <code>fosstrak-ale.jfc</code> enable all of them, for example:
+ * <pre>-XX:StartFlightRecording=settings=/path/to/fosstrak-ale.jfc,filename=ale.jfr</pre>
+ * the event classes extend <code>jdk.jfr.Event</code> (java 8u262 and later). they live in the 
+ * optional fc-jfr module (build with <code>mvn -P jfr install</code>), which has to be put on 
+ * the class path of the server (eg. <code>WEB-INF/lib</code>). the server itself does not depend 
+ * on the flight recorder: without the fc-jfr module or on a JVM without flight recorder, all 
+ * the methods return null and ignore null events.
+ * 
+ * @author agent
+ *
+ */
+public final class FlightEvents {
+	
+	/** the prefix of the event names. */
+	public static final String PREFIX = "org.fosstrak.ale.";
+	
+	/** the top level category of the events. */
+	public static final String CATEGORY = "Fosstrak ALE";
+	
+	/** outcome of a delivery: the channel delivered the reports. */
+	public static final String OUTCOME_DELIVERED = "delivered";
+	
+	/** outcome of a delivery: the channel did not deliver the reports. */
+	public static final String OUTCOME_NOT_DELIVERED = "not delivered";
+	
+	/** outcome of a delivery: the channel failed with an exception. */
+	public static final String OUTCOME_FAILED = "failed";
+	
+	/** the event factory of the fc-jfr module. */
+	public static final String FACTORY_CLASS = "org.fosstrak.ale.jfr.JfrEventFactory";
+	
+	/** logger. */
+	private static final Logger LOG = Logger.getLogger(FlightEvents.class);
+	
+	/** the factory of the events, null if the JVM provides no flight recorder or the fc-jfr module is missing. */
+	private static final FlightEventFactory FACTORY = createFactory();
+	
+	/** whether the events are emitted. */
+	private static volatile boolean enabled = true;
+	
+	/**
+	 * private utility class.
+	 */
+	private FlightEvents() {
+	}
+	
+	private static FlightEventFactory createFactory() {
+		try {
+			Class.forName("jdk.jfr.Event");
+		} catch (Throwable t) {
+			LOG.debug("no flight recorder available - the ALE events are not emitted.");
+			return null;
+		}
+		try {
+			return (FlightEventFactory) Class.forName(FACTORY_CLASS).newInstance();
+		} catch (Throwable t) {
+			LOG.debug("fc-jfr is not on the class path - the ALE events are not emitted.");
+			return null;
+		}
+	}
+	
+	/**
+	 * @param enabled whether the events are emitted (ignored if no flight recorder is available).
+	 */
+	public static void setEnabled(boolean enabled) {
+		FlightEvents.enabled = enabled;
+	}
+	
+	/**
+	 * @return true if the flight recorder and the fc-jfr module are available and the events are emitted.
+	 */
+	public static boolean isEnabled() {
+		return (null != FACTORY) && enabled;
+	}
+	
+	/**
+	 * begin the event of a round of an event cycle.
+	 * @param eventCycle the name of the event cycle.
+	 * @param round the number of the round.
+	 * @return the event or null if not recorded.
+	 */
+	public static CycleEvent beginCycle(String eventCycle, long round) {
+		if (!isEnabled()) {
+			return null;
+		}
+		CycleEvent event = FACTORY.createCycleEvent();
+		if (!event.isEnabled()) {
+			return null;
+		}
+		event.setEventCycle(eventCycle);
+		event.setRound(round);
+		event.begin();
+		return event;
+	}
+	
+	/**
+	 * commit the event of a round once the round is closed.
+	 * @param event the event, null if not recorded.
+	 * @param tags the number of tags read in the round.
+	 */
+	public static void commitCycle(CycleEvent event, int tags) {
+		if (null == event) {
+			return;
+		}
+		event.setTags(tags);
+		event.commit();
+	}
+	
+	/**
+	 * begin the event of the evaluation of a report.
+	 * @param report the name of the report.
+	 * @return the event or null if not recorded.
+	 */
+	public static ReportEvent beginReport(String report) {
+		if (!isEnabled()) {
+			return null;
+		}
+		ReportEvent event = FACTORY.createReportEvent();
+		if (!event.isEnabled()) {
+			return null;
+		}
+		event.setReport(report);
+		event.begin();
+		return event;
+	}
+	
+	/**
+	 * commit the event of the evaluation of a report.
+	 * @param event the event, null if not recorded.
+	 * @param report the evaluated report.
+	 */
+	public static void commitReport(ReportEvent event, ECReport report) {
+		if (null == event) {
+			return;
+		}
+		event.end();
+		if (!event.shouldCommit()) {
+			return;
+		}
+		int members = 0;
+		for (ECReportGroup group : report.getGroup()) {
+			if (null != group.getGroupList()) {
+				members += group.getGroupList().getMember().size();
+			}
+		}
+		event.setGroups(report.getGroup().size());
+		event.setMembers(members);
+		event.commit();
+	}
+	
+	/**
+	 * begin the event of the notification of the reports of a round.
+	 * @param ecSpec the name of the ECSpec.
+	 * @return the event or null if not recorded.
+	 */
+	public static NotificationEvent beginNotification(String ecSpec) {
+		if (!isEnabled()) {
+			return null;
+		}
+		NotificationEvent event = FACTORY.createNotificationEvent();
+		if (!event.isEnabled()) {
+			return null;
+		}
+		event.setEcSpec(ecSpec);
+		event.begin();
+		return event;
+	}
+	
+	/**
+	 * commit the event of the notification of the reports of a round.
+	 * @param event the event, null if not recorded.
+	 * @param reports the number of reports of the round.
+	 * @param cloningNanos the time in nanoseconds to clone the reports.
+	 * @param equalityNanos the time in nanoseconds to compare the reports with the previous ones.
+	 * @param delivered false if the delivery to the subscribers was suppressed.
+	 */
+	public static void commitNotification(NotificationEvent event, int reports, long cloningNanos, long equalityNanos, boolean delivered) {
+		if (null == event) {
+			return;
+		}
+		event.setReports(reports);
+		event.setCloningTime(cloningNanos);
+		event.setEqualityTime(equalityNanos);
+		event.setDelivered(delivered);
+		event.commit();
+	}
+	
+	/**
+	 * begin the event of the delivery of the reports to a subscriber.
+	 * @param uri the notification URI of the subscriber.
+	 * @return the event or null if not recorded.
+	 */
+	public static DeliveryEvent beginDelivery(String uri) {
+		if (!isEnabled()) {
+			return null;
+		}
+		DeliveryEvent event = FACTORY.createDeliveryEvent();
+		if (!event.isEnabled()) {
+			return null;
+		}
+		event.setUri(uri);
+		event.begin();
+		return event;
+	}
+	
+	/**
+	 * commit the event of the delivery of the reports to a subscriber.
+	 * @param event the event, null if not recorded.
+	 * @param bytes the number of bytes of the serialized reports, 0 if unknown.
+	 * @param outcome the outcome of the delivery, see {@link #OUTCOME_DELIVERED} and the siblings.
+	 */
+	public static void commitDelivery(DeliveryEvent event, long bytes, String outcome) {
+		if (null == event) {
+			return;
+		}
+		event.setBytes(bytes);
+		event.setOutcome(outcome);
+		event.commit();
+	}
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.server.jfr;
+
+/**
+ * flight recorder event spanning the notification of the reports of a round to the subscribers 
+ * and the pollers of an ECSpec, including the cloning of the reports and the comparison with 
+ * the reports of the previous round.
+ * 
+ * @author agent
+ *
+ */
+public interface NotificationEvent extends FlightEvent {
+	
+	/**
+	 * @param ecSpec the name of the ECSpec.
+	 */
+	void setEcSpec(String ecSpec);
+	
+	/**
+	 * @param reports the number of reports of the round.
+	 */
+	void setReports(int reports);
+	
+	/**
+	 * @param cloningTime the time in nanoseconds to clone the reports.
+	 */
+	void setCloningTime(long cloningTime);
+	
+	/**
+	 * @param equalityTime the time in nanoseconds to compare the reports with the ones of the previous round.
+	 */
+	void setEqualityTime(long equalityTime);
+	
+	/**
+	 * @param delivered false if the delivery to the subscribers was suppressed.
+	 */
+	void setDelivered(boolean delivered);
+}
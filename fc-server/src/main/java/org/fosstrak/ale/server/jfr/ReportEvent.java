@@ -0,0 +1,45 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.server.jfr;
+
+/**
+ * flight recorder event spanning the evaluation of a report (filtering, grouping and conversion of the tags).
+ * 
+ * @author agent
+ *
+ */
+public interface ReportEvent extends FlightEvent {
+	
+	/**
+	 * @param report the name of the report.
+	 */
+	void setReport(String report);
+	
+	/**
+	 * @param groups the number of groups of the report.
+	 */
+	void setGroups(int groups);
+	
+	/**
+	 * @param members the number of group members (tags) in the report.
+	 */
+	void setMembers(int members);
+}
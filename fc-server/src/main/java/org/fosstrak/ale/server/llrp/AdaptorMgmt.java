@@ -10,6 +10,7 @@ import java.util.Map;
 import org.apache.log4j.Logger;
 import org.fosstrak.ale.server.ALEApplicationContext;
 import org.fosstrak.ale.server.readers.llrp.LLRPManager;
+import org.fosstrak.ale.server.readers.llrp.LLRPMessageHelper;
 import org.fosstrak.llrp.adaptor.Adaptor;
 import org.fosstrak.llrp.adaptor.AdaptorManagement;
 import org.fosstrak.llrp.adaptor.config.DefaultConfiguration;
@@ -19,11 +20,9 @@ import org.fosstrak.llrp.client.LLRPExceptionHandlerTypeMap;
 import org.fosstrak.llrp.client.LLRPMessageItem;
 import org.fosstrak.llrp.client.MessageHandler;
 import org.llrp.ltk.exceptions.InvalidLLRPMessageException;
-import org.llrp.ltk.generated.enumerations.ConnectionAttemptStatusType;
 import org.llrp.ltk.generated.enumerations.StatusCode;
-import org.llrp.ltk.generated.messages.READER_EVENT_NOTIFICATION;
+import org.llrp.ltk.generated.messages.RO_ACCESS_REPORT;
 import org.llrp.ltk.generated.parameters.AccessSpec;
-import org.llrp.ltk.generated.parameters.ConnectionAttemptEvent;
 import org.llrp.ltk.generated.parameters.LLRPStatus;
 import org.llrp.ltk.generated.parameters.ROSpec;
 import org.llrp.ltk.types.LLRPMessage;
@@ -53,6 +52,9 @@ public class AdaptorMgmt {
 	/** a boolean to indicate if it is the first time we add an rospec. */
 	private static boolean addFirstTime = true;
 	
+	/** the monitor of the reader connections, fed by the message handlers. */
+	private static ReaderConnectionMonitor connectionMonitor = null;
+	
 	/**
 	 * Initialize the LLRP Context.
 	 * Initialize & set the unique instance of the Adaptor Management.
@@ -77,9 +79,11 @@ public class AdaptorMgmt {
 			setAdaptorMgmtInitialized(true);
 			//llrpRemoteAdaptor = llrpAdaptorMgmt.getAdaptorNames().get(0);
 			llrpRemoteAdaptor = ALEApplicationContext.getBean(LLRPManager.class).getAdaptor();
+			connectionMonitor = ALEApplicationContext.getBean(ReaderConnectionMonitor.class);
 			// Register the handlers, so the adaptor management will
 			// distribute the LLRP messages automatically and asynchronously. 
 			llrpAdaptorMgmt.registerFullHandler(defineMessageHandler());
+			llrpAdaptorMgmt.registerPartialHandler(defineReportHandler(), RO_ACCESS_REPORT.class);
 			llrpAdaptorMgmt.setExceptionHandler(defineExceptionHandler());
 		}
 		LOG.debug("End initializeLLRPContext.");
@@ -181,47 +185,28 @@ public class AdaptorMgmt {
 		MessageHandler msgHandler = new MessageHandler() {
 		@SuppressWarnings("unchecked")
 			public void handle(String adaptorName, String readerName, LLRPMessage msg) {
+				// the reports are handled by the report handler.
+				if (msg instanceof RO_ACCESS_REPORT) {
+					return;
+				}
+				// reader event notifications and responses update the connection state.
+				connectionMonitor.messageReceived(readerName, msg);
 				LOG.debug (String.format("Received LLRP message msg name: %s from adapter: %s and  reader: %s",
 							msg.getName(), adaptorName, readerName));	
+				LLRPStatus status = LLRPMessageHelper.getLLRPStatus(msg);
 				StatusCode statusCode = null;
 				String statusStr ="";
-				try {
-					Method getLLRPStatusMethod = msg.getClass().getMethod("getLLRPStatus", new Class[0]);
-					LLRPStatus status = (LLRPStatus) getLLRPStatusMethod.invoke(msg, new Object[0]);
+				if ((null != status) && (null != status.getStatusCode())) {
 					statusCode = status.getStatusCode();
 					statusStr = statusCode.toString();
-				} catch (Exception e) {
-						//do Nothing 
 				}
-				// store the item in the repository which is the LOG file
-				LLRPMessageItem item = new LLRPMessageItem();
-				item.setAdapter(adaptorName);
-				item.setReader(readerName);
-				String msgName = msg.getName();
-				item.setMessageType(msgName);
-				item.setStatusCode(statusStr);
-				try {
-					item.setContent(msg.toXMLString());
+				// store the item in the repository which is the LOG file (XML only rendered on trace level)
+				LLRPMessageItem item = LLRPMessageHelper.createItem(adaptorName, readerName, msg, LOG.isTraceEnabled());
+				if (LOG.isTraceEnabled()) {
 					LOG.trace(item.prettyPrint());
 					LOG.trace(item.getContent()); 
-				} catch (InvalidLLRPMessageException e) {
-					LOG.error("error when converting a LLRP msg into XML", e);
 				}
 				
-				// connection between the client and the reader is established 
-				if (item.getMessageType().equals("READER_EVENT_NOTIFICATION")) {
-					READER_EVENT_NOTIFICATION msgEvent = (READER_EVENT_NOTIFICATION)msg;
-					ConnectionAttemptEvent connectionEvent = msgEvent.getReaderEventNotificationData().getConnectionAttemptEvent();
-					if (connectionEvent != null){
-						ConnectionAttemptStatusType connectionStatus = connectionEvent.getStatus();
-						String connectionStatusStr = connectionStatus.toString();
-						if (connectionStatus.getValue(connectionStatusStr) == ConnectionAttemptStatusType.Success) {
-							LOG.debug("Connection is established");
-							ALEApplicationContext.getBean(LLRPControllerManager.class).setReaderConnected(readerName, true);
-						}
-					}
-				}
-			
 				// enable the Redefine Status when the add_rospec is done
 				if (item.getMessageType().equals("ADD_ROSPEC_RESPONSE") && (!"".equals(statusStr)) && (statusCode.getValue(statusStr) == StatusCode.M_Success)) {
 						LOG.debug("Redefine is enabled");
@@ -295,15 +280,32 @@ public class AdaptorMgmt {
 				}
 				// TODO : 1- Check if an ROSpec is already defined and disabled on the reader 
 				// TODO: 2- Check if an ROSpec is already defined and enabled on the reader 
-				// when launching the platform, we receive RO_ACCESS_REPORT
-				// if (item.getMessageType().equals("RO_ACCESS_REPORT")) { 
-				//		LOG.debug(" ROSpec already defined and running in the reader.");
-				//	}
 			}
 		};
 		return msgHandler;
 	}
 	
+	/**
+	 * Create a lightweight message handler for the high-rate RO_ACCESS_REPORTs.
+	 * The reports are only rendered into XML when the trace level is enabled.
+	 * @return the report handler.
+	 */
+	private static MessageHandler defineReportHandler () {
+		MessageHandler reportHandler = new MessageHandler() {
+			public void handle(String adaptorName, String readerName, LLRPMessage msg) {
+				// TODO : 1- Check if an ROSpec is already defined and disabled on the reader 
+				// TODO: 2- Check if an ROSpec is already defined and enabled on the reader 
+				// when launching the platform, we receive RO_ACCESS_REPORT
+				connectionMonitor.messageReceived(readerName, msg);
+				if (LOG.isTraceEnabled()) {
+					LOG.trace(String.format("Received RO_ACCESS_REPORT from adapter: %s and reader: %s", adaptorName, readerName));
+					LOG.trace(LLRPMessageHelper.toXML(msg));
+				}
+			}
+		};
+		return reportHandler;
+	}
+	
 	/**
 	 * Create an exception handler to receive asynchronous exceptions from the adaptors and the readers.
 	 * @return the exception handler.
@@ -314,6 +316,11 @@ public class AdaptorMgmt {
 											String adaptorName, String readerName) {
 				LOG.warn(String.format("Received LLRP Exception %s from adapter: %s and reader: %s",
 					 	exceptionType.toString(), adaptorName, readerName));
+				if ((exceptionType == LLRPExceptionHandlerTypeMap.EXCEPTION_READER_LOST) 
+						&& (null != readerName) && (null != connectionMonitor)) {
+					// the reader is gone without a close event, the next connection attempt is a reconnect.
+					connectionMonitor.setConnectionState(readerName, ReaderConnectionMonitor.ConnectionState.DISCONNECTED);
+				}
 			}	
 		};
 		return exceptionHandler;
@@ -1,79 +1,111 @@
 package org.fosstrak.ale.server.llrp;
 
 
-import org.apache.log4j.Logger;
-import org.llrp.ltk.generated.messages.GET_ROSPECS;
-
 /**
- * ORANGE: This class is a thread which checks that 
+ * ORANGE: This class checks that 
  * a physical reader has always at least one defined ROSpec.
+ * The checks of all readers are run by the {@link ReaderConnectionMonitor}. 
+ * A reader delivering reports is not polled, otherwise the reader is polled 
+ * with GET_ROSPECS and the polling interval is doubled after each poll 
+ * (up to a maximum) until the reader reconnects.
  * 
  * @author wafa.soubra@orange.com
  */
-public class LLRPChecking implements Runnable {
+public class LLRPChecking {
 
-	/**	logger. */
-	private static final Logger LOG = Logger.getLogger(LLRPChecking.class.getName());
+	/** default interval in milliseconds between two checks. */
+	public static final long DEFAULT_CHECK_INTERVAL = 10000;
+	
+	/** default maximum interval in milliseconds between two checks. */
+	public static final long DEFAULT_MAX_CHECK_INTERVAL = 160000;
 	
 	/** physical reader name */
-	private String readerName = null;
-
-	/** thread to run the main loop */
-	private Thread thread;
+	private final String readerName;
+	
+	/** the interval between two checks after a reconnect. */
+	private final long baseInterval;
+	
+	/** the maximum interval between two checks. */
+	private final long maxInterval;
 	
-	/** indicates if this thread is running or not */
-	private boolean isRunning = false;
+	/** the current interval between two checks. */
+	private long interval;
 	
-	public LLRPChecking (String readerName) {
+	/** the time of the next check. */
+	private long nextCheck;
+	
+	/** the time of the last check. */
+	private long lastCheck;
+	
+	/** the time of the last report received from the reader. */
+	private volatile long lastReport = 0;
+	
+	/**
+	 * @param readerName the physical reader name.
+	 * @param baseInterval the interval between two checks after a reconnect.
+	 * @param maxInterval the maximum interval between two checks.
+	 * @param now the current time, the first check is done immediately.
+	 */
+	public LLRPChecking (String readerName, long baseInterval, long maxInterval, long now) {
 		this.readerName = readerName;
-		this.start();
+		this.baseInterval = Math.max(1, baseInterval);
+		this.maxInterval = Math.max(this.baseInterval, maxInterval);
+		this.interval = this.baseInterval;
+		this.nextCheck = now;
+		this.lastCheck = now;
 	}
 	
 	/** 
-	 * Gets the physical reader name associated to this thread.
+	 * Gets the physical reader name associated to this check.
 	 */
 	public String getReaderName() {
 		return this.readerName;
 	}
 	
 	/**
-	 * This method starts the thread to check if a physical reader
-	 * has always a defined ROSpec. 
+	 * Decides whether the reader has to be polled at the given time. 
+	 * @param now the current time.
+	 * @return true if GET_ROSPECS has to be sent to the reader.
 	 */
-	public void start() {		
-		thread = new Thread(this, "LLRPChecking" + readerName);
-		thread.setDaemon(true);
-		thread.start();
-		isRunning = true;
-		LOG.info("LLRP Thread of " + this.readerName + " is started.");		
+	public synchronized boolean check(long now) {
+		if (now < nextCheck) {
+			return false;
+		}
+		boolean reportsReceived = lastReport > lastCheck;
+		lastCheck = now;
+		if (reportsReceived) {
+			// the reader delivered reports since the last check, so the ROSpec is defined.
+			interval = baseInterval;
+			nextCheck = now + interval;
+			return false;
+		}
+		nextCheck = now + interval;
+		interval = Math.min(interval * 2, maxInterval);
+		return true;
 	}
 	
 	/**
-	 * This method stops the thread.
+	 * Schedules an immediate check and resets the polling interval (eg. after a reconnect).
+	 * @param now the current time.
 	 */
-	public void stop() {		
-		if (thread.isAlive()) {
-			thread.interrupt();
-		}
-		isRunning = false;		
-		LOG.info("LLRP Thread of " + this.readerName + " is stopped.");	
+	public synchronized void reset(long now) {
+		interval = baseInterval;
+		nextCheck = now;
 	}
-
+	
 	/**
-	 * This method sends continuously the get_rospecs msg on the reader.
-	 * 
+	 * Records that the reader delivered a report.
+	 * @param now the current time.
 	 */
-	public void run() {
-		GET_ROSPECS getRoSpecs = new GET_ROSPECS();
-		while (isRunning) {
-        	try {
-        		AdaptorMgmt.sendLLRPMessage(this.readerName, getRoSpecs);
-	    		Thread.sleep(10000);
-        	}  catch (InterruptedException e) {
-        		LOG.error("Error when LLRP thread is sleeping - aborting ", e);
-        		return;
-        	}
-        }
-	}	
+	public void reportReceived(long now) {
+		lastReport = now;
+	}
+	
+	/**
+	 * @return the current interval between two checks.
+	 */
+	public synchronized long getInterval() {
+		return interval;
+	}
 		
 }
@@ -49,12 +49,9 @@ public class LLRPControllerManager  {
 	/** key = physical reader name, value = logical reader name*/
 	private static HashMap<String, String> physicalLRMap = new HashMap<String, String>();
 	
-	/** key = logical reader name, value = the LLRP thread */
+	/** key = logical reader name, value = the LLRP check */
 	// TODO change the value to a list in case of a Composite Reader
 	private static HashMap <String, LLRPChecking> lrLLRPCheckMap= new HashMap<String, LLRPChecking>();
-	
-	/** key = logical reader name, value = boolean, true if the LLRP connection is established */
-	private static HashMap <String, Boolean> physicalConnectedMap= new HashMap<String, Boolean>();
 
 	/** file containing the launching context of LLRP. */
 	private static final String LLRP_CONFIG_PROP_FILE="llrpConfig.properties";
@@ -123,7 +120,7 @@ public class LLRPControllerManager  {
 			//TODO: case of composite reader
 			lrPhysicalMap.put(lrSpecName, readerName);
 			//TODO: case of composite reader
-			lrLLRPCheckMap.put(lrSpecName, new LLRPChecking(readerName));
+			lrLLRPCheckMap.put(lrSpecName, getConnectionMonitor().startChecking(readerName));
 			// persistence
 			ALEApplicationContext.getBean(WriteConfig.class).writeAddROSpec(lrSpecName, addRoSpec);
 			LOG.debug("End Define an ADD_ROSPEC for " + lrSpecName);
@@ -145,9 +142,9 @@ public class LLRPControllerManager  {
 		}
 		ROSpec roSpec = lrROSpecMap.get(lrSpecName);
 		if (roSpec != null) {
-			// stop the thread and remove it
+			// stop the check and remove it
 			LLRPChecking llrpCheck = lrLLRPCheckMap.get(lrSpecName);
-			llrpCheck.stop();
+			getConnectionMonitor().stopChecking(llrpCheck.getReaderName());
 			lrLLRPCheckMap.remove(lrSpecName);
 			// delete the defined ROSpec and remove it
 			 DELETE_ROSPEC deleteRoSpec = new DELETE_ROSPEC();
@@ -300,7 +297,15 @@ public class LLRPControllerManager  {
 	 * @param connected boolean if true the connection is established
 	 */
 	public void setReaderConnected (String readerName, boolean connected) {
-		physicalConnectedMap.put(readerName, connected);
+		getConnectionMonitor().setConnectionState(readerName, 
+				connected ? ReaderConnectionMonitor.ConnectionState.CONNECTED : ReaderConnectionMonitor.ConnectionState.DISCONNECTED);
+	}
+	
+	/**
+	 * @return the monitor holding the connection state of the physical readers.
+	 */
+	private ReaderConnectionMonitor getConnectionMonitor() {
+		return ALEApplicationContext.getBean(ReaderConnectionMonitor.class);
 	}
 	
 	
@@ -352,6 +357,15 @@ public class LLRPControllerManager  {
 					Boolean wait = new Boolean (props.getProperty("waitConnection"));
 					LOG.debug("rifidiEmulator " + rifidi);
 					LOG.debug("waitConnection " + wait);
+					// optional intervals of the ROSpec checks
+					String checkInterval = props.getProperty("checkInterval");
+					if (checkInterval != null) {
+						getConnectionMonitor().setCheckInterval(Long.parseLong(checkInterval.trim()));
+					}
+					String maxCheckInterval = props.getProperty("maxCheckInterval");
+					if (maxCheckInterval != null) {
+						getConnectionMonitor().setMaxCheckInterval(Long.parseLong(maxCheckInterval.trim()));
+					}
 					if (rifidi || !wait) {
 						toWaitForConnection=false;
 						LOG.debug("toWaitForConnection " + toWaitForConnection);
@@ -360,6 +374,8 @@ public class LLRPControllerManager  {
 					LOG.error("Config. file " + LLRP_CONFIG_PROP_FILE + " was not found: ", e);
 				} catch (IOException e) {
 					LOG.error("IO Exception when reading the config. file " + LLRP_CONFIG_PROP_FILE, e);
+				} catch (NumberFormatException e) {
+					LOG.error("Invalid check interval in the config. file " + LLRP_CONFIG_PROP_FILE, e);
 				}	
 			}
 		}
@@ -368,18 +384,17 @@ public class LLRPControllerManager  {
 	/**
 	 * Wait until the LLRP connection between the client and the reader 
 	 * is really established, and that to avoid sending several get_rospecs 
-	 * messages from the LLRPChecking thread. 
+	 * messages from the LLRPChecking. 
 	 * @param readerName the name of the physical reader
 	 */
 	private void initClientConnection (String readerName) {
 		if (toWaitForConnection) {
-			while (physicalConnectedMap.get(readerName)== null || !physicalConnectedMap.get(readerName)) {
-				try {
-					Thread.sleep(1000);
-				} catch (InterruptedException e) {
-		 			LOG.error("Error when init or waiting for the client connection ", e );
-		 		}
-			}
+			try {
+				getConnectionMonitor().awaitConnected(readerName);
+			} catch (InterruptedException e) {
+	 			LOG.error("Error when init or waiting for the client connection ", e );
+	 			Thread.currentThread().interrupt();
+	 		}
 		}
 	}
 	
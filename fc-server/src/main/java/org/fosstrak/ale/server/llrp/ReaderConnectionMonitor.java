@@ -0,0 +1,329 @@
+package org.fosstrak.ale.server.llrp;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PreDestroy;
+
+import org.apache.log4j.Logger;
+import org.llrp.ltk.generated.enumerations.ConnectionAttemptStatusType;
+import org.llrp.ltk.generated.messages.GET_ROSPECS;
+import org.llrp.ltk.generated.messages.READER_EVENT_NOTIFICATION;
+import org.llrp.ltk.generated.messages.RO_ACCESS_REPORT;
+import org.llrp.ltk.generated.parameters.ConnectionAttemptEvent;
+import org.llrp.ltk.generated.parameters.ReaderEventNotificationData;
+import org.llrp.ltk.types.LLRPMessage;
+import org.springframework.stereotype.Service;
+
+/**
+ * monitors the connection state of the physical LLRP readers. the state is
+ * derived from the messages the readers send (reader event notifications,
+ * keepalives, reports and responses). the ROSpec checks of all readers are run
+ * by one scheduler thread, see {@link LLRPChecking}.
+ *
+ * @author agent
+ *
+ */
+@Service("readerConnectionMonitor")
+public class ReaderConnectionMonitor {
+
+	/**
+	 * the connection state of a physical reader.
+	 */
+	public enum ConnectionState {
+		/** no message received from the reader yet. */
+		UNKNOWN,
+		/** the connection to the reader is established. */
+		CONNECTED,
+		/** the reader closed the connection. */
+		DISCONNECTED
+	}
+
+	/**
+	 * gets notified when the connection state of a reader changes.
+	 */
+	public interface ConnectionStateListener {
+
+		/**
+		 * the connection state of a reader changed.
+		 * @param readerName the name of the physical reader.
+		 * @param oldState the previous state.
+		 * @param newState the new state.
+		 */
+		void connectionStateChanged(String readerName, ConnectionState oldState, ConnectionState newState);
+	}
+
+	/** logger. */
+	private static final Logger LOG = Logger.getLogger(ReaderConnectionMonitor.class.getName());
+
+	/** the period in milliseconds the scheduler runs the due checks. */
+	private static final long TICK_MS = 1000;
+
+	/** key = physical reader name, value = the connection state. */
+	private final ConcurrentMap<String, ConnectionState> states = new ConcurrentHashMap<String, ConnectionState>();
+
+	/** read-only view on the connection states. */
+	private final Map<String, ConnectionState> statesView = Collections.unmodifiableMap(states);
+
+	/** key = physical reader name, value = the ROSpec check. */
+	private final ConcurrentMap<String, LLRPChecking> checks = new ConcurrentHashMap<String, LLRPChecking>();
+
+	/** the listeners on connection state changes. */
+	private final List<ConnectionStateListener> listeners = new CopyOnWriteArrayList<ConnectionStateListener>();
+
+	/** the scheduler running the checks, null if no reader is checked. */
+	private ScheduledExecutorService scheduler = null;
+
+	/** the interval between two checks after a reconnect. */
+	private volatile long checkInterval = LLRPChecking.DEFAULT_CHECK_INTERVAL;
+
+	/** the maximum interval between two checks. */
+	private volatile long maxCheckInterval = LLRPChecking.DEFAULT_MAX_CHECK_INTERVAL;
+
+	/**
+	 * start checking that the given reader has a defined ROSpec.
+	 * @param readerName the name of the physical reader.
+	 * @return the check of the reader.
+	 */
+	public LLRPChecking startChecking(String readerName) {
+		LLRPChecking check = new LLRPChecking(readerName, checkInterval, maxCheckInterval, System.currentTimeMillis());
+		LLRPChecking previous = checks.putIfAbsent(readerName, check);
+		if (null != previous) {
+			return previous;
+		}
+		startScheduler();
+		LOG.info("LLRP check of " + readerName + " is started.");
+		return check;
+	}
+
+	/**
+	 * stop checking the given reader.
+	 * @param readerName the name of the physical reader.
+	 */
+	public void stopChecking(String readerName) {
+		if (null != checks.remove(readerName)) {
+			LOG.info("LLRP check of " + readerName + " is stopped.");
+		}
+		if (checks.isEmpty()) {
+			stopScheduler();
+		}
+	}
+
+	/**
+	 * start the scheduler if not yet running.
+	 */
+	private synchronized void startScheduler() {
+		if (null != scheduler) {
+			return;
+		}
+		scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+			public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, "LLRPChecking");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		scheduler.scheduleWithFixedDelay(new Runnable() {
+			public void run() {
+				try {
+					runChecks(System.currentTimeMillis());
+				} catch (Exception e) {
+					LOG.error("error when checking the LLRP readers", e);
+				}
+			}
+		}, 0, TICK_MS, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * stop the scheduler if running.
+	 */
+	private synchronized void stopScheduler() {
+		if (null != scheduler && checks.isEmpty()) {
+			scheduler.shutdownNow();
+			scheduler = null;
+		}
+	}
+
+	/**
+	 * stop all checks and the scheduler.
+	 */
+	@PreDestroy
+	public void shutdown() {
+		checks.clear();
+		stopScheduler();
+	}
+
+	/**
+	 * run the checks that are due at the given time.
+	 * @param now the current time.
+	 */
+	public void runChecks(long now) {
+		for (LLRPChecking check : checks.values()) {
+			if (check.check(now)) {
+				sendCheck(check.getReaderName());
+			}
+		}
+	}
+
+	/**
+	 * poll the reader for its ROSpecs. the response is handled by the {@link AdaptorMgmt}.
+	 * @param readerName the name of the physical reader.
+	 */
+	protected void sendCheck(String readerName) {
+		AdaptorMgmt.sendLLRPMessage(readerName, new GET_ROSPECS());
+	}
+
+	/**
+	 * update the connection state from a message received from a reader.
+	 * @param readerName the name of the physical reader.
+	 * @param msg the message received.
+	 */
+	public void messageReceived(String readerName, LLRPMessage msg) {
+		if (null == readerName) {
+			return;
+		}
+		if (msg instanceof RO_ACCESS_REPORT) {
+			LLRPChecking check = checks.get(readerName);
+			if (null != check) {
+				check.reportReceived(System.currentTimeMillis());
+			}
+			if (states.get(readerName) == ConnectionState.CONNECTED) {
+				return;
+			}
+		} else if (msg instanceof READER_EVENT_NOTIFICATION) {
+			ReaderEventNotificationData data = ((READER_EVENT_NOTIFICATION) msg).getReaderEventNotificationData();
+			if (null != data && null != data.getConnectionCloseEvent()) {
+				setConnectionState(readerName, ConnectionState.DISCONNECTED);
+				return;
+			}
+			ConnectionAttemptEvent connectionEvent = (null == data) ? null : data.getConnectionAttemptEvent();
+			if (null != connectionEvent) {
+				ConnectionAttemptStatusType connectionStatus = connectionEvent.getStatus();
+				String connectionStatusStr = connectionStatus.toString();
+				if (connectionStatus.getValue(connectionStatusStr) == ConnectionAttemptStatusType.Success) {
+					LOG.debug("Connection is established");
+					// the reader might have dropped the connection without a close event (eg. on a 
+					// reboot) and still be CONNECTED here. check its ROSpec right away anyway.
+					resetCheck(readerName);
+					setConnectionState(readerName, ConnectionState.CONNECTED);
+				}
+				return;
+			}
+		}
+		// any other message shows that the connection is alive.
+		setConnectionState(readerName, ConnectionState.CONNECTED);
+	}
+
+	/**
+	 * set the connection state of a reader and notify the listeners on a change.
+	 * when a reader (re-)connects, its ROSpec is checked immediately.
+	 * @param readerName the name of the physical reader.
+	 * @param state the new connection state.
+	 */
+	public void setConnectionState(String readerName, ConnectionState state) {
+		ConnectionState oldState = states.put(readerName, state);
+		if (state == oldState) {
+			return;
+		}
+		if (null == oldState) {
+			oldState = ConnectionState.UNKNOWN;
+		}
+		LOG.debug("connection state of " + readerName + " changed from " + oldState + " to " + state);
+		if (state == ConnectionState.CONNECTED) {
+			resetCheck(readerName);
+		}
+		synchronized (this) {
+			notifyAll();
+		}
+		for (ConnectionStateListener listener : listeners) {
+			try {
+				listener.connectionStateChanged(readerName, oldState, state);
+			} catch (Exception e) {
+				LOG.error("connection state listener failed", e);
+			}
+		}
+	}
+
+	/**
+	 * schedule an immediate ROSpec check of the given reader and reset its polling interval.
+	 * @param readerName the name of the physical reader.
+	 */
+	private void resetCheck(String readerName) {
+		LLRPChecking check = checks.get(readerName);
+		if (null != check) {
+			check.reset(System.currentTimeMillis());
+		}
+	}
+
+	/**
+	 * @param readerName the name of the physical reader.
+	 * @return the connection state of the reader.
+	 */
+	public ConnectionState getConnectionState(String readerName) {
+		ConnectionState state = states.get(readerName);
+		return (null == state) ? ConnectionState.UNKNOWN : state;
+	}
+
+	/**
+	 * @return a read-only view on the connection states (key = physical reader name).
+	 */
+	public Map<String, ConnectionState> getConnectionStates() {
+		return statesView;
+	}
+
+	/**
+	 * wait until the connection to the given reader is established.
+	 * @param readerName the name of the physical reader.
+	 * @throws InterruptedException when interrupted while waiting.
+	 */
+	public synchronized void awaitConnected(String readerName) throws InterruptedException {
+		while (getConnectionState(readerName) != ConnectionState.CONNECTED) {
+			wait();
+		}
+	}
+
+	/**
+	 * register a listener on connection state changes.
+	 * @param listener the listener.
+	 */
+	public void addConnectionStateListener(ConnectionStateListener listener) {
+		listeners.add(listener);
+	}
+
+	/**
+	 * remove a listener on connection state changes.
+	 * @param listener the listener.
+	 */
+	public void removeConnectionStateListener(ConnectionStateListener listener) {
+		listeners.remove(listener);
+	}
+
+	/**
+	 * @param checkInterval the interval in milliseconds between two checks after a reconnect.
+	 */
+	public void setCheckInterval(long checkInterval) {
+		this.checkInterval = checkInterval;
+	}
+
+	/**
+	 * @param maxCheckInterval the maximum interval in milliseconds between two checks.
+	 */
+	public void setMaxCheckInterval(long maxCheckInterval) {
+		this.maxCheckInterval = maxCheckInterval;
+	}
+
+	/**
+	 * @return the check of the given reader or null if the reader is not checked.
+	 */
+	public LLRPChecking getChecking(String readerName) {
+		return checks.get(readerName);
+	}
+}
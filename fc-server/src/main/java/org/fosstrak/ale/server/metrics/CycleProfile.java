@@ -0,0 +1,191 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.server.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+/**
+ * the timing breakdown of one event cycle round of an ECSpec. the stages are 
+ * recorded in nanoseconds. the stages evaluated per tag (filtering, grouping and 
+ * conversion) may be recorded concurrently by the report evaluation threads, they 
+ * are then summed over the threads.
+ * 
+ * @author agent
+ *
+ */
+public class CycleProfile {
+	
+	/** the name of the element attached to the ECReports extension. */
+	public static final String ELEMENT_NAME = "cycleProfile";
+	
+	/**
+	 * the stages of a round.
+	 */
+	public enum Stage {
+		/** the tags are collected from the readers (the duration of the round). */
+		COLLECTION("collection"),
+		/** the tags are filtered against the include and exclude patterns of the reports. */
+		FILTERING("filtering"),
+		/** the tags are assigned to the groups of the reports. */
+		GROUPING("grouping"),
+		/** the tags are converted into the output formats of the reports. */
+		CONVERSION("conversion"),
+		/** the reports are built (including filtering, grouping and conversion). */
+		BUILD("build"),
+		/** the reports are cloned for the next round and the pollers. */
+		CLONING("cloning"),
+		/** the reports are compared with the ones of the last round. */
+		EQUALITY("equality"),
+		/** the reports are serialized for the subscribers. */
+		SERIALIZATION("serialization"),
+		/** the serialized reports are sent to the subscribers. */
+		DELIVERY("delivery");
+		
+		/** the name of the stage. */
+		private final String name;
+		
+		private Stage(String name) {
+			this.name = name;
+		}
+		
+		/**
+		 * @return the name of the stage as used in the profile element.
+		 */
+		public String getName() {
+			return name;
+		}
+		
+		/**
+		 * @return true if the stage is complete before the reports are delivered.
+		 */
+		public boolean isBeforeDelivery() {
+			return (this != SERIALIZATION) && (this != DELIVERY);
+		}
+	}
+	
+	/** the factory of the documents holding the profile elements. */
+	private static final DocumentBuilderFactory DOCUMENT_BUILDER_FACTORY = DocumentBuilderFactory.newInstance();
+	
+	/** the round of the event cycle. */
+	private final long round;
+	
+	/** the number of tags of the round. */
+	private final int tags;
+	
+	/** the time the profile was started. */
+	private final long timestamp = System.currentTimeMillis();
+	
+	/** the nanoseconds per stage, indexed by the ordinal of the stage. */
+	private final AtomicLongArray nanos = new AtomicLongArray(Stage.values().length);
+	
+	/**
+	 * create the profile of a round.
+	 * @param round the round of the event cycle.
+	 * @param tags the number of tags of the round.
+	 */
+	public CycleProfile(long round, int tags) {
+		this.round = round;
+		this.tags = tags;
+	}
+	
+	/**
+	 * add time to a stage.
+	 * @param stage the stage.
+	 * @param stageNanos the nanoseconds spent in the stage.
+	 */
+	public void add(Stage stage, long stageNanos) {
+		nanos.addAndGet(stage.ordinal(), stageNanos);
+	}
+	
+	/**
+	 * @param stage the stage.
+	 * @return the nanoseconds spent in the stage.
+	 */
+	public long get(Stage stage) {
+		return nanos.get(stage.ordinal());
+	}
+	
+	/**
+	 * @return the round of the event cycle.
+	 */
+	public long getRound() {
+		return round;
+	}
+	
+	/**
+	 * @return the number of tags of the round.
+	 */
+	public int getTags() {
+		return tags;
+	}
+	
+	/**
+	 * @return the time in milliseconds the profile was started.
+	 */
+	public long getTimestamp() {
+		return timestamp;
+	}
+	
+	/**
+	 * create the element attached to the ECReports extension. the element holds the 
+	 * stages complete before the delivery, eg:<br/>
+	 * <code>&lt;cycleProfile round="3" tags="120" collectionNanos="..." .../&gt;</code>
+	 * @return the element.
+	 * @throws ParserConfigurationException if no document can be created.
+	 */
+	public Element toElement() throws ParserConfigurationException {
+		Document document;
+		synchronized (DOCUMENT_BUILDER_FACTORY) {
+			document = DOCUMENT_BUILDER_FACTORY.newDocumentBuilder().newDocument();
+		}
+		Element element = document.createElement(ELEMENT_NAME);
+		element.setAttribute("round", Long.toString(round));
+		element.setAttribute("tags", Integer.toString(tags));
+		for (Stage stage : Stage.values()) {
+			if (stage.isBeforeDelivery()) {
+				element.setAttribute(stage.getName() + "Nanos", Long.toString(get(stage)));
+			}
+		}
+		document.appendChild(element);
+		return element;
+	}
+	
+	/**
+	 * @return the profile as name=value pairs, the stages in nanoseconds.
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("round=").append(round);
+		sb.append(" timestamp=").append(timestamp);
+		sb.append(" tags=").append(tags);
+		for (Stage stage : Stage.values()) {
+			sb.append(' ').append(stage.getName()).append("Nanos=").append(get(stage));
+		}
+		return sb.toString();
+	}
+}
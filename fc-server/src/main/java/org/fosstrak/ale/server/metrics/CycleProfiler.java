@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.server.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * keeps the profiles of the last rounds of an ECSpec in a ring buffer. the profile 
+ * of the round being evaluated is available as the current profile to the components 
+ * taking part in the evaluation and delivery (all on the event cycle thread).
+ * 
+ * @author agent
+ *
+ */
+public class CycleProfiler {
+	
+	/** the profiles of the last rounds. */
+	private final CycleProfile[] profiles;
+	
+	/** the index the next completed profile is stored at. */
+	private int next = 0;
+	
+	/** the number of profiles stored. */
+	private int size = 0;
+	
+	/** the profile of the round being evaluated, null if none. */
+	private volatile CycleProfile current = null;
+	
+	/**
+	 * create a profiler.
+	 * @param rounds the number of rounds to keep.
+	 */
+	public CycleProfiler(int rounds) {
+		if (rounds <= 0) {
+			throw new IllegalArgumentException("the number of rounds must be positive: " + rounds);
+		}
+		profiles = new CycleProfile[rounds];
+	}
+	
+	/**
+	 * start the profile of a round. the profile becomes the current profile.
+	 * @param round the round of the event cycle.
+	 * @param tags the number of tags of the round.
+	 * @param collectionNanos the duration of the round.
+	 * @return the profile.
+	 */
+	public CycleProfile start(long round, int tags, long collectionNanos) {
+		CycleProfile profile = new CycleProfile(round, tags);
+		profile.add(CycleProfile.Stage.COLLECTION, collectionNanos);
+		current = profile;
+		return profile;
+	}
+	
+	/**
+	 * @return the profile of the round being evaluated, null if none.
+	 */
+	public CycleProfile getCurrent() {
+		return current;
+	}
+	
+	/**
+	 * the round has been delivered, store its profile.
+	 * @param profile the profile of the round.
+	 */
+	public synchronized void complete(CycleProfile profile) {
+		if (current == profile) {
+			current = null;
+		}
+		profiles[next] = profile;
+		next = (next + 1) % profiles.length;
+		size = Math.min(size + 1, profiles.length);
+	}
+	
+	/**
+	 * @return the number of rounds kept.
+	 */
+	public int getRounds() {
+		return profiles.length;
+	}
+	
+	/**
+	 * @return the profiles of the last rounds, the oldest first.
+	 */
+	public synchronized List<CycleProfile> getProfiles() {
+		List<CycleProfile> result = new ArrayList<CycleProfile>(size);
+		for (int i = size; i > 0; i--) {
+			result.add(profiles[(next - i + profiles.length) % profiles.length]);
+		}
+		return result;
+	}
+}
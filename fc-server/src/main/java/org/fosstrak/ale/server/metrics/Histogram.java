@@ -0,0 +1,146 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.server.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * a histogram with logarithmic buckets (powers of two) over non-negative values. 
+ * recording a value neither locks nor allocates. the percentiles are approximated 
+ * by the upper bound of the bucket they fall into, capped by the maximum.<br/>
+ * the histograms are recorded once per event cycle or delivery, thus the buckets 
+ * are not striped like the {@link StripedCounter}.
+ * 
+ * @author agent
+ *
+ */
+public final class Histogram {
+	
+	/** one bucket per bit of a long, bucket 0 holds the zeros. */
+	private static final int BUCKETS = 64;
+	
+	/** bucket i holds the values in [2^(i-1), 2^i - 1]. */
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+	
+	/** the sum of all the recorded values. */
+	private final AtomicLong sum = new AtomicLong();
+	
+	/** the largest recorded value. */
+	private final AtomicLong max = new AtomicLong();
+	
+	/**
+	 * record a value. negative values are recorded as zero.
+	 * @param value the value to record.
+	 */
+	public void record(long value) {
+		if (value < 0) {
+			value = 0;
+		}
+		buckets.getAndIncrement(bucket(value));
+		sum.getAndAdd(value);
+		long current = max.get();
+		while ((value > current) && !max.compareAndSet(current, value)) {
+			current = max.get();
+		}
+	}
+	
+	/**
+	 * @return the number of recorded values.
+	 */
+	public long getCount() {
+		long count = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			count += buckets.get(i);
+		}
+		return count;
+	}
+	
+	/**
+	 * @return the sum of the recorded values.
+	 */
+	public long getSum() {
+		return sum.get();
+	}
+	
+	/**
+	 * @return the largest recorded value, 0 if none.
+	 */
+	public long getMax() {
+		return max.get();
+	}
+	
+	/**
+	 * @return the mean of the recorded values, 0 if none.
+	 */
+	public double getMean() {
+		long count = getCount();
+		return (count == 0) ? 0 : (double) getSum() / count;
+	}
+	
+	/**
+	 * approximate a percentile (nearest rank) by the upper bound of its bucket.
+	 * @param percentile the percentile between 0 and 100.
+	 * @return the approximated value, 0 if nothing recorded.
+	 */
+	public long getPercentile(double percentile) {
+		long count = getCount();
+		if (count == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += buckets.get(i);
+			if (seen >= rank) {
+				return Math.min(upperBound(i), getMax());
+			}
+		}
+		return getMax();
+	}
+	
+	/**
+	 * reset the histogram. concurrent records might survive the reset.
+	 */
+	public void reset() {
+		for (int i = 0; i < BUCKETS; i++) {
+			buckets.set(i, 0);
+		}
+		sum.set(0);
+		max.set(0);
+	}
+	
+	/**
+	 * @param value a non-negative value.
+	 * @return the bucket of the value.
+	 */
+	static int bucket(long value) {
+		return 64 - Long.numberOfLeadingZeros(value);
+	}
+	
+	/**
+	 * @param bucket the bucket.
+	 * @return the largest value of the bucket.
+	 */
+	private static long upperBound(int bucket) {
+		return (bucket == 0) ? 0 : (bucket >= 63) ? Long.MAX_VALUE : (1L << bucket) - 1;
+	}
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.server.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * a lock owned by one instance (a reports generator, an event cycle) that optionally 
+ * records the wait and hold times in the {@link LockMetrics} of its site. all the locks 
+ * of a site (for example the state locks of all the reports generators) share the 
+ * metrics of the site, but never the lock itself.<br/>
+ * the instrumentation is switched on for all the locks with {@link #setInstrumented(boolean)}. 
+ * only the acquisition of the lock counts as waiting, the time spent waiting on a condition 
+ * (see {@link #await(Condition, long)}) is neither waiting for the lock nor holding it.
+ * 
+ * @author agent
+ *
+ */
+public final class InstrumentedLock {
+	
+	/** whether the locks record their wait and hold times. */
+	private static volatile boolean instrumented = false;
+	
+	/** the lock. */
+	private final ReentrantLock lock = new ReentrantLock();
+	
+	/** the metrics of the lock site. */
+	private final LockMetrics metrics;
+	
+	/** the time the current holder acquired the lock, 0 if not recorded. guarded by the lock. */
+	private long acquiredNanos = 0;
+	
+	/**
+	 * @param metrics the metrics of the lock site.
+	 */
+	public InstrumentedLock(LockMetrics metrics) {
+		this.metrics = metrics;
+	}
+	
+	/**
+	 * @param instrumented whether the locks record their wait and hold times.
+	 */
+	public static void setInstrumented(boolean instrumented) {
+		InstrumentedLock.instrumented = instrumented;
+	}
+	
+	/**
+	 * @return whether the locks record their wait and hold times.
+	 */
+	public static boolean isInstrumented() {
+		return instrumented;
+	}
+	
+	/**
+	 * acquire the lock.
+	 */
+	public void lock() {
+		if (!instrumented) {
+			lock.lock();
+			return;
+		}
+		if (lock.tryLock()) {
+			metrics.acquired();
+		} else {
+			long start = System.nanoTime();
+			lock.lock();
+			metrics.waited(System.nanoTime() - start);
+		}
+		if (lock.getHoldCount() == 1) {
+			acquiredNanos = System.nanoTime();
+		}
+	}
+	
+	/**
+	 * release the lock.
+	 */
+	public void unlock() {
+		if (lock.getHoldCount() == 1) {
+			stopHold();
+		}
+		lock.unlock();
+	}
+	
+	/**
+	 * @return a new condition of this lock.
+	 */
+	public Condition newCondition() {
+		return lock.newCondition();
+	}
+	
+	/**
+	 * wait on a condition of this lock. the lock must be held.
+	 * @param condition the condition.
+	 * @param timeoutMillis the maximum time to wait in milliseconds, 0 to wait until signalled.
+	 * @return false if the timeout elapsed, true otherwise.
+	 * @throws InterruptedException if interrupted while waiting.
+	 */
+	public boolean await(Condition condition, long timeoutMillis) throws InterruptedException {
+		boolean recorded = stopHold();
+		try {
+			if (timeoutMillis <= 0) {
+				condition.await();
+				return true;
+			}
+			return condition.await(timeoutMillis, TimeUnit.MILLISECONDS);
+		} finally {
+			if (recorded) {
+				acquiredNanos = System.nanoTime();
+			}
+		}
+	}
+	
+	/**
+	 * record the time the lock was held so far.
+	 * @return true if the hold time was recorded.
+	 */
+	private boolean stopHold() {
+		if (0 == acquiredNanos) {
+			return false;
+		}
+		metrics.held(System.nanoTime() - acquiredNanos);
+		acquiredNanos = 0;
+		return true;
+	}
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.server.metrics;
+
+/**
+ * the metrics of one lock site (see {@link InstrumentedLock}): the acquisitions, the 
+ * acquisitions that had to wait for another holder, the time waited for the lock and 
+ * the time the lock was held. the times are recorded in nanoseconds.
+ * 
+ * @author agent
+ *
+ */
+public class LockMetrics implements LockMetricsMBean {
+	
+	/** acquisitions of the lock. */
+	private final StripedCounter acquisitions = new StripedCounter();
+	
+	/** time waited for the lock by the contended acquisitions. */
+	private final Histogram waitTime = new Histogram();
+	
+	/** time the lock was held (without the time spent waiting on a condition). */
+	private final Histogram holdTime = new Histogram();
+	
+	/**
+	 * an acquisition that got the lock without waiting.
+	 */
+	public void acquired() {
+		acquisitions.add(1);
+	}
+	
+	/**
+	 * an acquisition that had to wait for another holder.
+	 * @param waitNanos the time waited for the lock.
+	 */
+	public void waited(long waitNanos) {
+		acquisitions.add(1);
+		waitTime.record(waitNanos);
+	}
+	
+	/**
+	 * @param holdNanos the time the lock was held.
+	 */
+	public void held(long holdNanos) {
+		holdTime.record(holdNanos);
+	}
+	
+	/**
+	 * @return the histogram of the times waited for the lock by the contended acquisitions.
+	 */
+	public Histogram getWaitTime() {
+		return waitTime;
+	}
+	
+	/**
+	 * @return the histogram of the times the lock was held.
+	 */
+	public Histogram getHoldTime() {
+		return holdTime;
+	}
+
+	@Override
+	public long getAcquisitions() {
+		return acquisitions.get();
+	}
+
+	@Override
+	public long getContended() {
+		return waitTime.getCount();
+	}
+
+	@Override
+	public double getWaitTimeMeanMillis() {
+		return waitTime.getMean() / SpecMetrics.NANOS_PER_MILLI;
+	}
+
+	@Override
+	public double getWaitTimeMaxMillis() {
+		return waitTime.getMax() / SpecMetrics.NANOS_PER_MILLI;
+	}
+
+	@Override
+	public double getHoldTimeMeanMillis() {
+		return holdTime.getMean() / SpecMetrics.NANOS_PER_MILLI;
+	}
+
+	@Override
+	public double getHoldTimeMaxMillis() {
+		return holdTime.getMax() / SpecMetrics.NANOS_PER_MILLI;
+	}
+
+	@Override
+	public void reset() {
+		acquisitions.reset();
+		waitTime.reset();
+		holdTime.reset();
+	}
+}
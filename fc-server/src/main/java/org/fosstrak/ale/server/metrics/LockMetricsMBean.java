@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.server.metrics;
+
+/**
+ * the JMX view on the metrics of a lock site. the times are in milliseconds.
+ * 
+ * @author agent
+ *
+ */
+public interface LockMetricsMBean {
+	
+	/**
+	 * @return the number of acquisitions of the lock.
+	 */
+	long getAcquisitions();
+	
+	/**
+	 * @return the number of acquisitions that had to wait for another holder.
+	 */
+	long getContended();
+	
+	/**
+	 * @return the mean time waited for the lock by the contended acquisitions.
+	 */
+	double getWaitTimeMeanMillis();
+	
+	/**
+	 * @return the longest time waited for the lock.
+	 */
+	double getWaitTimeMaxMillis();
+	
+	/**
+	 * @return the mean time the lock was held.
+	 */
+	double getHoldTimeMeanMillis();
+	
+	/**
+	 * @return the longest time the lock was held.
+	 */
+	double getHoldTimeMaxMillis();
+	
+	/**
+	 * reset all the counters.
+	 */
+	void reset();
+}
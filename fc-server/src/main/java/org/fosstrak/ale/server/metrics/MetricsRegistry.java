@@ -0,0 +1,381 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.server.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.log4j.Logger;
+import org.fosstrak.ale.server.ALESettings;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * holds the metrics of the logical readers, the ECSpecs, the lock sites and the LLRP message 
+ * repository writers. the metrics are plain 
+ * counters updated on the tag path, they cost nothing beyond the update when nobody 
+ * reads them. they are exported through JMX (if enabled in the ale.properties) and 
+ * as plain text (see {@link #writeText(Writer)} and {@link MetricsServlet}).<br/>
+ * components created outside of spring fall back to a registry of their own, their 
+ * metrics are then collected but not exported.
+ * 
+ * @author agent
+ *
+ */
+@Service("metricsRegistry")
+public class MetricsRegistry {
+	
+	/** logger. */
+	private static final Logger LOG = Logger.getLogger(MetricsRegistry.class);
+	
+	/** the JMX domain of the metrics. */
+	public static final String JMX_DOMAIN = "org.fosstrak.ale";
+	
+	/** the JMX type of the reader metrics. */
+	public static final String TYPE_READER = "LogicalReader";
+	
+	/** the JMX type of the ECSpec metrics. */
+	public static final String TYPE_SPEC = "ECSpec";
+	
+	/** the JMX type of the lock site metrics. */
+	public static final String TYPE_LOCK = "Lock";
+	
+	/** the JMX type of the repository writer metrics. */
+	public static final String TYPE_REPOSITORY = "Repository";
+	
+	/** the metrics of the logical readers, sorted by name. */
+	private final ConcurrentMap<String, ReaderMetrics> readers = new ConcurrentSkipListMap<String, ReaderMetrics>();
+	
+	/** the metrics of the ECSpecs, sorted by name. */
+	private final ConcurrentMap<String, SpecMetrics> specs = new ConcurrentSkipListMap<String, SpecMetrics>();
+	
+	/** the metrics of the lock sites, sorted by name. */
+	private final ConcurrentMap<String, LockMetrics> locks = new ConcurrentSkipListMap<String, LockMetrics>();
+	
+	/** the metrics of the repository writers, sorted by name. */
+	private final ConcurrentMap<String, RepositoryMetrics> repositories = new ConcurrentSkipListMap<String, RepositoryMetrics>();
+	
+	/** the MBean server the metrics are registered with, null if not exported through JMX. */
+	private volatile MBeanServer mbeanServer = null;
+	
+	// autowired
+	private ALESettings aleSettings;
+	
+	/**
+	 * export the metrics through the platform MBean server if enabled in the settings.
+	 */
+	@PostConstruct
+	public void initialize() {
+		if ((null != aleSettings) && aleSettings.isMetricsJmxEnabled()) {
+			enableJmx(ManagementFactory.getPlatformMBeanServer());
+		}
+	}
+	
+	/**
+	 * export all the current and future metrics through the given MBean server.
+	 * @param server the MBean server.
+	 */
+	public synchronized void enableJmx(MBeanServer server) {
+		mbeanServer = server;
+		for (Map.Entry<String, ReaderMetrics> entry : readers.entrySet()) {
+			register(TYPE_READER, entry.getKey(), entry.getValue());
+		}
+		for (Map.Entry<String, SpecMetrics> entry : specs.entrySet()) {
+			register(TYPE_SPEC, entry.getKey(), entry.getValue());
+		}
+		for (Map.Entry<String, LockMetrics> entry : locks.entrySet()) {
+			register(TYPE_LOCK, entry.getKey(), entry.getValue());
+		}
+		for (Map.Entry<String, RepositoryMetrics> entry : repositories.entrySet()) {
+			register(TYPE_REPOSITORY, entry.getKey(), entry.getValue());
+		}
+		LOG.info("metrics exported through JMX domain " + JMX_DOMAIN);
+	}
+	
+	/**
+	 * remove all the metrics from the MBean server.
+	 */
+	@PreDestroy
+	public synchronized void shutdown() {
+		if (null == mbeanServer) {
+			return;
+		}
+		for (String name : readers.keySet()) {
+			unregister(TYPE_READER, name);
+		}
+		for (String name : specs.keySet()) {
+			unregister(TYPE_SPEC, name);
+		}
+		for (String name : locks.keySet()) {
+			unregister(TYPE_LOCK, name);
+		}
+		for (String name : repositories.keySet()) {
+			unregister(TYPE_REPOSITORY, name);
+		}
+		mbeanServer = null;
+	}
+	
+	/**
+	 * get the metrics of a logical reader, create them if not yet existing.
+	 * @param name the name of the logical reader.
+	 * @return the metrics.
+	 */
+	public ReaderMetrics getReaderMetrics(String name) {
+		ReaderMetrics metrics = readers.get(name);
+		if (null == metrics) {
+			metrics = new ReaderMetrics();
+			ReaderMetrics existing = readers.putIfAbsent(name, metrics);
+			if (null != existing) {
+				return existing;
+			}
+			register(TYPE_READER, name, metrics);
+		}
+		return metrics;
+	}
+	
+	/**
+	 * get the metrics of an ECSpec, create them if not yet existing.
+	 * @param name the name of the ECSpec.
+	 * @return the metrics.
+	 */
+	public SpecMetrics getSpecMetrics(String name) {
+		SpecMetrics metrics = specs.get(name);
+		if (null == metrics) {
+			metrics = new SpecMetrics();
+			SpecMetrics existing = specs.putIfAbsent(name, metrics);
+			if (null != existing) {
+				return existing;
+			}
+			register(TYPE_SPEC, name, metrics);
+		}
+		return metrics;
+	}
+	
+	/**
+	 * get the metrics of a lock site, create them if not yet existing. the metrics of the 
+	 * lock sites are kept for the lifetime of the registry.
+	 * @param site the name of the lock site, for example <code>ReportsGenerator.state</code>.
+	 * @return the metrics.
+	 */
+	public LockMetrics getLockMetrics(String site) {
+		LockMetrics metrics = locks.get(site);
+		if (null == metrics) {
+			metrics = new LockMetrics();
+			LockMetrics existing = locks.putIfAbsent(site, metrics);
+			if (null != existing) {
+				return existing;
+			}
+			register(TYPE_LOCK, site, metrics);
+		}
+		return metrics;
+	}
+	
+	/**
+	 * get the metrics of a repository writer, create them if not yet existing. the metrics 
+	 * of the repository writers are kept for the lifetime of the registry.
+	 * @param name the name of the repository writer, for example the name of the adaptor.
+	 * @return the metrics.
+	 */
+	public RepositoryMetrics getRepositoryMetrics(String name) {
+		RepositoryMetrics metrics = repositories.get(name);
+		if (null == metrics) {
+			metrics = new RepositoryMetrics();
+			RepositoryMetrics existing = repositories.putIfAbsent(name, metrics);
+			if (null != existing) {
+				return existing;
+			}
+			register(TYPE_REPOSITORY, name, metrics);
+		}
+		return metrics;
+	}
+	
+	/**
+	 * remove the metrics of an undefined logical reader.
+	 * @param name the name of the logical reader.
+	 */
+	public void removeReaderMetrics(String name) {
+		if (null != readers.remove(name)) {
+			unregister(TYPE_READER, name);
+		}
+	}
+	
+	/**
+	 * remove the metrics of an undefined ECSpec.
+	 * @param name the name of the ECSpec.
+	 */
+	public void removeSpecMetrics(String name) {
+		if (null != specs.remove(name)) {
+			unregister(TYPE_SPEC, name);
+		}
+	}
+	
+	/**
+	 * @return a read-only view on the metrics of the logical readers (key = reader name).
+	 */
+	public Map<String, ReaderMetrics> getReaderMetrics() {
+		return Collections.unmodifiableMap(readers);
+	}
+	
+	/**
+	 * @return a read-only view on the metrics of the ECSpecs (key = spec name).
+	 */
+	public Map<String, SpecMetrics> getSpecMetrics() {
+		return Collections.unmodifiableMap(specs);
+	}
+	
+	/**
+	 * @return a read-only view on the metrics of the lock sites (key = site name).
+	 */
+	public Map<String, LockMetrics> getLockMetrics() {
+		return Collections.unmodifiableMap(locks);
+	}
+	
+	/**
+	 * @return a read-only view on the metrics of the repository writers (key = writer name).
+	 */
+	public Map<String, RepositoryMetrics> getRepositoryMetrics() {
+		return Collections.unmodifiableMap(repositories);
+	}
+	
+	/**
+	 * write all the metrics as plain text, one value per line in the form 
+	 * <code>name{label="value"} number</code>. the times are in nanoseconds.
+	 * @param writer the writer to write to.
+	 * @throws IOException if the writer fails.
+	 */
+	public void writeText(Writer writer) throws IOException {
+		for (Map.Entry<String, ReaderMetrics> entry : readers.entrySet()) {
+			String label = label("reader", entry.getKey());
+			ReaderMetrics metrics = entry.getValue();
+			writeValue(writer, "ale_reader_reads_in", label, metrics.getReadsIn());
+			writeValue(writer, "ale_reader_reads_out", label, metrics.getReadsOut());
+			writeValue(writer, "ale_reader_duplicates", label, metrics.getDuplicates());
+			writeHistogram(writer, "ale_reader_route_latency_nanos", label, metrics.getRouteLatency());
+			writeHistogram(writer, "ale_reader_insert_latency_nanos", label, metrics.getInsertLatency());
+		}
+		for (Map.Entry<String, SpecMetrics> entry : specs.entrySet()) {
+			String label = label("spec", entry.getKey());
+			SpecMetrics metrics = entry.getValue();
+			writeValue(writer, "ale_spec_cycles", label, metrics.getCyclesRun());
+			writeHistogram(writer, "ale_spec_tags_per_cycle", label, metrics.getTagsPerCycle());
+			writeHistogram(writer, "ale_spec_cycle_duration_nanos", label, metrics.getCycleDuration());
+			writeHistogram(writer, "ale_spec_report_build_nanos", label, metrics.getReportBuildTime());
+			writeHistogram(writer, "ale_spec_delivery_nanos", label, metrics.getDeliveryTime());
+			writeValue(writer, "ale_spec_delivery_failures", label, metrics.getDeliveryFailures());
+			writeValue(writer, "ale_spec_serialized_bytes", label, metrics.getSerializedBytes());
+			writeHistogram(writer, "ale_spec_report_latency_nanos", label, metrics.getReportLatency());
+			writeHistogram(writer, "ale_spec_delivery_latency_nanos", label, metrics.getDeliveryLatency());
+		}
+		for (Map.Entry<String, LockMetrics> entry : locks.entrySet()) {
+			String label = label("site", entry.getKey());
+			LockMetrics metrics = entry.getValue();
+			writeValue(writer, "ale_lock_acquisitions", label, metrics.getAcquisitions());
+			writeHistogram(writer, "ale_lock_wait_nanos", label, metrics.getWaitTime());
+			writeHistogram(writer, "ale_lock_hold_nanos", label, metrics.getHoldTime());
+		}
+		for (Map.Entry<String, RepositoryMetrics> entry : repositories.entrySet()) {
+			String label = label("repository", entry.getKey());
+			RepositoryMetrics metrics = entry.getValue();
+			writeValue(writer, "ale_repository_persisted", label, metrics.getPersisted());
+			writeValue(writer, "ale_repository_dropped", label, metrics.getDropped());
+			writeValue(writer, "ale_repository_failed", label, metrics.getFailed());
+			writeValue(writer, "ale_repository_overflows", label, metrics.getOverflows());
+		}
+		writer.flush();
+	}
+	
+	private void writeHistogram(Writer writer, String name, String label, Histogram histogram) throws IOException {
+		writeValue(writer, name + "_count", label, histogram.getCount());
+		writeValue(writer, name + "_sum", label, histogram.getSum());
+		writeValue(writer, name + "_max", label, histogram.getMax());
+		writeValue(writer, name, label + ",quantile=\"0.5\"", histogram.getPercentile(50));
+		writeValue(writer, name, label + ",quantile=\"0.99\"", histogram.getPercentile(99));
+	}
+	
+	private void writeValue(Writer writer, String name, String label, long value) throws IOException {
+		writer.write(name);
+		writer.write('{');
+		writer.write(label);
+		writer.write("} ");
+		writer.write(Long.toString(value));
+		writer.write('\n');
+	}
+	
+	private String label(String key, String value) {
+		return key + "=\"" + value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n") + "\"";
+	}
+	
+	private void register(String type, String name, Object metrics) {
+		MBeanServer server = mbeanServer;
+		if (null == server) {
+			return;
+		}
+		try {
+			server.registerMBean(metrics, getObjectName(type, name));
+		} catch (Exception e) {
+			LOG.warn("could not register the metrics of " + type + " " + name + ": " + e.getMessage());
+		}
+	}
+	
+	private void unregister(String type, String name) {
+		MBeanServer server = mbeanServer;
+		if (null == server) {
+			return;
+		}
+		try {
+			ObjectName objectName = getObjectName(type, name);
+			if (server.isRegistered(objectName)) {
+				server.unregisterMBean(objectName);
+			}
+		} catch (Exception e) {
+			LOG.warn("could not unregister the metrics of " + type + " " + name + ": " + e.getMessage());
+		}
+	}
+	
+	/**
+	 * @param type the type of the metrics.
+	 * @param name the name of the reader, spec, lock site or repository writer.
+	 * @return the JMX object name of the metrics.
+	 * @throws Exception if the name is malformed.
+	 */
+	public static ObjectName getObjectName(String type, String name) throws Exception {
+		return new ObjectName(JMX_DOMAIN + ":type=" + type + ",name=" + ObjectName.quote(name));
+	}
+	
+	/**
+	 * allow to inject a new ALESettings.
+	 * @param aleSettings the new ALESettings to be used.
+	 */
+	@Autowired
+	public void setAleSettings(ALESettings aleSettings) {
+		this.aleSettings = aleSettings;
+	}
+}
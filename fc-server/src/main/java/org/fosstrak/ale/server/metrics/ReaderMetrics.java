@@ -0,0 +1,154 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.server.metrics;
+
+import java.util.List;
+
+import org.fosstrak.ale.server.Tag;
+
+/**
+ * the counters of one logical reader: the tags it received, the tags it delivered 
+ * to its observers and the repeated reads suppressed by its smoothing stage. the 
+ * latencies of the tags (see {@link org.fosstrak.ale.server.util.TagFlow}) are 
+ * recorded in nanoseconds.
+ * 
+ * @author agent
+ *
+ */
+public class ReaderMetrics implements ReaderMetricsMBean {
+	
+	/** tags received. */
+	private final StripedCounter readsIn = new StripedCounter();
+	
+	/** tags delivered. */
+	private final StripedCounter readsOut = new StripedCounter();
+	
+	/** repeated reads suppressed. */
+	private final StripedCounter duplicates = new StripedCounter();
+	
+	/** time from the decoding of a tag until the reader routed it. */
+	private final Histogram routeLatency = new Histogram();
+	
+	/** time from the decoding of a tag until it arrived at an event cycle. */
+	private final Histogram insertLatency = new Histogram();
+	
+	/**
+	 * @param count the number of tags received.
+	 */
+	public void addReadsIn(long count) {
+		readsIn.add(count);
+	}
+	
+	/**
+	 * @param count the number of tags delivered.
+	 */
+	public void addReadsOut(long count) {
+		readsOut.add(count);
+	}
+	
+	/**
+	 * @param count the number of repeated reads suppressed.
+	 */
+	public void addDuplicates(long count) {
+		duplicates.add(count);
+	}
+	
+	/**
+	 * @param latencyNanos the time from the decoding of a tag until the reader routed it.
+	 */
+	public void tagRouted(long latencyNanos) {
+		routeLatency.record(latencyNanos);
+	}
+	
+	/**
+	 * @param latencyNanos the time from the decoding of a tag until it arrived at an event cycle.
+	 */
+	public void tagInserted(long latencyNanos) {
+		insertLatency.record(latencyNanos);
+	}
+	
+	/**
+	 * @return the histogram of the times from the decoding of a tag until the reader routed it.
+	 */
+	public Histogram getRouteLatency() {
+		return routeLatency;
+	}
+	
+	/**
+	 * @return the histogram of the times from the decoding of a tag until it arrived at an event cycle.
+	 */
+	public Histogram getInsertLatency() {
+		return insertLatency;
+	}
+
+	@Override
+	public long getReadsIn() {
+		return readsIn.get();
+	}
+
+	@Override
+	public long getReadsOut() {
+		return readsOut.get();
+	}
+
+	@Override
+	public long getDuplicates() {
+		return duplicates.get();
+	}
+
+	@Override
+	public double getRouteLatencyMeanMillis() {
+		return routeLatency.getMean() / SpecMetrics.NANOS_PER_MILLI;
+	}
+
+	@Override
+	public double getInsertLatencyMeanMillis() {
+		return insertLatency.getMean() / SpecMetrics.NANOS_PER_MILLI;
+	}
+
+	@Override
+	public double getInsertLatencyP99Millis() {
+		return insertLatency.getPercentile(99) / SpecMetrics.NANOS_PER_MILLI;
+	}
+
+	@Override
+	public void reset() {
+		readsIn.reset();
+		readsOut.reset();
+		duplicates.reset();
+		routeLatency.reset();
+		insertLatency.reset();
+	}
+	
+	/**
+	 * count the tags of an observer notification.
+	 * @param arg either one tag or a list of tags.
+	 * @return the number of tags, 0 if none.
+	 */
+	public static int countTags(Object arg) {
+		if (arg instanceof Tag) {
+			return 1;
+		} else if (arg instanceof List) {
+			return ((List<?>) arg).size();
+		}
+		return 0;
+	}
+}
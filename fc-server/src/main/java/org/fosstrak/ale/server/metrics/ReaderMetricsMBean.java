@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.server.metrics;
+
+/**
+ * the JMX view on the metrics of a logical reader.
+ * 
+ * @author agent
+ *
+ */
+public interface ReaderMetricsMBean {
+
+	/**
+	 * @return the number of tags the reader received.
+	 */
+	long getReadsIn();
+	
+	/**
+	 * @return the number of tags the reader delivered to its observers.
+	 */
+	long getReadsOut();
+	
+	/**
+	 * @return the number of tags suppressed as repeated reads.
+	 */
+	long getDuplicates();
+	
+	/**
+	 * @return the mean time in milliseconds from the decoding of a tag until the reader routed it (composite readers only).
+	 */
+	double getRouteLatencyMeanMillis();
+	
+	/**
+	 * @return the mean time in milliseconds from the decoding of a tag until it arrived at an event cycle reading from the reader.
+	 */
+	double getInsertLatencyMeanMillis();
+	
+	/**
+	 * @return the 99th percentile of the time in milliseconds from the decoding of a tag until it arrived at an event cycle.
+	 */
+	double getInsertLatencyP99Millis();
+	
+	/**
+	 * reset all the counters.
+	 */
+	void reset();
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.server.metrics;
+
+/**
+ * the counters of the LLRP message repository writer (see 
+ * {@link org.fosstrak.ale.server.readers.llrp.RepositoryWriter}): the messages persisted, 
+ * the messages dropped on a full queue, the messages the repository failed to store 
+ * and the overflow episodes (a run of drops ended by the next accepted message).
+ * 
+ * @author agent
+ *
+ */
+public class RepositoryMetrics implements RepositoryMetricsMBean {
+	
+	/** messages written into the repository. */
+	private final StripedCounter persisted = new StripedCounter();
+	
+	/** messages dropped because the queue was full. */
+	private final StripedCounter dropped = new StripedCounter();
+	
+	/** messages the repository failed to store. */
+	private final StripedCounter failed = new StripedCounter();
+	
+	/** overflow episodes of the queue. */
+	private final StripedCounter overflows = new StripedCounter();
+	
+	/**
+	 * a message got written into the repository.
+	 */
+	public void persisted() {
+		persisted.increment();
+	}
+	
+	/**
+	 * a message got dropped because the queue was full.
+	 */
+	public void dropped() {
+		dropped.increment();
+	}
+	
+	/**
+	 * the repository failed to store a message.
+	 */
+	public void failed() {
+		failed.increment();
+	}
+	
+	/**
+	 * the queue started to overflow.
+	 */
+	public void overflowed() {
+		overflows.increment();
+	}
+
+	@Override
+	public long getPersisted() {
+		return persisted.get();
+	}
+
+	@Override
+	public long getDropped() {
+		return dropped.get();
+	}
+
+	@Override
+	public long getFailed() {
+		return failed.get();
+	}
+
+	@Override
+	public long getOverflows() {
+		return overflows.get();
+	}
+
+	@Override
+	public void reset() {
+		persisted.reset();
+		dropped.reset();
+		failed.reset();
+		overflows.reset();
+	}
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.server.metrics;
+
+/**
+ * the JMX view on the metrics of the LLRP message repository writer.
+ * 
+ * @author agent
+ *
+ */
+public interface RepositoryMetricsMBean {
+	
+	/**
+	 * @return the number of messages written into the repository.
+	 */
+	long getPersisted();
+	
+	/**
+	 * @return the number of messages dropped because the queue of the writer was full.
+	 */
+	long getDropped();
+	
+	/**
+	 * @return the number of messages the repository failed to store.
+	 */
+	long getFailed();
+	
+	/**
+	 * @return the number of times the queue of the writer overflowed.
+	 */
+	long getOverflows();
+	
+	/**
+	 * reset all the counters.
+	 */
+	void reset();
+}
@@ -0,0 +1,261 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.server.metrics;
+
+/**
+ * the counters and histograms of one ECSpec. the times are recorded in nanoseconds.
+ * 
+ * @author agent
+ *
+ */
+public class SpecMetrics implements SpecMetricsMBean {
+	
+	/** nanoseconds per millisecond. */
+	static final double NANOS_PER_MILLI = 1000000.0;
+	
+	/** event cycles run. */
+	private final StripedCounter cyclesRun = new StripedCounter();
+	
+	/** tags per event cycle. */
+	private final Histogram tagsPerCycle = new Histogram();
+	
+	/** duration of the event cycles. */
+	private final Histogram cycleDuration = new Histogram();
+	
+	/** time to build the reports of an event cycle. */
+	private final Histogram reportBuildTime = new Histogram();
+	
+	/** bytes serialized for the subscribers. */
+	private final StripedCounter serializedBytes = new StripedCounter();
+	
+	/** time of the deliveries to the subscribers (including the failed ones). */
+	private final Histogram deliveryTime = new Histogram();
+	
+	/** failed deliveries. */
+	private final StripedCounter deliveryFailures = new StripedCounter();
+	
+	/** time from the decoding of a tag until its report was evaluated. */
+	private final Histogram reportLatency = new Histogram();
+	
+	/** time from the decoding of a tag until its report was delivered. */
+	private final Histogram deliveryLatency = new Histogram();
+	
+	/** the profiler of the rounds, null if the ECSpec is not profiled. */
+	private volatile CycleProfiler profiler = null;
+	
+	/**
+	 * an event cycle completed.
+	 * @param tags the number of tags collected.
+	 * @param durationNanos the duration of the event cycle.
+	 */
+	public void cycleCompleted(int tags, long durationNanos) {
+		cyclesRun.increment();
+		tagsPerCycle.record(tags);
+		cycleDuration.record(durationNanos);
+	}
+	
+	/**
+	 * the reports of an event cycle have been built.
+	 * @param nanos the time to build the reports.
+	 */
+	public void reportsBuilt(long nanos) {
+		reportBuildTime.record(nanos);
+	}
+	
+	/**
+	 * the reports have been delivered to a subscriber.
+	 * @param nanos the time of the delivery.
+	 * @param bytes the number of bytes serialized, 0 if unknown.
+	 */
+	public void delivered(long nanos, long bytes) {
+		deliveryTime.record(nanos);
+		serializedBytes.add(bytes);
+	}
+	
+	/**
+	 * the delivery to a subscriber failed.
+	 * @param nanos the time until the delivery failed.
+	 */
+	public void deliveryFailed(long nanos) {
+		deliveryTime.record(nanos);
+		deliveryFailures.increment();
+	}
+	
+	/**
+	 * a tag included in a report has been delivered.
+	 * @param reportLatencyNanos the time from the decoding of the tag until the report was evaluated.
+	 * @param deliveryLatencyNanos the time from the decoding of the tag until the report was delivered.
+	 */
+	public void tagDelivered(long reportLatencyNanos, long deliveryLatencyNanos) {
+		reportLatency.record(reportLatencyNanos);
+		deliveryLatency.record(deliveryLatencyNanos);
+	}
+	
+	/**
+	 * profile the rounds of the ECSpec. the profiles already kept are retained if the 
+	 * number of rounds does not change.
+	 * @param rounds the number of rounds to keep.
+	 */
+	public synchronized void enableProfiling(int rounds) {
+		if ((null == profiler) || (profiler.getRounds() != rounds)) {
+			profiler = new CycleProfiler(rounds);
+		}
+	}
+	
+	/**
+	 * stop profiling the rounds of the ECSpec and drop the profiles kept.
+	 */
+	public synchronized void disableProfiling() {
+		profiler = null;
+	}
+	
+	/**
+	 * @return the profiler of the rounds, null if the ECSpec is not profiled.
+	 */
+	public CycleProfiler getProfiler() {
+		return profiler;
+	}
+	
+	/**
+	 * @return the histogram of the tags per event cycle.
+	 */
+	public Histogram getTagsPerCycle() {
+		return tagsPerCycle;
+	}
+	
+	/**
+	 * @return the histogram of the event cycle durations in nanoseconds.
+	 */
+	public Histogram getCycleDuration() {
+		return cycleDuration;
+	}
+	
+	/**
+	 * @return the histogram of the report build times in nanoseconds.
+	 */
+	public Histogram getReportBuildTime() {
+		return reportBuildTime;
+	}
+	
+	/**
+	 * @return the histogram of the delivery times in nanoseconds.
+	 */
+	public Histogram getDeliveryTime() {
+		return deliveryTime;
+	}
+	
+	/**
+	 * @return the histogram of the times in nanoseconds from the decoding of a tag until its report was evaluated.
+	 */
+	public Histogram getReportLatency() {
+		return reportLatency;
+	}
+	
+	/**
+	 * @return the histogram of the times in nanoseconds from the decoding of a tag until its report was delivered.
+	 */
+	public Histogram getDeliveryLatency() {
+		return deliveryLatency;
+	}
+
+	@Override
+	public long getCyclesRun() {
+		return cyclesRun.get();
+	}
+
+	@Override
+	public double getTagsPerCycleMean() {
+		return tagsPerCycle.getMean();
+	}
+
+	@Override
+	public long getTagsPerCycleMax() {
+		return tagsPerCycle.getMax();
+	}
+
+	@Override
+	public double getCycleDurationMeanMillis() {
+		return cycleDuration.getMean() / NANOS_PER_MILLI;
+	}
+
+	@Override
+	public double getReportBuildTimeMeanMillis() {
+		return reportBuildTime.getMean() / NANOS_PER_MILLI;
+	}
+
+	@Override
+	public double getReportBuildTimeP99Millis() {
+		return reportBuildTime.getPercentile(99) / NANOS_PER_MILLI;
+	}
+
+	@Override
+	public long getDeliveries() {
+		return deliveryTime.getCount();
+	}
+
+	@Override
+	public long getDeliveryFailures() {
+		return deliveryFailures.get();
+	}
+
+	@Override
+	public long getSerializedBytes() {
+		return serializedBytes.get();
+	}
+
+	@Override
+	public double getDeliveryTimeMeanMillis() {
+		return deliveryTime.getMean() / NANOS_PER_MILLI;
+	}
+
+	@Override
+	public double getDeliveryTimeP99Millis() {
+		return deliveryTime.getPercentile(99) / NANOS_PER_MILLI;
+	}
+
+	@Override
+	public double getReportLatencyMeanMillis() {
+		return reportLatency.getMean() / NANOS_PER_MILLI;
+	}
+
+	@Override
+	public double getDeliveryLatencyMeanMillis() {
+		return deliveryLatency.getMean() / NANOS_PER_MILLI;
+	}
+
+	@Override
+	public double getDeliveryLatencyP99Millis() {
+		return deliveryLatency.getPercentile(99) / NANOS_PER_MILLI;
+	}
+
+	@Override
+	public void reset() {
+		cyclesRun.reset();
+		tagsPerCycle.reset();
+		cycleDuration.reset();
+		reportBuildTime.reset();
+		serializedBytes.reset();
+		deliveryTime.reset();
+		deliveryFailures.reset();
+		reportLatency.reset();
+		deliveryLatency.reset();
+	}
+}
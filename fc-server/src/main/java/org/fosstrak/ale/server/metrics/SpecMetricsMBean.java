@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.server.metrics;
+
+/**
+ * the JMX view on the metrics of an ECSpec. the times are in milliseconds.
+ * 
+ * @author agent
+ *
+ */
+public interface SpecMetricsMBean {
+
+	/**
+	 * @return the number of event cycles run.
+	 */
+	long getCyclesRun();
+	
+	/**
+	 * @return the mean number of tags per event cycle.
+	 */
+	double getTagsPerCycleMean();
+	
+	/**
+	 * @return the largest number of tags in one event cycle.
+	 */
+	long getTagsPerCycleMax();
+	
+	/**
+	 * @return the mean duration of an event cycle.
+	 */
+	double getCycleDurationMeanMillis();
+	
+	/**
+	 * @return the mean time to build the reports of an event cycle.
+	 */
+	double getReportBuildTimeMeanMillis();
+	
+	/**
+	 * @return the 99th percentile of the time to build the reports of an event cycle.
+	 */
+	double getReportBuildTimeP99Millis();
+	
+	/**
+	 * @return the number of deliveries to the subscribers, including the failed ones.
+	 */
+	long getDeliveries();
+	
+	/**
+	 * @return the number of failed deliveries.
+	 */
+	long getDeliveryFailures();
+	
+	/**
+	 * @return the number of bytes serialized for the subscribers.
+	 */
+	long getSerializedBytes();
+	
+	/**
+	 * @return the mean time of one delivery.
+	 */
+	double getDeliveryTimeMeanMillis();
+	
+	/**
+	 * @return the 99th percentile of the time of one delivery.
+	 */
+	double getDeliveryTimeP99Millis();
+	
+	/**
+	 * @return the mean time from the decoding of a tag until its report was evaluated.
+	 */
+	double getReportLatencyMeanMillis();
+	
+	/**
+	 * @return the mean time from the decoding of a tag until its report was delivered.
+	 */
+	double getDeliveryLatencyMeanMillis();
+	
+	/**
+	 * @return the 99th percentile of the time from the decoding of a tag until its report was delivered.
+	 */
+	double getDeliveryLatencyP99Millis();
+	
+	/**
+	 * reset all the counters and histograms.
+	 */
+	void reset();
+}
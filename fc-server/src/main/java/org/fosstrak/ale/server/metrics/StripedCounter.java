@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.server.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * a counter for the tag path. the updates are spread over several cells selected by 
+ * the id of the updating thread, each cell padded onto its own cache line. concurrent 
+ * readers and event cycles thus do not contend on one memory location. reading the 
+ * value sums up the cells and is therefore only weakly consistent.
+ * 
+ * @author agent
+ *
+ */
+public final class StripedCounter {
+	
+	/** number of longs per cell (one cache line of 64 bytes). */
+	private static final int PADDING = 8;
+	
+	/** number of cells, a power of two. */
+	private static final int STRIPES = computeStripes();
+	
+	/** the cells, only every PADDING-th entry is used. */
+	private final AtomicLongArray cells = new AtomicLongArray(STRIPES * PADDING);
+	
+	/**
+	 * increment the counter by one.
+	 */
+	public void increment() {
+		cells.getAndIncrement(cell());
+	}
+	
+	/**
+	 * add the given value to the counter.
+	 * @param delta the value to add.
+	 */
+	public void add(long delta) {
+		cells.getAndAdd(cell(), delta);
+	}
+	
+	/**
+	 * @return the sum over all the cells.
+	 */
+	public long get() {
+		long sum = 0;
+		for (int i = 0; i < STRIPES; i++) {
+			sum += cells.get(i * PADDING);
+		}
+		return sum;
+	}
+	
+	/**
+	 * reset the counter to zero. concurrent updates might survive the reset.
+	 */
+	public void reset() {
+		for (int i = 0; i < STRIPES; i++) {
+			cells.set(i * PADDING, 0);
+		}
+	}
+	
+	/**
+	 * @return the index of the cell of the current thread.
+	 */
+	private static int cell() {
+		return ((int) Thread.currentThread().getId() & (STRIPES - 1)) * PADDING;
+	}
+	
+	/**
+	 * @return twice the number of processors rounded up to a power of two, at most 64.
+	 */
+	private static int computeStripes() {
+		int target = Math.min(64, 2 * Runtime.getRuntime().availableProcessors());
+		int stripes = 1;
+		while (stripes < target) {
+			stripes <<= 1;
+		}
+		return stripes;
+	}
+}
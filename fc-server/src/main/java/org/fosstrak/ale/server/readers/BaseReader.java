@@ -20,10 +20,18 @@
 
 package org.fosstrak.ale.server.readers;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+
+import org.apache.log4j.Logger;
 
 import org.fosstrak.ale.exception.ImplementationException;
 import org.fosstrak.ale.server.Tag;
+import org.fosstrak.ale.server.metrics.ReaderMetrics;
+import org.fosstrak.ale.server.util.TagFlow;
+import org.fosstrak.ale.server.util.TagLogger;
+import org.fosstrak.ale.xsd.ale.epcglobal.LRProperty;
 import org.fosstrak.ale.xsd.ale.epcglobal.LRSpec;
 import org.fosstrak.hal.HardwareException;
 import org.fosstrak.hal.Observation;
@@ -35,6 +43,15 @@ import org.fosstrak.hal.Observation;
  */
 public abstract class BaseReader extends LogicalReader {
 	
+	/** logger. */
+	private static final Logger LOG = Logger.getLogger(BaseReader.class);
+	
+	/** logger of the per-tag code paths. */
+	private static final TagLogger TAG_LOG = TagLogger.getLogger(BaseReader.class);
+	
+	/** the smoothing stage applied before the observers are notified, null if not configured. */
+	private volatile TagSmoothingFilter smoothingFilter = null;
+	
 	/**
 	 * constructor for a BaseReader.
 	*/
@@ -52,6 +69,113 @@ public abstract class BaseReader extends LogicalReader {
 	 */
 	public void initialize(String name, LRSpec spec) throws ImplementationException {
 		super.initialize(name, spec);
+		configureSmoothing(logicalReaderProperties);
+	}
+	
+	/**
+	 * sets the LRSpec and reconfigures the smoothing stage from its properties.
+	 * @param spec the spec.
+	 */
+	@Override
+	public void setLRSpec(LRSpec spec) {
+		super.setLRSpec(spec);
+		if ((null != spec) && (null != spec.getProperties())) {
+			Map<String, String> props = new HashMap<String, String>();
+			for (LRProperty prop : spec.getProperties().getProperty()) {
+				props.put(prop.getName(), prop.getValue());
+			}
+			configureSmoothing(props);
+		}
+	}
+	
+	/**
+	 * creates the smoothing stage from the given reader properties, see {@link TagSmoothingFilter}.
+	 * @param props the properties of the reader.
+	 */
+	private void configureSmoothing(Map<String, String> props) {
+		smoothingFilter = TagSmoothingFilter.create(props);
+		if (null != smoothingFilter) {
+			LOG.debug("smoothing enabled on reader " + getName() + ", repeat window " 
+					+ smoothingFilter.getRepeatWindow() + "ms, hysteresis " + smoothingFilter.isHysteresis());
+		}
+	}
+	
+	/**
+	 * @return the smoothing stage of this reader or null if not configured.
+	 */
+	public TagSmoothingFilter getSmoothingFilter() {
+		return smoothingFilter;
+	}
+	
+	/**
+	 * passes the tags through the smoothing stage before notifying the observers. 
+	 * the observers are not notified if all the tags are suppressed.
+	 * @param arg either one tag or a list of tags.
+	 */
+	@Override
+	public void notifyObservers(Object arg) {
+		ReaderMetrics readerMetrics = metrics;
+		int readsIn = ReaderMetrics.countTags(arg);
+		readerMetrics.addReadsIn(readsIn);
+		if (TagFlow.isEnabled()) {
+			stampDecode(arg);
+		}
+		TagSmoothingFilter filter = smoothingFilter;
+		if (null != filter) {
+			arg = filter.filter(arg);
+			if (null == arg) {
+				readerMetrics.addDuplicates(readsIn);
+				clearChanged();
+				return;
+			}
+		}
+		int readsOut = ReaderMetrics.countTags(arg);
+		readerMetrics.addDuplicates(readsIn - readsOut);
+		readerMetrics.addReadsOut(readsOut);
+		if (TAG_LOG.isEnabled()) {
+			logTags(arg);
+		}
+		super.notifyObservers(arg);
+	}
+	
+	/**
+	 * stamp the tags the adaptor did not stamp at their decoding with the time they are 
+	 * handed over.
+	 * @param arg either one tag or a list of tags.
+	 */
+	private void stampDecode(Object arg) {
+		long now = TagFlow.stamp();
+		if (arg instanceof Tag) {
+			stampDecode((Tag) arg, now);
+		} else if (arg instanceof List) {
+			for (Object tag : (List<?>) arg) {
+				if (tag instanceof Tag) {
+					stampDecode((Tag) tag, now);
+				}
+			}
+		}
+	}
+	
+	private void stampDecode(Tag tag, long now) {
+		if (0 == tag.getDecodeNanos()) {
+			tag.setDecodeNanos(now);
+		}
+	}
+	
+	/**
+	 * log the tags handed to the observers.
+	 * @param arg either one tag or a list of tags.
+	 */
+	private void logTags(Object arg) {
+		if (arg instanceof Tag) {
+			TAG_LOG.tag("read", (Tag) arg, getName());
+		} else if (arg instanceof List) {
+			for (Object tag : (List<?>) arg) {
+				if (tag instanceof Tag) {
+					TAG_LOG.tag("read", (Tag) tag, getName());
+				}
+			}
+		}
 	}
 	
 	/**
@@ -20,19 +20,34 @@
 
 package org.fosstrak.ale.server.readers;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Observable;
 import java.util.Observer;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.log4j.Logger;
 import org.fosstrak.ale.exception.ImplementationException;
+import org.fosstrak.ale.server.ReaderPath;
 import org.fosstrak.ale.server.Tag;
+import org.fosstrak.ale.server.metrics.ReaderMetrics;
+import org.fosstrak.ale.server.util.TagFlow;
+import org.fosstrak.ale.server.util.TagLogger;
 import org.fosstrak.ale.xsd.ale.epcglobal.LRSpec;
 
 /**
  * represents a compositeReader that is a composition of different logicalreaders.
+ * <br/>
+ * the composite reader does not re-notify through nested composite readers. the 
+ * observers of this reader and of all the composite readers containing it are 
+ * compiled into a flat routing table. a tag from a base reader is delivered to 
+ * each route directly as a copy carrying the name of the delivering composite 
+ * and the reader path, the incoming tag is never modified.
  * @author swieland
  *
  */
@@ -41,8 +56,142 @@ public class CompositeReader extends LogicalReader implements Observer  {
 	/** logger. */
 	private static final Logger LOG = Logger.getLogger(CompositeReader.class);
 	
+	/** logger of the per-tag code paths. */
+	private static final TagLogger TAG_LOG = TagLogger.getLogger(CompositeReader.class);
+	
 	/** logical readers within the composite reader. */
 	private final java.util.Map<String, LogicalReader> logicalReaders = new HashMap<String, LogicalReader>();;
+	
+	/** incremented whenever the observers of any composite reader change. */
+	private static final AtomicLong ROUTING_VERSION = new AtomicLong();
+	
+	/** the observers of this composite reader (event cycles or composite readers). */
+	private final List<Observer> observers = new CopyOnWriteArrayList<Observer>();
+	
+	/** the compiled routing table, null if not yet compiled. */
+	private volatile RoutingTable routingTable = null;
+	
+	/**
+	 * one flattened route from this composite reader to an observer that is not a composite reader.
+	 */
+	private static final class Route {
+		
+		/** the observer receiving the tags. */
+		private final Observer target;
+		
+		/** the composite readers from this reader to the one observed by the target. */
+		private final CompositeReader[] chain;
+		
+		/** the reader path to append to the trace of the delivered tags. */
+		private final ReaderPath suffix;
+		
+		/**
+		 * @param target the observer receiving the tags.
+		 * @param chain the composite readers on the route.
+		 * @param suffix the reader path to append.
+		 */
+		private Route(Observer target, CompositeReader[] chain, ReaderPath suffix) {
+			this.target = target;
+			this.chain = chain;
+			this.suffix = suffix;
+		}
+		
+		/**
+		 * creates a route starting one composite reader further down.
+		 * @param reader the composite reader containing the first reader of this route.
+		 * @return the new route.
+		 */
+		private Route prepend(CompositeReader reader) {
+			CompositeReader[] result = new CompositeReader[chain.length + 1];
+			result[0] = reader;
+			System.arraycopy(chain, 0, result, 1, chain.length);
+			return new Route(target, result, ReaderPath.of(reader.getName()).append(suffix));
+		}
+		
+		/**
+		 * @return the composite reader observed by the target.
+		 */
+		private CompositeReader getSource() {
+			return chain[chain.length - 1];
+		}
+		
+		/**
+		 * @return true if all the composite readers on the route are started.
+		 */
+		private boolean isOpen() {
+			for (CompositeReader reader : chain) {
+				if (!reader.isStarted()) {
+					return false;
+				}
+			}
+			return true;
+		}
+		
+		/**
+		 * deliver a copy of the tags to the target.
+		 * @param arg either one tag or a list of tags.
+		 */
+		private void deliver(Object arg) {
+			String readerName = getSource().getName();
+			ReaderMetrics readerMetrics = getSource().getMetrics();
+			long now = TagFlow.stamp();
+			if (arg instanceof Tag) {
+				Tag delivered = ((Tag) arg).deliveredBy(readerName, suffix);
+				stampRoute(delivered, now, readerMetrics);
+				TAG_LOG.tag("routed", delivered, readerName);
+				target.update(getSource(), delivered);
+			} else {
+				List<?> tagList = (List<?>) arg;
+				List<Tag> result = new ArrayList<Tag>(tagList.size());
+				boolean logging = TAG_LOG.isEnabled();
+				for (Object tag : tagList) {
+					if (tag instanceof Tag) {
+						Tag delivered = ((Tag) tag).deliveredBy(readerName, suffix);
+						stampRoute(delivered, now, readerMetrics);
+						if (logging) {
+							TAG_LOG.tag("routed", delivered, readerName);
+						}
+						result.add(delivered);
+					}
+				}
+				target.update(getSource(), result);
+			}
+		}
+		
+		/**
+		 * stamp a routed tag and record its latency since the decoding.
+		 * @param tag the routed tag.
+		 * @param now the stamp of the routing, 0 if the tags are not stamped.
+		 * @param readerMetrics the metrics of the routing reader.
+		 */
+		private void stampRoute(Tag tag, long now, ReaderMetrics readerMetrics) {
+			if ((0 != now) && (0 != tag.getDecodeNanos())) {
+				tag.setRouteNanos(now);
+				readerMetrics.tagRouted(now - tag.getDecodeNanos());
+			}
+		}
+	}
+	
+	/**
+	 * the routes compiled for one routing version.
+	 */
+	private static final class RoutingTable {
+		
+		/** the routing version the routes were compiled for. */
+		private final long version;
+		
+		/** the routes. */
+		private final Route[] routes;
+		
+		/**
+		 * @param version the routing version.
+		 * @param routes the routes.
+		 */
+		private RoutingTable(long version, List<Route> routes) {
+			this.version = version;
+			this.routes = routes.toArray(new Route[routes.size()]);
+		}
+	}
 
 	/**
 	 * constructor for the composite reader.
@@ -93,29 +242,81 @@ public class CompositeReader extends LogicalReader implements Observer  {
 	 */
 	public void update(Observable o, Object arg) {
 		// deliver tags only if the reader is not suspended
-		if (isStarted()) {
-			if (arg instanceof Tag) {
-				setChanged();
-				Tag tag = (Tag) arg;
-				tag.setReader(getName());
-				tag.addTrace(getName());
-				
-				notifyObservers(tag);
-			} else if (arg instanceof List) {
-				LOG.debug("processing multiple tags");
-				
-				// process multiple tags at once
-				@SuppressWarnings("unchecked")				
-				List<Tag> tagList = (List<Tag>) arg;				
-				for (Tag tag : tagList) {
-					tag.setReader(getName());
-					tag.addTrace(getName());
+		if (isStarted() && ((arg instanceof Tag) || (arg instanceof List))) {
+			int reads = ReaderMetrics.countTags(arg);
+			ReaderMetrics readerMetrics = metrics;
+			readerMetrics.addReadsIn(reads);
+			for (Route route : getRoutes()) {
+				if (route.isOpen()) {
+					route.deliver(arg);
+					readerMetrics.addReadsOut(reads);
 				}
-				setChanged();
-				notifyObservers(tagList);
 			}
 		}
 	}
+	
+	/**
+	 * returns the routing table, recompiles it when the observers of a composite reader changed.
+	 * @return the routes from this reader to all the interested observers.
+	 */
+	private Route[] getRoutes() {
+		long version = ROUTING_VERSION.get();
+		RoutingTable table = routingTable;
+		if ((null == table) || (table.version != version)) {
+			table = new RoutingTable(version, compile(new HashSet<CompositeReader>()));
+			routingTable = table;
+			LOG.debug("compiled " + table.routes.length + " routes for CompositeReader " + readerName);
+		}
+		return table.routes;
+	}
+	
+	/**
+	 * compiles the routes from this composite reader to its observers. observers that are 
+	 * composite readers are expanded into their routes.
+	 * @param visiting the composite readers currently compiled (to stop on cyclic compositions).
+	 * @return the routes.
+	 */
+	private List<Route> compile(Set<CompositeReader> visiting) {
+		List<Route> routes = new ArrayList<Route>();
+		if (!visiting.add(this)) {
+			LOG.error("cyclic composition of CompositeReader " + readerName + ", ignoring.");
+			return routes;
+		}
+		for (Observer observer : observers) {
+			if (observer instanceof CompositeReader) {
+				for (Route route : ((CompositeReader) observer).compile(visiting)) {
+					routes.add(route.prepend(this));
+				}
+			} else {
+				routes.add(new Route(observer, new CompositeReader[] { this }, ReaderPath.of(getName())));
+			}
+		}
+		visiting.remove(this);
+		return routes;
+	}
+	
+	@Override
+	public synchronized void addObserver(Observer o) {
+		super.addObserver(o);
+		if (!observers.contains(o)) {
+			observers.add(o);
+		}
+		ROUTING_VERSION.incrementAndGet();
+	}
+	
+	@Override
+	public synchronized void deleteObserver(Observer o) {
+		super.deleteObserver(o);
+		observers.remove(o);
+		ROUTING_VERSION.incrementAndGet();
+	}
+	
+	@Override
+	public synchronized void deleteObservers() {
+		super.deleteObservers();
+		observers.clear();
+		ROUTING_VERSION.incrementAndGet();
+	}
 
 	/**
 	 * add a logicalReader to the composite.
@@ -32,19 +32,26 @@ package org.fosstrak.ale.server.readers;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.fosstrak.ale.server.ALEApplicationContext;
+import org.fosstrak.hal.HardwareException;
 
 /**
  * An IdentifyThread encapsulates all the methods necessary for polling the 
  * device. The identification process itself is based on the method 
  * <code>identify()</code> of the associated <code>AutoIdController</code>. 
+ * The polls are run at a fixed rate by the shared {@link PollingScheduler}, 
+ * a device is not polled again while a previous poll is still running.
  * 
  * @author Stefan Schlegel (schlstef@student.ethz.ch)
  * @author swieland
  */
 public class IdentifyThread implements Runnable {
 	
-	/** the polling thread. */
-	private Thread identification;
+	/** the polling task, null if the polling is stopped. */
+	private PollingScheduler.Task task;
+	
+	/** the scheduler running the polls. */
+	private PollingScheduler scheduler;
 	
 	/** indicates if the thread shall be suspended. */
 	private boolean suspendThread = true;
@@ -85,61 +92,48 @@ public class IdentifyThread implements Runnable {
 	}
 	
 	/**
-	 * Polls the RFID hardware for RFID tags in the fields.
+	 * Polls the RFID hardware once for RFID tags in the fields.
+	 * @throws IllegalStateException when the identification fails (counted by the scheduler).
 	 */
 	public void run() {
-		Thread thisThread = Thread.currentThread();
-		log.debug("Scanning started...");
-		while (this.identification == thisThread) {
-			synchronized (this) {
-				while (suspendThread) {
-					log.debug("Scanning suspended...");
-					try {
-						wait();
-					} catch (Exception e) {
-						log.error("caught exception - stopping processing.", e);
-						this.stopIdentify();
-					}
-				}
-			}
-			// Do work
-			log.debug("Continuous identify...");
-			try {
-				synchronized (this.adapter) {
-					this.adapter.identify(sourceIds);	
-				}
-				
-			} catch (Exception e1) {
-				log.debug(e1.getMessage());
-			}
-			try {
-				if (this.frequency > 0){
-					log.debug("Thread is going to sleep...");
-					Thread.sleep(this.frequency);
-				}
-			} catch (InterruptedException e){
-				log.debug("caught interrupted exception - ", e);
+		log.debug("Continuous identify...");
+		try {
+			synchronized (this.adapter) {
+				this.adapter.identify(sourceIds);	
 			}
+		} catch (HardwareException e) {
+			throw new IllegalStateException("identify failed on reader " + adapter.getName(), e);
 		}
 	}	
 	
 	/**
-	 * Starts an instance of IdentifyThread.
+	 * Starts an instance of IdentifyThread. The polling starts suspended.
 	 */
-	public void start(){
-		this.identification = new Thread(this, "IdentifyThread-" + getAdapter().getName());
+	public synchronized void start(){
 		log.debug("Trying to start Scanning...");
+		if (null == scheduler) {
+			scheduler = ALEApplicationContext.getBean(PollingScheduler.class);
+		}
+		if (null != task) {
+			scheduler.cancel(task);
+		}
+		task = scheduler.schedule(getAdapter().getName(), this, frequency);
+		if (!suspendThread) {
+			task.resume();
+		}
 		this.isRunning=true;
-		this.identification.start();
-		
 	}
 	
 	/**
 	 * Suspends the IdentifyThread.
 	 */
 	public synchronized void suspendIdentify(){
+		log.debug("Scanning suspended...");
 		this.suspendThread=true;
 		this.isRunning=false;
+		if (null != task) {
+			task.suspend();
+		}
 	}
 	
 	/**
@@ -149,7 +143,9 @@ public class IdentifyThread implements Runnable {
 		this.suspendThread=false;
 		log.debug("Scanning resumed...");
 		this.isRunning=true;
-		notify();
+		if (null != task) {
+			task.resume();
+		}
 	}
 	
 	/**
@@ -157,7 +153,10 @@ public class IdentifyThread implements Runnable {
 	 */
 	public synchronized void stopIdentify(){
 		log.debug("Scanning stopped...");
-		this.identification=null;
+		if (null != task) {
+			scheduler.cancel(task);
+			task = null;
+		}
 		this.isRunning=false;
 	}
 	
@@ -171,7 +170,8 @@ public class IdentifyThread implements Runnable {
 
 	/**
 	 * Sets the polling frequency. The frequency is given in milliseconds 
-	 * indicating how long the thread has to sleep between two executions.
+	 * indicating the period between the start of two polls. The frequency 
+	 * is applied when the thread is started.
 	 * @param frequency the polling frequency in milliseconds.
 	 */
 	public void setPollingFrequency(long frequency) {
@@ -201,4 +201,20 @@ public class IdentifyThread implements Runnable {
 	public BaseReader getAdapter() {
 		return this.adapter;
 	}
+	
+	/**
+	 * Gets the polling task holding the polling statistics of the reader.
+	 * @return the polling task or null if the thread is not started.
+	 */
+	public synchronized PollingScheduler.Task getTask() {
+		return task;
+	}
+	
+	/**
+	 * allow to inject the scheduler running the polls (by default the scheduler of the application context).
+	 * @param scheduler the polling scheduler.
+	 */
+	public synchronized void setScheduler(PollingScheduler scheduler) {
+		this.scheduler = scheduler;
+	}
 }
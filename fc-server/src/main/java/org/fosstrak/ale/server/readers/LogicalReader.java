@@ -28,6 +28,7 @@ import java.util.Observable;
 
 import org.apache.log4j.Logger;
 import org.fosstrak.ale.exception.ImplementationException;
+import org.fosstrak.ale.server.metrics.ReaderMetrics;
 import org.fosstrak.ale.xsd.ale.epcglobal.LRProperty;
 import org.fosstrak.ale.xsd.ale.epcglobal.LRSpec;
 
@@ -67,6 +68,9 @@ public abstract class LogicalReader extends Observable {
 	 */
 	protected LogicalReaderManager logicalReaderManager;
 	
+	/** the counters of this reader, replaced by the registered ones when defined through the logical reader manager. */
+	protected volatile ReaderMetrics metrics = new ReaderMetrics();
+	
 	/**
 	 * constructor for the logical reader.
 	 */
@@ -81,6 +85,21 @@ public abstract class LogicalReader extends Observable {
 		this.logicalReaderManager = logicalReaderManager;
 	}
 	
+	/**
+	 * @return the counters of this reader.
+	 */
+	public final ReaderMetrics getMetrics() {
+		return metrics;
+	}
+	
+	/**
+	 * set the counters of this reader (usually obtained from the metrics registry).
+	 * @param metrics the counters.
+	 */
+	public final void setMetrics(ReaderMetrics metrics) {
+		this.metrics = metrics;
+	}
+	
 	/**
 	 * initializes a Logical Reader. this method must be called befor the Reader can
 	 * be used.
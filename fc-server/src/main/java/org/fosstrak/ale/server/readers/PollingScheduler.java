@@ -0,0 +1,404 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+package org.fosstrak.ale.server.readers;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.apache.log4j.Logger;
+import org.fosstrak.ale.server.ALESettings;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * schedules the polling of the readers that do not deliver their tags by themselves.<br/>
+ * one timer thread triggers the polls at a fixed rate, the polls are run on a bounded 
+ * pool of worker threads. a reader is never polled twice at the same time: if the 
+ * previous poll of a reader is still running (or all the workers are busy) when the next 
+ * poll is due, the poll is skipped and counted as overrun.
+ * 
+ * @author agent
+ *
+ */
+@Service("pollingScheduler")
+public class PollingScheduler {
+	
+	/** default number of worker threads. */
+	public static final int DEFAULT_THREADS = 4;
+	
+	/** the shortest polling period in milliseconds. */
+	public static final long MIN_PERIOD_MS = 1;
+	
+	/** logger. */
+	private static final Logger LOG = Logger.getLogger(PollingScheduler.class);
+	
+	/**
+	 * the polling of one reader, holding the polling statistics of the reader.
+	 */
+	public static final class Task implements Runnable {
+		
+		/** the name of the polled reader. */
+		private final String name;
+		
+		/** the poll. */
+		private final Runnable poll;
+		
+		/** the polling period in milliseconds. */
+		private final long period;
+		
+		/** the scheduler running the task. */
+		private final PollingScheduler scheduler;
+		
+		/** the handle of the timer. */
+		private volatile ScheduledFuture<?> future;
+		
+		/** true while a poll is running or queued. */
+		private final AtomicBoolean busy = new AtomicBoolean(false);
+		
+		/** whether the polling is suspended. */
+		private volatile boolean suspended = true;
+		
+		/** true if the last due poll got skipped (to log an overrun only once). */
+		private volatile boolean overrun = false;
+		
+		private final AtomicLong polls = new AtomicLong(0);
+		
+		private final AtomicLong overruns = new AtomicLong(0);
+		
+		private final AtomicLong failures = new AtomicLong(0);
+		
+		private final AtomicLong totalNanos = new AtomicLong(0);
+		
+		private volatile long lastNanos = 0;
+		
+		private volatile long maxNanos = 0;
+		
+		/** runs the poll on a worker thread. */
+		private final Runnable worker = new Runnable() {
+			public void run() {
+				poll();
+			}
+		};
+		
+		private Task(String name, Runnable poll, long period, PollingScheduler scheduler) {
+			this.name = name;
+			this.poll = poll;
+			this.period = period;
+			this.scheduler = scheduler;
+		}
+		
+		/**
+		 * triggered by the timer: hand the poll over to a worker unless the previous poll is still running.
+		 */
+		public void run() {
+			if (suspended) {
+				return;
+			}
+			final ThreadPoolExecutor workers = scheduler.workers;
+			if (null == workers) {
+				return;
+			}
+			if (!busy.compareAndSet(false, true)) {
+				skip("the previous poll is still running");
+				return;
+			}
+			try {
+				workers.execute(worker);
+			} catch (RejectedExecutionException e) {
+				busy.set(false);
+				skip("all the polling workers are busy");
+			}
+		}
+		
+		/**
+		 * count a skipped poll.
+		 * @param reason the reason why the poll got skipped.
+		 */
+		private void skip(String reason) {
+			overruns.incrementAndGet();
+			if (!overrun) {
+				overrun = true;
+				LOG.warn("polling of reader " + name + " overruns its period of " + period + "ms: " + reason);
+			}
+		}
+		
+		/**
+		 * run the poll and record its duration.
+		 */
+		private void poll() {
+			final long start = System.nanoTime();
+			try {
+				if (!suspended) {
+					poll.run();
+					polls.incrementAndGet();
+					overrun = false;
+				}
+			} catch (Exception e) {
+				failures.incrementAndGet();
+				LOG.error("polling of reader " + name + " failed", e);
+			} finally {
+				final long duration = System.nanoTime() - start;
+				lastNanos = duration;
+				totalNanos.addAndGet(duration);
+				if (duration > maxNanos) {
+					maxNanos = duration;
+				}
+				busy.set(false);
+			}
+		}
+		
+		/**
+		 * suspend the polling.
+		 */
+		public void suspend() {
+			suspended = true;
+		}
+		
+		/**
+		 * resume the polling.
+		 */
+		public void resume() {
+			suspended = false;
+		}
+		
+		/**
+		 * @return true if the polling is suspended.
+		 */
+		public boolean isSuspended() {
+			return suspended;
+		}
+		
+		/**
+		 * @return true if a poll is currently running.
+		 */
+		public boolean isBusy() {
+			return busy.get();
+		}
+		
+		/**
+		 * @return the name of the polled reader.
+		 */
+		public String getName() {
+			return name;
+		}
+		
+		/**
+		 * @return the polling period in milliseconds.
+		 */
+		public long getPeriod() {
+			return period;
+		}
+		
+		/**
+		 * @return the number of polls run.
+		 */
+		public long getPollCount() {
+			return polls.get();
+		}
+		
+		/**
+		 * @return the number of polls skipped because the previous poll was still running or all workers were busy.
+		 */
+		public long getOverrunCount() {
+			return overruns.get();
+		}
+		
+		/**
+		 * @return the number of polls that failed with an exception.
+		 */
+		public long getFailureCount() {
+			return failures.get();
+		}
+		
+		/**
+		 * @return the duration of the last poll in milliseconds.
+		 */
+		public double getLastDuration() {
+			return lastNanos / 1e6;
+		}
+		
+		/**
+		 * @return the duration of the longest poll in milliseconds.
+		 */
+		public double getMaxDuration() {
+			return maxNanos / 1e6;
+		}
+		
+		/**
+		 * @return the average duration of a poll in milliseconds.
+		 */
+		public double getAverageDuration() {
+			long count = polls.get() + failures.get();
+			return (count == 0) ? 0 : totalNanos.get() / 1e6 / count;
+		}
+	}
+	
+	/** the timer triggering the polls. */
+	private ScheduledExecutorService timer;
+	
+	/** the workers running the polls. */
+	private volatile ThreadPoolExecutor workers;
+	
+	/** the number of worker threads. */
+	private int threads = DEFAULT_THREADS;
+	
+	/** the scheduled tasks by reader name. */
+	private final ConcurrentMap<String, Task> tasks = new ConcurrentHashMap<String, Task>();
+	
+	// autowired
+	private ALESettings aleSettings;
+	
+	/**
+	 * create a polling scheduler. the scheduler is configured from the ALE settings on initialization.
+	 */
+	public PollingScheduler() {
+	}
+	
+	/**
+	 * create a polling scheduler.
+	 * @param threads the number of worker threads.
+	 */
+	public PollingScheduler(int threads) {
+		this.threads = threads;
+	}
+	
+	/**
+	 * read the number of worker threads from the ALE settings.
+	 */
+	@PostConstruct
+	public void initialize() {
+		if (null != aleSettings && aleSettings.getReaderPollingThreads() > 0) {
+			threads = aleSettings.getReaderPollingThreads();
+		}
+	}
+	
+	/**
+	 * create the timer and the workers if not yet done.
+	 */
+	private synchronized void ensureStarted() {
+		if (null != timer) {
+			return;
+		}
+		final int size = Math.max(1, threads);
+		timer = Executors.newSingleThreadScheduledExecutor(createThreadFactory("PollingTimer"));
+		workers = new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS, 
+				new ArrayBlockingQueue<Runnable>(size), createThreadFactory("PollingWorker"), 
+				new ThreadPoolExecutor.AbortPolicy());
+		LOG.debug("started polling scheduler with " + size + " workers.");
+	}
+	
+	/**
+	 * @param prefix the prefix of the thread names.
+	 * @return a factory creating numbered daemon threads.
+	 */
+	private ThreadFactory createThreadFactory(final String prefix) {
+		return new ThreadFactory() {
+			private final AtomicInteger count = new AtomicInteger(0);
+			public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, prefix + "-" + count.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		};
+	}
+	
+	/**
+	 * schedule the polling of a reader. the polling is suspended until the task gets resumed.
+	 * @param name the name of the reader.
+	 * @param poll the poll.
+	 * @param period the polling period in milliseconds.
+	 * @return the task.
+	 */
+	public Task schedule(String name, Runnable poll, long period) {
+		ensureStarted();
+		final long rate = Math.max(MIN_PERIOD_MS, period);
+		Task task = new Task(name, poll, rate, this);
+		synchronized (this) {
+			task.future = timer.scheduleAtFixedRate(task, 0, rate, TimeUnit.MILLISECONDS);
+		}
+		Task previous = tasks.put(name, task);
+		if (null != previous) {
+			cancel(previous);
+		}
+		return task;
+	}
+	
+	/**
+	 * stop polling a reader.
+	 * @param task the task of the reader.
+	 */
+	public void cancel(Task task) {
+		task.suspend();
+		ScheduledFuture<?> future = task.future;
+		if (null != future) {
+			future.cancel(false);
+		}
+		tasks.remove(task.getName(), task);
+	}
+	
+	/**
+	 * @return the tasks of the polled readers by reader name.
+	 */
+	public Map<String, Task> getTasks() {
+		return Collections.unmodifiableMap(tasks);
+	}
+	
+	/**
+	 * stop the timer and the workers.
+	 */
+	@PreDestroy
+	public synchronized void shutdown() {
+		for (Task task : tasks.values()) {
+			task.suspend();
+		}
+		tasks.clear();
+		if (null != timer) {
+			timer.shutdownNow();
+			workers.shutdownNow();
+			timer = null;
+			workers = null;
+		}
+	}
+	
+	/**
+	 * allow to inject the ALE settings.
+	 * @param aleSettings the ALE settings.
+	 */
+	@Autowired
+	public void setAleSettings(ALESettings aleSettings) {
+		this.aleSettings = aleSettings;
+	}
+}
@@ -0,0 +1,406 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.server.readers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.log4j.Logger;
+import org.fosstrak.ale.server.Tag;
+import org.fosstrak.ale.util.HexUtil;
+
+/**
+ * reader-side smoothing stage of a base reader. repeated sightings of a tag within 
+ * the repeat window are dropped before they are handed to the observers. optionally 
+ * a tag is only delivered once it is observed (glimpsed/observed/lost hysteresis as 
+ * defined by the ALE LRSpec properties).
+ * <br/>
+ * the state of the tags is kept in an open addressing hash table with primitive 
+ * columns. entries not seen for longer than the retention time are dropped whenever 
+ * the table is resized.
+ * @author agent
+ *
+ */
+public class TagSmoothingFilter {
+	
+	/** LRSpec property: repeats of a tag within this window (ms) are suppressed. */
+	public static final String PROPERTY_REPEAT_WINDOW = "RepeatSuppressionWindow";
+	
+	/** LRSpec property: a glimpsed tag not seen for this time (ms) is forgotten. */
+	public static final String PROPERTY_GLIMPSED_TIMEOUT = "GlimpsedTimeout";
+	
+	/** LRSpec property: a glimpsed tag seen for at least this time (ms) becomes observed. */
+	public static final String PROPERTY_OBSERVED_TIME_THRESHOLD = "ObservedTimeThreshold";
+	
+	/** LRSpec property: a glimpsed tag seen at least this many times becomes observed. */
+	public static final String PROPERTY_OBSERVED_COUNT_THRESHOLD = "ObservedCountThreshold";
+	
+	/** LRSpec property: an observed tag not seen for this time (ms) is lost. */
+	public static final String PROPERTY_LOST_TIMEOUT = "LostTimeout";
+	
+	/** default for the glimpsed and the lost timeout if not specified. */
+	public static final long DEFAULT_TIMEOUT = 1000;
+	
+	/** logger. */
+	private static final Logger LOG = Logger.getLogger(TagSmoothingFilter.class);
+	
+	/** initial capacity of the table (power of two). */
+	private static final int INITIAL_CAPACITY = 256;
+	
+	/** state of a tag that has been seen but is not yet observed. */
+	private static final byte GLIMPSED = 1;
+	
+	/** state of an observed tag. */
+	private static final byte OBSERVED = 2;
+	
+	/** marker for a tag not yet delivered. */
+	private static final long NEVER = Long.MIN_VALUE;
+	
+	/** the repeat window. */
+	private final long repeatWindow;
+	
+	/** whether the glimpsed/observed hysteresis is enabled. */
+	private final boolean hysteresis;
+	
+	/** the glimpsed timeout. */
+	private final long glimpsedTimeout;
+	
+	/** the observed time threshold, -1 if not used. */
+	private final long observedTimeThreshold;
+	
+	/** the observed count threshold, -1 if not used. */
+	private final int observedCountThreshold;
+	
+	/** the lost timeout. */
+	private final long lostTimeout;
+	
+	/** entries not seen for longer than this time are dropped. */
+	private final long retention;
+	
+	/** the tag keys, null for empty slots. */
+	private String[] keys;
+	
+	/** state per slot. */
+	private byte[] states;
+	
+	/** first sighting per slot. */
+	private long[] firstSeen;
+	
+	/** last sighting per slot. */
+	private long[] lastSeen;
+	
+	/** last delivery per slot. */
+	private long[] lastDelivered;
+	
+	/** sightings per slot since glimpsed. */
+	private int[] counts;
+	
+	/** number of used slots. */
+	private int size = 0;
+	
+	/** number of delivered sightings. */
+	private long delivered = 0;
+	
+	/** number of suppressed sightings. */
+	private long suppressed = 0;
+	
+	/**
+	 * creates a smoothing filter.
+	 * @param repeatWindow repeats within this window (ms) are suppressed, 0 to disable.
+	 * @param glimpsedTimeout the glimpsed timeout (ms).
+	 * @param observedTimeThreshold the observed time threshold (ms), -1 if not used.
+	 * @param observedCountThreshold the observed count threshold, -1 if not used.
+	 * @param lostTimeout the lost timeout (ms).
+	 */
+	public TagSmoothingFilter(long repeatWindow, long glimpsedTimeout, long observedTimeThreshold, int observedCountThreshold, long lostTimeout) {
+		this.repeatWindow = Math.max(0, repeatWindow);
+		this.hysteresis = (observedTimeThreshold >= 0) || (observedCountThreshold >= 0);
+		this.glimpsedTimeout = glimpsedTimeout;
+		this.observedTimeThreshold = observedTimeThreshold;
+		this.observedCountThreshold = observedCountThreshold;
+		this.lostTimeout = lostTimeout;
+		this.retention = hysteresis ? Math.max(this.repeatWindow, Math.max(glimpsedTimeout, lostTimeout)) : this.repeatWindow;
+		allocate(INITIAL_CAPACITY);
+	}
+	
+	/**
+	 * creates a smoothing filter from the properties of a logical reader.
+	 * @param properties the properties of the logical reader.
+	 * @return the filter or null if no smoothing is configured.
+	 */
+	public static TagSmoothingFilter create(Map<String, String> properties) {
+		long repeatWindow = getLong(properties, PROPERTY_REPEAT_WINDOW, 0);
+		long observedTimeThreshold = getLong(properties, PROPERTY_OBSERVED_TIME_THRESHOLD, -1);
+		int observedCountThreshold = (int) getLong(properties, PROPERTY_OBSERVED_COUNT_THRESHOLD, -1);
+		if ((repeatWindow <= 0) && (observedTimeThreshold < 0) && (observedCountThreshold < 0)) {
+			return null;
+		}
+		long glimpsedTimeout = getLong(properties, PROPERTY_GLIMPSED_TIMEOUT, DEFAULT_TIMEOUT);
+		long lostTimeout = getLong(properties, PROPERTY_LOST_TIMEOUT, DEFAULT_TIMEOUT);
+		return new TagSmoothingFilter(repeatWindow, glimpsedTimeout, observedTimeThreshold, observedCountThreshold, lostTimeout);
+	}
+	
+	/**
+	 * reads a numeric property.
+	 * @param properties the properties.
+	 * @param name the name of the property.
+	 * @param defaultValue the value if not set or invalid.
+	 * @return the value of the property.
+	 */
+	private static long getLong(Map<String, String> properties, String name, long defaultValue) {
+		String value = properties.get(name);
+		if (null == value) {
+			return defaultValue;
+		}
+		try {
+			return Long.parseLong(value.trim());
+		} catch (NumberFormatException e) {
+			LOG.error("invalid value for smoothing property " + name + ": " + value + ", ignoring.");
+			return defaultValue;
+		}
+	}
+	
+	/**
+	 * filters the argument of a reader notification.
+	 * @param arg either one tag or a list of tags.
+	 * @return the tag or the list of the tags to deliver, null if nothing is left.
+	 */
+	public Object filter(Object arg) {
+		return filter(arg, System.currentTimeMillis());
+	}
+	
+	/**
+	 * filters the argument of a reader notification.
+	 * @param arg either one tag or a list of tags.
+	 * @param now the current time.
+	 * @return the tag or the list of the tags to deliver, null if nothing is left.
+	 */
+	public synchronized Object filter(Object arg, long now) {
+		if (arg instanceof Tag) {
+			return accept((Tag) arg, now) ? arg : null;
+		} else if (arg instanceof List) {
+			List<?> tags = (List<?>) arg;
+			List<Tag> result = new ArrayList<Tag>(tags.size());
+			for (Object tag : tags) {
+				if ((tag instanceof Tag) && accept((Tag) tag, now)) {
+					result.add((Tag) tag);
+				}
+			}
+			return result.isEmpty() ? null : result;
+		}
+		return arg;
+	}
+	
+	/**
+	 * records one sighting of a tag.
+	 * @param tag the tag.
+	 * @param now the time of the sighting.
+	 * @return true if the sighting is delivered, false if suppressed.
+	 */
+	private boolean accept(Tag tag, long now) {
+		String key = keyOf(tag);
+		if (null == key) {
+			delivered++;
+			return true;
+		}
+		int slot = slotOf(key, now);
+		if ((states[slot] == 0) || (now - lastSeen[slot] > timeoutOf(states[slot]))) {
+			states[slot] = hysteresis ? GLIMPSED : OBSERVED;
+			firstSeen[slot] = now;
+			counts[slot] = 0;
+			lastDelivered[slot] = NEVER;
+		}
+		counts[slot]++;
+		lastSeen[slot] = now;
+		
+		if (states[slot] == GLIMPSED) {
+			if (((observedCountThreshold >= 0) && (counts[slot] >= observedCountThreshold)) 
+					|| ((observedTimeThreshold >= 0) && (now - firstSeen[slot] >= observedTimeThreshold))) {
+				states[slot] = OBSERVED;
+			} else {
+				suppressed++;
+				return false;
+			}
+		}
+		if ((lastDelivered[slot] != NEVER) && (now - lastDelivered[slot] < repeatWindow)) {
+			suppressed++;
+			return false;
+		}
+		lastDelivered[slot] = now;
+		delivered++;
+		return true;
+	}
+	
+	/**
+	 * @param state the state of a tag.
+	 * @return the time after which a tag in this state is forgotten.
+	 */
+	private long timeoutOf(byte state) {
+		if (!hysteresis) {
+			return repeatWindow;
+		}
+		return (state == OBSERVED) ? lostTimeout : glimpsedTimeout;
+	}
+	
+	/**
+	 * @param tag the tag.
+	 * @return the key identifying the tag, null if the tag has no id.
+	 */
+	private static String keyOf(Tag tag) {
+		if (null != tag.getTagAsBinary()) {
+			return tag.getTagAsBinary();
+		}
+		if (null != tag.getTagIDAsPureURI()) {
+			return tag.getTagIDAsPureURI();
+		}
+		if (null != tag.getTagID()) {
+			return HexUtil.byteArrayToHexString(tag.getTagID());
+		}
+		return null;
+	}
+	
+	/**
+	 * finds the slot of the given key, a new slot is used if the key is not in the table.
+	 * @param key the key.
+	 * @param now the current time (used to drop stale entries when resizing).
+	 * @return the slot.
+	 */
+	private int slotOf(String key, long now) {
+		int mask = keys.length - 1;
+		int slot = mix(key.hashCode()) & mask;
+		while (null != keys[slot]) {
+			if (keys[slot].equals(key)) {
+				return slot;
+			}
+			slot = (slot + 1) & mask;
+		}
+		if ((size + 1) * 2 > keys.length) {
+			resize(now);
+			return slotOf(key, now);
+		}
+		keys[slot] = key;
+		size++;
+		return slot;
+	}
+	
+	/**
+	 * rebuilds the table without the stale entries, grows it if still more than a quarter full.
+	 * @param now the current time.
+	 */
+	private void resize(long now) {
+		String[] oldKeys = keys;
+		byte[] oldStates = states;
+		long[] oldFirstSeen = firstSeen;
+		long[] oldLastSeen = lastSeen;
+		long[] oldLastDelivered = lastDelivered;
+		int[] oldCounts = counts;
+		
+		int live = 0;
+		for (int i = 0; i < oldKeys.length; i++) {
+			if ((null != oldKeys[i]) && (now - oldLastSeen[i] <= retention)) {
+				live++;
+			}
+		}
+		int capacity = INITIAL_CAPACITY;
+		while (live * 4 >= capacity) {
+			capacity <<= 1;
+		}
+		allocate(capacity);
+		
+		int mask = capacity - 1;
+		for (int i = 0; i < oldKeys.length; i++) {
+			if ((null != oldKeys[i]) && (now - oldLastSeen[i] <= retention)) {
+				int slot = mix(oldKeys[i].hashCode()) & mask;
+				while (null != keys[slot]) {
+					slot = (slot + 1) & mask;
+				}
+				keys[slot] = oldKeys[i];
+				states[slot] = oldStates[i];
+				firstSeen[slot] = oldFirstSeen[i];
+				lastSeen[slot] = oldLastSeen[i];
+				lastDelivered[slot] = oldLastDelivered[i];
+				counts[slot] = oldCounts[i];
+				size++;
+			}
+		}
+		LOG.debug("resized smoothing table to " + capacity + " slots, " + size + " tags retained.");
+	}
+	
+	/**
+	 * allocates empty columns.
+	 * @param capacity the number of slots (power of two).
+	 */
+	private void allocate(int capacity) {
+		keys = new String[capacity];
+		states = new byte[capacity];
+		firstSeen = new long[capacity];
+		lastSeen = new long[capacity];
+		lastDelivered = new long[capacity];
+		counts = new int[capacity];
+		size = 0;
+	}
+	
+	/**
+	 * spreads the bits of a hash code.
+	 * @param hash the hash code.
+	 * @return the spread hash code.
+	 */
+	private static int mix(int hash) {
+		int h = hash * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+	
+	/**
+	 * @return the number of tags currently tracked.
+	 */
+	public synchronized int size() {
+		return size;
+	}
+	
+	/**
+	 * @return the number of delivered sightings.
+	 */
+	public synchronized long getDelivered() {
+		return delivered;
+	}
+	
+	/**
+	 * @return the number of suppressed sightings.
+	 */
+	public synchronized long getSuppressed() {
+		return suppressed;
+	}
+	
+	/**
+	 * @return the repeat window in milliseconds.
+	 */
+	public long getRepeatWindow() {
+		return repeatWindow;
+	}
+	
+	/**
+	 * @return true if the glimpsed/observed hysteresis is enabled.
+	 */
+	public boolean isHysteresis() {
+		return hysteresis;
+	}
+}
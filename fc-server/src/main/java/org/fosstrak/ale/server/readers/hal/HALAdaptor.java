@@ -1,7 +1,6 @@
 package org.fosstrak.ale.server.readers.hal;
 
 import java.net.URL;
-import java.util.LinkedList;
 import java.util.List;
 
 import org.apache.log4j.Logger;
@@ -9,13 +8,11 @@ import org.fosstrak.ale.exception.ImplementationException;
 import org.fosstrak.ale.server.Tag;
 import org.fosstrak.ale.server.readers.BaseReader;
 import org.fosstrak.ale.server.readers.IdentifyThread;
-import org.fosstrak.ale.server.util.TagHelper;
 import org.fosstrak.ale.xsd.ale.epcglobal.LRSpec;
 import org.fosstrak.hal.HardwareAbstraction;
 import org.fosstrak.hal.HardwareException;
 import org.fosstrak.hal.Observation;
 import org.fosstrak.hal.Trigger;
-import org.fosstrak.tdt.TDTEngine;
 
 /**
  * adaptor for all HAL devices.
@@ -327,51 +324,8 @@ public class HALAdaptor extends BaseReader {
 			}
 			// only process if there are tags
 			if (observations.length > 0) {
-				List<Tag> tags = new LinkedList<Tag>();
-				
-				for (Observation observation : observations) {
-					try {
-						// For each tag create a new Tag
-						for (String tagobserved : observation.getIds()) {
-							Tag tag = new Tag(getName());
-							
-							TDTEngine tdt = TagHelper.getTDTEngine();
-							String bin = tdt.hex2bin(tagobserved);
-							tag.setTagAsBinary(bin);
-							
-							// 96 bit length
-							if ((bin.length() > 64) && (bin.length() <= 96)) {	
-								// leading 00 gets truncated away by the big int. 
-								if (bin.startsWith("1") && 
-										(bin.length() < 96)) {
-									
-									bin = "00" + bin;
-									tag.setTagAsBinary(bin);
-								}
-							}
-							
-							try {
-								tag.setTagIDAsPureURI(
-										TagHelper.convert_to_PURE_IDENTITY(
-											null,
-											null,
-											null,
-											bin)
-									);
-							} catch (Exception myE) {
-								LOG.debug("exception when converting tag: ", myE);
-							}
-
-							tag.setTimestamp(observation.getTimestamp());
-							tags.add(tag);
-						}	// \\END FOR
-					} catch (Exception e) {
-						LOG.debug("exception when processing tags: ", e);
-					}
-				}
-				
 				// send the tags as a list
-				addTags(tags);
+				addTags(ObservationDecoder.decode(getName(), observations));
 			}
 		}
 		return observations;
@@ -0,0 +1,147 @@
+package org.fosstrak.ale.server.readers.hal;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.log4j.Logger;
+import org.fosstrak.ale.server.Tag;
+import org.fosstrak.ale.server.util.EPCDecoder;
+import org.fosstrak.ale.server.util.TagConversionCache;
+import org.fosstrak.ale.server.util.TagConversionCache.Conversion;
+import org.fosstrak.ale.server.util.TagHelper;
+import org.fosstrak.hal.Observation;
+import org.fosstrak.tdt.TDTEngine;
+
+/**
+ * decodes the observations of a HAL device into tags. the raw tag IDs are converted 
+ * through the shared conversion cache, EPC-96 tags of the common coding schemes are 
+ * decoded by bit operations, the TDT is used for all other tags.
+ * @author agent
+ *
+ */
+public final class ObservationDecoder {
+	
+	/** logger. */
+	private static final Logger LOG = Logger.getLogger(ObservationDecoder.class);
+	
+	/** tags with more hex digits than a 64 bit tag are treated as 96 bit tags. */
+	private static final int MAX_HEX_DIGITS_64 = 16;
+	
+	/**
+	 * private utility class.
+	 */
+	private ObservationDecoder() {
+	}
+	
+	/**
+	 * decode all the tag IDs of the given observations.
+	 * @param readerName the name of the reader the observations originate from.
+	 * @param observations the observations.
+	 * @return the tags, one per tag ID.
+	 */
+	public static List<Tag> decode(String readerName, Observation[] observations) {
+		return decode(readerName, observations, TagConversionCache.getShared());
+	}
+	
+	/**
+	 * decode all the tag IDs of the given observations.
+	 * @param readerName the name of the reader the observations originate from.
+	 * @param observations the observations.
+	 * @param cache the conversion cache.
+	 * @return the tags, one per tag ID.
+	 */
+	public static List<Tag> decode(String readerName, Observation[] observations, TagConversionCache cache) {
+		int size = 0;
+		for (Observation observation : observations) {
+			if ((null != observation) && (null != observation.getIds())) {
+				size += observation.getIds().length;
+			}
+		}
+		List<Tag> tags = new ArrayList<Tag>(size);
+		for (Observation observation : observations) {
+			if ((null == observation) || (null == observation.getIds())) {
+				continue;
+			}
+			final long timestamp = observation.getTimestamp();
+			for (String id : observation.getIds()) {
+				Conversion conversion = convert(id, cache);
+				if (null == conversion) {
+					continue;
+				}
+				Tag tag = new Tag(readerName);
+				tag.setTagAsBinary(conversion.getBinary());
+				tag.setTagIDAsPureURI(conversion.getPureIdentity());
+				tag.setTimestamp(timestamp);
+				tags.add(tag);
+			}
+		}
+		return tags;
+	}
+	
+	/**
+	 * convert a raw tag ID.
+	 * @param id the tag ID as hex string.
+	 * @param cache the conversion cache.
+	 * @return the conversion or null if the ID is not a valid hex string.
+	 */
+	static Conversion convert(String id, TagConversionCache cache) {
+		if (null == id) {
+			return null;
+		}
+		Conversion conversion = cache.get(id);
+		if (null == conversion) {
+			conversion = decodeEPC96(id);
+			if (null == conversion) {
+				conversion = convertByTDT(id);
+			}
+			if (null != conversion) {
+				cache.put(id, conversion);
+			}
+		}
+		return conversion;
+	}
+	
+	/**
+	 * decode an EPC-96 by bit operations.
+	 * @param id the tag ID as hex string.
+	 * @return the conversion or null if the ID is no EPC-96 of a coding scheme supported by the {@link EPCDecoder}.
+	 */
+	private static Conversion decodeEPC96(String id) {
+		if (id.length() <= MAX_HEX_DIGITS_64) {
+			return null;
+		}
+		byte[] epc = EPCDecoder.fromHex(id);
+		String pureIdentity = EPCDecoder.decodePureIdentity(epc);
+		if (null == pureIdentity) {
+			return null;
+		}
+		return new Conversion(EPCDecoder.toBinaryString(epc), pureIdentity);
+	}
+	
+	/**
+	 * convert a tag ID through the TDT.
+	 * @param id the tag ID as hex string.
+	 * @return the conversion or null if the ID is not a valid hex string.
+	 */
+	private static Conversion convertByTDT(String id) {
+		String bin = null;
+		try {
+			TDTEngine tdt = TagHelper.getTDTEngine();
+			bin = tdt.hex2bin(id);
+		} catch (Exception e) {
+			LOG.debug("exception when processing tag: ", e);
+			return null;
+		}
+		// 96 bit length: leading 00 gets truncated away by the big int. 
+		if ((bin.length() > 64) && (bin.length() < 96) && bin.startsWith("1")) {
+			bin = "00" + bin;
+		}
+		String pureIdentity = null;
+		try {
+			pureIdentity = TagHelper.convert_to_PURE_IDENTITY(Integer.toString(bin.length()), null, null, bin);
+		} catch (Exception e) {
+			LOG.debug("exception when converting tag: ", e);
+		}
+		return new Conversion(bin, pureIdentity);
+	}
+}
@@ -37,6 +37,7 @@ import org.fosstrak.ale.exception.SecurityException;
 import org.fosstrak.ale.exception.ValidationException;
 import org.fosstrak.ale.server.ALE;
 import org.fosstrak.ale.server.ALESettings;
+import org.fosstrak.ale.server.metrics.MetricsRegistry;
 import org.fosstrak.ale.server.persistence.RemoveConfig;
 import org.fosstrak.ale.server.persistence.WriteConfig;
 import org.fosstrak.ale.server.readers.BaseReader;
@@ -79,6 +80,8 @@ public class LogicalReaderManagerImpl implements LogicalReaderManager {
 	@Autowired
 	private ALE ale;
 	
+	private MetricsRegistry metricsRegistry = new MetricsRegistry();
+	
 
 	@Override
 	public String getVendorVersion() throws ImplementationException {
@@ -243,6 +246,7 @@ public class LogicalReaderManagerImpl implements LogicalReaderManager {
 		persistenceRemoveAPI.removeLRSpec(name);
 		
 		logicalReaders.remove(name);
+		metricsRegistry.removeReaderMetrics(name);
 	}
 
 	@Override
@@ -298,6 +302,7 @@ public class LogicalReaderManagerImpl implements LogicalReaderManager {
 		throwValidationExceptionOnNullInput(spec, "parameter spec is null");
 		
 		LogicalReader logRead = getReaderProvider().createReader(name, spec);
+		logRead.setMetrics(metricsRegistry.getReaderMetrics(name));
 		// establish connection when basereader
 		if (logRead instanceof BaseReader) {
 			((BaseReader)logRead).connectReader();
@@ -432,6 +437,15 @@ public class LogicalReaderManagerImpl implements LogicalReaderManager {
 		this.persistenceRemoveAPI = persistenceRemoveAPI;
 	}
 
+	/**
+	 * allow to inject the metrics registry collecting the counters of the readers.
+	 * @param metricsRegistry the metrics registry.
+	 */
+	@Autowired
+	public void setMetricsRegistry(MetricsRegistry metricsRegistry) {
+		this.metricsRegistry = metricsRegistry;
+	}
+
     /**
      * allow to inject the persistence write API.
      * @param persistenceWriteAPI the persistence write API.
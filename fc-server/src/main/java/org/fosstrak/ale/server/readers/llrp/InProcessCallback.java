@@ -0,0 +1,92 @@
+package org.fosstrak.ale.server.readers.llrp;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.log4j.Logger;
+import org.fosstrak.llrp.client.MessageHandler;
+import org.llrp.ltk.generated.messages.RO_ACCESS_REPORT;
+import org.llrp.ltk.types.LLRPMessage;
+
+/**
+ * in-process counterpart of the {@link Callback}. if the llrp adaptor runs in the 
+ * same JVM as the filtering and collection, the adaptor management hands the already 
+ * decoded RO_ACCESS_REPORTs to this message handler. the handler routes them to the 
+ * LLRP adaptors registered for the reader. thus the reports are not parsed a second 
+ * time from the byte[] delivered to the RMI callback.
+ * @author agent
+ *
+ */
+public class InProcessCallback implements MessageHandler {
+
+	/** logger */
+	private static final Logger LOG = Logger.getLogger(InProcessCallback.class);
+	
+	/** the name of the llrp adaptor whose messages are routed. */
+	private final String adaptorName;
+	
+	/** the LLRP adaptors hashed by the name of the physical reader they receive the reports from. */
+	private final Map<String, List<LLRPAdaptor>> adaptors = new ConcurrentHashMap<String, List<LLRPAdaptor>> ();
+	
+	/**
+	 * creates an in-process callback for the messages of the given llrp adaptor.
+	 * @param adaptorName the name of the llrp adaptor.
+	 */
+	public InProcessCallback(String adaptorName) {
+		this.adaptorName = adaptorName;
+	}
+	
+	/**
+	 * register an LLRP adaptor for the reports of a physical reader.
+	 * @param readerName the name of the physical reader.
+	 * @param adaptor the adaptor to notify.
+	 */
+	public synchronized void register(String readerName, LLRPAdaptor adaptor) {
+		List<LLRPAdaptor> registered = adaptors.get(readerName);
+		if (null == registered) {
+			registered = new CopyOnWriteArrayList<LLRPAdaptor> ();
+			adaptors.put(readerName, registered);
+		}
+		if (!registered.contains(adaptor)) {
+			registered.add(adaptor);
+		}
+	}
+	
+	/**
+	 * deregister an LLRP adaptor from the reports of a physical reader.
+	 * @param readerName the name of the physical reader.
+	 * @param adaptor the adaptor to remove.
+	 */
+	public synchronized void deregister(String readerName, LLRPAdaptor adaptor) {
+		List<LLRPAdaptor> registered = adaptors.get(readerName);
+		if (null == registered) {
+			return;
+		}
+		registered.remove(adaptor);
+		if (registered.isEmpty()) {
+			adaptors.remove(readerName);
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see org.fosstrak.llrp.client.MessageHandler#handle(java.lang.String, java.lang.String, org.llrp.ltk.types.LLRPMessage)
+	 */
+	public void handle(String adaptorName, String readerName, LLRPMessage message) {
+		if (!(message instanceof RO_ACCESS_REPORT) || !this.adaptorName.equals(adaptorName)) {
+			return;
+		}
+		List<LLRPAdaptor> registered = adaptors.get(readerName);
+		if (null == registered) {
+			return;
+		}
+		for (LLRPAdaptor adaptor : registered) {
+			try {
+				adaptor.notify((RO_ACCESS_REPORT) message, readerName);
+			} catch (Exception e) {
+				LOG.error("could not deliver report of reader " + readerName + " to " + adaptor.getName(), e);
+			}
+		}
+	}
+}
@@ -1,17 +1,21 @@
 package org.fosstrak.ale.server.readers.llrp;
 
+import java.lang.reflect.Field;
+import java.math.BigInteger;
 import java.rmi.RemoteException;
-import java.util.HashSet;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Properties;
-import java.util.Set;
 
 import org.apache.log4j.Logger;
 import org.fosstrak.ale.exception.ImplementationException;
 import org.fosstrak.ale.server.ALEApplicationContext;
 import org.fosstrak.ale.server.Tag;
+import org.fosstrak.ale.server.TagSighting;
 import org.fosstrak.ale.server.readers.BaseReader;
+import org.fosstrak.ale.server.util.EPCDecoder;
+import org.fosstrak.ale.server.util.TagFlow;
 import org.fosstrak.ale.server.util.TagHelper;
 import org.fosstrak.ale.xsd.ale.epcglobal.LRSpec;
 import org.fosstrak.hal.HardwareException;
@@ -19,7 +23,6 @@ import org.fosstrak.hal.Observation;
 import org.fosstrak.llrp.adaptor.Constants;
 import org.fosstrak.llrp.adaptor.Reader;
 import org.fosstrak.llrp.adaptor.exception.LLRPRuntimeException;
-import org.fosstrak.tdt.TDTEngine;
 import org.llrp.ltk.exceptions.InvalidLLRPMessageException;
 import org.llrp.ltk.generated.LLRPMessageFactory;
 import org.llrp.ltk.generated.enumerations.C1G2ReadResultType;
@@ -34,6 +37,7 @@ import org.llrp.ltk.generated.parameters.EPC_96;
 import org.llrp.ltk.generated.parameters.TagReportData;
 import org.llrp.ltk.types.Integer96_HEX;
 import org.llrp.ltk.types.LLRPMessage;
+import org.llrp.ltk.types.UnsignedInteger96;
 import org.llrp.ltk.types.UnsignedShortArray_HEX;
 
 
@@ -66,8 +70,14 @@ public class LLRPAdaptor extends BaseReader {
 	/** the name of the physical reader that this adaptor shall connect to (name in the llrp gui client adaptor) */
 	private String physicalReaderName = null;
 	
-	/** the message callback. */
+	/** the RMI message callback, created on demand if the reports cannot be delivered in-process. */
 	private Callback callback = null;
+	
+	/** the name of the logical reader property allowing to disable the in-process delivery of the reports (default true). */
+	public static final String PROPERTY_IN_PROCESS_CALLBACK = "inProcessCallback";
+	
+	/** whether the reports shall be delivered in-process if the llrp adaptor runs in this JVM. */
+	private boolean inProcessCallbackEnabled = true;
 
 	/** ORANGE: the path to the properties file for the LLRPAdaptor. */
 	private static final String LLRPADAPTOR_CONFIG_FILE = "/LLRPAdaptorConfig.properties";
@@ -107,22 +117,22 @@ public class LLRPAdaptor extends BaseReader {
 	private static String companyPrefixLength = null;
 	
 	/** 
-	 * if the hash set is empty, allow from all the antennas, otherwise only 
+	 * the value of an LLRP EPC-96. the LTK does not expose it, reading it avoids the 
+	 * conversion over hex and binary strings. null if not accessible (fall back to the hex string).
+	 */
+	private static final Field EPC96_VALUE = getEPC96ValueField();
+	
+	/** 
+	 * if the bit set is empty, allow from all the antennas, otherwise only 
 	 * tags arriving from the specified antenna IDs.
 	 */
-	private Set<Integer> acceptTagsFromAntennas = new HashSet<Integer>(); 
+	private final BitSet acceptTagsFromAntennas = new BitSet(); 
 	
 	/**
 	 * constructor for the LLRP adaptor.
 	 */
 	public LLRPAdaptor() {
 		super();
-		
-		try {
-			callback = new Callback(this);
-		} catch (RemoteException e) {
-			log.debug("caught exception", e);
-		}
 	}
 	
 	/**
@@ -145,6 +155,9 @@ public class LLRPAdaptor extends BaseReader {
 		inititializeLLRPAdaptorProperties (LLRPADAPTOR_CONFIG_FILE);
 	
 		physicalReaderName = logicalReaderProperties.get("PhysicalReaderName");
+		if (null != logicalReaderProperties.get(PROPERTY_IN_PROCESS_CALLBACK)) {
+			inProcessCallbackEnabled = Boolean.parseBoolean(logicalReaderProperties.get(PROPERTY_IN_PROCESS_CALLBACK));
+		}
 				
 		try {
 			log.debug("create a new LLRP reader");
@@ -193,7 +206,7 @@ public class LLRPAdaptor extends BaseReader {
 					for (String str : ai) {
 						try {
 							int i = Integer.parseInt(str);
-							acceptTagsFromAntennas.add(new Integer(i));
+							acceptTagsFromAntennas.set(i);
 						} catch (Exception e) {
 							log.debug(String.format("Illegal antennaID: %s", str));
 						}
@@ -204,7 +217,7 @@ public class LLRPAdaptor extends BaseReader {
 				
 				// register the adaptor for asynchronous notifications
 				log.debug("register the adaptor for asynchronous notifications from the llrp reader");
-				reader.registerForAsynchronous(callback);
+				registerForReports(reader);
 				
 				// if the reader is not yet connected do so
 				if (!reader.isConnected()) {
@@ -250,7 +263,7 @@ public class LLRPAdaptor extends BaseReader {
 		// get the required reader and register for asynchronous messages.
 		try {
 			Reader llrpReader = manager.getAdaptor().getReader(physicalReaderName);
-			llrpReader.registerForAsynchronous(callback);
+			registerForReports(llrpReader);
 			setConnected();
 			
 		} catch (RemoteException e) {
@@ -264,7 +277,7 @@ public class LLRPAdaptor extends BaseReader {
 		// get the required reader and register for asynchronous messages.
 		try {
 			Reader llrpReader = manager.getAdaptor().getReader(physicalReaderName);
-			llrpReader.deregisterFromAsynchronous(callback);
+			deregisterFromReports(llrpReader);
 			setDisconnected();
 			
 		} catch (RemoteException e) {
@@ -273,6 +286,40 @@ public class LLRPAdaptor extends BaseReader {
 		}
 	}
 
+	/**
+	 * register this adaptor for the reports of the physical reader. if the llrp adaptor runs 
+	 * in this JVM, the decoded reports are handed over in-process, otherwise through the 
+	 * RMI callback.
+	 * @param llrpReader the physical reader.
+	 * @throws RemoteException when there is an rmi exception.
+	 */
+	private void registerForReports(Reader llrpReader) throws RemoteException {
+		InProcessCallback inProcessCallback = inProcessCallbackEnabled ? manager.getInProcessCallback() : null;
+		if (null != inProcessCallback) {
+			inProcessCallback.register(physicalReaderName, this);
+			return;
+		}
+		if (null == callback) {
+			callback = new Callback(this);
+		}
+		llrpReader.registerForAsynchronous(callback);
+	}
+	
+	/**
+	 * deregister this adaptor from the reports of the physical reader.
+	 * @param llrpReader the physical reader.
+	 * @throws RemoteException when there is an rmi exception.
+	 */
+	private void deregisterFromReports(Reader llrpReader) throws RemoteException {
+		InProcessCallback inProcessCallback = manager.getInProcessCallback();
+		if (null != inProcessCallback) {
+			inProcessCallback.deregister(physicalReaderName, this);
+		}
+		if (null != callback) {
+			llrpReader.deregisterFromAsynchronous(callback);
+		}
+	}
+
 	@Override
 	public void start() {
 		if (isConnected()) {
@@ -311,122 +358,200 @@ public class LLRPAdaptor extends BaseReader {
 	public void notify(byte[] binaryMessage, String readerName) throws RemoteException {
 		log.debug("notify");
 		try {
-			List<Tag> tags = new LinkedList<Tag>();
 			LLRPMessage message = LLRPMessageFactory.createLLRPMessage(binaryMessage);
 			
 			if (message instanceof RO_ACCESS_REPORT) {
-				RO_ACCESS_REPORT report = (RO_ACCESS_REPORT)message;
-				List<TagReportData> tagDataList = report.getTagReportDataList();
-				for (TagReportData tagData : tagDataList) {
-					boolean include = false;
-					if (0 == acceptTagsFromAntennas.size()) {
+				notify((RO_ACCESS_REPORT) message, readerName);
+			}
+		} catch (InvalidLLRPMessageException e) {
+			log.info("received invalid llrp message that could not be converted from binary");
+		}
+		
+	}
+	
+	/**
+	 * extract the tags from an RO_ACCESS_REPORT and propagate them to the filtering 
+	 * and collection. the report is either parsed from the RMI callback or handed over 
+	 * in-process by the {@link InProcessCallback}.
+	 * @param report the report.
+	 * @param readerName the name of the physical reader that sent the report.
+	 */
+	public void notify(RO_ACCESS_REPORT report, String readerName) {
+		List<TagReportData> tagDataList = report.getTagReportDataList();
+		List<Tag> tags = new ArrayList<Tag>(tagDataList.size());
+		for (TagReportData tagData : tagDataList) {
+			boolean include = false;
+			if (acceptTagsFromAntennas.isEmpty()) {
+				include = true;
+			} else {
+				AntennaID antennaID = tagData.getAntennaID();
+				if ((null != antennaID) && 
+						(null != antennaID.getAntennaID())) {
+					
+					int id = antennaID.getAntennaID().intValue();
+					if ((id >= 0) && acceptTagsFromAntennas.get(id)) {
 						include = true;
-					} else {
-						AntennaID antennaID = tagData.getAntennaID();
-						if ((null != antennaID) && 
-								(null != antennaID.getAntennaID())) {
-							
-							int id = antennaID.getAntennaID().intValue();
-							if (acceptTagsFromAntennas.contains(new Integer(id))) {
-								include = true;
-							}
-						}
 					}
-					EPCParameter epcParameter = tagData.getEPCParameter();
-					if ((include) && (epcParameter instanceof EPC_96)) {
-						EPC_96 epc96 = (EPC_96) epcParameter;
-						Integer96_HEX hex = epc96.getEPC();
-						String hx = hex.toString();
-						Tag tag = null;
-						TDTEngine tdt = TagHelper.getTDTEngine();
-						try {
-							String binary = tdt.hex2bin(hx);
-							if (binary.startsWith("1") && 
-									(binary.length() < 96)) {
-								
-								binary = "00" + binary;
-							}
-							
-							tag = new Tag(readerName);
-							tag.setTagAsBinary(binary);
-							tag.setTagID(binary.getBytes());
-							tag.setReader(readerName);
-							tag.addTrace(getName());
-							tag.setTimestamp(System.currentTimeMillis());
+				}
+			}
+			EPCParameter epcParameter = tagData.getEPCParameter();
+			if ((include) && (epcParameter instanceof EPC_96)) {
+				EPC_96 epc96 = (EPC_96) epcParameter;
+				Tag tag = null;
+				byte[] epc = null;
+				try {
+					epc = getEPC(epc96.getEPC());
+					tag = new Tag(readerName);
+					tag.setTagAsBinary(EPCDecoder.toBinaryString(epc));
+					tag.setTagID(epc);
+					tag.setReader(readerName);
+					tag.addTrace(getName());
+					tag.setTimestamp(System.currentTimeMillis());
+					tag.setDecodeNanos(TagFlow.stamp());
+					tag.setSighting(createSighting(tagData, tag.getTimestamp()));
 
-							//ORANGE: add additional values if they exist
-							tag.setTagLength(length);
-							tag.setFilter(filter);
-							tag.setCompanyPrefixLength(companyPrefixLength);
-							//ORANGE End.
+					//ORANGE: add additional values if they exist
+					tag.setTagLength(length);
+					tag.setFilter(filter);
+					tag.setCompanyPrefixLength(companyPrefixLength);
+					//ORANGE End.
 
-							// add the tag.
-							tags.add(tag);
-						} catch (Exception e) {
-							log.debug("bad error, ignoring tag: " + e.getMessage());
-						}	
-		
-						//ORANGE: managing the User Memory in the RO_ACCESS_REPORT
-						List<AccessCommandOpSpecResult> accessResultList = tagData.getAccessCommandOpSpecResultList();
-						for (AccessCommandOpSpecResult accessResult : accessResultList) {
-							
-							//ORANGE: in case of reading the User Memory of a tag, 
-							//retrieve the user memory from the RO_ACCESS_REPORT and store it in the tag.
-							if (accessResult instanceof C1G2ReadOpSpecResult) {
-								C1G2ReadOpSpecResult op = (C1G2ReadOpSpecResult)accessResult;
-								if ((op.getResult().intValue() == C1G2ReadResultType.Success) && 
-									(op.getOpSpecID().intValue() == userMemReadOpSpecID)){
-									UnsignedShortArray_HEX userMemoryHex = op.getReadData();
-									log.debug ("User Memory read from the tag is = " + userMemoryHex.toString());
-									tag.setUserMemory(userMemoryHex.toString());
-								}
-							}
+					// add the tag.
+					tags.add(tag);
+				} catch (Exception e) {
+					log.debug("bad error, ignoring tag: " + e.getMessage());
+				}	
+
+				//ORANGE: managing the User Memory in the RO_ACCESS_REPORT
+				List<AccessCommandOpSpecResult> accessResultList = tagData.getAccessCommandOpSpecResultList();
+				for (AccessCommandOpSpecResult accessResult : accessResultList) {
 					
-							//ORANGE: in case of writing in the User Memory of the tag,
-							//log if needed that the C1G2Write Operation on the tag has succeeded. 
-							if (accessResult instanceof C1G2WriteOpSpecResult) {
-								C1G2WriteOpSpecResult op = (C1G2WriteOpSpecResult)accessResult;
-								if ((op.getResult().intValue()== C1G2WriteResultType.Success)&&
-									(op.getOpSpecID().intValue() == userMemWriteOpSpecID)) {
-									log.debug ("Writing in the User Memory of the tag has succeeded.");
-								}
-							}
-						}	
-						//ORANGE End	
-						
-						// try to run a conversion on the tag...
-						if (null != tag) {
-							try {		
-								//ORANGE : replace the following code ...
-//								String pureID = Tag.convert_to_PURE_IDENTITY(
-//										null, 
-//										null, 
-//										null, 
-//										tag.getTagAsBinary());
-								
-								//ORANGE : by this one more generic.
-								String pureID =	TagHelper.convert_to_PURE_IDENTITY(
-										tag.getTagLength(),
-										tag.getFilter(),
-										tag.getCompanyPrefixLength(),
-										tag.getTagAsBinary());	
-								//ORANGE End.
+					//ORANGE: in case of reading the User Memory of a tag, 
+					//retrieve the user memory from the RO_ACCESS_REPORT and store it in the tag.
+					if (accessResult instanceof C1G2ReadOpSpecResult) {
+						C1G2ReadOpSpecResult op = (C1G2ReadOpSpecResult)accessResult;
+						if ((op.getResult().intValue() == C1G2ReadResultType.Success) && 
+							(op.getOpSpecID().intValue() == userMemReadOpSpecID)){
+							UnsignedShortArray_HEX userMemoryHex = op.getReadData();
+							log.debug ("User Memory read from the tag is = " + userMemoryHex.toString());
+							tag.setUserMemory(userMemoryHex.toString());
+						}
+					}
+			
+					//ORANGE: in case of writing in the User Memory of the tag,
+					//log if needed that the C1G2Write Operation on the tag has succeeded. 
+					if (accessResult instanceof C1G2WriteOpSpecResult) {
+						C1G2WriteOpSpecResult op = (C1G2WriteOpSpecResult)accessResult;
+						if ((op.getResult().intValue()== C1G2WriteResultType.Success)&&
+							(op.getOpSpecID().intValue() == userMemWriteOpSpecID)) {
+							log.debug ("Writing in the User Memory of the tag has succeeded.");
+						}
+					}
+				}	
+				//ORANGE End	
+				
+				// try to run a conversion on the tag...
+				if (null != tag) {
+					try {		
+						// decode the common coding schemes directly, only the other ones through TDT.
+						String pureID = EPCDecoder.decodePureIdentity(epc);
+						if (null == pureID) {
+							//ORANGE : replace the following code ...
+//							String pureID = Tag.convert_to_PURE_IDENTITY(
+//									null, 
+//									null, 
+//									null, 
+//									tag.getTagAsBinary());
 							
-								tag.setTagIDAsPureURI(pureID);
-							} catch (Exception e) {
-								log.debug("could not convert provided tag: " + e.getMessage());
-							}
+							//ORANGE : by this one more generic.
+							pureID = TagHelper.convert_to_PURE_IDENTITY(
+									tag.getTagLength(),
+									tag.getFilter(),
+									tag.getCompanyPrefixLength(),
+									tag.getTagAsBinary());	
+							//ORANGE End.
 						}
+					
+						tag.setTagIDAsPureURI(pureID);
+					} catch (Exception e) {
+						log.debug("could not convert provided tag: " + e.getMessage());
 					}
 				}
 			}
-			
-			// send the tags to fc
-			addTags(tags);
-		} catch (InvalidLLRPMessageException e) {
-			log.info("received invalid llrp message that could not be converted from binary");
 		}
 		
+		// send the tags to fc
+		addTags(tags);
+	}
+	
+	/**
+	 * extract antenna, peak RSSI, first/last seen and seen count of a tag report. 
+	 * parameters not enabled in the report spec of the reader are left unknown.
+	 * @param tagData the tag report.
+	 * @param now the time the report was received (used if no timestamps are reported).
+	 * @return the sighting record.
+	 */
+	public static TagSighting createSighting(TagReportData tagData, long now) {
+		int antenna = TagSighting.NO_ANTENNA;
+		if ((null != tagData.getAntennaID()) && (null != tagData.getAntennaID().getAntennaID())) {
+			antenna = tagData.getAntennaID().getAntennaID().intValue();
+		}
+		int rssi = TagSighting.NO_RSSI;
+		if ((null != tagData.getPeakRSSI()) && (null != tagData.getPeakRSSI().getPeakRSSI())) {
+			rssi = tagData.getPeakRSSI().getPeakRSSI().intValue();
+		}
+		// LLRP timestamps are in microseconds.
+		long firstSeen = now;
+		if ((null != tagData.getFirstSeenTimestampUTC()) && (null != tagData.getFirstSeenTimestampUTC().getMicroseconds())) {
+			firstSeen = tagData.getFirstSeenTimestampUTC().getMicroseconds().toLong() / 1000;
+		}
+		long lastSeen = firstSeen;
+		if ((null != tagData.getLastSeenTimestampUTC()) && (null != tagData.getLastSeenTimestampUTC().getMicroseconds())) {
+			lastSeen = tagData.getLastSeenTimestampUTC().getMicroseconds().toLong() / 1000;
+		}
+		int count = 1;
+		if ((null != tagData.getTagSeenCount()) && (null != tagData.getTagSeenCount().getTagCount())) {
+			count = Math.max(1, tagData.getTagSeenCount().getTagCount().intValue());
+		}
+		return new TagSighting(antenna, rssi, firstSeen, lastSeen, count);
+	}
+	
+	/**
+	 * read the bits of an LLRP EPC-96 into the compact key of the EPC decoder.
+	 * @param hex the EPC as delivered by the LTK.
+	 * @return the EPC as 12 bytes.
+	 * @throws IllegalArgumentException if the EPC is malformed.
+	 */
+	public static byte[] getEPC(Integer96_HEX hex) {
+		if (null != EPC96_VALUE) {
+			try {
+				byte[] epc = EPCDecoder.fromBigInteger((BigInteger) EPC96_VALUE.get(hex));
+				if (null != epc) {
+					return epc;
+				}
+			} catch (Exception e) {
+				log.debug("could not read the value of the EPC, using the hex representation: " + e.getMessage());
+			}
+		}
+		byte[] epc = EPCDecoder.fromHex(hex.toString());
+		if (null == epc) {
+			throw new IllegalArgumentException("invalid EPC-96: " + hex);
+		}
+		return epc;
+	}
+	
+	/**
+	 * @return the field holding the value of an LLRP EPC-96 or null if not accessible.
+	 */
+	private static Field getEPC96ValueField() {
+		try {
+			Field field = UnsignedInteger96.class.getDeclaredField("value");
+			field.setAccessible(true);
+			return field;
+		} catch (Exception e) {
+			log.debug("value of the LLRP EPC-96 not accessible, using the hex representation: " + e.getMessage());
+		}
+		return null;
 	}
 	
 	/**
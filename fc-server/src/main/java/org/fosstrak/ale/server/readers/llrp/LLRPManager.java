@@ -2,7 +2,6 @@ package org.fosstrak.ale.server.readers.llrp;
 
 import java.io.File;
 import java.io.FileInputStream;
-import java.lang.reflect.Method;
 import java.net.URL;
 import java.rmi.RemoteException;
 import java.util.HashMap;
@@ -11,7 +10,10 @@ import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.ConcurrentHashMap;
 
+import javax.annotation.PreDestroy;
+
 import org.apache.log4j.Logger;
+import org.fosstrak.ale.server.metrics.MetricsRegistry;
 import org.fosstrak.llrp.adaptor.Adaptor;
 import org.fosstrak.llrp.adaptor.AdaptorManagement;
 import org.fosstrak.llrp.adaptor.config.DefaultConfiguration;
@@ -19,15 +21,13 @@ import org.fosstrak.llrp.adaptor.config.FileStoreConfiguration;
 import org.fosstrak.llrp.adaptor.exception.LLRPRuntimeException;
 import org.fosstrak.llrp.client.LLRPExceptionHandler;
 import org.fosstrak.llrp.client.LLRPExceptionHandlerTypeMap;
-import org.fosstrak.llrp.client.LLRPMessageItem;
 import org.fosstrak.llrp.client.MessageHandler;
 import org.fosstrak.llrp.client.ROAccessReportsRepository;
 import org.fosstrak.llrp.client.Repository;
 import org.fosstrak.llrp.client.RepositoryFactory;
-import org.llrp.ltk.exceptions.InvalidLLRPMessageException;
 import org.llrp.ltk.generated.messages.RO_ACCESS_REPORT;
-import org.llrp.ltk.generated.parameters.LLRPStatus;
 import org.llrp.ltk.types.LLRPMessage;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 
@@ -57,12 +57,21 @@ public class LLRPManager implements LLRPExceptionHandler, MessageHandler {
 	
 	public static final String ADAPTOR_NAME_PREFIX = "fc adaptor - ";
 	
+	/** the name of the metrics of the repository writer. */
+	public static final String REPOSITORY_METRICS_NAME = "llrp";
+	
 	/** get a handle on the adaptor management. */
 	private final AdaptorManagement mgmt = AdaptorManagement.getInstance();
 	
 	/** if defined, a handle to the LLRP message repository. */
 	private Repository repository = null;
 	
+	/** writes the LLRP messages into the repository, null if there is no repository. */
+	private RepositoryWriter repositoryWriter = null;
+	
+	/** routes the reports of the adaptor directly to the LLRP adaptors if the adaptor runs in this JVM, null otherwise. */
+	private InProcessCallback inProcessCallback = null;
+	
 	/** 
 	 * a link counter counting the references onto a physical reader. 
 	 * the link counter is needed as several logical readers from 
@@ -137,7 +146,15 @@ public class LLRPManager implements LLRPExceptionHandler, MessageHandler {
 		List<String> adaptorNames = mgmt.getAdaptorNames();
 		if (!adaptorNames.isEmpty()) {
 			log.debug("obtaining the default adaptor...");
-			adaptor = mgmt.getAdaptor(adaptorNames.get(0));
+			String adaptorName = adaptorNames.get(0);
+			adaptor = mgmt.getAdaptor(adaptorName);
+			
+			// a local adaptor delivers the decoded reports in-process, RMI is only needed for remote adaptors.
+			if (mgmt.isLocalAdapter(adaptorName)) {
+				log.debug("adaptor is local, registering the in-process callback.");
+				inProcessCallback = new InProcessCallback(adaptorName);
+				mgmt.registerPartialHandler(inProcessCallback, RO_ACCESS_REPORT.class);
+			}
 		} else {
 			log.error("no adaptor was found - aborting.");
 			throw new LLRPRuntimeException("no adaptor was found!!!");
@@ -175,50 +192,13 @@ public class LLRPManager implements LLRPExceptionHandler, MessageHandler {
 			throw new IllegalArgumentException("Repository is null.");
 		}
 		
-		// create our message handler
-		mgmt.registerFullHandler(new MessageHandler() {
-
-			public void handle(String adapter, String reader, 
-					LLRPMessage msg) {
-				
-				LLRPMessageItem item = new LLRPMessageItem();
-				item.setAdapter(adapter);
-				item.setReader(reader);
-				
-				String msgName = msg.getName();
-				item.setMessageType(msgName);
-				
-				// if the message contains a "LLRPStatus" parameter, 
-				//set the status code (otherwise use empty string)
-				String statusCode = null;
-				try {
-					Method getLLRPStatusMethod = 
-						msg.getClass().getMethod("getLLRPStatus", 
-								new Class[0]);
-					LLRPStatus status = 
-						(LLRPStatus) getLLRPStatusMethod.invoke(
-								msg, new Object[0]);
-					statusCode = status.getStatusCode().toString();
-				} catch (Exception e) {
-					statusCode = "";
-				} 
-				item.setStatusCode(statusCode);
-				
-				// store the xml string to the repository
-				try {
-					item.setContent(msg.toXMLString());
-				} catch (InvalidLLRPMessageException e) {
-					log.debug("caught exception", e);
-				}
-				
-				try {
-					repository.put(item);
-				} catch (Exception e) {
-					// repository might be null
-					log.debug("caught exception", e);
-				}
-			}
-		});
+		// the messages are written by a background writer to keep the repository latency 
+		// off the LLRP delivery thread.
+		repositoryWriter = new RepositoryWriter(repository, 
+				getIntProperty(props, RepositoryWriter.PROP_QUEUE_CAPACITY, RepositoryWriter.DEFAULT_QUEUE_CAPACITY), 
+				getIntProperty(props, RepositoryWriter.PROP_BATCH_SIZE, RepositoryWriter.DEFAULT_BATCH_SIZE));
+		repositoryWriter.start();
+		mgmt.registerFullHandler(repositoryWriter);
 		ROAccessReportsRepository roAcc = repository.getROAccessRepository();
 		if ((null != roAcc) && (roAcc instanceof MessageHandler)) {
 			// register the RO_ACCESS_REPORTS handler
@@ -228,6 +208,55 @@ public class LLRPManager implements LLRPExceptionHandler, MessageHandler {
 		
 	}
 
+	/**
+	 * read an integer property.
+	 * @param props the properties.
+	 * @param key the name of the property.
+	 * @param defaultValue the value to use if the property is missing or invalid.
+	 * @return the value of the property.
+	 */
+	private int getIntProperty(Properties props, String key, int defaultValue) {
+		String value = props.getProperty(key);
+		if (null == value) {
+			return defaultValue;
+		}
+		try {
+			return Integer.parseInt(value.trim());
+		} catch (NumberFormatException e) {
+			log.error("invalid value for property " + key + ": " + value + " - using " + defaultValue);
+		}
+		return defaultValue;
+	}
+	
+	/**
+	 * stop the repository writer (persisting the pending messages).
+	 */
+	@PreDestroy
+	public void close() {
+		if (null != repositoryWriter) {
+			repositoryWriter.stop();
+		}
+	}
+	
+	/**
+	 * return the writer of the LLRP message repository.
+	 * @return the repository writer or null if no repository is configured.
+	 */
+	public RepositoryWriter getRepositoryWriter() {
+		return repositoryWriter;
+	}
+	
+	/**
+	 * allow to inject the metrics registry exporting the counters of the repository writer.
+	 * @param metricsRegistry the metrics registry.
+	 */
+	@Autowired
+	public void setMetricsRegistry(MetricsRegistry metricsRegistry) {
+		if (null != repositoryWriter) {
+			repositoryWriter.setMetrics(metricsRegistry.getRepositoryMetrics(REPOSITORY_METRICS_NAME));
+		}
+	}
+	
 	/**
 	 * return a reference to the llrp gui client adaptor management. 
 	 * @return an instance of the llrp gui client adaptor management.
@@ -236,6 +265,14 @@ public class LLRPManager implements LLRPExceptionHandler, MessageHandler {
 		return adaptor;
 	}
 	
+	/**
+	 * return the callback delivering the reports in-process.
+	 * @return the in-process callback or null if the adaptor is remote (use the RMI callback then).
+	 */
+	public InProcessCallback getInProcessCallback() {
+		return inProcessCallback;
+	}
+	
 	/**
 	 * increments the link counter on a reader. the link counter is needed as several 
 	 * logical readers from fc can point to the same physical reader in the reader 
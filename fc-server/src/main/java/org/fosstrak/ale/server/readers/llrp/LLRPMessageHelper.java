@@ -0,0 +1,142 @@
+package org.fosstrak.ale.server.readers.llrp;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.log4j.Logger;
+import org.fosstrak.llrp.client.LLRPMessageItem;
+import org.llrp.ltk.exceptions.InvalidLLRPMessageException;
+import org.llrp.ltk.generated.parameters.LLRPStatus;
+import org.llrp.ltk.types.LLRPMessage;
+
+/**
+ * helper methods for the LLRP message handlers. the <code>getLLRPStatus</code> accessor 
+ * is looked up once per message class and the XML rendering is only done on demand.
+ * 
+ * @author agent
+ *
+ */
+public final class LLRPMessageHelper {
+	
+	/** logger. */
+	private static final Logger log = Logger.getLogger(LLRPMessageHelper.class);
+	
+	/** the name of the status accessor on the LLRP response messages. */
+	private static final String GET_LLRP_STATUS = "getLLRPStatus";
+	
+	/** accessor for messages without a status parameter. */
+	private static final StatusAccessor NO_STATUS = new StatusAccessor(null);
+	
+	/** the status accessor per message class. */
+	private static final ConcurrentMap<Class<?>, StatusAccessor> accessors = new ConcurrentHashMap<Class<?>, StatusAccessor>();
+	
+	private LLRPMessageHelper() {
+	}
+	
+	/**
+	 * wraps the (optional) status accessor of a message class.
+	 */
+	private static final class StatusAccessor {
+		
+		/** the accessor method, null if the message does not carry a status. */
+		private final Method method;
+		
+		private StatusAccessor(Method method) {
+			this.method = method;
+		}
+		
+		private LLRPStatus invoke(LLRPMessage msg) {
+			if (null == method) {
+				return null;
+			}
+			try {
+				return (LLRPStatus) method.invoke(msg);
+			} catch (Exception e) {
+				log.debug("could not read the status of the message " + msg.getName(), e);
+				return null;
+			}
+		}
+	}
+	
+	/**
+	 * return the accessor for the given message class (looked up on first use).
+	 * @param clazz the class of the message.
+	 * @return the status accessor.
+	 */
+	private static StatusAccessor getAccessor(Class<?> clazz) {
+		StatusAccessor accessor = accessors.get(clazz);
+		if (null == accessor) {
+			accessor = NO_STATUS;
+			try {
+				Method method = clazz.getMethod(GET_LLRP_STATUS);
+				if (LLRPStatus.class.isAssignableFrom(method.getReturnType())) {
+					accessor = new StatusAccessor(method);
+				}
+			} catch (NoSuchMethodException e) {
+				// message without status parameter.
+			}
+			StatusAccessor previous = accessors.putIfAbsent(clazz, accessor);
+			if (null != previous) {
+				accessor = previous;
+			}
+		}
+		return accessor;
+	}
+	
+	/**
+	 * return the LLRP status parameter of a message.
+	 * @param msg the LLRP message.
+	 * @return the status or null if the message does not carry a status.
+	 */
+	public static LLRPStatus getLLRPStatus(LLRPMessage msg) {
+		return getAccessor(msg.getClass()).invoke(msg);
+	}
+	
+	/**
+	 * return the status code of a message as string.
+	 * @param msg the LLRP message.
+	 * @return the status code or the empty string if the message does not carry a status.
+	 */
+	public static String getStatusCode(LLRPMessage msg) {
+		LLRPStatus status = getLLRPStatus(msg);
+		if ((null == status) || (null == status.getStatusCode())) {
+			return "";
+		}
+		return status.getStatusCode().toString();
+	}
+	
+	/**
+	 * render the message into XML.
+	 * @param msg the LLRP message.
+	 * @return the XML string or null if the message could not be converted.
+	 */
+	public static String toXML(LLRPMessage msg) {
+		try {
+			return msg.toXMLString();
+		} catch (InvalidLLRPMessageException e) {
+			log.error("error when converting a LLRP msg into XML", e);
+		}
+		return null;
+	}
+	
+	/**
+	 * create a message item for the given message.
+	 * @param adaptorName the name of the adaptor the message originates from.
+	 * @param readerName the name of the reader the message originates from.
+	 * @param msg the LLRP message.
+	 * @param withContent if true, the XML rendering of the message is set as content.
+	 * @return the message item.
+	 */
+	public static LLRPMessageItem createItem(String adaptorName, String readerName, LLRPMessage msg, boolean withContent) {
+		LLRPMessageItem item = new LLRPMessageItem();
+		item.setAdapter(adaptorName);
+		item.setReader(readerName);
+		item.setMessageType(msg.getName());
+		item.setStatusCode(getStatusCode(msg));
+		if (withContent) {
+			item.setContent(toXML(msg));
+		}
+		return item;
+	}
+}
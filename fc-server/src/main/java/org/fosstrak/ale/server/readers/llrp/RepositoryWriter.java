@@ -0,0 +1,272 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.server.readers.llrp;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.log4j.Logger;
+import org.fosstrak.ale.server.metrics.RepositoryMetrics;
+import org.fosstrak.llrp.client.LLRPMessageItem;
+import org.fosstrak.llrp.client.MessageHandler;
+import org.fosstrak.llrp.client.Repository;
+import org.llrp.ltk.generated.messages.RO_ACCESS_REPORT;
+import org.llrp.ltk.types.LLRPMessage;
+
+/**
+ * writes the LLRP messages into the LLRP message repository. the messages are 
+ * kept in a bounded queue as received from the adaptor and persisted in batches 
+ * on a background thread, the XML rendering of a message is done by this thread 
+ * as well. if the queue is full, the message is dropped (and counted) instead of 
+ * blocking the LLRP delivery thread. the first drop of an overflow is logged as a 
+ * warning, the overflow ends with the next message accepted by the queue.<br/>
+ * RO_ACCESS_REPORTs are not written, they are recorded by the RO_ACCESS_REPORT 
+ * repository (if enabled).
+ * 
+ * @author agent
+ *
+ */
+public class RepositoryWriter implements MessageHandler, Runnable {
+	
+	/** the name of the property holding the capacity of the queue. */
+	public static final String PROP_QUEUE_CAPACITY = "repositoryQueueCapacity";
+	
+	/** the name of the property holding the maximum number of messages persisted in one batch. */
+	public static final String PROP_BATCH_SIZE = "repositoryBatchSize";
+	
+	/** default capacity of the queue. */
+	public static final int DEFAULT_QUEUE_CAPACITY = 10000;
+	
+	/** default batch size. */
+	public static final int DEFAULT_BATCH_SIZE = 100;
+	
+	/** how long the writer waits for a message before checking whether it got stopped. */
+	private static final long POLL_TIMEOUT_MS = 500;
+	
+	/** logger. */
+	private static final Logger log = Logger.getLogger(RepositoryWriter.class);
+	
+	/**
+	 * a message waiting to be persisted.
+	 */
+	private static final class PendingMessage {
+		
+		private final String adapter;
+		
+		private final String reader;
+		
+		private final LLRPMessage message;
+		
+		private final long received;
+		
+		private PendingMessage(String adapter, String reader, LLRPMessage message) {
+			this.adapter = adapter;
+			this.reader = reader;
+			this.message = message;
+			this.received = System.currentTimeMillis();
+		}
+	}
+	
+	/** the repository to write into. */
+	private final Repository repository;
+	
+	/** the messages not yet persisted. */
+	private final BlockingQueue<PendingMessage> queue;
+	
+	/** the maximum number of messages persisted in one batch. */
+	private final int batchSize;
+	
+	/** the capacity of the queue. */
+	private final int queueCapacity;
+	
+	/** the counters of the writer. */
+	private volatile RepositoryMetrics metrics = new RepositoryMetrics();
+	
+	/** whether the queue overflowed and has not yet accepted a message since. */
+	private final AtomicBoolean overflowing = new AtomicBoolean(false);
+	
+	/** the writer thread, null if the writer is not running. */
+	private volatile Thread writer = null;
+	
+	/**
+	 * create a new repository writer. the writer needs to be started.
+	 * @param repository the repository to write into.
+	 * @param queueCapacity the maximum number of messages waiting to be persisted.
+	 * @param batchSize the maximum number of messages persisted in one batch.
+	 */
+	public RepositoryWriter(Repository repository, int queueCapacity, int batchSize) {
+		if (null == repository) {
+			throw new IllegalArgumentException("Repository is null.");
+		}
+		this.repository = repository;
+		this.queueCapacity = Math.max(1, queueCapacity);
+		this.queue = new ArrayBlockingQueue<PendingMessage>(this.queueCapacity);
+		this.batchSize = Math.max(1, batchSize);
+	}
+	
+	/**
+	 * start the writer thread.
+	 */
+	public synchronized void start() {
+		if (null != writer) {
+			return;
+		}
+		writer = new Thread(this, "RepositoryWriter");
+		writer.setDaemon(true);
+		writer.start();
+	}
+	
+	/**
+	 * stop the writer thread and persist the messages still in the queue.
+	 */
+	public void stop() {
+		Thread thread = null;
+		synchronized (this) {
+			thread = writer;
+			writer = null;
+		}
+		if (null != thread) {
+			thread.interrupt();
+			try {
+				thread.join();
+			} catch (InterruptedException e) {
+				log.debug("interrupted while waiting for the writer to stop.");
+				Thread.currentThread().interrupt();
+			}
+		}
+		List<PendingMessage> batch = new ArrayList<PendingMessage>(batchSize);
+		while (queue.drainTo(batch, batchSize) > 0) {
+			persist(batch);
+		}
+	}
+	
+	/**
+	 * enqueue the message for the repository. the message is dropped if the queue is full.
+	 */
+	public void handle(String adapter, String reader, LLRPMessage msg) {
+		if (msg instanceof RO_ACCESS_REPORT) {
+			return;
+		}
+		if (queue.offer(new PendingMessage(adapter, reader, msg))) {
+			if (overflowing.get() && overflowing.compareAndSet(true, false)) {
+				log.info("repository queue accepts messages again, dropped " + metrics.getDropped() + " messages so far.");
+			}
+			return;
+		}
+		RepositoryMetrics current = metrics;
+		current.dropped();
+		if (overflowing.compareAndSet(false, true)) {
+			current.overflowed();
+			log.warn("repository queue is full (capacity " + queueCapacity + "), dropping messages until the writer catches up.");
+		} else if (log.isDebugEnabled()) {
+			log.debug("repository queue is full, dropped " + current.getDropped() + " messages so far.");
+		}
+	}
+	
+	/**
+	 * persists the queued messages in batches until the writer gets stopped.
+	 */
+	public void run() {
+		final Thread thisThread = Thread.currentThread();
+		List<PendingMessage> batch = new ArrayList<PendingMessage>(batchSize);
+		while (writer == thisThread) {
+			try {
+				PendingMessage first = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+				if (null == first) {
+					continue;
+				}
+				batch.add(first);
+			} catch (InterruptedException e) {
+				log.debug("repository writer got interrupted.");
+				continue;
+			}
+			queue.drainTo(batch, batchSize - 1);
+			persist(batch);
+		}
+	}
+	
+	/**
+	 * write a batch of messages into the repository and clear the batch.
+	 * @param batch the messages to persist.
+	 */
+	private void persist(List<PendingMessage> batch) {
+		for (PendingMessage pending : batch) {
+			LLRPMessageItem item = LLRPMessageHelper.createItem(pending.adapter, pending.reader, pending.message, true);
+			item.setTime(new Timestamp(pending.received));
+			try {
+				repository.put(item);
+				metrics.persisted();
+			} catch (Exception e) {
+				metrics.failed();
+				log.debug("caught exception", e);
+			}
+		}
+		batch.clear();
+	}
+	
+	/**
+	 * use the given counters (see {@link org.fosstrak.ale.server.metrics.MetricsRegistry#getRepositoryMetrics(String)}).
+	 * @param metrics the counters of the writer.
+	 */
+	public void setMetrics(RepositoryMetrics metrics) {
+		this.metrics = metrics;
+	}
+	
+	/**
+	 * @return the counters of the writer.
+	 */
+	public RepositoryMetrics getMetrics() {
+		return metrics;
+	}
+	
+	/**
+	 * @return the number of messages written into the repository.
+	 */
+	public long getPersistedCount() {
+		return metrics.getPersisted();
+	}
+	
+	/**
+	 * @return the number of messages dropped because the queue was full.
+	 */
+	public long getDroppedCount() {
+		return metrics.getDropped();
+	}
+	
+	/**
+	 * @return the number of messages the repository failed to store.
+	 */
+	public long getFailedCount() {
+		return metrics.getFailed();
+	}
+	
+	/**
+	 * @return the number of messages waiting to be persisted.
+	 */
+	public int getPendingCount() {
+		return queue.size();
+	}
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+package org.fosstrak.ale.server.readers.test;
+
+import java.util.Random;
+
+/**
+ * the EPC-96 coding schemes a {@link SyntheticWorkload} generates tags of. the 
+ * binary representation and the tag URI are encoded directly without TDT.
+ * 
+ * @author agent
+ *
+ */
+public enum EPCScheme {
+	
+	/** serialized global trade item number. */
+	SGTIN_96("sgtin-96", 0x30, 13, 38),
+	
+	/** serial shipping container code. */
+	SSCC_96("sscc-96", 0x31, 17, 0),
+	
+	/** global returnable asset identifier. */
+	GRAI_96("grai-96", 0x33, 12, 38),
+	
+	/** general identifier. */
+	GID_96("gid-96", 0x35, 0, 36);
+	
+	/** number of bits of the company prefix, indexed by the partition value. */
+	private static final int[] COMPANY_PREFIX_BITS = new int[] { 40, 37, 34, 30, 27, 24, 20 };
+	
+	/** number of bits of the SSCC serial reference, indexed by the partition value. */
+	private static final int[] SSCC_SERIAL_REFERENCE_BITS = new int[] { 18, 21, 24, 28, 31, 34, 38 };
+	
+	/** number of bits of the company prefix and the second field of the partitioned schemes. */
+	private static final int PARTITIONED_BITS = 44;
+	
+	/** number of bits of the GID manager number. */
+	private static final int GID_MANAGER_BITS = 28;
+	
+	/** number of bits of the GID object class. */
+	private static final int GID_CLASS_BITS = 24;
+	
+	/** 
+	 * exclusive upper bound of the serial numbers. the data fields of the ALE patterns 
+	 * are ints, a tag with a larger serial could not be filtered or grouped.
+	 */
+	private static final long SERIAL_BOUND = 1L << 31;
+	
+	/** the name of the scheme in the tag URI. */
+	private final String uriName;
+	
+	/** the header of the scheme. */
+	private final int header;
+	
+	/** number of digits of the company prefix and the second field, 0 if not partitioned. */
+	private final int digits;
+	
+	/** number of bits of the serial number. */
+	private final int serialBits;
+	
+	private EPCScheme(String uriName, int header, int digits, int serialBits) {
+		this.uriName = uriName;
+		this.header = header;
+		this.digits = digits;
+		this.serialBits = serialBits;
+	}
+	
+	/**
+	 * @param name the name of the scheme as in the tag URI (eg SGTIN-96), case insensitive.
+	 * @return the scheme.
+	 * @throws IllegalArgumentException if the scheme is not supported.
+	 */
+	public static EPCScheme forName(String name) {
+		for (EPCScheme scheme : values()) {
+			if (scheme.uriName.equalsIgnoreCase(name.trim())) {
+				return scheme;
+			}
+		}
+		throw new IllegalArgumentException("unsupported coding scheme: " + name);
+	}
+	
+	/**
+	 * @return the name of the scheme as in the tag URI.
+	 */
+	public String getURIName() {
+		return uriName;
+	}
+	
+	/**
+	 * create a random company prefix (manager number for GID-96).
+	 * @param random the random generator.
+	 * @param companyPrefixLength the number of digits of the company prefix (6 to 12).
+	 * @return the company prefix.
+	 */
+	public long randomCompanyPrefix(Random random, int companyPrefixLength) {
+		if (this == GID_96) {
+			return random.nextInt(1 << GID_MANAGER_BITS);
+		}
+		checkCompanyPrefixLength(companyPrefixLength);
+		return nextLong(random, pow10(companyPrefixLength));
+	}
+	
+	/**
+	 * encode an EPC with random item reference (object class, asset type) and serial number.
+	 * @param random the random generator.
+	 * @param companyPrefix the company prefix (manager number for GID-96).
+	 * @param companyPrefixLength the number of digits of the company prefix (ignored for GID-96).
+	 * @param filter the filter value (ignored for GID-96).
+	 * @return the binary representation and the tag URI.
+	 */
+	public String[] encode(Random random, long companyPrefix, int companyPrefixLength, int filter) {
+		StringBuilder binary = new StringBuilder(96);
+		StringBuilder uri = new StringBuilder(64).append("urn:epc:tag:").append(uriName).append(':');
+		appendBits(binary, header, 8);
+		if (this == GID_96) {
+			long objectClass = random.nextInt(1 << GID_CLASS_BITS);
+			long serial = randomSerial(random);
+			appendBits(binary, companyPrefix, GID_MANAGER_BITS);
+			appendBits(binary, objectClass, GID_CLASS_BITS);
+			appendBits(binary, serial, serialBits);
+			uri.append(companyPrefix).append('.').append(objectClass).append('.').append(serial);
+			return new String[] { binary.toString(), uri.toString() };
+		}
+		
+		checkCompanyPrefixLength(companyPrefixLength);
+		int partition = 12 - companyPrefixLength;
+		int companyBits = COMPANY_PREFIX_BITS[partition];
+		int fieldBits = (this == SSCC_96) ? SSCC_SERIAL_REFERENCE_BITS[partition] : PARTITIONED_BITS - companyBits;
+		int fieldDigits = digits - companyPrefixLength;
+		long field = nextLong(random, pow10(fieldDigits));
+		
+		appendBits(binary, filter, 3);
+		appendBits(binary, partition, 3);
+		appendBits(binary, companyPrefix, companyBits);
+		appendBits(binary, field, fieldBits);
+		uri.append(filter).append('.');
+		appendDigits(uri, companyPrefix, companyPrefixLength).append('.');
+		appendDigits(uri, field, fieldDigits);
+		if (serialBits > 0) {
+			long serial = randomSerial(random);
+			appendBits(binary, serial, serialBits);
+			uri.append('.').append(serial);
+		}
+		// the SSCC-96 ends with unallocated bits.
+		while (binary.length() < 96) {
+			binary.append('0');
+		}
+		return new String[] { binary.toString(), uri.toString() };
+	}
+	
+	/**
+	 * @return a random serial number within the bits of the scheme and below {@link #SERIAL_BOUND}.
+	 */
+	private long randomSerial(Random random) {
+		return nextLong(random, Math.min(1L << serialBits, SERIAL_BOUND));
+	}
+	
+	private static void checkCompanyPrefixLength(int companyPrefixLength) {
+		if ((companyPrefixLength < 6) || (companyPrefixLength > 12)) {
+			throw new IllegalArgumentException("company prefix length must be between 6 and 12: " + companyPrefixLength);
+		}
+	}
+	
+	private static long pow10(int exponent) {
+		long value = 1;
+		for (int i=0; i<exponent; i++) {
+			value *= 10;
+		}
+		return value;
+	}
+	
+	/**
+	 * @return a random number between 0 (inclusive) and bound (exclusive).
+	 */
+	private static long nextLong(Random random, long bound) {
+		return (long) (random.nextDouble() * bound);
+	}
+	
+	private static void appendBits(StringBuilder binary, long value, int bits) {
+		for (int i=bits-1; i>=0; i--) {
+			binary.append(((value >>> i) & 1) == 1 ? '1' : '0');
+		}
+	}
+	
+	private static StringBuilder appendDigits(StringBuilder uri, long value, int digits) {
+		if (digits == 0) {
+			// eg the asset type of a GRAI with a company prefix of 12 digits.
+			return uri;
+		}
+		String number = Long.toString(value);
+		for (int i=number.length(); i<digits; i++) {
+			uri.append('0');
+		}
+		return uri.append(number);
+	}
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+package org.fosstrak.ale.server.readers.test;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.epcglobalinc.tdt.LevelTypeList;
+import org.fosstrak.ale.server.Tag;
+import org.fosstrak.ale.server.util.TagHelper;
+import org.fosstrak.tdt.TDTEngine;
+
+/**
+ * the original workload of the {@link TestAdaptor}: the tags of a file (by 
+ * default <code>/tags.txt</code>, one binary EPC per line after a header line) 
+ * are read in turn, <code>tps</code> reads every <code>wt</code> milliseconds. 
+ * after every batch the number of reads grows by <code>gain</code>.
+ * 
+ * @author agent
+ *
+ */
+public class FileWorkload implements Workload {
+	
+	/** LRSpec property: the reads per batch. */
+	public static final String PROPERTY_TPS = "tps";
+	
+	/** LRSpec property: the milliseconds between two batches. */
+	public static final String PROPERTY_WT = "wt";
+	
+	/** LRSpec property: the increase of the reads per batch after every batch. */
+	public static final String PROPERTY_GAIN = "gain";
+	
+	/** LRSpec property: the file with the tags (a file or a resource on the classpath). */
+	public static final String PROPERTY_TAG_FILE = "TagFile";
+	
+	/** the default tag file. */
+	public static final String DEFAULT_TAG_FILE = "/tags.txt";
+	
+	/** the tags read in turn. */
+	private final Tag[] tags;
+	
+	/** the milliseconds between two batches. */
+	private final long period;
+	
+	/** the increase of the reads per batch. */
+	private final long gain;
+	
+	/** the reads of the next batch. */
+	private long tps;
+	
+	/** the index of the next tag. */
+	private int next = 0;
+	
+	/**
+	 * creates the workload.
+	 * @param tags the tags read in turn.
+	 * @param tps the reads per batch.
+	 * @param wt the milliseconds between two batches.
+	 * @param gain the increase of the reads per batch after every batch.
+	 */
+	public FileWorkload(Tag[] tags, long tps, long wt, long gain) {
+		if (tags.length == 0) {
+			throw new IllegalArgumentException("no tags to read");
+		}
+		this.tags = tags.clone();
+		this.tps = tps;
+		this.period = Math.max(0, wt);
+		this.gain = gain;
+	}
+	
+	/**
+	 * creates the workload from the properties of a logical reader.
+	 * @param readerName the name of the reader emitting the tags.
+	 * @param properties the properties of the logical reader.
+	 * @return the workload.
+	 * @throws Exception if the tags cannot be loaded.
+	 */
+	public static FileWorkload create(String readerName, Map<String, String> properties) throws Exception {
+		String tagFile = WorkloadProperties.getString(properties, PROPERTY_TAG_FILE, DEFAULT_TAG_FILE);
+		InputStream in = WorkloadProperties.open(tagFile);
+		Tag[] tags;
+		try {
+			tags = loadTags(in, readerName, 
+					(int) WorkloadProperties.getLong(properties, SyntheticWorkload.PROPERTY_COMPANY_PREFIX_LENGTH, 7), 
+					(int) WorkloadProperties.getLong(properties, SyntheticWorkload.PROPERTY_FILTER, 3));
+		} finally {
+			in.close();
+		}
+		return new FileWorkload(tags, 
+				WorkloadProperties.getLong(properties, PROPERTY_TPS, 1), 
+				WorkloadProperties.getLong(properties, PROPERTY_WT, 1000), 
+				WorkloadProperties.getLong(properties, PROPERTY_GAIN, 0));
+	}
+	
+	/**
+	 * loads the tags of a tag file. the tag URIs are converted through TDT.
+	 * @param in the tag file.
+	 * @param readerName the name of the reader emitting the tags.
+	 * @param companyPrefixLength the number of digits of the company prefixes.
+	 * @param filter the filter value.
+	 * @return the tags.
+	 * @throws Exception if the file cannot be read or a tag cannot be converted.
+	 */
+	public static Tag[] loadTags(InputStream in, String readerName, int companyPrefixLength, int filter) throws Exception {
+		BufferedReader reader = new BufferedReader(new InputStreamReader(in));
+		
+		TDTEngine tdt = TagHelper.getTDTEngine();
+		Map<String, String> extraparms = new HashMap<String, String> ();
+		extraparms.put(TagHelper.EXTRA_PARAMS_TAGLENGTH, "96");
+		extraparms.put(TagHelper.EXTRA_PARAMS_FILTER, Integer.toString(filter));
+		extraparms.put(TagHelper.EXTRA_PARAMS_COMPANYPREFIXLENGTH, Integer.toString(companyPrefixLength));
+		
+		long now = System.currentTimeMillis();
+		List<Tag> tags = new ArrayList<Tag>();
+		String line = reader.readLine(); // drop first line with the header line.
+		while ((line = reader.readLine()) != null) {
+			line = line.trim();
+			if (line.length() == 0) {
+				continue;
+			}
+			String pureURI = tdt.convert(line, extraparms, LevelTypeList.TAG_ENCODING);
+			tags.add(TestAdaptor.createTag(readerName, line, pureURI, now));
+		}
+		return tags.toArray(new Tag[tags.size()]);
+	}
+	
+	public void poll(long elapsed, List<Tag> batch) {
+		for (long j=0; j<tps; j++) {
+			batch.add(tags[next]);
+			next = (next + 1) % tags.length;
+		}
+		tps += gain;
+	}
+	
+	public long getPeriod() {
+		return period;
+	}
+	
+	public boolean isExhausted() {
+		return false;
+	}
+	
+	public Tag[] getTags() {
+		return tags.clone();
+	}
+}
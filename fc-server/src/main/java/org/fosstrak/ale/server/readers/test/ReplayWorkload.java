@@ -0,0 +1,292 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+package org.fosstrak.ale.server.readers.test;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.log4j.Logger;
+import org.fosstrak.ale.server.Tag;
+import org.fosstrak.ale.server.readers.llrp.LLRPAdaptor;
+import org.fosstrak.ale.server.util.EPCDecoder;
+import org.fosstrak.ale.server.util.TagHelper;
+import org.llrp.ltk.exceptions.InvalidLLRPMessageException;
+import org.llrp.ltk.generated.LLRPMessageFactory;
+import org.llrp.ltk.generated.messages.RO_ACCESS_REPORT;
+import org.llrp.ltk.generated.parameters.EPC_96;
+import org.llrp.ltk.generated.parameters.TagReportData;
+import org.llrp.ltk.types.LLRPMessage;
+
+/**
+ * replays a recorded LLRP capture. the capture is a stream of binary LLRP 
+ * messages as sent by a reader, only the RO_ACCESS_REPORTs are replayed. the 
+ * time of a report is the earliest first seen timestamp of its tags, the reports 
+ * are replayed at the original pace multiplied by the <code>ReplaySpeed</code> 
+ * (a speed of 0 replays one report per batch without pause). the tags keep 
+ * the sightings (antenna, RSSI, timestamps and counts) of the capture.
+ * 
+ * @author agent
+ *
+ */
+public class ReplayWorkload implements Workload {
+	
+	/** LRSpec property: the capture to replay (a file or a resource on the classpath). */
+	public static final String PROPERTY_REPLAY_FILE = "ReplayFile";
+	
+	/** LRSpec property: the speed of the replay relative to the capture, 0 for as fast as possible. */
+	public static final String PROPERTY_REPLAY_SPEED = "ReplaySpeed";
+	
+	/** LRSpec property: whether the capture is replayed in a loop. */
+	public static final String PROPERTY_REPLAY_LOOP = "ReplayLoop";
+	
+	/** logger. */
+	private static final Logger LOG = Logger.getLogger(ReplayWorkload.class);
+	
+	/** the length of the header of an LLRP message. */
+	private static final int LLRP_HEADER_LENGTH = 10;
+	
+	/** the tags of the recorded reports. */
+	private final Tag[][] reports;
+	
+	/** the milliseconds from the first to each recorded report. */
+	private final long[] offsets;
+	
+	/** the duration of one pass through the capture in milliseconds. */
+	private final long duration;
+	
+	/** the speed of the replay, 0 for as fast as possible. */
+	private final double speed;
+	
+	/** whether the capture is replayed in a loop. */
+	private final boolean loop;
+	
+	/** the milliseconds between two batches. */
+	private final long period;
+	
+	/** the next report to replay. */
+	private int next = 0;
+	
+	/** the capture time at which the current pass started. */
+	private long base = 0;
+	
+	/** the number of reads emitted. */
+	private volatile long emitted = 0;
+	
+	/**
+	 * creates a replay of a capture.
+	 * @param readerName the name of the reader emitting the tags.
+	 * @param capture the capture.
+	 * @param speed the speed of the replay relative to the capture, 0 for as fast as possible.
+	 * @param loop whether the capture is replayed in a loop.
+	 * @param period the milliseconds between two batches.
+	 * @throws IOException if the capture cannot be read.
+	 */
+	public ReplayWorkload(String readerName, InputStream capture, double speed, boolean loop, long period) throws IOException {
+		this.speed = Math.max(0, speed);
+		this.loop = loop;
+		this.period = (this.speed == 0) ? 0 : Math.max(1, period);
+		
+		List<Tag[]> recordedReports = new ArrayList<Tag[]>();
+		List<Long> times = new ArrayList<Long>();
+		for (LLRPMessage message : readMessages(capture)) {
+			if (message instanceof RO_ACCESS_REPORT) {
+				addReport(readerName, (RO_ACCESS_REPORT) message, recordedReports, times);
+			}
+		}
+		reports = recordedReports.toArray(new Tag[recordedReports.size()][]);
+		offsets = new long[times.size()];
+		long first = times.isEmpty() ? 0 : times.get(0);
+		long previous = 0;
+		for (int i=0; i<offsets.length; i++) {
+			// reports out of order are replayed immediately.
+			previous = Math.max(previous, times.get(i) - first);
+			offsets[i] = previous;
+		}
+		long last = (offsets.length == 0) ? 0 : offsets[offsets.length - 1];
+		duration = Math.max(Math.max(1, this.period), last + last / Math.max(1, offsets.length - 1));
+		LOG.debug("loaded " + reports.length + " reports spanning " + last + "ms");
+	}
+	
+	/**
+	 * creates the replay from the properties of a logical reader.
+	 * @param readerName the name of the reader emitting the tags.
+	 * @param properties the properties of the logical reader.
+	 * @return the workload.
+	 * @throws IOException if the capture cannot be read.
+	 */
+	public static ReplayWorkload create(String readerName, Map<String, String> properties) throws IOException {
+		String captureName = WorkloadProperties.getString(properties, PROPERTY_REPLAY_FILE, null);
+		if (null == captureName) {
+			throw new IllegalArgumentException("no capture to replay, set the property " + PROPERTY_REPLAY_FILE);
+		}
+		InputStream capture = WorkloadProperties.open(captureName);
+		try {
+			return new ReplayWorkload(readerName, capture, 
+					WorkloadProperties.getDouble(properties, PROPERTY_REPLAY_SPEED, 1.0), 
+					Boolean.parseBoolean(WorkloadProperties.getString(properties, PROPERTY_REPLAY_LOOP, "false")), 
+					WorkloadProperties.getLong(properties, SyntheticWorkload.PROPERTY_BATCH_PERIOD, 100));
+		} finally {
+			capture.close();
+		}
+	}
+	
+	/**
+	 * reads the binary LLRP messages of a capture. messages that cannot be 
+	 * decoded are skipped.
+	 * @param capture the capture.
+	 * @return the messages.
+	 * @throws IOException if the capture cannot be read or is truncated.
+	 */
+	public static List<LLRPMessage> readMessages(InputStream capture) throws IOException {
+		List<LLRPMessage> messages = new ArrayList<LLRPMessage>();
+		DataInputStream in = new DataInputStream(capture);
+		byte[] header = new byte[LLRP_HEADER_LENGTH];
+		while (true) {
+			int first = in.read();
+			if (first == -1) {
+				break;
+			}
+			header[0] = (byte) first;
+			in.readFully(header, 1, LLRP_HEADER_LENGTH - 1);
+			int length = ((header[2] & 0xff) << 24) | ((header[3] & 0xff) << 16) | ((header[4] & 0xff) << 8) | (header[5] & 0xff);
+			if (length < LLRP_HEADER_LENGTH) {
+				throw new EOFException("invalid LLRP message length " + length + " after " + messages.size() + " messages");
+			}
+			byte[] message = new byte[length];
+			System.arraycopy(header, 0, message, 0, LLRP_HEADER_LENGTH);
+			in.readFully(message, LLRP_HEADER_LENGTH, length - LLRP_HEADER_LENGTH);
+			try {
+				messages.add(LLRPMessageFactory.createLLRPMessage(message));
+			} catch (InvalidLLRPMessageException e) {
+				LOG.info("skipping LLRP message that could not be decoded: " + e.getMessage());
+			}
+		}
+		return messages;
+	}
+	
+	/**
+	 * convert the EPC-96 tags of a recorded report into tags.
+	 */
+	private static void addReport(String readerName, RO_ACCESS_REPORT report, List<Tag[]> recordedReports, List<Long> times) {
+		long time = Long.MAX_VALUE;
+		List<Tag> tags = new ArrayList<Tag>();
+		for (TagReportData tagData : report.getTagReportDataList()) {
+			if (!(tagData.getEPCParameter() instanceof EPC_96)) {
+				continue;
+			}
+			try {
+				byte[] epc = LLRPAdaptor.getEPC(((EPC_96) tagData.getEPCParameter()).getEPC());
+				String binary = EPCDecoder.toBinaryString(epc);
+				String pureURI = EPCDecoder.decodePureIdentity(epc);
+				if (null == pureURI) {
+					pureURI = TagHelper.convert_to_PURE_IDENTITY("96", null, null, binary);
+				}
+				Tag tag = TestAdaptor.createTag(readerName, binary, pureURI, 0);
+				tag.setTagID(epc);
+				tag.setSighting(LLRPAdaptor.createSighting(tagData, 0));
+				tag.setTimestamp(tag.getSighting().getFirstSeen());
+				tags.add(tag);
+				time = Math.min(time, tag.getTimestamp());
+			} catch (Exception e) {
+				LOG.debug("ignoring recorded tag: " + e.getMessage());
+			}
+		}
+		if (!tags.isEmpty()) {
+			recordedReports.add(tags.toArray(new Tag[tags.size()]));
+			times.add(time);
+		}
+	}
+	
+	public void poll(long elapsed, List<Tag> batch) {
+		if (reports.length == 0) {
+			return;
+		}
+		if (speed == 0) {
+			if (next < reports.length) {
+				emit(batch);
+			}
+			return;
+		}
+		double now = elapsed * speed;
+		while (true) {
+			if (next == reports.length) {
+				if (!loop) {
+					return;
+				}
+				base += duration;
+				next = 0;
+			}
+			if (base + offsets[next] > now) {
+				return;
+			}
+			emit(batch);
+		}
+	}
+	
+	/**
+	 * add the tags of the next report to the batch.
+	 */
+	private void emit(List<Tag> batch) {
+		Tag[] tags = reports[next++];
+		Collections.addAll(batch, tags);
+		emitted += tags.length;
+		if (loop && (speed == 0) && (next == reports.length)) {
+			next = 0;
+		}
+	}
+	
+	public long getPeriod() {
+		return period;
+	}
+	
+	public boolean isExhausted() {
+		return !loop && (next >= reports.length);
+	}
+	
+	public Tag[] getTags() {
+		Set<Tag> tags = new LinkedHashSet<Tag>();
+		for (Tag[] report : reports) {
+			Collections.addAll(tags, report);
+		}
+		return tags.toArray(new Tag[tags.size()]);
+	}
+	
+	/**
+	 * @return the number of reports in the capture.
+	 */
+	public int getReportCount() {
+		return reports.length;
+	}
+	
+	/**
+	 * @return the number of reads emitted.
+	 */
+	public long getEmitted() {
+		return emitted;
+	}
+}
@@ -0,0 +1,296 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+package org.fosstrak.ale.server.readers.test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.fosstrak.ale.server.Tag;
+
+/**
+ * a seeded synthetic tag population read at a fixed rate. the population of 
+ * <code>TagCount</code> distinct EPCs is generated once from the seed. at any 
+ * time <code>PresentCount</code> consecutive tags of the population are in the 
+ * field, every read picks one of them according to the read distribution:
+ * <ul>
+ * <li>uniform: every present tag is equally likely.</li>
+ * <li>zipf: tag i of the population has the weight 1/(i+1)^ZipfExponent, so a 
+ * few tags are read much more often than the others.</li>
+ * <li>sequential: the present tags are read in turn.</li>
+ * </ul>
+ * with a <code>ChurnRate</code> > 0 the window of present tags moves along the 
+ * population (wrapping around), that many tags per second depart and as many 
+ * arrive. the churn advances with the number of reads and not with the wall 
+ * clock, so the same seed and properties always yield the same sequence of reads.
+ * 
+ * @author agent
+ *
+ */
+public class SyntheticWorkload implements Workload {
+	
+	/** LRSpec property: the seed of the population and of the reads. */
+	public static final String PROPERTY_SEED = "Seed";
+	
+	/** LRSpec property: comma separated coding schemes of the tags (SGTIN-96, SSCC-96, GRAI-96, GID-96). */
+	public static final String PROPERTY_SCHEMES = "Schemes";
+	
+	/** LRSpec property: the number of distinct tags. */
+	public static final String PROPERTY_TAG_COUNT = "TagCount";
+	
+	/** LRSpec property: the number of tags in the field at the same time. */
+	public static final String PROPERTY_PRESENT_COUNT = "PresentCount";
+	
+	/** LRSpec property: the number of distinct company prefixes. */
+	public static final String PROPERTY_COMPANY_COUNT = "CompanyCount";
+	
+	/** LRSpec property: the number of digits of the company prefixes. */
+	public static final String PROPERTY_COMPANY_PREFIX_LENGTH = "CompanyPrefixLength";
+	
+	/** LRSpec property: the filter value of the tags. */
+	public static final String PROPERTY_FILTER = "Filter";
+	
+	/** LRSpec property: the reads per second. */
+	public static final String PROPERTY_READ_RATE = "ReadRate";
+	
+	/** LRSpec property: the milliseconds between two batches of reads. */
+	public static final String PROPERTY_BATCH_PERIOD = "BatchPeriod";
+	
+	/** LRSpec property: the read distribution (uniform, zipf or sequential). */
+	public static final String PROPERTY_READ_DISTRIBUTION = "ReadDistribution";
+	
+	/** LRSpec property: the exponent of the zipf distribution. */
+	public static final String PROPERTY_ZIPF_EXPONENT = "ZipfExponent";
+	
+	/** LRSpec property: the tags per second leaving (and entering) the field. */
+	public static final String PROPERTY_CHURN_RATE = "ChurnRate";
+	
+	/** LRSpec property: the total number of reads, 0 for no limit. */
+	public static final String PROPERTY_READ_LIMIT = "ReadLimit";
+	
+	/** read distribution: every present tag is equally likely. */
+	public static final String DISTRIBUTION_UNIFORM = "uniform";
+	
+	/** read distribution: zipf distributed over the population. */
+	public static final String DISTRIBUTION_ZIPF = "zipf";
+	
+	/** read distribution: the present tags in turn. */
+	public static final String DISTRIBUTION_SEQUENTIAL = "sequential";
+	
+	/** the tags of the population. */
+	private final Tag[] population;
+	
+	/** the cumulative weights over the population, repeated twice to wrap around. null for sequential reads. */
+	private final double[] cumulativeWeights;
+	
+	/** the number of tags in the field. */
+	private final int presentCount;
+	
+	/** the reads per second. */
+	private final double readRate;
+	
+	/** the tags per second leaving the field. */
+	private final double churnRate;
+	
+	/** the milliseconds between two batches. */
+	private final long period;
+	
+	/** the total number of reads, 0 for no limit. */
+	private final long readLimit;
+	
+	/** picks the reads. */
+	private final Random random;
+	
+	/** the number of reads emitted. */
+	private volatile long emitted = 0;
+	
+	/**
+	 * creates a synthetic workload.
+	 * @param readerName the name of the reader emitting the tags.
+	 * @param seed the seed.
+	 * @param schemes the coding schemes, the tags are assigned to them in turn.
+	 * @param tagCount the number of distinct tags.
+	 * @param presentCount the number of tags in the field at the same time.
+	 * @param companyCount the number of distinct company prefixes.
+	 * @param companyPrefixLength the number of digits of the company prefixes.
+	 * @param filter the filter value.
+	 * @param readRate the reads per second.
+	 * @param period the milliseconds between two batches.
+	 * @param distribution the read distribution.
+	 * @param zipfExponent the exponent of the zipf distribution.
+	 * @param churnRate the tags per second leaving the field.
+	 * @param readLimit the total number of reads, 0 for no limit.
+	 */
+	public SyntheticWorkload(String readerName, long seed, EPCScheme[] schemes, int tagCount, int presentCount, 
+			int companyCount, int companyPrefixLength, int filter, double readRate, long period, 
+			String distribution, double zipfExponent, double churnRate, long readLimit) {
+		
+		if ((tagCount <= 0) || (schemes.length == 0) || (companyCount <= 0) || (readRate <= 0)) {
+			throw new IllegalArgumentException("tag count, schemes, company count and read rate must not be empty");
+		}
+		this.presentCount = Math.max(1, Math.min(presentCount, tagCount));
+		this.readRate = readRate;
+		this.churnRate = Math.max(0, churnRate);
+		this.period = Math.max(1, period);
+		this.readLimit = Math.max(0, readLimit);
+		this.random = new Random(seed);
+		
+		population = createPopulation(readerName, schemes, tagCount, companyCount, companyPrefixLength, filter);
+		
+		if (DISTRIBUTION_SEQUENTIAL.equalsIgnoreCase(distribution)) {
+			cumulativeWeights = null;
+		} else if (DISTRIBUTION_ZIPF.equalsIgnoreCase(distribution)) {
+			cumulativeWeights = createCumulativeWeights(tagCount, zipfExponent);
+		} else if (DISTRIBUTION_UNIFORM.equalsIgnoreCase(distribution)) {
+			cumulativeWeights = createCumulativeWeights(tagCount, 0);
+		} else {
+			throw new IllegalArgumentException("unknown read distribution: " + distribution);
+		}
+	}
+	
+	/**
+	 * creates a synthetic workload from the properties of a logical reader.
+	 * @param readerName the name of the reader emitting the tags.
+	 * @param properties the properties of the logical reader.
+	 * @return the workload.
+	 */
+	public static SyntheticWorkload create(String readerName, Map<String, String> properties) {
+		String[] schemeNames = WorkloadProperties.getString(properties, PROPERTY_SCHEMES, EPCScheme.SGTIN_96.getURIName()).split(",");
+		EPCScheme[] schemes = new EPCScheme[schemeNames.length];
+		for (int i=0; i<schemes.length; i++) {
+			schemes[i] = EPCScheme.forName(schemeNames[i]);
+		}
+		int tagCount = (int) WorkloadProperties.getLong(properties, PROPERTY_TAG_COUNT, 1000);
+		return new SyntheticWorkload(readerName, 
+				WorkloadProperties.getLong(properties, PROPERTY_SEED, 0), 
+				schemes, 
+				tagCount, 
+				(int) WorkloadProperties.getLong(properties, PROPERTY_PRESENT_COUNT, tagCount), 
+				(int) WorkloadProperties.getLong(properties, PROPERTY_COMPANY_COUNT, 10), 
+				(int) WorkloadProperties.getLong(properties, PROPERTY_COMPANY_PREFIX_LENGTH, 7), 
+				(int) WorkloadProperties.getLong(properties, PROPERTY_FILTER, 3), 
+				WorkloadProperties.getDouble(properties, PROPERTY_READ_RATE, 1000), 
+				WorkloadProperties.getLong(properties, PROPERTY_BATCH_PERIOD, 100), 
+				WorkloadProperties.getString(properties, PROPERTY_READ_DISTRIBUTION, DISTRIBUTION_UNIFORM), 
+				WorkloadProperties.getDouble(properties, PROPERTY_ZIPF_EXPONENT, 1.0), 
+				WorkloadProperties.getDouble(properties, PROPERTY_CHURN_RATE, 0), 
+				WorkloadProperties.getLong(properties, PROPERTY_READ_LIMIT, 0));
+	}
+	
+	/**
+	 * generate the distinct tags of the population.
+	 */
+	private Tag[] createPopulation(String readerName, EPCScheme[] schemes, int tagCount, int companyCount, int companyPrefixLength, int filter) {
+		long[][] companies = new long[schemes.length][companyCount];
+		for (int s=0; s<schemes.length; s++) {
+			for (int c=0; c<companyCount; c++) {
+				companies[s][c] = schemes[s].randomCompanyPrefix(random, companyPrefixLength);
+			}
+		}
+		
+		long now = System.currentTimeMillis();
+		String filterValue = Integer.toString(filter);
+		String prefixLength = Integer.toString(companyPrefixLength);
+		Set<String> binaries = new HashSet<String>(2 * tagCount);
+		Tag[] tags = new Tag[tagCount];
+		for (int i=0; i<tagCount; i++) {
+			int s = i % schemes.length;
+			long company = companies[s][random.nextInt(companyCount)];
+			String[] epc = schemes[s].encode(random, company, companyPrefixLength, filter);
+			if (!binaries.add(epc[0])) {
+				// the random fields collided, try again.
+				i--;
+				continue;
+			}
+			Tag tag = TestAdaptor.createTag(readerName, epc[0], epc[1], now);
+			tag.setFilter(filterValue);
+			tag.setCompanyPrefixLength(prefixLength);
+			tags[i] = tag;
+		}
+		return tags;
+	}
+	
+	/**
+	 * the cumulative weights 1/(i+1)^exponent over the population, repeated twice 
+	 * so that a window of present tags wrapping around the end is contiguous.
+	 */
+	private static double[] createCumulativeWeights(int tagCount, double exponent) {
+		double[] cumulative = new double[2 * tagCount + 1];
+		for (int i=0; i<2*tagCount; i++) {
+			cumulative[i + 1] = cumulative[i] + 1.0 / Math.pow((i % tagCount) + 1, exponent);
+		}
+		return cumulative;
+	}
+	
+	public void poll(long elapsed, List<Tag> batch) {
+		long due = (long) (readRate * elapsed / 1000.0);
+		if (readLimit > 0) {
+			due = Math.min(due, readLimit);
+		}
+		long next = emitted;
+		while (next < due) {
+			batch.add(population[nextIndex(next)]);
+			next++;
+		}
+		emitted = next;
+	}
+	
+	/**
+	 * @param read the sequence number of the read.
+	 * @return the index of the tag read.
+	 */
+	private int nextIndex(long read) {
+		int tagCount = population.length;
+		int offset = (int) ((long) (read * churnRate / readRate) % tagCount);
+		if (null == cumulativeWeights) {
+			return (int) ((offset + read % presentCount) % tagCount);
+		}
+		double low = cumulativeWeights[offset];
+		double high = cumulativeWeights[offset + presentCount];
+		int position = Arrays.binarySearch(cumulativeWeights, offset, offset + presentCount + 1, low + random.nextDouble() * (high - low));
+		if (position < 0) {
+			position = -position - 2;
+		}
+		position = Math.max(offset, Math.min(position, offset + presentCount - 1));
+		return position % tagCount;
+	}
+	
+	public long getPeriod() {
+		return period;
+	}
+	
+	public boolean isExhausted() {
+		return (readLimit > 0) && (emitted >= readLimit);
+	}
+	
+	public Tag[] getTags() {
+		return population.clone();
+	}
+	
+	/**
+	 * @return the number of reads emitted.
+	 */
+	public long getEmitted() {
+		return emitted;
+	}
+}
@@ -19,17 +19,14 @@
  */
 package org.fosstrak.ale.server.readers.test;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang.ArrayUtils;
 import org.apache.log4j.Logger;
-import org.epcglobalinc.tdt.LevelTypeList;
 import org.fosstrak.ale.exception.ImplementationException;
 import org.fosstrak.ale.server.Tag;
 import org.fosstrak.ale.server.readers.BaseReader;
@@ -37,96 +34,149 @@ import org.fosstrak.ale.xsd.ale.epcglobal.LRProperty;
 import org.fosstrak.ale.xsd.ale.epcglobal.LRSpec;
 import org.fosstrak.hal.HardwareException;
 import org.fosstrak.hal.Observation;
-import org.fosstrak.tdt.TDTEngine;
 
 /**
  * test adaptor for the filtering and collection triggering tag in regular time intervals.
+ * the reads are generated by a {@link Workload} selected by the property <code>Workload</code>:
+ * <ul>
+ * <li>file (default): the tags of a tag file in turn, see {@link FileWorkload}.</li>
+ * <li>synthetic: a seeded synthetic tag population, see {@link SyntheticWorkload}.</li>
+ * <li>replay: a recorded LLRP capture, see {@link ReplayWorkload}.</li>
+ * </ul>
+ * the workload is created when the reader is initialized, its tags are precomputed 
+ * and emitted without copying. the batches are paced against a fixed schedule, so 
+ * the time spent delivering a batch does not slow down the rate.
  * @author swieland
  *
  */
 public class TestAdaptor extends BaseReader {
 	
+	/** LRSpec property: the workload (file, synthetic or replay). */
+	public static final String PROPERTY_WORKLOAD = "Workload";
+	
+	/** workload reading the tags of a tag file. */
+	public static final String WORKLOAD_FILE = "file";
+	
+	/** workload generating a synthetic tag population. */
+	public static final String WORKLOAD_SYNTHETIC = "synthetic";
+	
+	/** workload replaying a recorded LLRP capture. */
+	public static final String WORKLOAD_REPLAY = "replay";
+	
 	/** logger. */
 	private static final Logger log = Logger.getLogger(TestAdaptor.class);
 
 	private Thread thread = null;
 	
 	private Tag[] tagsAsArray;
-	private int tagSize;
-	private boolean running = false;
+	private volatile boolean running = false;
+	
+	/** the workload emitting the reads. */
+	private volatile Workload workload = null;
+	
+	/** whether the workload has been started (and needs to be recreated to start over). */
+	private boolean workloadStarted = false;
+	
+	/** the number of reads emitted. */
+	private volatile long emitted = 0;
+	
+	/** the number of batches emitted. */
+	private volatile long batches = 0;
+	
+	/** the largest delay of a batch behind its schedule in milliseconds. */
+	private volatile long maxLag = 0;
+	
+	/**
+	 * creates a precomputed tag as emitted by a workload. the tag carries the trace 
+	 * of the reader already and must not be modified afterwards.
+	 * @param readerName the name of the reader emitting the tag.
+	 * @param binary the binary representation of the tag.
+	 * @param pureURI the pure URI of the tag.
+	 * @param timestamp the timestamp of the tag.
+	 * @return the tag.
+	 */
+	public static Tag createTag(String readerName, String binary, String pureURI, long timestamp) {
+		Tag tag = new Tag(readerName);
+		tag.setTagAsBinary(binary);
+		tag.setTagIDAsPureURI(pureURI);
+		tag.setTagLength("96");
+		tag.setTimestamp(timestamp);
+		if (null != readerName) {
+			tag.addTrace(readerName);
+		}
+		return tag;
+	}
 	
 	/**
 	 * loads a list of tags.
 	 * @throws Exception upon problems.
 	 */
 	public void loadTags() throws Exception {
-		List<Tag> tags = new ArrayList<Tag>();
-		BufferedReader bis = new BufferedReader(new InputStreamReader(TestAdaptor.class.getResourceAsStream("/tags.txt")));
-		
-		TDTEngine tdt = new TDTEngine();
-		Map<String, String> extraparms = new HashMap<String, String> ();
-		extraparms.put("taglength", "96");
-		extraparms.put("filter", "3");
-		extraparms.put("gs1companyprefixlength", "7");
-		
-		String line = bis.readLine(); // drop first line with the header line.
-		while ((line = bis.readLine()) != null) {
-			String pureURI = tdt.convert(line, extraparms, LevelTypeList.TAG_ENCODING);
-			
-			Tag tag = new Tag();
-			tag.setTagAsBinary(line);
-			tag.setTagIDAsPureURI(pureURI);
-			tags.add(tag);
-		}
-		
-		tagSize = tags.size();
-		tagsAsArray = new Tag[tagSize];
-		int i=0;
-		for (Tag t : tags) {
-			tagsAsArray[i++] = t;
+		tagsAsArray = FileWorkload.loadTags(TestAdaptor.class.getResourceAsStream(FileWorkload.DEFAULT_TAG_FILE), getName(), 7, 3);
+	}
+	
+	/**
+	 * creates the workload configured in the properties of the reader.
+	 * @return the workload.
+	 * @throws ImplementationException if the workload cannot be created.
+	 */
+	private Workload createWorkload() throws ImplementationException {
+		String type = WorkloadProperties.getString(logicalReaderProperties, PROPERTY_WORKLOAD, WORKLOAD_FILE);
+		try {
+			if (WORKLOAD_SYNTHETIC.equalsIgnoreCase(type)) {
+				return SyntheticWorkload.create(getName(), logicalReaderProperties);
+			} else if (WORKLOAD_REPLAY.equalsIgnoreCase(type)) {
+				return ReplayWorkload.create(getName(), logicalReaderProperties);
+			} else if (WORKLOAD_FILE.equalsIgnoreCase(type)) {
+				return FileWorkload.create(getName(), logicalReaderProperties);
+			}
+		} catch (Exception e) {
+			throw new ImplementationException("could not create the " + type + " workload of reader " + getName() + ": " + e.getMessage());
 		}
+		throw new ImplementationException("unknown workload: " + type);
 	}
 	
 	private class TestAdaptorRunnable implements Runnable {
 
-		private TestAdaptor tb = null;
+		private final Workload workload;
 		
-		public TestAdaptorRunnable(TestAdaptor target) {
-			tb = target;
+		public TestAdaptorRunnable(Workload workload) {
+			this.workload = workload;
 		}
 		
 		public void run() {
-			long tps = Long.parseLong(tb.logicalReaderProperties.get("tps"));
-			long wt = Long.parseLong(tb.logicalReaderProperties.get("wt"));
-			long gain = Long.parseLong(tb.logicalReaderProperties.get("gain"));
-			TestAdaptor.log.debug(String.format("starting tagbomb\ntps: %s\nwt: %s\ngain: %s\n", tps, wt, gain));
-			String readerName = tb.getName();
+			long period = TimeUnit.MILLISECONDS.toNanos(workload.getPeriod());
+			TestAdaptor.log.debug("starting " + workload.getClass().getSimpleName() + " with a period of " + workload.getPeriod() + "ms");
 			
-			long i = 0;
-			while (isRunning()) {
-				TestAdaptor.log.debug("firing " + tps + " tags");
-				// generate tags 
-				List<Tag> tags = new LinkedList<Tag>();
-				for (long j=0; j<tps; j++) {
-					Tag prototype = tagsAsArray[(int)i % tagSize];
-					Tag tag = new Tag(readerName, null, null, System.currentTimeMillis());
-					tag.setTagAsBinary(prototype.getTagAsBinary());
-					tag.setTagIDAsPureURI(prototype.getTagIDAsPureURI());
-					
-					tags.add(tag);
-					i++;
-				}
-				
-				tb.addTags(tags);
+			long start = System.nanoTime();
+			long deadline = start;
+			while (isRunning() && !workload.isExhausted()) {
+				emit(workload, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
 				
+				if (period == 0) {
+					if (Thread.interrupted()) {
+						TestAdaptor.log.debug("we got interrupted - exiting.");
+						return;
+					}
+					continue;
+				}
+				deadline += period;
+				long wait = deadline - System.nanoTime();
+				if (wait < 0) {
+					// behind the schedule, do not try to catch up the missed batches.
+					maxLag = Math.max(maxLag, TimeUnit.NANOSECONDS.toMillis(-wait));
+					if (-wait > period) {
+						deadline = System.nanoTime();
+					}
+					continue;
+				}
 				try {
-					Thread.sleep(wt);
+					TimeUnit.NANOSECONDS.sleep(wait);
 				} catch (InterruptedException e) {
 					// we have been interrupted so stop the thread
 					TestAdaptor.log.debug("we got an interrupt exception - exiting.");
 					return;
 				}
-				tps += gain;
 			}
 			log.info("Stop the test adapter.");
 		}
@@ -140,11 +190,7 @@ public class TestAdaptor extends BaseReader {
 	@Override
 	public void initialize(String name, LRSpec spec) throws ImplementationException {
 		super.initialize(name, spec);
-		try {
-			loadTags();
-		} catch (Exception e) {
-			throw new ImplementationException(e);
-		}
+		workload = createWorkload();
 	}
 
 	private boolean isRunning() {
@@ -167,6 +213,26 @@ public class TestAdaptor extends BaseReader {
 		}
 		notifyObservers(tags);
 	}
+	
+	private int emit(Workload workload, long elapsed) {
+		List<Tag> batch = new ArrayList<Tag>();
+		workload.poll(elapsed, batch);
+		if (!batch.isEmpty()) {
+			deliver(batch);
+		}
+		return batch.size();
+	}
+	
+	/**
+	 * delivers a batch of precomputed tags (carrying the trace already).
+	 * @param tags the tags.
+	 */
+	private void deliver(List<Tag> tags) {
+		setChanged();
+		notifyObservers(tags);
+		emitted += tags.size();
+		batches++;
+	}
 
 	@Override
 	public void connectReader() {
@@ -184,8 +250,18 @@ public class TestAdaptor extends BaseReader {
 		if (thread != null) {
 			stop();
 		}
+		if (workloadStarted || (null == workload)) {
+			// start over with a fresh workload.
+			try {
+				workload = createWorkload();
+			} catch (ImplementationException e) {
+				log.error("could not start reader " + getName(), e);
+				return;
+			}
+		}
+		workloadStarted = true;
 		running = true;
-		thread = new Thread(new TestAdaptorRunnable(this), getName());
+		thread = new Thread(new TestAdaptorRunnable(workload), getName());
 		thread.setDaemon(true);
 		thread.start();
 		setStarted();
@@ -195,17 +271,19 @@ public class TestAdaptor extends BaseReader {
 	public void stop() {
 		log.info("stopping reader.");
 		running = false;
-		thread.interrupt();
-		try {
-			thread.join();
-		} catch (InterruptedException e) {
+		if (null != thread) {
+			thread.interrupt();
+			try {
+				thread.join();
+			} catch (InterruptedException e) {
+			}
+			thread = null;
 		}
-		thread = null;
 		setStopped();
 	}
 
 	@Override
-	public void update(LRSpec spec) {
+	public void update(LRSpec spec) throws ImplementationException {
 		boolean started = isStarted();
 		
 		disconnectReader();
@@ -219,6 +297,8 @@ public class TestAdaptor extends BaseReader {
 				properties.add(prop);
 			}	
 		}
+		workload = createWorkload();
+		workloadStarted = false;
 		connectReader();
 		if (started) {
 			start();
@@ -236,6 +316,38 @@ public class TestAdaptor extends BaseReader {
 	 * @return the tags.
 	 */
 	public Tag[] getTags() {
+		Workload current = workload;
+		if ((null == tagsAsArray) && (null != current)) {
+			return current.getTags();
+		}
 		return (Tag[]) ArrayUtils.clone(tagsAsArray);
 	}
+	
+	/**
+	 * @return the workload of the reader, null if not initialized.
+	 */
+	public Workload getWorkload() {
+		return workload;
+	}
+	
+	/**
+	 * @return the number of reads emitted.
+	 */
+	public long getEmitted() {
+		return emitted;
+	}
+	
+	/**
+	 * @return the number of batches emitted.
+	 */
+	public long getBatches() {
+		return batches;
+	}
+	
+	/**
+	 * @return the largest delay of a batch behind its schedule in milliseconds.
+	 */
+	public long getMaxLag() {
+		return maxLag;
+	}
 }
@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+package org.fosstrak.ale.server.readers.test;
+
+import java.util.List;
+
+import org.fosstrak.ale.server.Tag;
+
+/**
+ * the reads a {@link TestAdaptor} emits. a workload hands out precomputed tags 
+ * that are never modified, so the same tag instance is emitted for every read 
+ * of the same EPC and no tag is allocated while the workload runs.
+ * 
+ * @author agent
+ *
+ */
+public interface Workload {
+	
+	/**
+	 * add the reads that are due to the batch.
+	 * @param elapsed the milliseconds elapsed since the workload has been started.
+	 * @param batch the batch to fill.
+	 */
+	void poll(long elapsed, List<Tag> batch);
+	
+	/**
+	 * @return the milliseconds between two polls, 0 to poll without pause.
+	 */
+	long getPeriod();
+	
+	/**
+	 * @return true if the workload has no more reads to emit.
+	 */
+	boolean isExhausted();
+	
+	/**
+	 * @return the distinct tags of the workload.
+	 */
+	Tag[] getTags();
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+package org.fosstrak.ale.server.readers.test;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.InputStream;
+import java.util.Map;
+
+import org.apache.log4j.Logger;
+
+/**
+ * reads the workload properties of a {@link TestAdaptor} from the properties 
+ * of the logical reader.
+ * 
+ * @author agent
+ *
+ */
+final class WorkloadProperties {
+	
+	/** logger. */
+	private static final Logger LOG = Logger.getLogger(WorkloadProperties.class);
+	
+	private WorkloadProperties() {
+	}
+	
+	/**
+	 * reads a string property.
+	 * @param properties the properties.
+	 * @param name the name of the property.
+	 * @param defaultValue the value if not set.
+	 * @return the value of the property.
+	 */
+	static String getString(Map<String, String> properties, String name, String defaultValue) {
+		String value = properties.get(name);
+		return (null == value) ? defaultValue : value.trim();
+	}
+	
+	/**
+	 * reads an integral property.
+	 * @param properties the properties.
+	 * @param name the name of the property.
+	 * @param defaultValue the value if not set or invalid.
+	 * @return the value of the property.
+	 */
+	static long getLong(Map<String, String> properties, String name, long defaultValue) {
+		String value = properties.get(name);
+		if (null == value) {
+			return defaultValue;
+		}
+		try {
+			return Long.parseLong(value.trim());
+		} catch (NumberFormatException e) {
+			LOG.error("invalid value for workload property " + name + ": " + value + ", ignoring.");
+			return defaultValue;
+		}
+	}
+	
+	/**
+	 * reads a decimal property.
+	 * @param properties the properties.
+	 * @param name the name of the property.
+	 * @param defaultValue the value if not set or invalid.
+	 * @return the value of the property.
+	 */
+	static double getDouble(Map<String, String> properties, String name, double defaultValue) {
+		String value = properties.get(name);
+		if (null == value) {
+			return defaultValue;
+		}
+		try {
+			return Double.parseDouble(value.trim());
+		} catch (NumberFormatException e) {
+			LOG.error("invalid value for workload property " + name + ": " + value + ", ignoring.");
+			return defaultValue;
+		}
+	}
+	
+	/**
+	 * opens a file given by a workload property.
+	 * @param name the path of a file or of a resource on the classpath.
+	 * @return the stream of the file.
+	 * @throws FileNotFoundException if neither a file nor a resource exists.
+	 */
+	static InputStream open(String name) throws FileNotFoundException {
+		File file = new File(name);
+		if (file.isFile()) {
+			return new FileInputStream(file);
+		}
+		InputStream in = WorkloadProperties.class.getResourceAsStream(name);
+		if (null == in) {
+			throw new FileNotFoundException("file not found: " + name);
+		}
+		return in;
+	}
+}
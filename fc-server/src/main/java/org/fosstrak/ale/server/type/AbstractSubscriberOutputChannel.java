@@ -18,6 +18,12 @@ public abstract class AbstractSubscriberOutputChannel implements SubscriberOutpu
 	
 	private final String notificationURI;
 	
+	/** the length of the last serialized reports (the channels write one byte per character). */
+	private volatile long serializedLength = 0;
+	
+	/** the time in nanoseconds to serialize the last reports. */
+	private volatile long serializationNanos = 0;
+	
 	/**
 	 * constructor requiring notification uri.
 	 * @param notificationURI
@@ -35,6 +41,7 @@ public abstract class AbstractSubscriberOutputChannel implements SubscriberOutpu
 	 */
 	protected String getXml(ECReports reports) throws ImplementationException {
 	
+		long start = System.nanoTime();
 		CharArrayWriter writer = new CharArrayWriter();
 		try {			
 			SerializerUtil.serializeECReports(reports, writer);
@@ -42,7 +49,10 @@ public abstract class AbstractSubscriberOutputChannel implements SubscriberOutpu
 			LOG.debug("could not serialize the reports", e);
 			throw new ImplementationException("Unable to serialize reports.", e);
 		}
-		return writer.toString();
+		serializedLength = writer.size();
+		String xml = writer.toString();
+		serializationNanos = System.nanoTime() - start;
+		return xml;
 		
 	}
 	
@@ -55,13 +65,31 @@ public abstract class AbstractSubscriberOutputChannel implements SubscriberOutpu
 	 */
 	protected String getPrettyXml(ECReports reports) throws ImplementationException {
 		
+		long start = System.nanoTime();
 		CharArrayWriter writer = new CharArrayWriter();
 		try {
 			SerializerUtil.serializeECReports(reports, writer);
 		} catch (Exception e) {
 			throw new ImplementationException("Unable to serialize reports", e);
 		}
-		return writer.toString();
+		serializedLength = writer.size();
+		String xml = writer.toString();
+		serializationNanos = System.nanoTime() - start;
+		return xml;
+	}
+
+	/**
+	 * @return the number of bytes of the reports serialized last, 0 if none.
+	 */
+	public long getSerializedLength() {
+		return serializedLength;
+	}
+	
+	/**
+	 * @return the time in nanoseconds to serialize the last reports, 0 if none.
+	 */
+	public long getSerializationNanos() {
+		return serializationNanos;
 	}
 
 	/**
@@ -91,6 +91,22 @@ public class ECSpecValidator {
 		
 		checkBoundarySpec(spec.getBoundarySpec());
 		checkReportSpecs(spec.getReportSpecs());
+		checkSpecExtensions(spec);
+	}
+	
+	/**
+	 * verifies the fosstrak extensions on the ECSpec (profiling).
+	 * @param spec the ECSpec to verify.
+	 * @return true if OK, throws exception otherwise.
+	 * @throws ECSpecValidationException if the number of profiled rounds is not a positive number.
+	 */
+	public boolean checkSpecExtensions(ECSpec spec) throws ECSpecValidationException {
+		try {
+			ExtensionHelper.getProfileRounds(spec);
+		} catch (ECSpecValidationException e) {
+			throw logAndCreateECSpecValidationException(e.getMessage());
+		}
+		return true;
 	}
 
 	/**
@@ -137,12 +153,36 @@ public class ECSpecValidator {
 		// check if start trigger is non-empty and repeatPeriod is non-zero
 		checkStartTriggerConstraintsOnRepeatPeriod(boundarySpec);
 		
+		// check the fosstrak boundary extensions
+		checkBoundarySpecExtensions(boundarySpec);
+		
 		// check if a stopping condition is specified
 		checkBoundarySpecStoppingCondition(boundarySpec);
 		
 		return true;
 	}
 	
+	/**
+	 * verifies the fosstrak extensions on the boundary spec (tag count and tag pattern termination, windows).
+	 * @param boundarySpec the boundary spec to verify.
+	 * @return true if OK, throws exception otherwise.
+	 * @throws ECSpecValidationException if the tag count is not a positive number, the tag pattern is invalid 
+	 * or the window is not a multiple of the duration.
+	 */
+	public boolean checkBoundarySpecExtensions(ECBoundarySpec boundarySpec) throws ECSpecValidationException {
+		try {
+			ExtensionHelper.getTagCount(boundarySpec);
+			String pattern = ExtensionHelper.getTagPattern(boundarySpec);
+			if (null != pattern) {
+				new Pattern(pattern, PatternUsage.FILTER);
+			}
+			checkWindow(boundarySpec);
+		} catch (ECSpecValidationException e) {
+			throw logAndCreateECSpecValidationException(e.getMessage());
+		}
+		return true;
+	}
+	
 	/**
 	 * check that the provided time value is not negative.
 	 * @param duration the time value to check.
@@ -172,15 +212,40 @@ public class ECSpecValidator {
 		return true;
 	}
 
+	/**
+	 * a window is given by its mode and its size. the duration of the boundary spec is the length of 
+	 * one bucket, therefore the window size must be a multiple of the duration.
+	 * @param boundarySpec the boundary spec to test.
+	 * @throws ECSpecValidationException if the window definition is incomplete or not a multiple of the duration.
+	 */
+	private void checkWindow(ECBoundarySpec boundarySpec) throws ECSpecValidationException {
+		String mode = ExtensionHelper.getWindowMode(boundarySpec);
+		int size = ExtensionHelper.getWindowSize(boundarySpec);
+		if ((null == mode) && (size < 0)) {
+			return;
+		}
+		if ((null == mode) || (size < 0)) {
+			throw new ECSpecValidationException("A window requires both the windowMode and the windowSize extension.");
+		}
+		ECTime duration = boundarySpec.getDuration();
+		if ((null == duration) || (duration.getValue() <= 0)) {
+			throw new ECSpecValidationException("A window requires a positive duration.");
+		}
+		if ((size < duration.getValue()) || ((size % duration.getValue()) != 0)) {
+			throw new ECSpecValidationException("The windowSize must be a multiple of the duration.");
+		}
+	}
+	
 	/**
 	 * check the stopping condition of the EC boundary spec:<br/>
-	 * if there is no stop trigger or no duration value or no stableSetInterval, throw an exception.
+	 * if there is no stop trigger or no duration value or no stableSetInterval (nor a tag count or tag pattern extension), throw an exception.
 	 * @param boundarySpec the boundary spec to test.
 	 * @return true if OK, throws exception otherwise.
 	 * @throws ECSpecValidationException if there is no stop trigger or no duration value or no stableSetInterval, throw an exception.
 	 */
 	public boolean checkBoundarySpecStoppingCondition(ECBoundarySpec boundarySpec) throws ECSpecValidationException {
-		if ((boundarySpec.getStopTrigger() == null) && (boundarySpec.getDuration() == null) && (boundarySpec.getStableSetInterval() == null)) {
+		if ((boundarySpec.getStopTrigger() == null) && (boundarySpec.getDuration() == null) && (boundarySpec.getStableSetInterval() == null)
+				&& (ExtensionHelper.getTagCount(boundarySpec) < 0) && (ExtensionHelper.getTagPattern(boundarySpec) == null)) {
 			throw logAndCreateECSpecValidationException("No stopping condition is specified in ECBoundarySpec.");
 		}
 		return true;		
@@ -0,0 +1,250 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.server.util;
+
+import java.math.BigInteger;
+
+/**
+ * fast decoder for 96 bit EPCs. the EPC is kept as a compact key of 12 bytes and the 
+ * common coding schemes (SGTIN-96, SSCC-96, GRAI-96 and GID-96) are decoded into the 
+ * pure identity URI directly by bit operations. for all the other coding schemes 
+ * (or malformed EPCs) the caller has to fall back to the TDT engine.
+ * 
+ * @author agent
+ *
+ */
+public final class EPCDecoder {
+	
+	/** number of bits of an EPC-96. */
+	public static final int EPC96_BITS = 96;
+	
+	/** number of bytes of an EPC-96. */
+	public static final int EPC96_BYTES = EPC96_BITS / 8;
+	
+	/** header of the SGTIN-96 coding scheme. */
+	public static final int HEADER_SGTIN_96 = 0x30;
+	
+	/** header of the SSCC-96 coding scheme. */
+	public static final int HEADER_SSCC_96 = 0x31;
+	
+	/** header of the GRAI-96 coding scheme. */
+	public static final int HEADER_GRAI_96 = 0x33;
+	
+	/** header of the GID-96 coding scheme. */
+	public static final int HEADER_GID_96 = 0x35;
+	
+	/** number of bits of the company prefix, indexed by the partition value. */
+	private static final int[] COMPANY_PREFIX_BITS = new int[] { 40, 37, 34, 30, 27, 24, 20 };
+	
+	/** number of digits of the company prefix, indexed by the partition value. */
+	private static final int[] COMPANY_PREFIX_DIGITS = new int[] { 12, 11, 10, 9, 8, 7, 6 };
+	
+	/** number of digits of the company prefix and the item reference of a SGTIN. */
+	private static final int SGTIN_DIGITS = 13;
+	
+	/** number of digits of the company prefix and the serial reference of a SSCC. */
+	private static final int SSCC_DIGITS = 17;
+	
+	/** number of digits of the company prefix and the asset type of a GRAI. */
+	private static final int GRAI_DIGITS = 12;
+	
+	/** number of bits of the company prefix and the item reference (SGTIN), serial reference (SSCC) or asset type (GRAI). */
+	private static final int PARTITIONED_BITS = 44;
+	
+	/** number of bits of the SSCC serial reference, indexed by the partition value (the other schemes fill up the 44 partitioned bits). */
+	private static final int[] SSCC_SERIAL_REFERENCE_BITS = new int[] { 18, 21, 24, 28, 31, 34, 38 };
+	
+	/** powers of ten up to 10^18 to validate the number of digits. */
+	private static final long[] POWERS_OF_TEN = new long[19];
+	static {
+		POWERS_OF_TEN[0] = 1;
+		for (int i=1; i<POWERS_OF_TEN.length; i++) {
+			POWERS_OF_TEN[i] = POWERS_OF_TEN[i-1] * 10;
+		}
+	}
+	
+	/**
+	 * private utility class.
+	 */
+	private EPCDecoder() {
+	}
+	
+	/**
+	 * create the compact key of an EPC-96 from its numeric value.
+	 * @param value the value of the EPC.
+	 * @return the EPC as 12 bytes (big endian) or null if the value does not fit into 96 bits.
+	 */
+	public static byte[] fromBigInteger(BigInteger value) {
+		if ((null == value) || (value.signum() < 0) || (value.bitLength() > EPC96_BITS)) {
+			return null;
+		}
+		byte[] raw = value.toByteArray();
+		byte[] epc = new byte[EPC96_BYTES];
+		int length = Math.min(raw.length, EPC96_BYTES);
+		System.arraycopy(raw, raw.length - length, epc, EPC96_BYTES - length, length);
+		return epc;
+	}
+	
+	/**
+	 * create the compact key of an EPC-96 from its hex representation.
+	 * @param hex the EPC as hex string (at most 24 hex digits, leading zeros may be omitted).
+	 * @return the EPC as 12 bytes (big endian) or null if the hex string is not a valid EPC-96.
+	 */
+	public static byte[] fromHex(String hex) {
+		if ((null == hex) || (hex.length() == 0) || (hex.length() > 2 * EPC96_BYTES)) {
+			return null;
+		}
+		byte[] epc = new byte[EPC96_BYTES];
+		int nibble = 2 * EPC96_BYTES - hex.length();
+		for (int i=0; i<hex.length(); i++, nibble++) {
+			int digit = Character.digit(hex.charAt(i), 16);
+			if (digit < 0) {
+				return null;
+			}
+			epc[nibble / 2] |= ((nibble % 2) == 0) ? (digit << 4) : digit;
+		}
+		return epc;
+	}
+	
+	/**
+	 * the binary representation of the EPC as used by the tags ({@link org.fosstrak.ale.server.Tag#getTagAsBinary()}).
+	 * @param epc the EPC.
+	 * @return a string with a '0' or '1' per bit of the EPC (including leading zeros).
+	 */
+	public static String toBinaryString(byte[] epc) {
+		char[] bits = new char[epc.length * 8];
+		for (int i=0; i<bits.length; i++) {
+			bits[i] = (((epc[i / 8] >> (7 - (i % 8))) & 1) == 0) ? '0' : '1';
+		}
+		return new String(bits);
+	}
+	
+	/**
+	 * decode an EPC-96 into the pure identity URI.
+	 * @param epc the EPC.
+	 * @return the pure identity URI or null if the coding scheme is not supported by the fast path or the EPC is malformed.
+	 */
+	public static String decodePureIdentity(byte[] epc) {
+		if ((null == epc) || (epc.length != EPC96_BYTES)) {
+			return null;
+		}
+		switch ((int) bits(epc, 0, 8)) {
+		case HEADER_SGTIN_96:
+			return decodePartitioned(epc, "urn:epc:id:sgtin:", SGTIN_DIGITS, false, 38);
+		case HEADER_SSCC_96:
+			return decodePartitioned(epc, "urn:epc:id:sscc:", SSCC_DIGITS, true, 0);
+		case HEADER_GRAI_96:
+			return decodePartitioned(epc, "urn:epc:id:grai:", GRAI_DIGITS, false, 38);
+		case HEADER_GID_96:
+			return new StringBuilder(48).append("urn:epc:id:gid:")
+					.append(bits(epc, 8, 28)).append('.')
+					.append(bits(epc, 36, 24)).append('.')
+					.append(bits(epc, 60, 36)).toString();
+		default:
+			return null;
+		}
+	}
+	
+	/**
+	 * decode a coding scheme with a partition value: header (8 bits), filter (3 bits), 
+	 * partition (3 bits), company prefix and second field (together 44 bits or given by 
+	 * the SSCC table) and an optional serial number.
+	 * @param epc the EPC.
+	 * @param prefix the prefix of the URI.
+	 * @param totalDigits the number of digits of the company prefix and the second field.
+	 * @param ssccTable true to take the length of the second field from the SSCC table, false if the second field fills up the 44 bits.
+	 * @param serialBits number of bits of the serial number following the partitioned bits, 0 if none.
+	 * @return the pure identity URI or null if malformed.
+	 */
+	private static String decodePartitioned(byte[] epc, String prefix, int totalDigits, boolean ssccTable, int serialBits) {
+		int partition = (int) bits(epc, 11, 3);
+		if (partition >= COMPANY_PREFIX_BITS.length) {
+			return null;
+		}
+		int companyPrefixBits = COMPANY_PREFIX_BITS[partition];
+		int companyPrefixDigits = COMPANY_PREFIX_DIGITS[partition];
+		int secondBits = ssccTable ? SSCC_SERIAL_REFERENCE_BITS[partition] : PARTITIONED_BITS - companyPrefixBits;
+		int secondDigits = totalDigits - companyPrefixDigits;
+		
+		long companyPrefix = bits(epc, 14, companyPrefixBits);
+		long second = bits(epc, 14 + companyPrefixBits, secondBits);
+		if ((companyPrefix >= POWERS_OF_TEN[companyPrefixDigits]) || (second >= POWERS_OF_TEN[secondDigits])) {
+			return null;
+		}
+		
+		StringBuilder uri = new StringBuilder(64).append(prefix);
+		appendPadded(uri, companyPrefix, companyPrefixDigits);
+		uri.append('.');
+		appendPadded(uri, second, secondDigits);
+		if (serialBits > 0) {
+			uri.append('.').append(bits(epc, 14 + companyPrefixBits + secondBits, serialBits));
+		}
+		return uri.toString();
+	}
+	
+	/**
+	 * append a number padded with leading zeros to the given number of digits.
+	 * @param uri where to append.
+	 * @param value the value.
+	 * @param digits the number of digits.
+	 */
+	private static void appendPadded(StringBuilder uri, long value, int digits) {
+		for (int i=digits-1; i>0; i--) {
+			if (value >= POWERS_OF_TEN[i]) {
+				break;
+			}
+			uri.append('0');
+		}
+		if (digits > 0) {
+			uri.append(value);
+		}
+	}
+	
+	/**
+	 * read a field of at most 63 bits out of the EPC.
+	 * @param epc the EPC.
+	 * @param offset the offset of the first bit (0 is the most significant bit).
+	 * @param length the number of bits.
+	 * @return the value of the field.
+	 */
+	static long bits(byte[] epc, int offset, int length) {
+		long value = 0;
+		int end = offset + length;
+		int i = offset;
+		
+		// leading bits up to the next byte boundary
+		while ((i < end) && ((i % 8) != 0)) {
+			value = (value << 1) | ((epc[i / 8] >> (7 - (i % 8))) & 1);
+			i++;
+		}
+		// whole bytes
+		while (i + 8 <= end) {
+			value = (value << 8) | (epc[i / 8] & 0xff);
+			i += 8;
+		}
+		// trailing bits
+		while (i < end) {
+			value = (value << 1) | ((epc[i / 8] >> (7 - (i % 8))) & 1);
+			i++;
+		}
+		return value;
+	}
+}
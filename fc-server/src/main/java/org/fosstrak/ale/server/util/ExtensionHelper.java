@@ -0,0 +1,189 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+package org.fosstrak.ale.server.util;
+
+import java.util.Map;
+
+import javax.xml.namespace.QName;
+
+import org.fosstrak.ale.exception.ECSpecValidationException;
+import org.fosstrak.ale.xsd.ale.epcglobal.ECBoundarySpec;
+import org.fosstrak.ale.xsd.ale.epcglobal.ECSpec;
+
+/**
+ * utility class reading the fosstrak vendor extensions from the ALE specifications.<br/>
+ * the extensions are passed as attributes in the fosstrak extension namespace on the 
+ * respective element, eg:<br/>
+ * <code>&lt;boundarySpec xmlns:fx="urn:fosstrak:ale:xsd:extension" fx:tagCount="12"&gt;</code>
+ * 
+ * @author agent
+ *
+ */
+public final class ExtensionHelper {
+	
+	/** the namespace of the fosstrak extensions. */
+	public static final String NAMESPACE = "urn:fosstrak:ale:xsd:extension";
+	
+	/** boundary spec extension: terminate the event cycle once the given number of distinct tags has been seen. */
+	public static final QName BOUNDARY_TAG_COUNT = new QName(NAMESPACE, "tagCount");
+	
+	/** boundary spec extension: terminate the event cycle once a tag matching the given pattern has been seen. */
+	public static final QName BOUNDARY_TAG_PATTERN = new QName(NAMESPACE, "tagPattern");
+	
+	/** boundary spec extension: report over a window of the last rounds, either {@link #WINDOW_SLIDING} or {@link #WINDOW_TUMBLING}. */
+	public static final QName BOUNDARY_WINDOW_MODE = new QName(NAMESPACE, "windowMode");
+	
+	/** boundary spec extension: the size of the window in milliseconds, a multiple of the duration. */
+	public static final QName BOUNDARY_WINDOW_SIZE = new QName(NAMESPACE, "windowSize");
+	
+	/** ECSpec extension: profile the rounds and keep the profiles of the given number of last rounds. */
+	public static final QName SPEC_PROFILE_ROUNDS = new QName(NAMESPACE, "profileRounds");
+	
+	/** window mode: the window is reported after every round. */
+	public static final String WINDOW_SLIDING = "SLIDING";
+	
+	/** window mode: the window is reported once it is complete and then starts over. */
+	public static final String WINDOW_TUMBLING = "TUMBLING";
+
+	/**
+	 * private utility class.
+	 */
+	private ExtensionHelper() {
+	}
+	
+	/**
+	 * read the value of an extension attribute.
+	 * @param attributes the attributes of the element (may be null).
+	 * @param name the name of the extension attribute.
+	 * @return the trimmed value or null if not set or empty.
+	 */
+	public static String getAttribute(Map<QName, String> attributes, QName name) {
+		if (null == attributes) {
+			return null;
+		}
+		String value = attributes.get(name);
+		if (null == value) {
+			return null;
+		}
+		value = value.trim();
+		if (value.length() == 0) {
+			return null;
+		}
+		return value;
+	}
+	
+	/**
+	 * read a positive integer value from an extension attribute.
+	 * @param attributes the attributes of the element (may be null).
+	 * @param name the name of the extension attribute.
+	 * @return the value or -1 if the attribute is not set.
+	 * @throws ECSpecValidationException if the attribute is set but not a positive integer.
+	 */
+	public static int getPositiveInt(Map<QName, String> attributes, QName name) throws ECSpecValidationException {
+		String value = getAttribute(attributes, name);
+		if (null == value) {
+			return -1;
+		}
+		int result;
+		try {
+			result = Integer.parseInt(value);
+		} catch (NumberFormatException e) {
+			throw new ECSpecValidationException("The extension " + name.getLocalPart() + " is not a number: " + value);
+		}
+		if (result <= 0) {
+			throw new ECSpecValidationException("The extension " + name.getLocalPart() + " must be positive: " + value);
+		}
+		return result;
+	}
+	
+	/**
+	 * the number of distinct tags after which an event cycle terminates.
+	 * @param boundarySpec the boundary spec (may be null).
+	 * @return the number of tags or -1 if not set.
+	 * @throws ECSpecValidationException if the value is invalid.
+	 */
+	public static int getTagCount(ECBoundarySpec boundarySpec) throws ECSpecValidationException {
+		if (null == boundarySpec) {
+			return -1;
+		}
+		return getPositiveInt(boundarySpec.getOtherAttributes(), BOUNDARY_TAG_COUNT);
+	}
+	
+	/**
+	 * the pattern of a tag whose arrival terminates the event cycle.
+	 * @param boundarySpec the boundary spec (may be null).
+	 * @return the pattern or null if not set.
+	 */
+	public static String getTagPattern(ECBoundarySpec boundarySpec) {
+		if (null == boundarySpec) {
+			return null;
+		}
+		return getAttribute(boundarySpec.getOtherAttributes(), BOUNDARY_TAG_PATTERN);
+	}
+	
+	/**
+	 * the window mode of the event cycle.
+	 * @param boundarySpec the boundary spec (may be null).
+	 * @return {@link #WINDOW_SLIDING}, {@link #WINDOW_TUMBLING} or null if no window is set.
+	 * @throws ECSpecValidationException if the window mode is unknown.
+	 */
+	public static String getWindowMode(ECBoundarySpec boundarySpec) throws ECSpecValidationException {
+		if (null == boundarySpec) {
+			return null;
+		}
+		String mode = getAttribute(boundarySpec.getOtherAttributes(), BOUNDARY_WINDOW_MODE);
+		if (null == mode) {
+			return null;
+		}
+		if (WINDOW_SLIDING.equalsIgnoreCase(mode)) {
+			return WINDOW_SLIDING;
+		}
+		if (WINDOW_TUMBLING.equalsIgnoreCase(mode)) {
+			return WINDOW_TUMBLING;
+		}
+		throw new ECSpecValidationException("The extension " + BOUNDARY_WINDOW_MODE.getLocalPart() + " is unknown: " + mode);
+	}
+	
+	/**
+	 * the size of the window in milliseconds.
+	 * @param boundarySpec the boundary spec (may be null).
+	 * @return the size of the window or -1 if not set.
+	 * @throws ECSpecValidationException if the value is invalid.
+	 */
+	public static int getWindowSize(ECBoundarySpec boundarySpec) throws ECSpecValidationException {
+		if (null == boundarySpec) {
+			return -1;
+		}
+		return getPositiveInt(boundarySpec.getOtherAttributes(), BOUNDARY_WINDOW_SIZE);
+	}
+	
+	/**
+	 * the number of rounds whose profile is kept.
+	 * @param spec the ECSpec (may be null).
+	 * @return the number of rounds or -1 if the ECSpec is not profiled.
+	 * @throws ECSpecValidationException if the value is invalid.
+	 */
+	public static int getProfileRounds(ECSpec spec) throws ECSpecValidationException {
+		if (null == spec) {
+			return -1;
+		}
+		return getPositiveInt(spec.getOtherAttributes(), SPEC_PROFILE_ROUNDS);
+	}
+}
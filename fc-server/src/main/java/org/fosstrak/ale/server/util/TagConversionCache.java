@@ -0,0 +1,214 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+package org.fosstrak.ale.server.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.fosstrak.ale.server.metrics.StripedCounter;
+
+/**
+ * caches the conversion of raw tag IDs (as delivered by the readers) into the binary 
+ * representation and the pure identity URI. readers report the same tags over and over 
+ * again, so most conversions are served from the cache. the cache is bounded: it is split 
+ * into segments by the hash of the raw tag ID, each segment evicting its least recently 
+ * used conversion when full. the segments are locked independently, the hit and miss 
+ * counters are striped.
+ * 
+ * @author agent
+ *
+ */
+public final class TagConversionCache {
+	
+	/** default maximum number of conversions held by the cache. */
+	public static final int DEFAULT_CAPACITY = 65536;
+	
+	/** the cache shared by the reader adaptors. */
+	private static final TagConversionCache SHARED = new TagConversionCache(DEFAULT_CAPACITY);
+	
+	/**
+	 * the conversion of one raw tag ID.
+	 */
+	public static final class Conversion {
+		
+		/** the binary representation. */
+		private final String binary;
+		
+		/** the pure identity URI, null if the tag could not be converted. */
+		private final String pureIdentity;
+		
+		public Conversion(String binary, String pureIdentity) {
+			this.binary = binary;
+			this.pureIdentity = pureIdentity;
+		}
+		
+		/**
+		 * @return the binary representation.
+		 */
+		public String getBinary() {
+			return binary;
+		}
+		
+		/**
+		 * @return the pure identity URI, null if the tag could not be converted.
+		 */
+		public String getPureIdentity() {
+			return pureIdentity;
+		}
+	}
+	
+	/** maximum number of segments, a power of two. */
+	private static final int MAX_SEGMENTS = 16;
+	
+	/** minimum number of conversions per segment, smaller caches use fewer segments. */
+	private static final int MIN_SEGMENT_CAPACITY = 64;
+	
+	/**
+	 * a segment of the cache: the conversions in access order, the least recently used 
+	 * conversion is evicted when the segment is full. access to a segment is guarded by 
+	 * the segment itself.
+	 */
+	private static final class Segment extends LinkedHashMap<String, Conversion> {
+		
+		private static final long serialVersionUID = 1L;
+		
+		/** the maximum number of conversions in this segment. */
+		private final int capacity;
+		
+		private Segment(int capacity) {
+			super(16, 0.75f, true);
+			this.capacity = capacity;
+		}
+		
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Conversion> eldest) {
+			return size() > capacity;
+		}
+	}
+	
+	/** the segments, selected by the hash of the raw tag ID. */
+	private final Segment[] segments;
+	
+	private final StripedCounter hits = new StripedCounter();
+	
+	private final StripedCounter misses = new StripedCounter();
+	
+	/**
+	 * @param capacity the maximum number of conversions held by the cache.
+	 */
+	public TagConversionCache(int capacity) {
+		capacity = Math.max(1, capacity);
+		int count = 1;
+		while ((count < MAX_SEGMENTS) && (capacity / (count * 2) >= MIN_SEGMENT_CAPACITY)) {
+			count *= 2;
+		}
+		segments = new Segment[count];
+		for (int i = 0; i < count; i++) {
+			// spread the remainder over the first segments.
+			segments[i] = new Segment(capacity / count + ((i < capacity % count) ? 1 : 0));
+		}
+	}
+	
+	/**
+	 * @return the cache shared by the reader adaptors.
+	 */
+	public static TagConversionCache getShared() {
+		return SHARED;
+	}
+	
+	/**
+	 * @param rawID the raw tag ID.
+	 * @return the cached conversion or null if not cached.
+	 */
+	public Conversion get(String rawID) {
+		Segment segment = segmentFor(rawID);
+		Conversion conversion;
+		synchronized (segment) {
+			conversion = segment.get(rawID);
+		}
+		if (null == conversion) {
+			misses.increment();
+		} else {
+			hits.increment();
+		}
+		return conversion;
+	}
+	
+	/**
+	 * cache a conversion.
+	 * @param rawID the raw tag ID.
+	 * @param conversion the conversion.
+	 */
+	public void put(String rawID, Conversion conversion) {
+		Segment segment = segmentFor(rawID);
+		synchronized (segment) {
+			segment.put(rawID, conversion);
+		}
+	}
+	
+	/**
+	 * remove all the conversions.
+	 */
+	public void clear() {
+		for (Segment segment : segments) {
+			synchronized (segment) {
+				segment.clear();
+			}
+		}
+	}
+	
+	/**
+	 * @return the number of cached conversions.
+	 */
+	public int size() {
+		int size = 0;
+		for (Segment segment : segments) {
+			synchronized (segment) {
+				size += segment.size();
+			}
+		}
+		return size;
+	}
+	
+	/**
+	 * @return the number of lookups served from the cache.
+	 */
+	public long getHitCount() {
+		return hits.get();
+	}
+	
+	/**
+	 * @return the number of lookups not served from the cache.
+	 */
+	public long getMissCount() {
+		return misses.get();
+	}
+	
+	/**
+	 * @param rawID the raw tag ID.
+	 * @return the segment holding the conversion of the raw tag ID.
+	 */
+	private Segment segmentFor(String rawID) {
+		int hash = rawID.hashCode();
+		// spread the high bits, the raw IDs of a batch often differ in the last digits only.
+		hash ^= (hash >>> 16);
+		return segments[hash & (segments.length - 1)];
+	}
+}
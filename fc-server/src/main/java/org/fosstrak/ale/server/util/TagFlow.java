@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.server.util;
+
+import org.apache.log4j.Logger;
+import org.fosstrak.ale.server.Tag;
+
+/**
+ * monotonic stamps of the tags on their way from the reader to the subscribers. a tag is 
+ * stamped when the adaptor decoded it, when a composite reader routes it and when it 
+ * arrives at an event cycle (see {@link Tag#getDecodeNanos()} and the sibling stamps). 
+ * the reports stamp the evaluation and the delivery of a round once for all their tags. 
+ * the latencies between the stamps are recorded in the histograms of the readers and the 
+ * ECSpecs.<br/>
+ * <br/>
+ * the tags selected by the sampled tag trace (see {@link TagLogger#isSampled(Tag)}) are 
+ * exported as timeline to the category {@link #TIMELINE_CATEGORY} at level INFO once 
+ * their report has been delivered.
+ * 
+ * @author agent
+ *
+ */
+public final class TagFlow {
+	
+	/** the log4j category of the sampled tag timelines. */
+	public static final String TIMELINE_CATEGORY = "org.fosstrak.ale.server.TagTimeline";
+	
+	/** logger of the sampled tag timelines. */
+	private static final Logger TIMELINE_LOG = Logger.getLogger(TIMELINE_CATEGORY);
+	
+	/** nanoseconds per microsecond. */
+	private static final long NANOS_PER_MICRO = 1000;
+	
+	/** whether the tags are stamped. */
+	private static volatile boolean enabled = true;
+	
+	/**
+	 * private utility class.
+	 */
+	private TagFlow() {
+	}
+	
+	/**
+	 * @param enabled whether the tags are stamped.
+	 */
+	public static void setEnabled(boolean enabled) {
+		TagFlow.enabled = enabled;
+	}
+	
+	/**
+	 * @return whether the tags are stamped.
+	 */
+	public static boolean isEnabled() {
+		return enabled;
+	}
+	
+	/**
+	 * @return the current time in nanoseconds if the tags are stamped, 0 otherwise.
+	 */
+	public static long stamp() {
+		return enabled ? System.nanoTime() : 0;
+	}
+	
+	/**
+	 * @return true if the sampled timelines are exported.
+	 */
+	public static boolean isTimelineEnabled() {
+		return (TagLogger.getSampleRate() > 0) && TIMELINE_LOG.isInfoEnabled();
+	}
+	
+	/**
+	 * export the timeline of a tag. the stages are written in microseconds relative to 
+	 * the decoding of the tag, the stages not stamped are written as '-'.
+	 * @param tag the tag.
+	 * @param specName the name of the ECSpec that delivered the tag.
+	 * @param reportName the name of the report that included the tag.
+	 * @param reportNanos the time the report was evaluated.
+	 * @param deliveryNanos the time the report was delivered.
+	 */
+	public static void timeline(Tag tag, String specName, String reportName, long reportNanos, long deliveryNanos) {
+		long decode = tag.getDecodeNanos();
+		if (0 == decode) {
+			return;
+		}
+		String id = tag.getTagIDAsPureURI();
+		StringBuilder builder = new StringBuilder(192);
+		builder.append("timeline '").append((null != id) ? id : tag.getTagAsBinary()).append('\'');
+		builder.append(" [").append(tag.getOrigin()).append(']');
+		builder.append(" [").append(specName).append('/').append(reportName).append(']');
+		builder.append(" decode=0");
+		appendStage(builder, "route", decode, tag.getRouteNanos());
+		appendStage(builder, "insert", decode, tag.getInsertNanos());
+		appendStage(builder, "report", decode, reportNanos);
+		appendStage(builder, "delivery", decode, deliveryNanos);
+		builder.append(" (us)");
+		TIMELINE_LOG.info(builder.toString());
+	}
+	
+	private static void appendStage(StringBuilder builder, String stage, long decode, long stamp) {
+		builder.append(' ').append(stage).append('=');
+		if (0 == stamp) {
+			builder.append('-');
+		} else {
+			builder.append((stamp - decode) / NANOS_PER_MICRO);
+		}
+	}
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.server.util;
+
+import org.apache.log4j.Logger;
+import org.fosstrak.ale.server.Tag;
+
+/**
+ * logging facade for the per-tag code paths (readers, event cycles, reports). all the 
+ * methods check the level before they build a message, therefore nothing is allocated 
+ * when the logging is disabled. the messages are assembled from the given parts instead 
+ * of the tag's toString, only the tag id (pure URI or binary) is written.<br/>
+ * <br/>
+ * besides the debug logging of the owning class, the facade offers a sampled trace: 
+ * if a sample rate N is set, one tag id in N is logged on every stage to the category 
+ * {@link #SAMPLE_CATEGORY} at level INFO. the tags are selected by their id, thus the 
+ * very same tags can be followed through all the stages in production.
+ * 
+ * @author agent
+ *
+ */
+public final class TagLogger {
+	
+	/** the log4j category of the sampled tag trace. */
+	public static final String SAMPLE_CATEGORY = "org.fosstrak.ale.server.TagSample";
+	
+	/** logger of the sampled tag trace. */
+	private static final Logger SAMPLE_LOG = Logger.getLogger(SAMPLE_CATEGORY);
+	
+	/** log one tag id in sampleRate, 0 to disable the sampled trace. */
+	private static volatile int sampleRate = 0;
+	
+	/** the logger of the owning class. */
+	private final Logger log;
+	
+	/** the stage written to the sampled trace. */
+	private final String stage;
+	
+	/**
+	 * @param clazz the class owning the logger.
+	 */
+	private TagLogger(Class<?> clazz) {
+		log = Logger.getLogger(clazz);
+		stage = clazz.getSimpleName();
+	}
+	
+	/**
+	 * create the tag logger of a class.
+	 * @param clazz the class owning the logger.
+	 * @return the tag logger.
+	 */
+	public static TagLogger getLogger(Class<?> clazz) {
+		return new TagLogger(clazz);
+	}
+	
+	/**
+	 * set the rate of the sampled tag trace.
+	 * @param rate log one tag id in rate, 0 (or less) to disable the sampled trace.
+	 */
+	public static void setSampleRate(int rate) {
+		sampleRate = Math.max(0, rate);
+	}
+	
+	/**
+	 * @return the rate of the sampled tag trace, 0 if disabled.
+	 */
+	public static int getSampleRate() {
+		return sampleRate;
+	}
+	
+	/**
+	 * whether the given tag is selected by the sampled trace.
+	 * @param tag the tag.
+	 * @return true if the sampled trace is enabled and the tag id is one in the sample rate.
+	 */
+	public static boolean isSampled(Tag tag) {
+		int rate = sampleRate;
+		if (rate <= 0) {
+			return false;
+		}
+		String id = getTagId(tag);
+		if (null == id) {
+			return false;
+		}
+		// spread the string hash as similar ids differ in the last characters only.
+		int hash = id.hashCode() * 0x9E3779B9;
+		return ((hash ^ (hash >>> 16)) & 0x7fffffff) % rate == 0;
+	}
+	
+	/**
+	 * @return true if debug is enabled for the owning class.
+	 */
+	public boolean isDebugEnabled() {
+		return log.isDebugEnabled();
+	}
+	
+	/**
+	 * @return true if a tag event is logged at all (debug enabled or sampled trace enabled). 
+	 * use this to skip loops over tags that only log.
+	 */
+	public boolean isEnabled() {
+		return (sampleRate > 0) || log.isDebugEnabled();
+	}
+	
+	/**
+	 * log a constant message at debug level.
+	 * @param message the message.
+	 */
+	public void debug(String message) {
+		log.debug(message);
+	}
+	
+	/**
+	 * log a message at debug level. the parts are only concatenated if debug is enabled.
+	 * @param part1 the first part.
+	 * @param part2 the second part.
+	 */
+	public void debug(String part1, Object part2) {
+		if (log.isDebugEnabled()) {
+			log.debug(part1 + part2);
+		}
+	}
+	
+	/**
+	 * log a message at debug level. the parts are only concatenated if debug is enabled.
+	 * @param part1 the first part.
+	 * @param part2 the second part.
+	 * @param part3 the third part.
+	 */
+	public void debug(String part1, Object part2, String part3) {
+		if (log.isDebugEnabled()) {
+			log.debug(part1 + part2 + part3);
+		}
+	}
+	
+	/**
+	 * log an event on a tag at debug level and to the sampled trace if the tag is selected.
+	 * @param event what happened to the tag.
+	 * @param tag the tag.
+	 * @param context where it happened (eg. the name of the reader or report), may be null.
+	 */
+	public void tag(String event, Tag tag, Object context) {
+		tag(event, tag, context, null);
+	}
+	
+	/**
+	 * log an event on a tag at debug level and to the sampled trace if the tag is selected.
+	 * @param event what happened to the tag.
+	 * @param tag the tag.
+	 * @param context where it happened (eg. the name of the reader or report), may be null.
+	 * @param detail a further detail (eg. the group name), may be null.
+	 */
+	public void tag(String event, Tag tag, Object context, Object detail) {
+		if (log.isDebugEnabled()) {
+			log.debug(format(event, tag, context, detail));
+		}
+		if ((sampleRate > 0) && SAMPLE_LOG.isInfoEnabled() && isSampled(tag)) {
+			SAMPLE_LOG.info(stage + ": " + format(event, tag, context, detail));
+		}
+	}
+	
+	private static String format(String event, Tag tag, Object context, Object detail) {
+		StringBuilder builder = new StringBuilder(128);
+		builder.append(event).append(" '").append(getTagId(tag)).append('\'');
+		if (null != context) {
+			builder.append(" [").append(context).append(']');
+		}
+		if (null != detail) {
+			builder.append(" [").append(detail).append(']');
+		}
+		return builder.toString();
+	}
+	
+	/**
+	 * @param tag the tag.
+	 * @return the pure URI of the tag or its binary representation if not available.
+	 */
+	private static String getTagId(Tag tag) {
+		String id = tag.getTagIDAsPureURI();
+		return (null != id) ? id : tag.getTagAsBinary();
+	}
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.server.jfr.test;
+
+import junit.framework.Assert;
+
+import org.fosstrak.ale.server.jfr.FlightEvents;
+import org.junit.Test;
+
+/**
+ * test that the server runs without the optional fc-jfr module: no events are emitted.
+ * 
+ * @author agent
+ *
+ */
+public class FlightEventsTest {
+	
+	@Test
+	public void testWithoutEventModule() throws Exception {
+		Assert.assertFalse(FlightEvents.isEnabled());
+		Assert.assertNull(FlightEvents.beginCycle("spec", 1));
+		Assert.assertNull(FlightEvents.beginReport("report"));
+		Assert.assertNull(FlightEvents.beginNotification("spec"));
+		Assert.assertNull(FlightEvents.beginDelivery("http://localhost:9999"));
+		// null events are ignored.
+		FlightEvents.commitCycle(null, 1);
+		FlightEvents.commitReport(null, null);
+		FlightEvents.commitNotification(null, 1, 0, 0, true);
+		FlightEvents.commitDelivery(null, 1, FlightEvents.OUTCOME_DELIVERED);
+	}
+}
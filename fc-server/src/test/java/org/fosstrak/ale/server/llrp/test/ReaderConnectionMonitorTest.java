@@ -0,0 +1,212 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.server.llrp.test;
+
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+
+import junit.framework.Assert;
+
+import org.fosstrak.ale.server.llrp.LLRPChecking;
+import org.fosstrak.ale.server.llrp.ReaderConnectionMonitor;
+import org.fosstrak.ale.server.llrp.ReaderConnectionMonitor.ConnectionState;
+import org.fosstrak.ale.server.llrp.ReaderConnectionMonitor.ConnectionStateListener;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.llrp.ltk.generated.enumerations.ConnectionAttemptStatusType;
+import org.llrp.ltk.generated.messages.KEEPALIVE;
+import org.llrp.ltk.generated.messages.READER_EVENT_NOTIFICATION;
+import org.llrp.ltk.generated.messages.RO_ACCESS_REPORT;
+import org.llrp.ltk.generated.parameters.ConnectionAttemptEvent;
+import org.llrp.ltk.generated.parameters.ConnectionCloseEvent;
+import org.llrp.ltk.generated.parameters.ReaderEventNotificationData;
+
+/**
+ * test the reader connection monitor and the adaptive ROSpec checks.
+ * @author agent
+ *
+ */
+public class ReaderConnectionMonitorTest {
+	
+	private static final String READER = "reader";
+	
+	/** the readers polled by the monitor. */
+	private List<String> polled;
+	
+	private ReaderConnectionMonitor monitor;
+	
+	@Before
+	public void setUp() {
+		polled = Collections.synchronizedList(new LinkedList<String>());
+		monitor = new ReaderConnectionMonitor() {
+			@Override
+			protected void sendCheck(String readerName) {
+				polled.add(readerName);
+			}
+		};
+		monitor.setCheckInterval(10);
+		monitor.setMaxCheckInterval(40);
+	}
+	
+	@After
+	public void tearDown() {
+		monitor.shutdown();
+	}
+	
+	@Test
+	public void testBackoff() {
+		LLRPChecking check = new LLRPChecking(READER, 10, 40, 0);
+		Assert.assertTrue(check.check(0));
+		Assert.assertEquals(20, check.getInterval());
+		Assert.assertFalse(check.check(5));
+		Assert.assertTrue(check.check(10));
+		Assert.assertEquals(40, check.getInterval());
+		Assert.assertFalse(check.check(29));
+		Assert.assertTrue(check.check(30));
+		// bounded by the maximum interval.
+		Assert.assertEquals(40, check.getInterval());
+		Assert.assertTrue(check.check(70));
+		Assert.assertEquals(40, check.getInterval());
+	}
+	
+	@Test
+	public void testNoPollWhileReportsArrive() {
+		LLRPChecking check = new LLRPChecking(READER, 10, 40, 0);
+		Assert.assertTrue(check.check(0));
+		check.reportReceived(5);
+		Assert.assertFalse(check.check(10));
+		Assert.assertEquals(10, check.getInterval());
+		// no more reports - poll again.
+		Assert.assertTrue(check.check(20));
+	}
+	
+	@Test
+	public void testResetAfterReconnect() {
+		LLRPChecking check = new LLRPChecking(READER, 10, 40, 0);
+		Assert.assertTrue(check.check(0));
+		Assert.assertTrue(check.check(10));
+		Assert.assertEquals(40, check.getInterval());
+		check.reset(15);
+		Assert.assertEquals(10, check.getInterval());
+		Assert.assertTrue(check.check(15));
+	}
+	
+	@Test
+	public void testConnectionStateFromMessages() {
+		final List<ConnectionState> changes = new LinkedList<ConnectionState>();
+		monitor.addConnectionStateListener(new ConnectionStateListener() {
+			public void connectionStateChanged(String readerName, ConnectionState oldState, ConnectionState newState) {
+				Assert.assertEquals(READER, readerName);
+				changes.add(newState);
+			}
+		});
+		Assert.assertEquals(ConnectionState.UNKNOWN, monitor.getConnectionState(READER));
+		
+		monitor.messageReceived(READER, createConnectionAttempt());
+		Assert.assertEquals(ConnectionState.CONNECTED, monitor.getConnectionState(READER));
+		Assert.assertEquals(ConnectionState.CONNECTED, monitor.getConnectionStates().get(READER));
+		
+		// no change - no notification.
+		monitor.messageReceived(READER, new KEEPALIVE());
+		monitor.messageReceived(READER, new RO_ACCESS_REPORT());
+		
+		READER_EVENT_NOTIFICATION close = new READER_EVENT_NOTIFICATION();
+		ReaderEventNotificationData data = new ReaderEventNotificationData();
+		data.setConnectionCloseEvent(new ConnectionCloseEvent());
+		close.setReaderEventNotificationData(data);
+		monitor.messageReceived(READER, close);
+		Assert.assertEquals(ConnectionState.DISCONNECTED, monitor.getConnectionState(READER));
+		
+		// a keepalive shows the reader is back.
+		monitor.messageReceived(READER, new KEEPALIVE());
+		
+		Assert.assertEquals(3, changes.size());
+		Assert.assertEquals(ConnectionState.CONNECTED, changes.get(0));
+		Assert.assertEquals(ConnectionState.DISCONNECTED, changes.get(1));
+		Assert.assertEquals(ConnectionState.CONNECTED, changes.get(2));
+	}
+	
+	@Test
+	public void testReconnectResetsCheck() {
+		monitor.setCheckInterval(100000);
+		monitor.setMaxCheckInterval(400000);
+		LLRPChecking check = monitor.startChecking(READER);
+		Assert.assertSame(check, monitor.startChecking(READER));
+		
+		// the first check is due immediately (either run by the scheduler or by us).
+		monitor.runChecks(System.currentTimeMillis() + 1);
+		Assert.assertEquals(200000, check.getInterval());
+		Assert.assertEquals(1, polled.size());
+		
+		monitor.setConnectionState(READER, ConnectionState.CONNECTED);
+		Assert.assertEquals(100000, check.getInterval());
+		
+		monitor.stopChecking(READER);
+		Assert.assertNull(monitor.getChecking(READER));
+	}
+	
+	@Test
+	public void testConnectionAttemptResetsCheck() {
+		monitor.setCheckInterval(100000);
+		monitor.setMaxCheckInterval(400000);
+		LLRPChecking check = monitor.startChecking(READER);
+		monitor.messageReceived(READER, new KEEPALIVE());
+		Assert.assertEquals(ConnectionState.CONNECTED, monitor.getConnectionState(READER));
+		monitor.runChecks(System.currentTimeMillis() + 1);
+		Assert.assertEquals(200000, check.getInterval());
+		int polls = polled.size();
+		
+		// the reader rebooted without closing the connection: still CONNECTED, but checked right away.
+		monitor.messageReceived(READER, createConnectionAttempt());
+		Assert.assertEquals(100000, check.getInterval());
+		monitor.runChecks(System.currentTimeMillis() + 1);
+		Assert.assertEquals(polls + 1, polled.size());
+	}
+	
+	@Test
+	public void testAwaitConnected() throws Exception {
+		Thread connector = new Thread(new Runnable() {
+			public void run() {
+				try {
+					Thread.sleep(50);
+				} catch (InterruptedException e) {
+					// ignore.
+				}
+				monitor.setConnectionState(READER, ConnectionState.CONNECTED);
+			}
+		});
+		connector.start();
+		monitor.awaitConnected(READER);
+		Assert.assertEquals(ConnectionState.CONNECTED, monitor.getConnectionState(READER));
+	}
+	
+	private READER_EVENT_NOTIFICATION createConnectionAttempt() {
+		READER_EVENT_NOTIFICATION msg = new READER_EVENT_NOTIFICATION();
+		ReaderEventNotificationData data = new ReaderEventNotificationData();
+		ConnectionAttemptEvent event = new ConnectionAttemptEvent();
+		event.setStatus(new ConnectionAttemptStatusType(ConnectionAttemptStatusType.Success));
+		data.setConnectionAttemptEvent(event);
+		msg.setReaderEventNotificationData(data);
+		return msg;
+	}
+}
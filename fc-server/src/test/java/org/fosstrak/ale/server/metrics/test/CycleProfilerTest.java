@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.server.metrics.test;
+
+import java.io.CharArrayWriter;
+import java.util.List;
+
+import junit.framework.Assert;
+
+import org.fosstrak.ale.server.metrics.CycleProfile;
+import org.fosstrak.ale.server.metrics.CycleProfile.Stage;
+import org.fosstrak.ale.server.metrics.CycleProfiler;
+import org.fosstrak.ale.server.metrics.SpecMetrics;
+import org.fosstrak.ale.util.SerializerUtil;
+import org.fosstrak.ale.xsd.ale.epcglobal.ECReports;
+import org.fosstrak.ale.xsd.ale.epcglobal.ECReportsExtension;
+import org.junit.Test;
+import org.w3c.dom.Element;
+
+/**
+ * test the profiles of the event cycle rounds.
+ * @author agent
+ *
+ */
+public class CycleProfilerTest {
+	
+	/**
+	 * test that the profiler keeps the last rounds, the oldest first.
+	 */
+	@Test
+	public void testRingBuffer() {
+		CycleProfiler profiler = new CycleProfiler(3);
+		Assert.assertEquals(0, profiler.getProfiles().size());
+		
+		for (int round = 1; round <= 5; round++) {
+			CycleProfile profile = profiler.start(round, 10 * round, 1000);
+			Assert.assertSame(profile, profiler.getCurrent());
+			profiler.complete(profile);
+			Assert.assertNull(profiler.getCurrent());
+		}
+		
+		List<CycleProfile> profiles = profiler.getProfiles();
+		Assert.assertEquals(3, profiles.size());
+		Assert.assertEquals(3, profiles.get(0).getRound());
+		Assert.assertEquals(4, profiles.get(1).getRound());
+		Assert.assertEquals(5, profiles.get(2).getRound());
+		Assert.assertEquals(50, profiles.get(2).getTags());
+		Assert.assertEquals(1000, profiles.get(2).get(Stage.COLLECTION));
+	}
+	
+	/**
+	 * test that profiling is switched on and off on the metrics of the ECSpec.
+	 */
+	@Test
+	public void testEnableProfiling() {
+		SpecMetrics metrics = new SpecMetrics();
+		Assert.assertNull(metrics.getProfiler());
+		
+		metrics.enableProfiling(5);
+		CycleProfiler profiler = metrics.getProfiler();
+		Assert.assertEquals(5, profiler.getRounds());
+		profiler.complete(profiler.start(1, 1, 1));
+		
+		// the same number of rounds retains the profiles.
+		metrics.enableProfiling(5);
+		Assert.assertSame(profiler, metrics.getProfiler());
+		Assert.assertEquals(1, metrics.getProfiler().getProfiles().size());
+		
+		metrics.enableProfiling(2);
+		Assert.assertEquals(0, metrics.getProfiler().getProfiles().size());
+		
+		metrics.disableProfiling();
+		Assert.assertNull(metrics.getProfiler());
+	}
+	
+	/**
+	 * test the element attached to the reports and its serialization.
+	 */
+	@Test
+	public void testToElement() throws Exception {
+		CycleProfile profile = new CycleProfile(7, 120);
+		profile.add(Stage.FILTERING, 100);
+		profile.add(Stage.FILTERING, 50);
+		profile.add(Stage.CLONING, 30);
+		profile.add(Stage.SERIALIZATION, 20);
+		
+		Element element = profile.toElement();
+		Assert.assertEquals(CycleProfile.ELEMENT_NAME, element.getNodeName());
+		Assert.assertEquals("7", element.getAttribute("round"));
+		Assert.assertEquals("120", element.getAttribute("tags"));
+		Assert.assertEquals("150", element.getAttribute("filteringNanos"));
+		Assert.assertEquals("30", element.getAttribute("cloningNanos"));
+		Assert.assertFalse(element.hasAttribute("serializationNanos"));
+		Assert.assertTrue(profile.toString().contains("serializationNanos=20"));
+		
+		ECReports reports = new ECReports();
+		reports.setSpecName("spec");
+		reports.setExtension(new ECReportsExtension());
+		reports.getExtension().getAny().add(element);
+		CharArrayWriter writer = new CharArrayWriter();
+		SerializerUtil.serializeECReports(reports, writer);
+		Assert.assertTrue(writer.toString(), writer.toString().contains("filteringNanos=\"150\""));
+	}
+}
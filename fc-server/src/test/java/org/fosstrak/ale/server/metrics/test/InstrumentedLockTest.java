@@ -0,0 +1,150 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.server.metrics.test;
+
+import java.io.StringWriter;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+
+import junit.framework.Assert;
+
+import org.fosstrak.ale.server.metrics.InstrumentedLock;
+import org.fosstrak.ale.server.metrics.LockMetrics;
+import org.fosstrak.ale.server.metrics.MetricsRegistry;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * test the instrumented locks and the metrics of the lock sites.
+ * @author agent
+ *
+ */
+public class InstrumentedLockTest {
+	
+	@After
+	public void tearDown() {
+		InstrumentedLock.setInstrumented(false);
+	}
+	
+	/**
+	 * test that nothing is recorded if the locks are not instrumented.
+	 */
+	@Test
+	public void testNotInstrumented() {
+		LockMetrics metrics = new LockMetrics();
+		InstrumentedLock lock = new InstrumentedLock(metrics);
+		lock.lock();
+		lock.unlock();
+		Assert.assertEquals(0, metrics.getAcquisitions());
+		Assert.assertEquals(0, metrics.getHoldTime().getCount());
+	}
+	
+	/**
+	 * test the hold time of a reentrant acquisition.
+	 */
+	@Test
+	public void testHoldTime() {
+		InstrumentedLock.setInstrumented(true);
+		LockMetrics metrics = new LockMetrics();
+		InstrumentedLock lock = new InstrumentedLock(metrics);
+		lock.lock();
+		lock.lock();
+		lock.unlock();
+		Assert.assertEquals(0, metrics.getHoldTime().getCount());
+		lock.unlock();
+		Assert.assertEquals(2, metrics.getAcquisitions());
+		Assert.assertEquals(0, metrics.getContended());
+		Assert.assertEquals(1, metrics.getHoldTime().getCount());
+	}
+	
+	/**
+	 * test that a contended acquisition records the time waited.
+	 */
+	@Test
+	public void testContention() throws Exception {
+		InstrumentedLock.setInstrumented(true);
+		LockMetrics metrics = new LockMetrics();
+		final InstrumentedLock lock = new InstrumentedLock(metrics);
+		final CountDownLatch acquired = new CountDownLatch(1);
+		
+		lock.lock();
+		Thread waiter = new Thread(new Runnable() {
+			public void run() {
+				lock.lock();
+				lock.unlock();
+				acquired.countDown();
+			}
+		});
+		waiter.start();
+		Thread.sleep(50);
+		lock.unlock();
+		Assert.assertTrue(acquired.await(5, TimeUnit.SECONDS));
+		
+		Assert.assertEquals(2, metrics.getAcquisitions());
+		Assert.assertEquals(1, metrics.getContended());
+		Assert.assertTrue(metrics.getWaitTime().getMax() >= TimeUnit.MILLISECONDS.toNanos(40));
+		Assert.assertTrue(metrics.getHoldTime().getMax() >= TimeUnit.MILLISECONDS.toNanos(40));
+	}
+	
+	/**
+	 * test that the time waiting on a condition is not counted as held.
+	 */
+	@Test
+	public void testAwaitNotHeld() throws Exception {
+		InstrumentedLock.setInstrumented(true);
+		LockMetrics metrics = new LockMetrics();
+		InstrumentedLock lock = new InstrumentedLock(metrics);
+		Condition condition = lock.newCondition();
+		lock.lock();
+		try {
+			Assert.assertFalse(lock.await(condition, 100));
+		} finally {
+			lock.unlock();
+		}
+		// held before and after waiting on the condition.
+		Assert.assertEquals(2, metrics.getHoldTime().getCount());
+		Assert.assertTrue(metrics.getHoldTime().getMax() < TimeUnit.MILLISECONDS.toNanos(100));
+	}
+	
+	/**
+	 * test that the metrics of the lock sites are exported.
+	 */
+	@Test
+	public void testRegistry() throws Exception {
+		InstrumentedLock.setInstrumented(true);
+		MetricsRegistry registry = new MetricsRegistry();
+		InstrumentedLock lock1 = new InstrumentedLock(registry.getLockMetrics("site"));
+		InstrumentedLock lock2 = new InstrumentedLock(registry.getLockMetrics("site"));
+		lock1.lock();
+		lock2.lock();
+		lock2.unlock();
+		lock1.unlock();
+		Assert.assertSame(registry.getLockMetrics("site"), registry.getLockMetrics().get("site"));
+		
+		StringWriter writer = new StringWriter();
+		registry.writeText(writer);
+		String text = writer.toString();
+		Assert.assertTrue(text, text.contains("ale_lock_acquisitions{site=\"site\"} 2\n"));
+		Assert.assertTrue(text, text.contains("ale_lock_wait_nanos_count{site=\"site\"} 0\n"));
+		Assert.assertTrue(text, text.contains("ale_lock_hold_nanos_count{site=\"site\"} 2\n"));
+	}
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.server.metrics.test;
+
+import java.io.StringWriter;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CountDownLatch;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import junit.framework.Assert;
+
+import org.fosstrak.ale.server.metrics.Histogram;
+import org.fosstrak.ale.server.metrics.MetricsRegistry;
+import org.fosstrak.ale.server.metrics.ReaderMetrics;
+import org.fosstrak.ale.server.metrics.SpecMetrics;
+import org.fosstrak.ale.server.metrics.StripedCounter;
+import org.junit.Test;
+
+/**
+ * test the metrics registry, its counters and histograms.
+ * @author agent
+ *
+ */
+public class MetricsRegistryTest {
+	
+	/**
+	 * test that the striped counter does not lose concurrent updates.
+	 */
+	@Test
+	public void testStripedCounter() throws Exception {
+		final StripedCounter counter = new StripedCounter();
+		final int threads = 4;
+		final int increments = 10000;
+		final CountDownLatch done = new CountDownLatch(threads);
+		for (int i = 0; i < threads; i++) {
+			new Thread(new Runnable() {
+				public void run() {
+					for (int j = 0; j < increments; j++) {
+						counter.increment();
+					}
+					done.countDown();
+				}
+			}).start();
+		}
+		done.await();
+		Assert.assertEquals(threads * increments, counter.get());
+		
+		counter.add(5);
+		Assert.assertEquals(threads * increments + 5, counter.get());
+		counter.reset();
+		Assert.assertEquals(0, counter.get());
+	}
+	
+	/**
+	 * test the histogram statistics.
+	 */
+	@Test
+	public void testHistogram() {
+		Histogram histogram = new Histogram();
+		Assert.assertEquals(0, histogram.getCount());
+		Assert.assertEquals(0, histogram.getPercentile(50));
+		
+		for (int i = 1; i <= 100; i++) {
+			histogram.record(i);
+		}
+		histogram.record(-1);
+		Assert.assertEquals(101, histogram.getCount());
+		Assert.assertEquals(5050, histogram.getSum());
+		Assert.assertEquals(100, histogram.getMax());
+		
+		// 50 falls into the bucket [32, 63], 99 into [64, 127] capped by the maximum.
+		Assert.assertEquals(63, histogram.getPercentile(50));
+		Assert.assertEquals(100, histogram.getPercentile(99));
+		Assert.assertEquals(0, histogram.getPercentile(0));
+		
+		histogram.reset();
+		Assert.assertEquals(0, histogram.getCount());
+		Assert.assertEquals(0, histogram.getMax());
+	}
+	
+	/**
+	 * test the registration and the text export of the metrics.
+	 */
+	@Test
+	public void testWriteText() throws Exception {
+		MetricsRegistry registry = new MetricsRegistry();
+		ReaderMetrics reader = registry.getReaderMetrics("reader\"1");
+		Assert.assertSame(reader, registry.getReaderMetrics("reader\"1"));
+		reader.addReadsIn(10);
+		reader.addReadsOut(7);
+		reader.addDuplicates(3);
+		
+		SpecMetrics spec = registry.getSpecMetrics("spec");
+		spec.cycleCompleted(7, 1000);
+		spec.reportsBuilt(200);
+		spec.delivered(300, 1024);
+		spec.deliveryFailed(50);
+		
+		StringWriter writer = new StringWriter();
+		registry.writeText(writer);
+		String text = writer.toString();
+		Assert.assertTrue(text.contains("ale_reader_reads_in{reader=\"reader\\\"1\"} 10\n"));
+		Assert.assertTrue(text.contains("ale_reader_duplicates{reader=\"reader\\\"1\"} 3\n"));
+		Assert.assertTrue(text.contains("ale_spec_cycles{spec=\"spec\"} 1\n"));
+		Assert.assertTrue(text.contains("ale_spec_tags_per_cycle_max{spec=\"spec\"} 7\n"));
+		Assert.assertTrue(text.contains("ale_spec_delivery_nanos_count{spec=\"spec\"} 2\n"));
+		Assert.assertTrue(text.contains("ale_spec_delivery_failures{spec=\"spec\"} 1\n"));
+		Assert.assertTrue(text.contains("ale_spec_serialized_bytes{spec=\"spec\"} 1024\n"));
+		
+		registry.removeReaderMetrics("reader\"1");
+		registry.removeSpecMetrics("spec");
+		Assert.assertTrue(registry.getReaderMetrics().isEmpty());
+		Assert.assertTrue(registry.getSpecMetrics().isEmpty());
+	}
+	
+	/**
+	 * test the export through JMX.
+	 */
+	@Test
+	public void testJmx() throws Exception {
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		MetricsRegistry registry = new MetricsRegistry();
+		registry.getReaderMetrics("jmxReader").addReadsIn(4);
+		registry.enableJmx(server);
+		registry.getSpecMetrics("jmxSpec").cycleCompleted(2, 5);
+		
+		ObjectName readerName = MetricsRegistry.getObjectName(MetricsRegistry.TYPE_READER, "jmxReader");
+		ObjectName specName = MetricsRegistry.getObjectName(MetricsRegistry.TYPE_SPEC, "jmxSpec");
+		Assert.assertEquals(4L, server.getAttribute(readerName, "ReadsIn"));
+		Assert.assertEquals(1L, server.getAttribute(specName, "CyclesRun"));
+		
+		registry.removeSpecMetrics("jmxSpec");
+		Assert.assertFalse(server.isRegistered(specName));
+		registry.shutdown();
+		Assert.assertFalse(server.isRegistered(readerName));
+	}
+}
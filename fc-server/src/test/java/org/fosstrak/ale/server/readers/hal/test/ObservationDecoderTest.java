@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.server.readers.hal.test;
+
+import java.util.List;
+
+import junit.framework.Assert;
+
+import org.fosstrak.ale.server.Tag;
+import org.fosstrak.ale.server.readers.hal.ObservationDecoder;
+import org.fosstrak.ale.server.util.TagConversionCache;
+import org.fosstrak.ale.server.util.TagHelper;
+import org.fosstrak.hal.Observation;
+import org.fosstrak.tdt.TDTEngine;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * test the decoding of HAL observations into tags.
+ * @author agent
+ *
+ */
+public class ObservationDecoderTest {
+	
+	/** an SGTIN-96. */
+	private static final String SGTIN_BINARY = "001100000111010000000010010000100010000000011101100010000100000000000000000011111110011000110010";
+	
+	/** an SGLN-96, not decoded by the fast path. */
+	private static final String SGLN_BINARY = "001100100011010001001011010110100001110001100000011100100000000000000000000000000000000000000000";
+	
+	private TDTEngine tdt;
+	
+	@Before
+	public void setUp() throws Exception {
+		TagHelper.setTDTEngine(null);
+		tdt = TagHelper.getTDTEngine();
+	}
+	
+	@Test
+	public void testDecodeBatch() throws Exception {
+		String sgtin = tdt.bin2hex(SGTIN_BINARY);
+		String sgln = tdt.bin2hex(SGLN_BINARY);
+		Observation first = new Observation("hal", "readPoint", 1000L, new String[] { sgtin, sgln }, null, true);
+		Observation second = new Observation("hal", "readPoint", 2000L, new String[] { sgtin }, null, true);
+		Observation empty = new Observation();
+		
+		TagConversionCache cache = new TagConversionCache(10);
+		List<Tag> tags = ObservationDecoder.decode("reader", new Observation[] { first, empty, second }, cache);
+		Assert.assertEquals(3, tags.size());
+		
+		Tag tag = tags.get(0);
+		Assert.assertEquals("reader", tag.getReader());
+		Assert.assertEquals(1000L, tag.getTimestamp());
+		Assert.assertEquals(SGTIN_BINARY, tag.getTagAsBinary());
+		Assert.assertEquals(TagHelper.convert_to_PURE_IDENTITY("96", null, null, SGTIN_BINARY), tag.getTagIDAsPureURI());
+		
+		// exotic schemes are converted by the TDT.
+		tag = tags.get(1);
+		Assert.assertEquals(SGLN_BINARY, tag.getTagAsBinary());
+		Assert.assertEquals("urn:epc:id:sgln:1234567.12345.0", tag.getTagIDAsPureURI());
+		
+		tag = tags.get(2);
+		Assert.assertEquals(2000L, tag.getTimestamp());
+		Assert.assertEquals(SGTIN_BINARY, tag.getTagAsBinary());
+		
+		// the second sighting of the SGTIN is served from the cache.
+		Assert.assertEquals(2, cache.size());
+		Assert.assertEquals(1, cache.getHitCount());
+		Assert.assertEquals(2, cache.getMissCount());
+	}
+	
+	@Test
+	public void testInvalidIDsAreSkipped() throws Exception {
+		Observation observation = new Observation("hal", "readPoint", 1000L, new String[] { "xyz", null }, null, true);
+		List<Tag> tags = ObservationDecoder.decode("reader", new Observation[] { observation }, new TagConversionCache(10));
+		Assert.assertTrue(tags.isEmpty());
+	}
+	
+	@Test
+	public void testBoundedCache() throws Exception {
+		TagConversionCache cache = new TagConversionCache(2);
+		cache.put("a", new TagConversionCache.Conversion("0", null));
+		cache.put("b", new TagConversionCache.Conversion("1", null));
+		Assert.assertEquals(2, cache.size());
+		// the least recently used conversion is evicted.
+		Assert.assertNotNull(cache.get("a"));
+		cache.put("c", new TagConversionCache.Conversion("10", null));
+		Assert.assertEquals(2, cache.size());
+		Assert.assertNotNull(cache.get("c"));
+		Assert.assertNotNull(cache.get("a"));
+		Assert.assertNull(cache.get("b"));
+		
+		// larger caches are segmented, every segment evicts on its own.
+		cache = new TagConversionCache(1024);
+		for (int i = 0; i < 4096; i++) {
+			cache.put("id" + i, new TagConversionCache.Conversion(Integer.toBinaryString(i), null));
+		}
+		Assert.assertTrue(cache.size() <= 1024);
+		Assert.assertTrue(cache.size() > 512);
+		Assert.assertNotNull(cache.get("id4095"));
+	}
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.server.readers.llrp.test;
+
+import org.easymock.EasyMock;
+import org.fosstrak.ale.server.readers.llrp.InProcessCallback;
+import org.fosstrak.ale.server.readers.llrp.LLRPAdaptor;
+import org.junit.Test;
+import org.llrp.ltk.generated.messages.KEEPALIVE;
+import org.llrp.ltk.generated.messages.RO_ACCESS_REPORT;
+
+/**
+ * test the in-process LLRP callback handler.
+ * @author agent
+ *
+ */
+public class InProcessCallbackTest {
+	
+	@Test
+	public void testRoutesReportsByReader() throws Exception {
+		final String readerName = "readerName";
+		final RO_ACCESS_REPORT report = new RO_ACCESS_REPORT();
+		
+		LLRPAdaptor adaptor = EasyMock.createMock(LLRPAdaptor.class);
+		adaptor.notify(report, readerName);
+		EasyMock.expectLastCall();
+		EasyMock.replay(adaptor);
+		
+		LLRPAdaptor otherAdaptor = EasyMock.createMock(LLRPAdaptor.class);
+		EasyMock.replay(otherAdaptor);
+		
+		InProcessCallback cb = new InProcessCallback("adaptor");
+		cb.register(readerName, adaptor);
+		cb.register("otherReader", otherAdaptor);
+		
+		cb.handle("adaptor", readerName, report);
+		// other messages, adaptors and unknown readers are ignored.
+		cb.handle("adaptor", readerName, new KEEPALIVE());
+		cb.handle("remoteAdaptor", readerName, report);
+		cb.handle("adaptor", "unknownReader", report);
+		
+		EasyMock.verify(adaptor);
+		EasyMock.verify(otherAdaptor);
+	}
+	
+	@Test
+	public void testDeregister() throws Exception {
+		final String readerName = "readerName";
+		
+		LLRPAdaptor adaptor = EasyMock.createMock(LLRPAdaptor.class);
+		EasyMock.replay(adaptor);
+		
+		InProcessCallback cb = new InProcessCallback("adaptor");
+		cb.register(readerName, adaptor);
+		cb.deregister(readerName, adaptor);
+		cb.handle("adaptor", readerName, new RO_ACCESS_REPORT());
+		
+		EasyMock.verify(adaptor);
+	}
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.server.readers.llrp.test;
+
+import junit.framework.Assert;
+
+import org.fosstrak.ale.server.readers.llrp.LLRPMessageHelper;
+import org.fosstrak.llrp.client.LLRPMessageItem;
+import org.junit.Test;
+import org.llrp.ltk.generated.enumerations.StatusCode;
+import org.llrp.ltk.generated.messages.ADD_ROSPEC_RESPONSE;
+import org.llrp.ltk.generated.messages.KEEPALIVE;
+import org.llrp.ltk.generated.parameters.LLRPStatus;
+import org.llrp.ltk.types.UTF8String_UTF_8;
+
+/**
+ * test the helper methods for the LLRP message handlers.
+ * @author agent
+ *
+ */
+public class LLRPMessageHelperTest {
+	
+	@Test
+	public void testStatusOfResponse() throws Exception {
+		ADD_ROSPEC_RESPONSE response = new ADD_ROSPEC_RESPONSE();
+		LLRPStatus status = new LLRPStatus();
+		status.setStatusCode(new StatusCode(StatusCode.M_Success));
+		status.setErrorDescription(new UTF8String_UTF_8(""));
+		response.setLLRPStatus(status);
+		
+		Assert.assertSame(status, LLRPMessageHelper.getLLRPStatus(response));
+		// the accessor is cached - a second lookup must yield the same result.
+		Assert.assertSame(status, LLRPMessageHelper.getLLRPStatus(response));
+		Assert.assertEquals(new StatusCode(StatusCode.M_Success).toString(), LLRPMessageHelper.getStatusCode(response));
+	}
+	
+	@Test
+	public void testMessageWithoutStatus() throws Exception {
+		KEEPALIVE keepalive = new KEEPALIVE();
+		Assert.assertNull(LLRPMessageHelper.getLLRPStatus(keepalive));
+		Assert.assertEquals("", LLRPMessageHelper.getStatusCode(keepalive));
+	}
+	
+	@Test
+	public void testCreateItemRendersContentOnDemand() throws Exception {
+		KEEPALIVE keepalive = new KEEPALIVE();
+		
+		LLRPMessageItem item = LLRPMessageHelper.createItem("adaptor", "reader", keepalive, false);
+		Assert.assertEquals("adaptor", item.getAdapter());
+		Assert.assertEquals("reader", item.getReader());
+		Assert.assertEquals(keepalive.getName(), item.getMessageType());
+		Assert.assertEquals("", item.getStatusCode());
+		Assert.assertTrue((null == item.getContent()) || "".equals(item.getContent()));
+		
+		item = LLRPMessageHelper.createItem("adaptor", "reader", keepalive, true);
+		Assert.assertEquals(keepalive.toXMLString(), item.getContent());
+	}
+}
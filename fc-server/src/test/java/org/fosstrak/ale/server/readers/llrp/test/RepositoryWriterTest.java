@@ -0,0 +1,146 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.server.readers.llrp.test;
+
+import java.io.StringWriter;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+
+import junit.framework.Assert;
+
+import org.easymock.EasyMock;
+import org.easymock.IAnswer;
+import org.fosstrak.ale.server.metrics.MetricsRegistry;
+import org.fosstrak.ale.server.readers.llrp.RepositoryWriter;
+import org.fosstrak.llrp.client.LLRPMessageItem;
+import org.fosstrak.llrp.client.Repository;
+import org.junit.Test;
+import org.llrp.ltk.generated.messages.KEEPALIVE;
+import org.llrp.ltk.generated.messages.RO_ACCESS_REPORT;
+
+/**
+ * test the asynchronous LLRP message repository writer.
+ * @author agent
+ *
+ */
+public class RepositoryWriterTest {
+	
+	/**
+	 * create a repository mock recording the stored items.
+	 */
+	private Repository createRepository(final List<LLRPMessageItem> items) {
+		Repository repository = EasyMock.createMock(Repository.class);
+		repository.put(EasyMock.isA(LLRPMessageItem.class));
+		EasyMock.expectLastCall().andAnswer(new IAnswer<Object>() {
+			public Object answer() throws Throwable {
+				items.add((LLRPMessageItem) EasyMock.getCurrentArguments()[0]);
+				return null;
+			}
+		}).anyTimes();
+		EasyMock.replay(repository);
+		return repository;
+	}
+	
+	@Test
+	public void testPersistsInBackground() throws Exception {
+		List<LLRPMessageItem> items = Collections.synchronizedList(new LinkedList<LLRPMessageItem>());
+		RepositoryWriter writer = new RepositoryWriter(createRepository(items), 100, 10);
+		writer.start();
+		
+		KEEPALIVE keepalive = new KEEPALIVE();
+		for (int i=0; i<50; i++) {
+			writer.handle("adaptor", "reader", keepalive);
+		}
+		// reports are not written into the message repository.
+		writer.handle("adaptor", "reader", new RO_ACCESS_REPORT());
+		
+		writer.stop();
+		Assert.assertEquals(50, items.size());
+		Assert.assertEquals(50, writer.getPersistedCount());
+		Assert.assertEquals(0, writer.getDroppedCount());
+		Assert.assertEquals(0, writer.getPendingCount());
+		
+		LLRPMessageItem item = items.get(0);
+		Assert.assertEquals("adaptor", item.getAdapter());
+		Assert.assertEquals("reader", item.getReader());
+		Assert.assertEquals(keepalive.getName(), item.getMessageType());
+		Assert.assertEquals(keepalive.toXMLString(), item.getContent());
+		Assert.assertNotNull(item.getTime());
+	}
+	
+	@Test
+	public void testDropsWhenQueueIsFull() throws Exception {
+		List<LLRPMessageItem> items = new LinkedList<LLRPMessageItem>();
+		// writer not started, so the queue fills up.
+		RepositoryWriter writer = new RepositoryWriter(createRepository(items), 2, 10);
+		for (int i=0; i<5; i++) {
+			writer.handle("adaptor", "reader", new KEEPALIVE());
+		}
+		Assert.assertEquals(2, writer.getPendingCount());
+		Assert.assertEquals(3, writer.getDroppedCount());
+		Assert.assertEquals(1, writer.getMetrics().getOverflows());
+		Assert.assertTrue(items.isEmpty());
+		
+		writer.stop();
+		Assert.assertEquals(2, items.size());
+		Assert.assertEquals(2, writer.getPersistedCount());
+		Assert.assertEquals(0, writer.getPendingCount());
+		
+		// an accepted message ends the overflow, the next drop starts a new one.
+		for (int i=0; i<4; i++) {
+			writer.handle("adaptor", "reader", new KEEPALIVE());
+		}
+		Assert.assertEquals(5, writer.getDroppedCount());
+		Assert.assertEquals(2, writer.getMetrics().getOverflows());
+	}
+	
+	@Test
+	public void testExportsMetrics() throws Exception {
+		MetricsRegistry registry = new MetricsRegistry();
+		RepositoryWriter writer = new RepositoryWriter(createRepository(new LinkedList<LLRPMessageItem>()), 1, 10);
+		writer.setMetrics(registry.getRepositoryMetrics("llrp"));
+		writer.handle("adaptor", "reader", new KEEPALIVE());
+		writer.handle("adaptor", "reader", new KEEPALIVE());
+		writer.stop();
+		
+		StringWriter text = new StringWriter();
+		registry.writeText(text);
+		Assert.assertTrue(text.toString().contains("ale_repository_persisted{repository=\"llrp\"} 1\n"));
+		Assert.assertTrue(text.toString().contains("ale_repository_dropped{repository=\"llrp\"} 1\n"));
+		Assert.assertTrue(text.toString().contains("ale_repository_overflows{repository=\"llrp\"} 1\n"));
+	}
+	
+	@Test
+	public void testCountsFailures() throws Exception {
+		Repository repository = EasyMock.createMock(Repository.class);
+		repository.put(EasyMock.isA(LLRPMessageItem.class));
+		EasyMock.expectLastCall().andThrow(new IllegalStateException("database down")).once();
+		EasyMock.replay(repository);
+		
+		RepositoryWriter writer = new RepositoryWriter(repository, 10, 10);
+		writer.handle("adaptor", "reader", new KEEPALIVE());
+		writer.stop();
+		Assert.assertEquals(1, writer.getFailedCount());
+		Assert.assertEquals(0, writer.getPersistedCount());
+		EasyMock.verify(repository);
+	}
+}
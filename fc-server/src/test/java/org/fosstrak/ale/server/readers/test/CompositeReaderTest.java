@@ -5,6 +5,8 @@ package org.fosstrak.ale.server.readers.test;
 
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Observable;
+import java.util.Observer;
 
 import org.easymock.EasyMock;
 import org.fosstrak.ale.exception.ImplementationException;
@@ -177,21 +179,28 @@ public class CompositeReaderTest {
 	public void testUpdateFromTag() throws ImplementationException {
 		Tag tag = new Tag();
 		tag.setTagID("hello".getBytes());
-		TestUpdateHelper reader = new TestUpdateHelper();
+		CompositeReader reader = new CompositeReader();
 		reader.setName("reader");
+		TestObserver observer = new TestObserver();
+		reader.addObserver(observer);
 		reader.stop();
 		
 		reader.update(reader, tag);
-		Assert.assertFalse(reader.changed);
+		Assert.assertNull(observer.object);
 
 		reader.start();
 		reader.update(reader, this);
-		Assert.assertFalse(reader.changed);
+		Assert.assertNull(observer.object);
 		
 		reader.update(reader, tag);
-		Assert.assertTrue(reader.changed);
-		Assert.assertEquals("hello", new String(((Tag) reader.object).getTagID()));
-		Assert.assertEquals("reader", ((Tag) reader.object).getReader());
+		Assert.assertSame(reader, observer.source);
+		Tag resTag = (Tag) observer.object;
+		Assert.assertEquals("hello", new String(resTag.getTagID()));
+		Assert.assertEquals("reader", resTag.getReader());
+		Assert.assertEquals("reader", resTag.getTrace());
+		// the incoming tag is not modified.
+		Assert.assertNull(tag.getReader());
+		Assert.assertNull(tag.getTrace());
 	}
 	
 	/**
@@ -205,44 +214,101 @@ public class CompositeReaderTest {
 		List<Tag> tags = new LinkedList<Tag> ();
 		tags.add(tag);
 		
-		TestUpdateHelper reader = new TestUpdateHelper();
+		CompositeReader reader = new CompositeReader();
 		reader.setName("reader");
+		TestObserver observer = new TestObserver();
+		reader.addObserver(observer);
 		reader.stop();
 		reader.update(reader, tags);
-		Assert.assertFalse(reader.changed);
+		Assert.assertNull(observer.object);
 		
 		reader.start();
 		reader.update(reader, this);
-		Assert.assertFalse(reader.changed);
+		Assert.assertNull(observer.object);
 		
 		reader.update(reader, tags);
-		Assert.assertTrue(reader.changed);
 		@SuppressWarnings("unchecked")
-		List<Tag> res = (List<Tag>) reader.object;
+		List<Tag> res = (List<Tag>) observer.object;
 		Assert.assertEquals(1, res.size());
 		Tag resTag = res.get(0);
 		Assert.assertEquals("hello", new String(resTag.getTagID()));
 		Assert.assertEquals("reader", resTag.getReader());
+		Assert.assertNotSame(tag, resTag);
+		Assert.assertNull(tag.getReader());
+	}
+	
+	/**
+	 * test that nested composite readers are routed directly from the inner composite.
+	 */
+	@Test
+	public void testNestedComposites() {
+		Tag tag = new Tag("base");
+		tag.setTagID("hello".getBytes());
+		tag.addTrace("base");
+		
+		CompositeReader inner = new CompositeReader();
+		inner.setName("inner");
+		CompositeReader outer = new CompositeReader() {
+			@Override
+			public void update(Observable o, Object arg) {
+				Assert.fail("outer composite must not be notified through the inner composite");
+			}
+		};
+		outer.setName("outer");
+		outer.addReader(inner);
+		
+		TestObserver innerObserver = new TestObserver();
+		inner.addObserver(innerObserver);
+		TestObserver outerObserver = new TestObserver();
+		outer.addObserver(outerObserver);
+		inner.start();
+		outer.start();
+		
+		inner.update(null, tag);
+		Tag innerTag = (Tag) innerObserver.object;
+		Assert.assertEquals("inner", innerTag.getReader());
+		Assert.assertEquals("base", innerTag.getOrigin());
+		Assert.assertEquals("base-inner", innerTag.getTrace());
+		Tag outerTag = (Tag) outerObserver.object;
+		Assert.assertSame(outer, outerObserver.source);
+		Assert.assertEquals("outer", outerTag.getReader());
+		Assert.assertEquals("base-inner-outer", outerTag.getTrace());
+		Assert.assertEquals(3, outerTag.getPath().length());
+		Assert.assertFalse(innerTag.equals(outerTag));
+		Assert.assertEquals("base", tag.getReader());
+		Assert.assertEquals("base", tag.getTrace());
+		
+		// a stopped outer composite closes its routes.
+		outer.stop();
+		innerObserver.object = null;
+		outerObserver.object = null;
+		inner.update(null, tag);
+		Assert.assertNotNull(innerObserver.object);
+		Assert.assertNull(outerObserver.object);
+		
+		// removing the inner composite removes the routes to the outer observers.
+		outer.start();
+		outer.removeReader(inner);
+		innerObserver.object = null;
+		inner.update(null, tag);
+		Assert.assertNotNull(innerObserver.object);
+		Assert.assertNull(outerObserver.object);
 	}
 	
 	/**
-	 * helper class we  need for testing the notify mechanisms.
+	 * helper observer recording the last notification.
 	 * @author swieland
 	 *
 	 */
-	private class TestUpdateHelper extends CompositeReader {
+	private static class TestObserver implements Observer {
 		
+		public Observable source;
 		public Object object;
-		public boolean changed;
 
 		@Override
-		public void notifyObservers(Object arg) {
+		public void update(Observable o, Object arg) {
+			source = o;
 			object = arg;
 		}
-
-		@Override
-		public synchronized void setChanged() {
-			changed = true;
-		}
 	}
 }
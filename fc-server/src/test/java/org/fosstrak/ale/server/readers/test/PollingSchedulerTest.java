@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.server.readers.test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.Assert;
+
+import org.fosstrak.ale.server.readers.PollingScheduler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * test the shared polling scheduler.
+ * @author agent
+ *
+ */
+public class PollingSchedulerTest {
+	
+	private PollingScheduler scheduler;
+	
+	@Before
+	public void setUp() {
+		scheduler = new PollingScheduler(2);
+	}
+	
+	@After
+	public void tearDown() {
+		scheduler.shutdown();
+	}
+	
+	@Test
+	public void testPollsAtFixedRate() throws Exception {
+		final CountDownLatch latch = new CountDownLatch(5);
+		PollingScheduler.Task task = scheduler.schedule("reader", new Runnable() {
+			public void run() {
+				latch.countDown();
+			}
+		}, 10);
+		// suspended until resumed.
+		Thread.sleep(50);
+		Assert.assertEquals(0, task.getPollCount());
+		
+		task.resume();
+		Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+		// the poll is counted once it returned.
+		Thread.sleep(20);
+		Assert.assertTrue(task.getPollCount() >= 5);
+		Assert.assertEquals(0, task.getFailureCount());
+		Assert.assertSame(task, scheduler.getTasks().get("reader"));
+		
+		scheduler.cancel(task);
+		Assert.assertNull(scheduler.getTasks().get("reader"));
+		Thread.sleep(50);
+		long polls = task.getPollCount();
+		Thread.sleep(50);
+		Assert.assertEquals(polls, task.getPollCount());
+	}
+	
+	@Test
+	public void testSlowPollIsNotRunTwice() throws Exception {
+		final AtomicInteger running = new AtomicInteger(0);
+		final AtomicInteger maxRunning = new AtomicInteger(0);
+		final CountDownLatch latch = new CountDownLatch(3);
+		PollingScheduler.Task task = scheduler.schedule("slow", new Runnable() {
+			public void run() {
+				int current = running.incrementAndGet();
+				if (current > maxRunning.get()) {
+					maxRunning.set(current);
+				}
+				try {
+					Thread.sleep(50);
+				} catch (InterruptedException e) {
+					// stop.
+				}
+				running.decrementAndGet();
+				latch.countDown();
+			}
+		}, 5);
+		task.resume();
+		Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+		task.suspend();
+		
+		Assert.assertEquals(1, maxRunning.get());
+		Assert.assertTrue(task.getOverrunCount() > 0);
+		Assert.assertTrue(task.getMaxDuration() >= 40);
+	}
+	
+	@Test
+	public void testFailuresAreCounted() throws Exception {
+		final CountDownLatch latch = new CountDownLatch(2);
+		PollingScheduler.Task task = scheduler.schedule("failing", new Runnable() {
+			public void run() {
+				latch.countDown();
+				throw new IllegalStateException("reader not reachable");
+			}
+		}, 10);
+		task.resume();
+		Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+		task.suspend();
+		// the second failure might still be recorded.
+		Thread.sleep(20);
+		Assert.assertTrue(task.getFailureCount() >= 2);
+		Assert.assertEquals(0, task.getPollCount());
+	}
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.server.readers.test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.Assert;
+
+import org.fosstrak.ale.server.Tag;
+import org.junit.Test;
+import org.llrp.ltk.generated.messages.KEEPALIVE;
+import org.llrp.ltk.generated.messages.RO_ACCESS_REPORT;
+import org.llrp.ltk.generated.parameters.AntennaID;
+import org.llrp.ltk.generated.parameters.EPC_96;
+import org.llrp.ltk.generated.parameters.FirstSeenTimestampUTC;
+import org.llrp.ltk.generated.parameters.TagReportData;
+import org.llrp.ltk.types.Integer96_HEX;
+import org.llrp.ltk.types.UnsignedLong_DATETIME;
+import org.llrp.ltk.types.UnsignedShort;
+
+/**
+ * test the replay of recorded LLRP captures.
+ * @author agent
+ *
+ */
+public class ReplayWorkloadTest {
+	
+	/** the time of the first recorded report in milliseconds. */
+	private static final long T0 = 1300000000000L;
+	
+	/**
+	 * create a capture with one report of two tags at each of the given times 
+	 * (milliseconds after the first report) and a keepalive in between.
+	 */
+	private ByteArrayInputStream capture(long... times) throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		int serial = 1;
+		for (long time : times) {
+			List<TagReportData> tagData = new ArrayList<TagReportData>();
+			for (int i=0; i<2; i++) {
+				tagData.add(tagData(serial++, T0 + time, i + 1));
+			}
+			RO_ACCESS_REPORT report = new RO_ACCESS_REPORT();
+			report.setTagReportDataList(tagData);
+			out.write(report.encodeBinary());
+			out.write(new KEEPALIVE().encodeBinary());
+		}
+		return new ByteArrayInputStream(out.toByteArray());
+	}
+	
+	private TagReportData tagData(int serial, long time, int antenna) {
+		// SGTIN-96, filter 3, company prefix 0037000, item reference 030241.
+		String binary = "00110000" + "011" + "101" + bits(37000, 24) + bits(30241, 20) + bits(serial, 38);
+		EPC_96 epc = new EPC_96();
+		epc.setEPC(new Integer96_HEX(new BigInteger(binary, 2).toString(16), 16));
+		TagReportData tagData = new TagReportData();
+		tagData.setEPCParameter(epc);
+		FirstSeenTimestampUTC firstSeen = new FirstSeenTimestampUTC();
+		firstSeen.setMicroseconds(new UnsignedLong_DATETIME(time * 1000));
+		tagData.setFirstSeenTimestampUTC(firstSeen);
+		AntennaID antennaID = new AntennaID();
+		antennaID.setAntennaID(new UnsignedShort(antenna));
+		tagData.setAntennaID(antennaID);
+		return tagData;
+	}
+	
+	private String bits(long value, int length) {
+		StringBuilder binary = new StringBuilder(Long.toBinaryString(value));
+		while (binary.length() < length) {
+			binary.insert(0, '0');
+		}
+		return binary.toString();
+	}
+	
+	private List<Tag> poll(Workload workload, long elapsed) {
+		List<Tag> batch = new ArrayList<Tag>();
+		workload.poll(elapsed, batch);
+		return batch;
+	}
+	
+	/**
+	 * test reading the messages of a capture.
+	 */
+	@Test
+	public void testReadMessages() throws Exception {
+		Assert.assertEquals(6, ReplayWorkload.readMessages(capture(0, 100, 300)).size());
+		Assert.assertEquals(0, ReplayWorkload.readMessages(new ByteArrayInputStream(new byte[0])).size());
+	}
+	
+	/**
+	 * test the tags of the replay.
+	 */
+	@Test
+	public void testTags() throws Exception {
+		ReplayWorkload workload = new ReplayWorkload("replay", capture(0, 100), 1.0, false, 10);
+		Assert.assertEquals(2, workload.getReportCount());
+		Tag[] tags = workload.getTags();
+		Assert.assertEquals(4, tags.length);
+		Assert.assertEquals("urn:epc:id:sgtin:0037000.030241.1", tags[0].getTagIDAsPureURI());
+		Assert.assertEquals("replay", tags[0].getOrigin());
+		Assert.assertEquals("replay", tags[0].getTrace());
+		Assert.assertEquals(T0, tags[0].getTimestamp());
+		Assert.assertEquals(1, tags[0].getSighting().getAntennaID());
+		Assert.assertEquals(2, tags[1].getSighting().getAntennaID());
+		Assert.assertEquals(T0 + 100, tags[2].getSighting().getFirstSeen());
+	}
+	
+	/**
+	 * test the replay at the original and at a scaled speed.
+	 */
+	@Test
+	public void testSpeed() throws Exception {
+		ReplayWorkload workload = new ReplayWorkload("replay", capture(0, 100, 300), 1.0, false, 10);
+		Assert.assertEquals(2, poll(workload, 0).size());
+		Assert.assertEquals(0, poll(workload, 99).size());
+		Assert.assertEquals(2, poll(workload, 100).size());
+		Assert.assertEquals(0, poll(workload, 299).size());
+		Assert.assertFalse(workload.isExhausted());
+		Assert.assertEquals(2, poll(workload, 300).size());
+		Assert.assertTrue(workload.isExhausted());
+		Assert.assertEquals(6, workload.getEmitted());
+		
+		workload = new ReplayWorkload("replay", capture(0, 100, 300), 4.0, false, 10);
+		Assert.assertEquals(4, poll(workload, 25).size());
+		Assert.assertEquals(0, poll(workload, 74).size());
+		Assert.assertEquals(2, poll(workload, 75).size());
+	}
+	
+	/**
+	 * test the replay as fast as possible: one report per poll.
+	 */
+	@Test
+	public void testAsFastAsPossible() throws Exception {
+		ReplayWorkload workload = new ReplayWorkload("replay", capture(0, 100, 300), 0, false, 10);
+		Assert.assertEquals(0, workload.getPeriod());
+		for (int i=0; i<3; i++) {
+			Assert.assertEquals(2, poll(workload, 0).size());
+		}
+		Assert.assertTrue(workload.isExhausted());
+		Assert.assertEquals(0, poll(workload, 0).size());
+	}
+	
+	/**
+	 * test the replay in a loop.
+	 */
+	@Test
+	public void testLoop() throws Exception {
+		// one pass lasts 300ms plus the mean gap of 150ms.
+		ReplayWorkload workload = new ReplayWorkload("replay", capture(0, 100, 300), 1.0, true, 10);
+		Tag[] tags = workload.getTags();
+		Assert.assertEquals(6, poll(workload, 300).size());
+		Assert.assertEquals(0, poll(workload, 449).size());
+		List<Tag> second = poll(workload, 450);
+		Assert.assertEquals(2, second.size());
+		Assert.assertSame(tags[0], second.get(0));
+		Assert.assertFalse(workload.isExhausted());
+	}
+}
@@ -0,0 +1,257 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.server.readers.test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Observable;
+import java.util.Observer;
+import java.util.Set;
+
+import junit.framework.Assert;
+
+import org.fosstrak.ale.server.Pattern;
+import org.fosstrak.ale.server.PatternUsage;
+import org.fosstrak.ale.server.Tag;
+import org.fosstrak.ale.server.util.EPCDecoder;
+import org.fosstrak.ale.xsd.ale.epcglobal.LRProperty;
+import org.fosstrak.ale.xsd.ale.epcglobal.LRSpec;
+import org.junit.Test;
+
+/**
+ * test the synthetic workload of the test adaptor.
+ * @author agent
+ *
+ */
+public class SyntheticWorkloadTest {
+	
+	private SyntheticWorkload create(long seed, int tagCount, int presentCount, String distribution, double churnRate, long readLimit) {
+		return new SyntheticWorkload("reader", seed, new EPCScheme[] { EPCScheme.SGTIN_96 }, tagCount, presentCount, 
+				5, 7, 3, 1000, 100, distribution, 1.0, churnRate, readLimit);
+	}
+	
+	private List<Tag> poll(Workload workload, long elapsed) {
+		List<Tag> batch = new ArrayList<Tag>();
+		workload.poll(elapsed, batch);
+		return batch;
+	}
+	
+	/**
+	 * test that the same seed yields the same population and the same reads.
+	 */
+	@Test
+	public void testReproducible() {
+		List<Tag> reads1 = poll(create(42, 100, 100, SyntheticWorkload.DISTRIBUTION_UNIFORM, 0, 0), 1000);
+		List<Tag> reads2 = poll(create(42, 100, 100, SyntheticWorkload.DISTRIBUTION_UNIFORM, 0, 0), 1000);
+		List<Tag> reads3 = poll(create(43, 100, 100, SyntheticWorkload.DISTRIBUTION_UNIFORM, 0, 0), 1000);
+		
+		Assert.assertEquals(1000, reads1.size());
+		Assert.assertEquals(reads1.size(), reads2.size());
+		boolean differs = false;
+		for (int i=0; i<reads1.size(); i++) {
+			Assert.assertEquals(reads1.get(i).getTagIDAsPureURI(), reads2.get(i).getTagIDAsPureURI());
+			differs |= !reads1.get(i).getTagIDAsPureURI().equals(reads3.get(i).getTagIDAsPureURI());
+		}
+		Assert.assertTrue(differs);
+	}
+	
+	/**
+	 * test that the reads are precomputed tags of the population, emitted at the read rate.
+	 */
+	@Test
+	public void testRateAndPrecomputedTags() {
+		SyntheticWorkload workload = create(1, 50, 50, SyntheticWorkload.DISTRIBUTION_UNIFORM, 0, 0);
+		Tag[] population = workload.getTags();
+		Assert.assertEquals(50, population.length);
+		Assert.assertEquals(50, new HashSet<String>(uris(population)).size());
+		Map<Tag, Boolean> members = new IdentityHashMap<Tag, Boolean>();
+		for (Tag tag : population) {
+			members.put(tag, true);
+		}
+		
+		List<Tag> reads = poll(workload, 50);
+		Assert.assertEquals(50, reads.size());
+		reads.addAll(poll(workload, 50));
+		Assert.assertEquals(50, reads.size());
+		reads.addAll(poll(workload, 1234));
+		Assert.assertEquals(1234, reads.size());
+		Assert.assertEquals(1234, workload.getEmitted());
+		for (Tag read : reads) {
+			Assert.assertTrue(members.containsKey(read));
+			Assert.assertEquals("reader", read.getReader());
+			Assert.assertEquals("reader", read.getTrace());
+		}
+	}
+	
+	/**
+	 * test the read limit.
+	 */
+	@Test
+	public void testReadLimit() {
+		SyntheticWorkload workload = create(1, 10, 10, SyntheticWorkload.DISTRIBUTION_UNIFORM, 0, 150);
+		Assert.assertEquals(100, poll(workload, 100).size());
+		Assert.assertFalse(workload.isExhausted());
+		Assert.assertEquals(50, poll(workload, 1000).size());
+		Assert.assertTrue(workload.isExhausted());
+	}
+	
+	/**
+	 * test that the window of present tags moves along the population.
+	 */
+	@Test
+	public void testChurn() {
+		// one tag departs every 10 reads.
+		SyntheticWorkload workload = create(1, 100, 10, SyntheticWorkload.DISTRIBUTION_SEQUENTIAL, 100, 0);
+		Tag[] population = workload.getTags();
+		List<Tag> reads = poll(workload, 1000);
+		for (int i=0; i<10; i++) {
+			Assert.assertSame(population[i], reads.get(i));
+			Assert.assertSame(population[50 + i], reads.get(500 + i));
+		}
+		// the window wraps around the end of the population.
+		Assert.assertSame(population[0], reads.get(919));
+	}
+	
+	/**
+	 * test that the zipf distribution favors the first tags of the population.
+	 */
+	@Test
+	public void testZipf() {
+		SyntheticWorkload workload = create(7, 100, 100, SyntheticWorkload.DISTRIBUTION_ZIPF, 0, 0);
+		Tag[] population = workload.getTags();
+		int first = 0;
+		int last = 0;
+		for (Tag read : poll(workload, 10000)) {
+			if (read == population[0]) {
+				first++;
+			} else if (read == population[99]) {
+				last++;
+			}
+		}
+		// expected ratio is 100.
+		Assert.assertTrue(first > 20 * last);
+	}
+	
+	/**
+	 * test that the encoded tag URIs match the binary representation.
+	 */
+	@Test
+	public void testSchemes() {
+		for (EPCScheme scheme : EPCScheme.values()) {
+			for (int companyPrefixLength = 6; companyPrefixLength <= 12; companyPrefixLength++) {
+				SyntheticWorkload workload = new SyntheticWorkload("reader", companyPrefixLength, new EPCScheme[] { scheme }, 20, 20, 
+						3, companyPrefixLength, 1, 1000, 100, SyntheticWorkload.DISTRIBUTION_UNIFORM, 1.0, 0, 0);
+				for (Tag tag : workload.getTags()) {
+					Assert.assertEquals(96, tag.getTagAsBinary().length());
+					byte[] epc = EPCDecoder.fromBigInteger(new BigInteger(tag.getTagAsBinary(), 2));
+					Assert.assertEquals(toPureIdentity(tag.getTagIDAsPureURI()), EPCDecoder.decodePureIdentity(epc));
+				}
+			}
+		}
+	}
+	
+	/**
+	 * test that the generated tags can be matched by the ALE patterns.
+	 */
+	@Test
+	public void testMatchedByPatterns() throws Exception {
+		SyntheticWorkload workload = create(1, 1000, 1000, SyntheticWorkload.DISTRIBUTION_UNIFORM, 0, 0);
+		Pattern pattern = new Pattern("urn:epc:pat:sgtin-96:*.*.*.[0-2147483647]", PatternUsage.FILTER);
+		for (Tag tag : workload.getTags()) {
+			Assert.assertTrue(tag.getTagIDAsPureURI(), pattern.isMember(tag.getTagIDAsPureURI()));
+		}
+	}
+	
+	/**
+	 * the pure identity URI of a tag URI (drop the filter value).
+	 */
+	private String toPureIdentity(String tagURI) {
+		String[] parts = tagURI.split(":");
+		String scheme = parts[3].substring(0, parts[3].indexOf('-'));
+		String fields = parts[4];
+		if (!"gid".equals(scheme)) {
+			fields = fields.substring(fields.indexOf('.') + 1);
+		}
+		return "urn:epc:id:" + scheme + ":" + fields;
+	}
+	
+	private List<String> uris(Tag[] tags) {
+		List<String> uris = new ArrayList<String>();
+		for (Tag tag : tags) {
+			uris.add(tag.getTagIDAsPureURI());
+		}
+		return uris;
+	}
+	
+	/**
+	 * test that the adaptor delivers the reads of the workload at the configured rate.
+	 */
+	@Test
+	public void testAdaptor() throws Exception {
+		LRSpec spec = new LRSpec();
+		spec.setProperties(new LRSpec.Properties());
+		addProperty(spec, TestAdaptor.PROPERTY_WORKLOAD, TestAdaptor.WORKLOAD_SYNTHETIC);
+		addProperty(spec, SyntheticWorkload.PROPERTY_TAG_COUNT, "20");
+		addProperty(spec, SyntheticWorkload.PROPERTY_READ_RATE, "2000");
+		addProperty(spec, SyntheticWorkload.PROPERTY_BATCH_PERIOD, "10");
+		addProperty(spec, SyntheticWorkload.PROPERTY_READ_LIMIT, "500");
+		
+		TestAdaptor adaptor = new TestAdaptor();
+		adaptor.initialize("synthetic", spec);
+		final Set<Tag> delivered = new HashSet<Tag>();
+		final long[] reads = new long[1];
+		adaptor.addObserver(new Observer() {
+			public void update(Observable o, Object arg) {
+				for (Object tag : (List<?>) arg) {
+					delivered.add((Tag) tag);
+					reads[0]++;
+				}
+			}
+		});
+		
+		long start = System.currentTimeMillis();
+		adaptor.start();
+		while ((adaptor.getEmitted() < 500) && (System.currentTimeMillis() - start < 10000)) {
+			Thread.sleep(10);
+		}
+		long duration = System.currentTimeMillis() - start;
+		adaptor.stop();
+		
+		Assert.assertEquals(500, adaptor.getEmitted());
+		Assert.assertEquals(500, reads[0]);
+		Assert.assertEquals(20, delivered.size());
+		// 500 reads at 2000 reads per second.
+		Assert.assertTrue("took " + duration + "ms", duration >= 200);
+		Assert.assertTrue(adaptor.getBatches() >= 20);
+	}
+	
+	private void addProperty(LRSpec spec, String name, String value) {
+		LRProperty property = new LRProperty();
+		property.setName(name);
+		property.setValue(value);
+		spec.getProperties().getProperty().add(property);
+	}
+}
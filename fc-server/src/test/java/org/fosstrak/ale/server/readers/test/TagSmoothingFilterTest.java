@@ -0,0 +1,171 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.server.readers.test;
+
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import junit.framework.Assert;
+
+import org.fosstrak.ale.server.Tag;
+import org.fosstrak.ale.server.readers.TagSmoothingFilter;
+import org.junit.Test;
+
+/**
+ * test the reader-side smoothing stage.
+ * @author agent
+ *
+ */
+public class TagSmoothingFilterTest {
+	
+	/**
+	 * create a tag with the given binary representation.
+	 */
+	private Tag tag(String binary) {
+		Tag tag = new Tag("reader");
+		tag.setTagAsBinary(binary);
+		return tag;
+	}
+	
+	/**
+	 * test the creation from the reader properties.
+	 */
+	@Test
+	public void testCreate() {
+		Map<String, String> props = new HashMap<String, String>();
+		Assert.assertNull(TagSmoothingFilter.create(props));
+		
+		props.put(TagSmoothingFilter.PROPERTY_REPEAT_WINDOW, "invalid");
+		Assert.assertNull(TagSmoothingFilter.create(props));
+		
+		props.put(TagSmoothingFilter.PROPERTY_REPEAT_WINDOW, "500");
+		TagSmoothingFilter filter = TagSmoothingFilter.create(props);
+		Assert.assertEquals(500, filter.getRepeatWindow());
+		Assert.assertFalse(filter.isHysteresis());
+		
+		props.put(TagSmoothingFilter.PROPERTY_OBSERVED_COUNT_THRESHOLD, "2");
+		Assert.assertTrue(TagSmoothingFilter.create(props).isHysteresis());
+	}
+	
+	/**
+	 * test that repeats within the window are suppressed.
+	 */
+	@Test
+	public void testRepeatWindow() {
+		TagSmoothingFilter filter = new TagSmoothingFilter(100, 0, -1, -1, 0);
+		Tag tag = tag("0101");
+		
+		Assert.assertSame(tag, filter.filter(tag, 1000));
+		for (int i = 1; i < 100; i++) {
+			Assert.assertNull(filter.filter(tag, 1000 + i));
+		}
+		Assert.assertSame(tag, filter.filter(tag, 1100));
+		Assert.assertEquals(2, filter.getDelivered());
+		Assert.assertEquals(99, filter.getSuppressed());
+	}
+	
+	/**
+	 * test the filtering of a list of tags.
+	 */
+	@Test
+	public void testFilterList() {
+		TagSmoothingFilter filter = new TagSmoothingFilter(100, 0, -1, -1, 0);
+		List<Tag> tags = new LinkedList<Tag> ();
+		tags.add(tag("01"));
+		tags.add(tag("01"));
+		tags.add(tag("10"));
+		
+		@SuppressWarnings("unchecked")
+		List<Tag> result = (List<Tag>) filter.filter(tags, 0);
+		Assert.assertEquals(2, result.size());
+		Assert.assertEquals("01", result.get(0).getTagAsBinary());
+		Assert.assertEquals("10", result.get(1).getTagAsBinary());
+		
+		Assert.assertNull(filter.filter(tags, 50));
+		
+		// anything else than tags is passed on.
+		Assert.assertSame(this, filter.filter(this, 50));
+	}
+	
+	/**
+	 * test the glimpsed/observed/lost hysteresis with the count threshold.
+	 */
+	@Test
+	public void testObservedCountThreshold() {
+		TagSmoothingFilter filter = new TagSmoothingFilter(0, 100, -1, 3, 200);
+		Tag tag = tag("0101");
+		
+		Assert.assertNull(filter.filter(tag, 0));
+		Assert.assertNull(filter.filter(tag, 10));
+		Assert.assertSame(tag, filter.filter(tag, 20));
+		Assert.assertSame(tag, filter.filter(tag, 30));
+		
+		// observed tag seen again within the lost timeout.
+		Assert.assertSame(tag, filter.filter(tag, 230));
+		
+		// lost, so glimpsed again.
+		Assert.assertNull(filter.filter(tag, 431));
+		
+		// glimpsed tag timed out, count restarts.
+		Assert.assertNull(filter.filter(tag, 532));
+		Assert.assertNull(filter.filter(tag, 533));
+		Assert.assertSame(tag, filter.filter(tag, 534));
+	}
+	
+	/**
+	 * test the glimpsed/observed hysteresis with the time threshold.
+	 */
+	@Test
+	public void testObservedTimeThreshold() {
+		TagSmoothingFilter filter = new TagSmoothingFilter(0, 100, 50, -1, 100);
+		Tag tag = tag("0101");
+		
+		Assert.assertNull(filter.filter(tag, 0));
+		Assert.assertNull(filter.filter(tag, 40));
+		Assert.assertSame(tag, filter.filter(tag, 80));
+	}
+	
+	/**
+	 * test that a portal workload is reduced by an order of magnitude and 
+	 * that stale tags are dropped from the table.
+	 */
+	@Test
+	public void testPortalWorkload() {
+		TagSmoothingFilter filter = new TagSmoothingFilter(1000, 0, -1, -1, 0);
+		// 500 tags, each read every 20ms for one second.
+		for (int t = 0; t < 1000; t += 20) {
+			for (int i = 0; i < 500; i++) {
+				filter.filter(tag(Integer.toBinaryString(i)), t);
+			}
+		}
+		Assert.assertEquals(500, filter.getDelivered());
+		Assert.assertEquals(500 * 49, filter.getSuppressed());
+		Assert.assertEquals(500, filter.size());
+		
+		// much later, a new population replaces the stale entries.
+		for (int i = 0; i < 500; i++) {
+			filter.filter(tag("1" + Integer.toBinaryString(i) + "0"), 100000);
+		}
+		Assert.assertTrue(filter.size() < 1000);
+	}
+}
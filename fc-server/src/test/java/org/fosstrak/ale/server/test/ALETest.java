@@ -346,7 +346,7 @@ public class ALETest {
 		reportGenerator.poll();
 		EasyMock.expectLastCall();
 		ECReports reports = new ECReports();
-		EasyMock.expect(reportGenerator.getPollReports()).andReturn(reports);
+		EasyMock.expect(reportGenerator.awaitPollReports()).andReturn(reports);
 		EasyMock.replay(reportGenerator);
 		
 		ReportsGeneratorsProvider rgenProvider = EasyMock.createMock(ReportsGeneratorsProvider.class);
@@ -0,0 +1,394 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.server.test;
+
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.Assert;
+
+import org.apache.log4j.Logger;
+import org.easymock.EasyMock;
+import org.fosstrak.ale.exception.ECSpecValidationException;
+import org.fosstrak.ale.exception.ImplementationException;
+import org.fosstrak.ale.server.EventCycle;
+import org.fosstrak.ale.server.Report;
+import org.fosstrak.ale.server.ReportsGenerator;
+import org.fosstrak.ale.server.Tag;
+import org.fosstrak.ale.server.impl.EventCycleImpl;
+import org.fosstrak.ale.server.impl.ReportEvaluator;
+import org.fosstrak.ale.server.readers.LogicalReaderManager;
+import org.fosstrak.ale.server.readers.test.SyntheticWorkload;
+import org.fosstrak.ale.server.readers.test.TestAdaptor;
+import org.fosstrak.ale.server.readers.test.Workload;
+import org.fosstrak.ale.server.util.TagHelper;
+import org.fosstrak.ale.util.DeserializerUtil;
+import org.fosstrak.ale.xsd.ale.epcglobal.ECReport;
+import org.fosstrak.ale.xsd.ale.epcglobal.ECReports;
+import org.fosstrak.ale.xsd.ale.epcglobal.ECSpec;
+import org.fosstrak.ale.xsd.ale.epcglobal.LRProperty;
+import org.fosstrak.ale.xsd.ale.epcglobal.LRSpec;
+import org.fosstrak.tdt.TDTEngine;
+import org.junit.AfterClass;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * allocation regression gate. a synthetic {@link TestAdaptor} workload is driven 
+ * round by round through an event cycle, the bytes allocated per ingested tag 
+ * (on the thread delivering the reads) and per built report (on the event cycle 
+ * thread, while the {@link ReportEvaluator} builds the reports of the round) are 
+ * measured with the thread allocation counters of the JVM and checked against 
+ * the budgets in <code>/allocation-budget.properties</code>.<br/>
+ * the test is skipped if the JVM does not support the thread allocation counters.
+ * @author agent
+ *
+ */
+public class AllocationBudgetTest {
+
+	/** logger. */
+	private static final Logger LOG = Logger.getLogger(AllocationBudgetTest.class);
+	
+	/** the resource holding the budgets. */
+	private static final String BUDGET = "/allocation-budget.properties";
+	
+	/** the name of the logical reader used by the ECSpecs. */
+	private static final String READER_NAME = "AllocationReader";
+	
+	/** the rounds run before the measurement (for the JIT to settle). */
+	private static final int WARMUP_ROUNDS = 20;
+	
+	/** the rounds measured. */
+	private static final int MEASURED_ROUNDS = 10;
+	
+	/** the batches delivered per round. */
+	private static final int BATCHES_PER_ROUND = 10;
+	
+	/** the batch period of the workload in milliseconds (20 reads per batch at 2000 reads/s). */
+	private static final long BATCH_PERIOD = 10;
+	
+	/** the maximum time to wait for the event cycle in milliseconds. */
+	private static final long TIMEOUT = 10000;
+	
+	private com.sun.management.ThreadMXBean threads;
+	
+	private final Properties budget = new Properties();
+	
+	/**
+	 * the TDT engine prints debug output to the standard output for every conversion 
+	 * and offers no API to switch it off. silence the shared engine of the TagHelper 
+	 * while the budgets are measured, its output is not part of the ALE.
+	 */
+	@BeforeClass
+	public static void beforeClass() throws Exception {
+		setTDTDebug(false);
+	}
+	
+	@AfterClass
+	public static void afterClass() throws Exception {
+		setTDTDebug(true);
+	}
+	
+	private static void setTDTDebug(boolean debug) throws Exception {
+		Field showdebug = TDTEngine.class.getDeclaredField("showdebug");
+		showdebug.setAccessible(true);
+		showdebug.set(TagHelper.getTDTEngine(), Boolean.valueOf(debug));
+	}
+	
+	@Before
+	public void beforeEachTest() throws Exception {
+		java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		Assume.assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+		threads = (com.sun.management.ThreadMXBean) bean;
+		Assume.assumeTrue(threads.isThreadAllocatedMemorySupported());
+		if (!threads.isThreadAllocatedMemoryEnabled()) {
+			threads.setThreadAllocatedMemoryEnabled(true);
+		}
+		
+		InputStream in = AllocationBudgetTest.class.getResourceAsStream(BUDGET);
+		Assert.assertNotNull("missing allocation budget " + BUDGET, in);
+		try {
+			budget.load(in);
+		} finally {
+			in.close();
+		}
+	}
+	
+	/**
+	 * one unfiltered CURRENT report.
+	 */
+	@Test
+	public void testCurrentReport() throws Exception {
+		checkBudget("current", "/ecspecs/allocation-current.xml");
+	}
+	
+	/**
+	 * a filtered and grouped CURRENT report, an ADDITIONS and a DELETIONS report.
+	 */
+	@Test
+	public void testFilteredGroupedAndDeltaReports() throws Exception {
+		checkBudget("grouped", "/ecspecs/allocation-grouped.xml");
+	}
+	
+	/**
+	 * measure the allocations of the given ECSpec and check them against the budget.
+	 * @param name the name of the workload in the budget.
+	 * @param specFile the ECSpec resource.
+	 */
+	private void checkBudget(String name, String specFile) throws Exception {
+		ECSpec spec = DeserializerUtil.deserializeECSpec(AllocationBudgetTest.class.getResourceAsStream(specFile));
+		double[] measured = measure(spec);
+		long tagBudget = getBudget(name + ".bytesPerTag");
+		long reportBudget = getBudget(name + ".bytesPerReport");
+		LOG.info(String.format("allocation of %s: %.0f bytes per tag (budget %d), %.0f bytes per report (budget %d)", 
+				name, measured[0], tagBudget, measured[1], reportBudget));
+		
+		Assert.assertTrue(String.format("allocation per ingested tag of %s exceeds the budget: %.0f > %d bytes", name, measured[0], tagBudget), 
+				measured[0] <= tagBudget);
+		Assert.assertTrue(String.format("allocation per built report of %s exceeds the budget: %.0f > %d bytes", name, measured[1], reportBudget), 
+				measured[1] <= reportBudget);
+	}
+	
+	/**
+	 * run the warmup and the measured rounds of the given ECSpec.
+	 * @param spec the ECSpec.
+	 * @return the bytes allocated per ingested tag and per built report.
+	 */
+	private double[] measure(ECSpec spec) throws Exception {
+		DrivenTestAdaptor adaptor = createAdaptor();
+		
+		LogicalReaderManager manager = EasyMock.createMock(LogicalReaderManager.class);
+		EasyMock.expect(manager.contains(READER_NAME)).andReturn(true).anyTimes();
+		EasyMock.expect(manager.getLogicalReader(READER_NAME)).andReturn(adaptor).anyTimes();
+		EasyMock.replay(manager);
+		
+		CountingReportsGenerator generator = new CountingReportsGenerator(spec);
+		int reportsPerRound = spec.getReportSpecs().getReportSpec().size();
+		long self = Thread.currentThread().getId();
+		
+		long ingested = 0;
+		long tags = 0;
+		long elapsed = 0;
+		MeasuringReportEvaluator evaluator = new MeasuringReportEvaluator(threads);
+		EventCycleImpl cycle = new EventCycleImpl(generator, manager, evaluator);
+		try {
+			for (int round=1; round<=WARMUP_ROUNDS+MEASURED_ROUNDS; round++) {
+				boolean measuring = round > WARMUP_ROUNDS;
+				evaluator.measuring = measuring;
+				
+				cycle.launch();
+				awaitRound(cycle, round);
+				
+				long before = threads.getThreadAllocatedBytes(self);
+				int emitted = 0;
+				for (int i=0; i<BATCHES_PER_ROUND; i++) {
+					elapsed += BATCH_PERIOD;
+					emitted += adaptor.emit(elapsed);
+				}
+				long after = threads.getThreadAllocatedBytes(self);
+				
+				// a round without duration is closed by the next launch.
+				cycle.launch();
+				awaitNotified(generator, round);
+				
+				if (measuring) {
+					ingested += after - before;
+					tags += emitted;
+				}
+			}
+		} finally {
+			cycle.stop();
+		}
+		Assert.assertTrue(tags > 0);
+		Assert.assertEquals(MEASURED_ROUNDS * reportsPerRound, evaluator.evaluated);
+		return new double[] { (double) ingested / tags, (double) evaluator.built / evaluator.evaluated };
+	}
+	
+	/**
+	 * @param key the key of the budget.
+	 * @return the budget in bytes.
+	 */
+	private long getBudget(String key) {
+		String value = budget.getProperty(key);
+		Assert.assertNotNull("missing allocation budget " + key + " in " + BUDGET, value);
+		return Long.parseLong(value.trim());
+	}
+	
+	/**
+	 * wait until the event cycle collects the tags of the given round.
+	 */
+	private void awaitRound(EventCycle cycle, int round) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + TIMEOUT;
+		while (cycle.getRounds() < round) {
+			Assert.assertTrue("event cycle did not start round " + round, System.currentTimeMillis() < deadline);
+			Thread.sleep(1);
+		}
+	}
+	
+	/**
+	 * wait until the reports of the given round are delivered and the event cycle 
+	 * thread is parked waiting for the next launch.
+	 */
+	private void awaitNotified(CountingReportsGenerator generator, int round) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + TIMEOUT;
+		while ((generator.notified.get() < round) || (generator.thread.getState() != Thread.State.WAITING)) {
+			Assert.assertTrue("event cycle did not complete round " + round, System.currentTimeMillis() < deadline);
+			Thread.sleep(1);
+		}
+	}
+	
+	private DrivenTestAdaptor createAdaptor() throws Exception {
+		LRSpec spec = new LRSpec();
+		spec.setProperties(new LRSpec.Properties());
+		addProperty(spec, TestAdaptor.PROPERTY_WORKLOAD, TestAdaptor.WORKLOAD_SYNTHETIC);
+		addProperty(spec, SyntheticWorkload.PROPERTY_SEED, "1");
+		addProperty(spec, SyntheticWorkload.PROPERTY_TAG_COUNT, "500");
+		addProperty(spec, SyntheticWorkload.PROPERTY_PRESENT_COUNT, "200");
+		addProperty(spec, SyntheticWorkload.PROPERTY_COMPANY_COUNT, "10");
+		addProperty(spec, SyntheticWorkload.PROPERTY_READ_RATE, "2000");
+		addProperty(spec, SyntheticWorkload.PROPERTY_BATCH_PERIOD, Long.toString(BATCH_PERIOD));
+		addProperty(spec, SyntheticWorkload.PROPERTY_CHURN_RATE, "100");
+		
+		DrivenTestAdaptor adaptor = new DrivenTestAdaptor();
+		adaptor.initialize(READER_NAME, spec);
+		return adaptor;
+	}
+	
+	private void addProperty(LRSpec spec, String name, String value) {
+		LRProperty property = new LRProperty();
+		property.setName(name);
+		property.setValue(value);
+		spec.getProperties().getProperty().add(property);
+	}
+	
+	/**
+	 * test adaptor driven by the test instead of its own thread: the reader is not 
+	 * started, the workload is polled and the due reads are delivered synchronously 
+	 * on the calling thread, so the test controls the event cycle rounds.
+	 */
+	private static class DrivenTestAdaptor extends TestAdaptor {
+		
+		/**
+		 * polls the workload once and delivers the due reads.
+		 * @param elapsed the milliseconds elapsed since the workload has been started.
+		 * @return the number of reads delivered.
+		 */
+		public int emit(long elapsed) {
+			Workload workload = getWorkload();
+			List<Tag> batch = new ArrayList<Tag>();
+			workload.poll(elapsed, batch);
+			if (!batch.isEmpty()) {
+				setChanged();
+				notifyObservers(batch);
+			}
+			return batch.size();
+		}
+	}
+	
+	/**
+	 * report evaluator measuring the bytes allocated on the calling thread while 
+	 * the reports are built. the rest of the work of the event cycle thread 
+	 * (collecting the round, notifying the subscribers) is not accounted.
+	 */
+	private static class MeasuringReportEvaluator extends ReportEvaluator {
+		
+		private final com.sun.management.ThreadMXBean threads;
+		
+		private volatile boolean measuring;
+		
+		private volatile long built;
+		
+		private volatile int evaluated;
+		
+		public MeasuringReportEvaluator(com.sun.management.ThreadMXBean threads) {
+			this.threads = threads;
+		}
+		
+		@Override
+		public List<ECReport> evaluate(List<Report> reports, int numberOfTags) throws ECSpecValidationException, ImplementationException {
+			if (!measuring) {
+				return super.evaluate(reports, numberOfTags);
+			}
+			long id = Thread.currentThread().getId();
+			long before = threads.getThreadAllocatedBytes(id);
+			List<ECReport> result = super.evaluate(reports, numberOfTags);
+			long after = threads.getThreadAllocatedBytes(id);
+			// only the event cycle thread writes.
+			this.built += after - before;
+			this.evaluated += reports.size();
+			return result;
+		}
+	}
+	
+	/**
+	 * reports generator counting the notifications. remembers the event cycle thread 
+	 * delivering them. unlike a mock, it does not allocate on the event cycle thread.
+	 */
+	private static class CountingReportsGenerator implements ReportsGenerator {
+		
+		private final ECSpec spec;
+		
+		private final AtomicInteger notified = new AtomicInteger();
+		
+		private volatile Thread thread;
+		
+		public CountingReportsGenerator(ECSpec spec) {
+			this.spec = spec;
+		}
+		
+		@Override
+		public void notifySubscribers(ECReports reports, EventCycle ec) {
+			thread = Thread.currentThread();
+			notified.incrementAndGet();
+		}
+		@Override
+		public String getName() { return "allocation"; }
+		@Override
+		public ECSpec getSpec() { return spec; }
+		@Override
+		public void subscribe(String notificationURI) { }
+		@Override
+		public void unsubscribe(String notificationURI) { }
+		@Override
+		public List<String> getSubscribers() { return null; }
+		@Override
+		public void poll() { }
+		@Override
+		public ECReports getPollReports() { return null; }
+		@Override
+		public ECReports awaitPollReports() { return null; }
+		@Override
+		public boolean isStateRequested() { return true; }
+		@Override
+		public boolean isStateUnRequested() { return false; }
+		@Override
+		public void setStateRequested() { }
+		@Override
+		public void setStateUnRequested() { }
+	}
+}
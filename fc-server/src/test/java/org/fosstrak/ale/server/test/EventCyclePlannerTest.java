@@ -0,0 +1,264 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+package org.fosstrak.ale.server.test;
+
+import junit.framework.Assert;
+
+import org.easymock.Capture;
+import org.easymock.EasyMock;
+import org.fosstrak.ale.server.ALESettings;
+import org.fosstrak.ale.server.EventCycle;
+import org.fosstrak.ale.server.ReportsGenerator;
+import org.fosstrak.ale.server.Tag;
+import org.fosstrak.ale.server.impl.EventCycleImpl;
+import org.fosstrak.ale.server.impl.EventCyclePlanner;
+import org.fosstrak.ale.server.impl.ReportEvaluator;
+import org.fosstrak.ale.server.readers.LogicalReader;
+import org.fosstrak.ale.server.readers.LogicalReaderManager;
+import org.fosstrak.ale.util.DeserializerUtil;
+import org.fosstrak.ale.xsd.ale.epcglobal.ECReports;
+import org.fosstrak.ale.xsd.ale.epcglobal.ECSpec;
+import org.fosstrak.ale.xsd.ale.epcglobal.ECTime;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * test the sharing of event cycles between equivalent ECSpecs.
+ * 
+ * @author agent
+ *
+ */
+public class EventCyclePlannerTest {
+	
+	private static final String TAG1_BINARY = "001100000111010000000010010000100010000000011101100010000100000000000000000011111110011000110010";
+	private static final String TAG1_PURE_URI = "urn:epc:tag:sgtin-96:3.0037000.030241.1041970";
+	
+	private EventCyclePlanner planner;
+	
+	private LogicalReaderManager manager;
+	
+	private ALESettings settings;
+	
+	@Before
+	public void beforeTests() {
+		LogicalReader lr1 = EasyMock.createNiceMock(LogicalReader.class);
+		EasyMock.expect(lr1.getName()).andReturn("LogicalReader1").anyTimes();
+		EasyMock.replay(lr1);
+		
+		manager = EasyMock.createMock(LogicalReaderManager.class);
+		EasyMock.expect(manager.getLogicalReader("LogicalReader1")).andReturn(lr1).anyTimes();
+		EasyMock.replay(manager);
+		
+		settings = new ALESettings();
+		settings.setEventCycleSharingEnabled(true);
+		
+		planner = new EventCyclePlanner();
+		planner.setLogicalReaderManager(manager);
+		planner.setAleSettings(settings);
+		planner.setReportEvaluator(new ReportEvaluator());
+	}
+	
+	/**
+	 * specs differing only in the reports share the key, specs with different boundaries do not.
+	 */
+	@Test
+	public void testSharingKey() throws Exception {
+		ECSpec spec1 = getSpec();
+		ECSpec spec2 = getSpec();
+		spec2.getReportSpecs().getReportSpec().get(0).setReportName("otherReport");
+		Assert.assertNotNull(planner.getSharingKey(spec1));
+		Assert.assertEquals(planner.getSharingKey(spec1), planner.getSharingKey(spec2));
+		
+		ECTime duration = new ECTime();
+		duration.setUnit("MS");
+		duration.setValue(2000);
+		spec2.getBoundarySpec().setDuration(duration);
+		Assert.assertFalse(planner.getSharingKey(spec1).equals(planner.getSharingKey(spec2)));
+	}
+	
+	/**
+	 * two equivalent specs share one event cycle and both receive their reports over the same tags.
+	 */
+	@Test
+	public void testSharedEventCycle() throws Exception {
+		Capture<ECReports> reports1 = new Capture<ECReports>();
+		Capture<ECReports> reports2 = new Capture<ECReports>();
+		ReportsGenerator generator1 = createGenerator("generator1", reports1);
+		ReportsGenerator generator2 = createGenerator("generator2", reports2);
+		
+		EventCycle cycle1 = planner.getEventCycle(generator1);
+		EventCycle cycle2 = planner.getEventCycle(generator2);
+		Assert.assertTrue(cycle1 instanceof EventCycleImpl);
+		Assert.assertFalse(cycle2 instanceof EventCycleImpl);
+		Assert.assertEquals(cycle1.getName(), cycle2.getName());
+		
+		cycle1.launch();
+		cycle2.launch();
+		
+		// deliver the tag until both generators received a round (the second generator 
+		// receives the next round if the first round has started before its launch).
+		final EventCycle sender = cycle1;
+		final Tag tag = createTag();
+		Thread reader = new Thread(new Runnable() {
+			
+			@Override
+			public void run() {
+				try {
+					while (true) {
+						sender.update(null, tag);
+						Thread.sleep(50L);
+					}
+				} catch (InterruptedException e) {
+					return;
+				}
+			}
+		});
+		reader.start();
+		cycle1.join();
+		cycle2.join();
+		reader.interrupt();
+		reader.join();
+		
+		EasyMock.verify(generator1);
+		EasyMock.verify(generator2);
+		Assert.assertEquals("generator1", reports1.getValue().getSpecName());
+		Assert.assertEquals("generator2", reports2.getValue().getSpecName());
+		Assert.assertEquals(1, reports1.getValue().getReports().getReport().get(0).getGroup().get(0).getGroupList().getMember().size());
+		Assert.assertEquals(1, reports2.getValue().getReports().getReport().get(0).getGroup().get(0).getGroupList().getMember().size());
+		
+		// the cycle stays alive until the last participant stops.
+		cycle1.stop();
+		Assert.assertTrue(cycle1.isTerminated());
+		Assert.assertFalse(cycle2.isTerminated());
+		cycle2.stop();
+		Assert.assertTrue(cycle2.isTerminated());
+		
+		// a new generator does not attach to a stopped event cycle.
+		Assert.assertTrue(planner.getEventCycle(createGenerator("generator3", new Capture<ECReports>())) instanceof EventCycleImpl);
+	}
+	
+	/**
+	 * a generator launching while a round is collecting tags receives the next round. the 
+	 * tags of the previous round are kept per generator.
+	 */
+	@Test
+	public void testLateLaunchReceivesNextRound() throws Exception {
+		Capture<ECReports> reports1 = new Capture<ECReports>();
+		Capture<ECReports> reports2 = new Capture<ECReports>();
+		EventCycle cycle1 = planner.getEventCycle(createGenerator("generator1", reports1));
+		EventCycle cycle2 = planner.getEventCycle(createGenerator("generator2", reports2));
+		
+		cycle1.launch();
+		// wait for the cycle to accept tags.
+		Thread.sleep(200L);
+		cycle1.update(null, createTag());
+		cycle2.launch();
+		
+		cycle1.join();
+		Assert.assertTrue(reports1.hasCaptured());
+		Assert.assertFalse(reports2.hasCaptured());
+		Assert.assertEquals(1, cycle1.getLastEventCycleTags().size());
+		Assert.assertTrue(cycle2.getLastEventCycleTags().isEmpty());
+		
+		// the next round starts right after the first one, without the tag.
+		cycle2.join();
+		Assert.assertTrue(reports2.hasCaptured());
+		Assert.assertTrue(cycle2.getLastEventCycleTags().isEmpty());
+		Assert.assertEquals(1, cycle1.getLastEventCycleTags().size());
+		
+		cycle1.stop();
+		cycle2.stop();
+	}
+	
+	/**
+	 * specs without duration do not share an event cycle: the relaunch of one generator 
+	 * closes only its own round.
+	 */
+	@Test
+	public void testNoDurationNotShared() throws Exception {
+		ECSpec spec = getSpec();
+		spec.getBoundarySpec().setDuration(null);
+		Assert.assertNull(planner.getSharingKey(spec));
+		
+		Capture<ECReports> reports1 = new Capture<ECReports>();
+		Capture<ECReports> reports2 = new Capture<ECReports>();
+		EventCycle cycle1 = planner.getEventCycle(createGenerator("generator1", spec, reports1));
+		EventCycle cycle2 = planner.getEventCycle(createGenerator("generator2", spec, reports2));
+		Assert.assertTrue(cycle1 instanceof EventCycleImpl);
+		Assert.assertTrue(cycle2 instanceof EventCycleImpl);
+		Assert.assertNotSame(cycle1, cycle2);
+		
+		cycle1.launch();
+		cycle2.launch();
+		// wait for the cycles to accept tags.
+		Thread.sleep(200L);
+		
+		// the next launch of the first generator closes its round.
+		cycle1.launch();
+		long deadline = System.currentTimeMillis() + 5000L;
+		while (!reports1.hasCaptured()) {
+			Assert.assertTrue(System.currentTimeMillis() < deadline);
+			Thread.sleep(10L);
+		}
+		Thread.sleep(200L);
+		Assert.assertFalse(reports2.hasCaptured());
+		
+		cycle1.stop();
+		cycle2.stop();
+	}
+	
+	/**
+	 * when sharing is disabled, every generator obtains its own event cycle.
+	 */
+	@Test
+	public void testSharingDisabled() throws Exception {
+		settings.setEventCycleSharingEnabled(false);
+		Assert.assertTrue(planner.getEventCycle(createGenerator("generator1", new Capture<ECReports>())) instanceof EventCycleImpl);
+		Assert.assertTrue(planner.getEventCycle(createGenerator("generator2", new Capture<ECReports>())) instanceof EventCycleImpl);
+	}
+	
+	private Tag createTag() {
+		Tag tag = new Tag();
+		tag.setTagAsBinary(TAG1_BINARY);
+		tag.setTagIDAsPureURI(TAG1_PURE_URI);
+		tag.setTagLength("96");
+		tag.setCompanyPrefixLength("7");
+		tag.setFilter("3");
+		return tag;
+	}
+	
+	private ECSpec getSpec() throws Exception {
+		return DeserializerUtil.deserializeECSpec(EventCyclePlannerTest.class.getResourceAsStream("/ecspecs/eventCycle-testOneRound.xml"));
+	}
+	
+	private ReportsGenerator createGenerator(String name, Capture<ECReports> reports) throws Exception {
+		return createGenerator(name, getSpec(), reports);
+	}
+	
+	private ReportsGenerator createGenerator(String name, ECSpec spec, Capture<ECReports> reports) throws Exception {
+		ReportsGenerator generator = EasyMock.createMock(ReportsGenerator.class);
+		EasyMock.expect(generator.getName()).andReturn(name).anyTimes();
+		EasyMock.expect(generator.getSpec()).andReturn(spec).anyTimes();
+		generator.notifySubscribers(EasyMock.capture(reports), EasyMock.isA(EventCycle.class));
+		EasyMock.expectLastCall().times(0, 1);
+		EasyMock.replay(generator);
+		return generator;
+	}
+}
@@ -24,10 +24,13 @@ import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
 import junit.framework.Assert;
 
+import org.easymock.Capture;
 import org.easymock.EasyMock;
 import org.epcglobalinc.tdt.LevelTypeList;
 import org.fosstrak.ale.exception.DuplicateSubscriptionException;
@@ -39,8 +42,10 @@ import org.fosstrak.ale.server.Tag;
 import org.fosstrak.ale.server.impl.EventCycleImpl;
 import org.fosstrak.ale.server.readers.LogicalReader;
 import org.fosstrak.ale.server.readers.LogicalReaderManager;
+import org.fosstrak.ale.server.util.ExtensionHelper;
 import org.fosstrak.ale.server.util.TagHelper;
 import org.fosstrak.ale.util.DeserializerUtil;
+import org.fosstrak.ale.util.ECTerminationCondition;
 import org.fosstrak.ale.xsd.ale.epcglobal.ECReport;
 import org.fosstrak.ale.xsd.ale.epcglobal.ECReportGroupListMember;
 import org.fosstrak.ale.xsd.ale.epcglobal.ECReports;
@@ -140,6 +145,8 @@ public class EventCycleTest {
 			@Override
 			public ECReports getPollReports() { return null; }			
 			@Override
+			public ECReports awaitPollReports() { return null; }
+			@Override
 			public String getName() { return null; }
 			@Override
 			public void setStateRequested() { }
@@ -238,4 +245,207 @@ public class EventCycleTest {
 		Assert.assertTrue(((EventCycleImpl) cycle).isRoundOver());
 		Assert.assertEquals(1, cycle.getRounds());
 	}
+	
+	/**
+	 * the event cycle must terminate as soon as the requested number of distinct tags has been seen (long before the duration elapses).
+	 */
+	@Test
+	public void testCycleTerminatedByTagCount() throws Exception {
+		List<Tag> tags = new LinkedList<Tag> ();
+		tags.add(createTag(TAG2_BINARY, TAG2_PURE_URI));
+		tags.add(createTag(TAG3_BINARY, TAG3_PURE_URI));
+		
+		ECReports reports = runCycleUntilEarlyTermination("/ecspecs/eventCycle-testTagCount.xml", tags);
+		Assert.assertEquals(ECTerminationCondition.TAG_COUNT, reports.getTerminationCondition());
+		Assert.assertTrue(reports.getTotalMilliseconds() < 60000);
+		Assert.assertEquals(2, reports.getReports().getReport().get(0).getGroup().get(0).getGroupList().getMember().size());
+	}
+	
+	/**
+	 * the event cycle must terminate as soon as a tag matching the termination pattern has been seen.
+	 */
+	@Test
+	public void testCycleTerminatedByTagPattern() throws Exception {
+		List<Tag> tags = new LinkedList<Tag> ();
+		tags.add(createTag(TAG2_BINARY, TAG2_PURE_URI));
+		tags.add(createTag(TAG1_BINARY, TAG1_PURE_URI));
+		
+		ECReports reports = runCycleUntilEarlyTermination("/ecspecs/eventCycle-testTagPattern.xml", tags);
+		Assert.assertEquals(ECTerminationCondition.TAG_PATTERN, reports.getTerminationCondition());
+		Assert.assertTrue(reports.getTotalMilliseconds() < 60000);
+	}
+	
+	/**
+	 * tags inserted concurrently by several readers must all end up in the round (no tag lost, 
+	 * none counted twice) - the round is evaluated only once all the inserts have completed.
+	 */
+	@Test
+	public void testConcurrentInsertsTerminatedByTagCount() throws Exception {
+		final int numberOfTags = 400;
+		ECSpec ecspec = DeserializerUtil.deserializeECSpec(EventCycleTest.class.getResourceAsStream("/ecspecs/eventCycle-testTagCount.xml"));
+		ecspec.getBoundarySpec().getOtherAttributes().put(ExtensionHelper.BOUNDARY_TAG_COUNT, Integer.toString(numberOfTags));
+		
+		List<Tag> tags = new LinkedList<Tag> ();
+		String prefix = TAG1_BINARY.substring(0, TAG1_BINARY.length() - 38);
+		for (int i=0; i<numberOfTags; i++) {
+			String serial = Integer.toBinaryString(i);
+			while (serial.length() < 38) {
+				serial = "0" + serial;
+			}
+			tags.add(createTag(prefix + serial, "urn:epc:tag:sgtin-96:3.0037000.030241." + i));
+		}
+		
+		ECReports reports = runCycleUntilEarlyTermination(ecspec, tags, 4);
+		Assert.assertEquals(ECTerminationCondition.TAG_COUNT, reports.getTerminationCondition());
+		Assert.assertEquals(numberOfTags, reports.getReports().getReport().get(0).getGroup().get(0).getGroupList().getMember().size());
+	}
+	
+	/**
+	 * a join right after the launch must wait for the launched round - even if the event 
+	 * cycle thread has not started the round yet. a round without duration is only over 
+	 * with the next launch.
+	 */
+	@Test
+	public void testJoinWaitsForLaunchedRound() throws Exception {
+		ECSpec ecspec = DeserializerUtil.deserializeECSpec(EventCycleTest.class.getResourceAsStream("/ecspecs/eventCycle-testOneRound.xml"));
+		ecspec.getBoundarySpec().setDuration(null);
+		
+		LogicalReader lr1 = EasyMock.createNiceMock(LogicalReader.class);
+		EasyMock.expect(lr1.getName()).andReturn("LogicalReader1").anyTimes();
+		EasyMock.replay(lr1);
+		
+		LogicalReaderManager manager = EasyMock.createMock(LogicalReaderManager.class);
+		EasyMock.expect(manager.getLogicalReader("LogicalReader1")).andReturn(lr1).anyTimes();
+		EasyMock.replay(manager);
+		
+		ReportsGenerator reportsGenerator = EasyMock.createMock(ReportsGenerator.class);
+		EasyMock.expect(reportsGenerator.getName()).andReturn("generator").anyTimes();
+		EasyMock.expect(reportsGenerator.getSpec()).andReturn(ecspec).anyTimes();
+		reportsGenerator.notifySubscribers(EasyMock.isA(ECReports.class), EasyMock.isA(EventCycle.class));
+		EasyMock.expectLastCall().times(2);
+		EasyMock.replay(reportsGenerator);
+		
+		final EventCycleImpl cycle = new EventCycleImpl(reportsGenerator, manager);
+		for (int round=1; round<=2; round++) {
+			cycle.launch();
+			final CountDownLatch joined = new CountDownLatch(1);
+			Thread joiner = new Thread(new Runnable() {
+				
+				@Override
+				public void run() {
+					try {
+						cycle.join();
+						joined.countDown();
+					} catch (InterruptedException e) {
+						return;
+					}
+				}
+			});
+			joiner.start();
+			Assert.assertFalse(joined.await(200, TimeUnit.MILLISECONDS));
+			Assert.assertFalse(cycle.isRoundOver());
+			
+			// the next launch terminates the round.
+			cycle.launch();
+			Assert.assertTrue(joined.await(5, TimeUnit.SECONDS));
+			Assert.assertTrue(cycle.isRoundOver());
+			Assert.assertEquals(round, cycle.getRounds());
+		}
+		cycle.stop();
+		EasyMock.verify(reportsGenerator);
+	}
+	
+	/**
+	 * run one round of an event cycle with the given spec, deliver the tags and wait for the round to be over.
+	 * @param specFile the ECSpec to use.
+	 * @param tags the tags to deliver.
+	 * @return the reports handed to the reports generator.
+	 */
+	private ECReports runCycleUntilEarlyTermination(String specFile, List<Tag> tags) throws Exception {
+		ECSpec ecspec = DeserializerUtil.deserializeECSpec(EventCycleTest.class.getResourceAsStream(specFile));
+		return runCycleUntilEarlyTermination(ecspec, tags, 1);
+	}
+	
+	/**
+	 * run one round of an event cycle with the given spec, deliver the tags from several 
+	 * threads at once and wait for the round to be over.
+	 * @param ecspec the ECSpec to use.
+	 * @param tags the tags to deliver.
+	 * @param senders the number of threads delivering the tags.
+	 * @return the reports handed to the reports generator.
+	 */
+	private ECReports runCycleUntilEarlyTermination(ECSpec ecspec, List<Tag> tags, int senders) throws Exception {
+		final String logicalReaderName1 = "LogicalReader1";
+		LogicalReader lr1 = EasyMock.createNiceMock(LogicalReader.class);
+		EasyMock.expect(lr1.getName()).andReturn(logicalReaderName1).anyTimes();
+		EasyMock.replay(lr1);
+		
+		LogicalReaderManager manager = EasyMock.createMock(LogicalReaderManager.class);
+		EasyMock.expect(manager.getLogicalReader(logicalReaderName1)).andReturn(lr1).anyTimes();
+		EasyMock.replay(manager);
+		
+		Capture<ECReports> reports = new Capture<ECReports>();
+		ReportsGenerator reportsGenerator = EasyMock.createMock(ReportsGenerator.class);
+		EasyMock.expect(reportsGenerator.getName()).andReturn("generator").anyTimes();
+		EasyMock.expect(reportsGenerator.getSpec()).andReturn(ecspec).anyTimes();
+		reportsGenerator.notifySubscribers(EasyMock.capture(reports), EasyMock.isA(EventCycle.class));
+		EasyMock.expectLastCall();
+		EasyMock.replay(reportsGenerator);
+		
+		EventCycleImpl cycle = new EventCycleImpl(reportsGenerator, manager);
+		cycle.launch();
+		// wait for the cycle to accept tags.
+		Thread.sleep(200L);
+		if (senders == 1) {
+			cycle.update(null, tags);
+		} else {
+			deliverConcurrently(cycle, tags, senders);
+		}
+		cycle.join();
+		cycle.stop();
+		
+		EasyMock.verify(reportsGenerator);
+		Assert.assertTrue(reports.hasCaptured());
+		return reports.getValue();
+	}
+	
+	private void deliverConcurrently(final EventCycle cycle, List<Tag> tags, int senders) throws InterruptedException {
+		final CountDownLatch start = new CountDownLatch(1);
+		Thread[] threads = new Thread[senders];
+		for (int i=0; i<senders; i++) {
+			final List<Tag> share = new LinkedList<Tag> ();
+			for (int j=i; j<tags.size(); j+=senders) {
+				share.add(tags.get(j));
+			}
+			threads[i] = new Thread(new Runnable() {
+				
+				@Override
+				public void run() {
+					try {
+						start.await();
+					} catch (InterruptedException e) {
+						return;
+					}
+					for (Tag tag : share) {
+						cycle.update(null, tag);
+					}
+				}
+			});
+			threads[i].start();
+		}
+		start.countDown();
+		for (Thread thread : threads) {
+			thread.join();
+		}
+	}
+	
+	private Tag createTag(String binary, String pureURI) {
+		Tag tag = new Tag();
+		tag.setTagAsBinary(binary);
+		tag.setTagIDAsPureURI(pureURI);
+		tag.setTagLength("96");
+		tag.setCompanyPrefixLength("7");
+		tag.setFilter("3");
+		return tag;
+	}
 }
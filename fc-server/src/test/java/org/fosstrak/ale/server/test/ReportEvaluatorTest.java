@@ -0,0 +1,154 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+package org.fosstrak.ale.server.test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import junit.framework.Assert;
+
+import org.easymock.EasyMock;
+import org.fosstrak.ale.server.EventCycle;
+import org.fosstrak.ale.server.Report;
+import org.fosstrak.ale.server.Tag;
+import org.fosstrak.ale.server.impl.ReportEvaluator;
+import org.fosstrak.ale.util.DeserializerUtil;
+import org.fosstrak.ale.xsd.ale.epcglobal.ECReport;
+import org.fosstrak.ale.xsd.ale.epcglobal.ECReportGroup;
+import org.fosstrak.ale.xsd.ale.epcglobal.ECReportGroupListMember;
+import org.fosstrak.ale.xsd.ale.epcglobal.ECReportSpec;
+import org.fosstrak.ale.xsd.ale.epcglobal.ECSpec;
+import org.junit.Test;
+
+/**
+ * test that the concurrent report evaluation delivers the same reports as the sequential one.
+ * 
+ * @author agent
+ *
+ */
+public class ReportEvaluatorTest {
+	
+	/** number of tags in the round. */
+	private static final int NUMBER_OF_TAGS = 50;
+	
+	@Test
+	public void testConcurrentEvaluationEqualsSequential() throws Exception {
+		List<Report> reports = createReports(createTags());
+		String expected = describe(new ReportEvaluator().evaluate(reports, NUMBER_OF_TAGS));
+		
+		ReportEvaluator concurrent = new ReportEvaluator(4, 0);
+		try {
+			Assert.assertEquals(expected, describe(concurrent.evaluate(reports, NUMBER_OF_TAGS)));
+		} finally {
+			concurrent.shutdown();
+		}
+	}
+	
+	@Test
+	public void testPartitionedEvaluationEqualsSequential() throws Exception {
+		List<Report> reports = createReports(createTags());
+		String expected = describe(new ReportEvaluator().evaluate(reports, NUMBER_OF_TAGS));
+		
+		ReportEvaluator partitioned = new ReportEvaluator(4, 7);
+		try {
+			Assert.assertEquals(expected, describe(partitioned.evaluate(reports, NUMBER_OF_TAGS)));
+		} finally {
+			partitioned.shutdown();
+		}
+	}
+	
+	@Test
+	public void testReportOrder() throws Exception {
+		List<ECReport> ecReports = new ReportEvaluator(4, 0).evaluate(createReports(createTags()), NUMBER_OF_TAGS);
+		// the empty report is omitted.
+		Assert.assertEquals(3, ecReports.size());
+		Assert.assertEquals("all", ecReports.get(0).getReportName());
+		Assert.assertEquals("filtered", ecReports.get(1).getReportName());
+		Assert.assertEquals("grouped", ecReports.get(2).getReportName());
+		Assert.assertEquals(NUMBER_OF_TAGS, ecReports.get(0).getGroup().get(0).getGroupCount().getCount());
+		Assert.assertEquals(NUMBER_OF_TAGS / 2, ecReports.get(1).getGroup().get(0).getGroupCount().getCount());
+		Assert.assertEquals(2, ecReports.get(2).getGroup().size());
+	}
+	
+	private List<Report> createReports(Set<Tag> tags) throws Exception {
+		ECSpec spec = DeserializerUtil.deserializeECSpec(ReportEvaluatorTest.class.getResourceAsStream("/ecspecs/reportEvaluator-test.xml"));
+		EventCycle eventCycle = EasyMock.createNiceMock(EventCycle.class);
+		EasyMock.expect(eventCycle.getTags()).andReturn(tags).anyTimes();
+		EasyMock.expect(eventCycle.getLastEventCycleTags()).andReturn(new HashSet<Tag>()).anyTimes();
+		EasyMock.replay(eventCycle);
+		
+		List<Report> reports = new ArrayList<Report>();
+		for (ECReportSpec reportSpec : spec.getReportSpecs().getReportSpec()) {
+			reports.add(new Report(reportSpec, eventCycle));
+		}
+		return reports;
+	}
+	
+	/**
+	 * create SGTIN-96 tags with company prefix length 7, alternating filter values 1 and 3.
+	 */
+	private Set<Tag> createTags() {
+		Set<Tag> tags = new HashSet<Tag>();
+		for (int i=0; i<NUMBER_OF_TAGS; i++) {
+			int filter = (i % 2 == 0) ? 1 : 3;
+			String binary = toBinary(48, 8) + toBinary(filter, 3) + toBinary(5, 3) + toBinary(37000, 24) + toBinary(30241, 20) + toBinary(i + 1, 38);
+			Tag tag = new Tag("reader");
+			tag.setTagAsBinary(binary);
+			tag.setTagIDAsPureURI(String.format("urn:epc:tag:sgtin-96:%d.0037000.030241.%d", filter, i + 1));
+			tag.setTagLength("96");
+			tag.setFilter("" + filter);
+			tag.setCompanyPrefixLength("7");
+			tags.add(tag);
+		}
+		return tags;
+	}
+	
+	private String toBinary(long value, int bits) {
+		StringBuilder binary = new StringBuilder(Long.toBinaryString(value));
+		while (binary.length() < bits) {
+			binary.insert(0, '0');
+		}
+		return binary.toString();
+	}
+	
+	private String describe(List<ECReport> ecReports) {
+		StringBuilder description = new StringBuilder();
+		for (ECReport ecReport : ecReports) {
+			description.append(ecReport.getReportName()).append('\n');
+			for (ECReportGroup group : ecReport.getGroup()) {
+				description.append(' ').append(group.getGroupName());
+				if (null != group.getGroupCount()) {
+					description.append(" count=").append(group.getGroupCount().getCount());
+				}
+				description.append('\n');
+				for (ECReportGroupListMember member : group.getGroupList().getMember()) {
+					description.append("  ").append(member.getEpc().getValue());
+					if (null != member.getTag()) {
+						description.append(' ').append(member.getTag().getValue());
+					}
+					description.append('\n');
+				}
+			}
+		}
+		return description.toString();
+	}
+}
@@ -0,0 +1,302 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+package org.fosstrak.ale.server.test;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import junit.framework.Assert;
+
+import org.easymock.EasyMock;
+import org.fosstrak.ale.server.EventCycle;
+import org.fosstrak.ale.server.Report;
+import org.fosstrak.ale.server.Tag;
+import org.fosstrak.ale.server.TagSighting;
+import org.fosstrak.ale.server.impl.TagTable;
+import org.fosstrak.ale.server.readers.llrp.LLRPAdaptor;
+import org.fosstrak.ale.util.DeserializerUtil;
+import org.fosstrak.ale.util.SerializerUtil;
+import org.fosstrak.ale.xsd.ale.epcglobal.ECReaderStat;
+import org.fosstrak.ale.xsd.ale.epcglobal.ECReport;
+import org.fosstrak.ale.xsd.ale.epcglobal.ECReportGroupListMember;
+import org.fosstrak.ale.xsd.ale.epcglobal.ECReportSpec;
+import org.fosstrak.ale.xsd.ale.epcglobal.ECReportSpecExtension;
+import org.fosstrak.ale.xsd.ale.epcglobal.ECReportSpecExtension.StatProfileNames;
+import org.fosstrak.ale.xsd.ale.epcglobal.ECReports;
+import org.fosstrak.ale.xsd.ale.epcglobal.ECReports.Reports;
+import org.fosstrak.ale.xsd.ale.epcglobal.ECSpec;
+import org.fosstrak.ale.xsd.ale.epcglobal.ECTagStat;
+import org.fosstrak.ale.xsd.ale.epcglobal.ECTagTimestampStat;
+import org.fosstrak.ale.xsd.extension.ECSightingSignalStat;
+import org.fosstrak.ale.xsd.extension.ECTagCountStat;
+import org.junit.Test;
+import org.llrp.ltk.generated.parameters.AntennaID;
+import org.llrp.ltk.generated.parameters.PeakRSSI;
+import org.llrp.ltk.generated.parameters.TagReportData;
+import org.llrp.ltk.generated.parameters.TagSeenCount;
+import org.llrp.ltk.types.SignedByte;
+import org.llrp.ltk.types.UnsignedShort;
+
+/**
+ * test the aggregation of the tag sightings in the event cycle and the statistics profiles.
+ * @author agent
+ *
+ */
+public class TagSightingTest {
+	
+	/**
+	 * create a SGTIN-96 tag with the given sighting.
+	 */
+	private Tag createTag(TagSighting sighting) {
+		Tag tag = new Tag("reader");
+		tag.setTagAsBinary("001100000011010000100100001000110010100000000000011101100010000000000000000000000000000000000001");
+		tag.setTagIDAsPureURI("urn:epc:tag:sgtin-96:1.0037000.030241.1");
+		tag.setTagLength("96");
+		tag.setFilter("1");
+		tag.setCompanyPrefixLength("7");
+		tag.setTimestamp(1000);
+		tag.setSighting(sighting);
+		return tag;
+	}
+	
+	/**
+	 * test that repeated sightings are merged into the record of the stored tag without modifying the delivered tags.
+	 */
+	@Test
+	public void testMergeIntoTagTable() {
+		TagTable table = new TagTable();
+		Tag first = createTag(new TagSighting(1, -60, 1000, 1100, 2));
+		Tag second = createTag(new TagSighting(2, -50, 900, 1500, 3));
+		Tag third = createTag(null);
+		
+		Assert.assertTrue(table.add(first));
+		Assert.assertFalse(table.add(second));
+		Assert.assertFalse(table.add(third));
+		Assert.assertEquals(1, table.size());
+		
+		// the first delivered tag is stored, no copy is made.
+		Assert.assertSame(first, table.iterator().next());
+		TagSighting sighting = table.getSighting(second);
+		Assert.assertNotSame(first.getSighting(), sighting);
+		Assert.assertEquals(6, sighting.getSeenCount());
+		Assert.assertEquals(2, sighting.getAntennaID());
+		Assert.assertEquals(-50, sighting.getPeakRSSI());
+		Assert.assertEquals(900, sighting.getFirstSeen());
+		Assert.assertEquals(1500, sighting.getLastSeen());
+		
+		// the delivered tags are left untouched.
+		Assert.assertEquals(2, first.getSighting().getSeenCount());
+		Assert.assertEquals(3, second.getSighting().getSeenCount());
+		Assert.assertNull(third.getSighting());
+		
+		// a snapshot shares the records.
+		Assert.assertSame(sighting, new TagTable(table).getSighting(first));
+		
+		Assert.assertTrue(table.remove(second));
+		Assert.assertTrue(table.isEmpty());
+	}
+	
+	/**
+	 * test that tags without origin are found by identity.
+	 */
+	@Test
+	public void testTagWithoutOrigin() {
+		TagTable table = new TagTable();
+		Tag tag = createTag(null);
+		tag.setOrigin(null);
+		Tag other = createTag(null);
+		other.setOrigin(null);
+		
+		Assert.assertTrue(table.add(tag));
+		Assert.assertFalse(table.add(tag));
+		Assert.assertTrue(table.add(other));
+		Assert.assertEquals(2, table.size());
+		Assert.assertEquals(2, table.getSighting(tag).getSeenCount());
+		
+		Assert.assertNotNull(table.removeSighting(tag));
+		Assert.assertFalse(table.contains(tag));
+		Assert.assertTrue(table.contains(other));
+	}
+	
+	/**
+	 * test that concurrent merges lose no sighting.
+	 */
+	@Test
+	public void testConcurrentMerge() throws Exception {
+		final TagTable table = new TagTable();
+		final int threads = 4;
+		final int sightings = 10000;
+		Thread[] workers = new Thread[threads];
+		for (int i = 0; i < threads; i++) {
+			final int antenna = i;
+			workers[i] = new Thread(new Runnable() {
+				
+				@Override
+				public void run() {
+					for (int j = 0; j < sightings; j++) {
+						table.add(createTag(new TagSighting(antenna, -antenna - 50, 1000 + j, 1000 + j, 1)));
+					}
+				}
+			});
+			workers[i].start();
+		}
+		for (Thread worker : workers) {
+			worker.join();
+		}
+		Assert.assertEquals(1, table.size());
+		TagSighting sighting = table.getSighting(table.iterator().next());
+		Assert.assertEquals(threads * sightings, sighting.getSeenCount());
+		Assert.assertEquals(0, sighting.getAntennaID());
+		Assert.assertEquals(-50, sighting.getPeakRSSI());
+		Assert.assertEquals(1000, sighting.getFirstSeen());
+		Assert.assertEquals(1000 + sightings - 1, sighting.getLastSeen());
+	}
+	
+	/**
+	 * test that a tag without sighting information is counted from its timestamp.
+	 */
+	@Test
+	public void testTagWithoutSighting() {
+		TagTable table = new TagTable();
+		table.add(createTag(null));
+		table.add(createTag(null));
+		TagSighting sighting = table.getSighting(table.iterator().next());
+		Assert.assertEquals(2, sighting.getSeenCount());
+		Assert.assertEquals(TagSighting.NO_ANTENNA, sighting.getAntennaID());
+		Assert.assertEquals(TagSighting.NO_RSSI, sighting.getPeakRSSI());
+		Assert.assertEquals(1000, sighting.getFirstSeen());
+	}
+	
+	/**
+	 * test the extraction of the sighting from an LLRP tag report.
+	 */
+	@Test
+	public void testCreateSightingFromLLRP() {
+		TagReportData tagData = new TagReportData();
+		AntennaID antenna = new AntennaID();
+		antenna.setAntennaID(new UnsignedShort(3));
+		tagData.setAntennaID(antenna);
+		PeakRSSI rssi = new PeakRSSI();
+		rssi.setPeakRSSI(new SignedByte(-42));
+		tagData.setPeakRSSI(rssi);
+		TagSeenCount count = new TagSeenCount();
+		count.setTagCount(new UnsignedShort(7));
+		tagData.setTagSeenCount(count);
+		
+		TagSighting sighting = LLRPAdaptor.createSighting(tagData, 5000);
+		Assert.assertEquals(3, sighting.getAntennaID());
+		Assert.assertEquals(-42, sighting.getPeakRSSI());
+		Assert.assertEquals(7, sighting.getSeenCount());
+		Assert.assertEquals(5000, sighting.getFirstSeen());
+		Assert.assertEquals(5000, sighting.getLastSeen());
+		
+		sighting = LLRPAdaptor.createSighting(new TagReportData(), 5000);
+		Assert.assertEquals(TagSighting.NO_ANTENNA, sighting.getAntennaID());
+		Assert.assertEquals(TagSighting.NO_RSSI, sighting.getPeakRSSI());
+		Assert.assertEquals(1, sighting.getSeenCount());
+	}
+	
+	/**
+	 * create a report with all statistics profiles over two sightings of the same tag.
+	 */
+	private ECReport createStatsReport() throws Exception {
+		TagTable table = new TagTable();
+		table.add(createTag(new TagSighting(1, -60, 1000, 1100, 2)));
+		table.add(createTag(new TagSighting(2, -50, 900, 1500, 3)));
+		
+		ECSpec spec = DeserializerUtil.deserializeECSpec(TagSightingTest.class.getResourceAsStream("/ecspecs/reportEvaluator-test.xml"));
+		ECReportSpec reportSpec = spec.getReportSpecs().getReportSpec().get(0);
+		ECReportSpecExtension extension = new ECReportSpecExtension();
+		extension.setStatProfileNames(new StatProfileNames());
+		extension.getStatProfileNames().getStatProfileName().addAll(Arrays.asList(
+				Report.STAT_PROFILE_TAG_COUNT, 
+				Report.STAT_PROFILE_TAG_TIMESTAMPS, 
+				Report.STAT_PROFILE_READER_NAMES, 
+				Report.STAT_PROFILE_READER_SIGHTING_SIGNALS));
+		reportSpec.setExtension(extension);
+		
+		EventCycle eventCycle = EasyMock.createNiceMock(EventCycle.class);
+		EasyMock.expect(eventCycle.getTags()).andReturn(table).anyTimes();
+		EasyMock.expect(eventCycle.getLastEventCycleTags()).andReturn(new TagTable()).anyTimes();
+		EasyMock.replay(eventCycle);
+		
+		Report report = new Report(reportSpec, eventCycle);
+		return report.getECReport();
+	}
+	
+	/**
+	 * test that the statistics profiles are filled from the aggregated sightings.
+	 */
+	@Test
+	public void testStatProfiles() throws Exception {
+		ECReport ecReport = createStatsReport();
+		ECReportGroupListMember member = ecReport.getGroup().get(0).getGroupList().getMember().get(0);
+		List<ECTagStat> stats = new ArrayList<ECTagStat>(member.getExtension().getStats().getStat());
+		Assert.assertEquals(4, stats.size());
+		
+		ECTagCountStat countStat = (ECTagCountStat) stats.get(0);
+		Assert.assertEquals(Report.STAT_PROFILE_TAG_COUNT, countStat.getProfile());
+		Assert.assertEquals(5, countStat.getCount());
+		
+		ECTagTimestampStat timestampStat = (ECTagTimestampStat) stats.get(1);
+		Assert.assertEquals(900, timestampStat.getFirstSightingTime().toGregorianCalendar().getTimeInMillis());
+		Assert.assertEquals(1500, timestampStat.getLastSightingTime().toGregorianCalendar().getTimeInMillis());
+		
+		ECReaderStat readerStat = stats.get(2).getStatBlocks().getStatBlock().get(0);
+		Assert.assertEquals("reader", readerStat.getReaderName());
+		Assert.assertTrue(readerStat.getSightings().getSighting().isEmpty());
+		
+		ECSightingSignalStat signalStat = (ECSightingSignalStat) stats.get(3).getStatBlocks().getStatBlock().get(0).getSightings().getSighting().get(0);
+		Assert.assertEquals(Integer.valueOf(2), signalStat.getAntenna());
+		Assert.assertEquals(Integer.valueOf(-50), signalStat.getStrength());
+		Assert.assertEquals(5, signalStat.getCount());
+	}
+	
+	/**
+	 * test that the extension statistics are written with the type of the Fosstrak extension 
+	 * namespace and are read back into the extension classes.
+	 */
+	@Test
+	public void testStatProfilesSerialization() throws Exception {
+		ECReports ecReports = new ECReports();
+		ecReports.setReports(new Reports());
+		ecReports.getReports().getReport().add(createStatsReport());
+		
+		StringWriter writer = new StringWriter();
+		SerializerUtil.serializeECReports(ecReports, writer);
+		String xml = writer.toString();
+		Assert.assertTrue(xml.contains(ECTagCountStat.NAMESPACE));
+		
+		ecReports = DeserializerUtil.deserializeECReports(new ByteArrayInputStream(xml.getBytes("UTF-8")));
+		ECReportGroupListMember member = ecReports.getReports().getReport().get(0).getGroup().get(0).getGroupList().getMember().get(0);
+		List<ECTagStat> stats = member.getExtension().getStats().getStat();
+		Assert.assertEquals(4, stats.size());
+		Assert.assertEquals(5, ((ECTagCountStat) stats.get(0)).getCount());
+		Assert.assertTrue(stats.get(1) instanceof ECTagTimestampStat);
+		
+		ECSightingSignalStat signalStat = (ECSightingSignalStat) stats.get(3).getStatBlocks().getStatBlock().get(0).getSightings().getSighting().get(0);
+		Assert.assertEquals(Integer.valueOf(2), signalStat.getAntenna());
+		Assert.assertEquals(Integer.valueOf(-50), signalStat.getStrength());
+		Assert.assertEquals(5, signalStat.getCount());
+	}
+}
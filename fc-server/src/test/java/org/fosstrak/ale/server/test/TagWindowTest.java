@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+package org.fosstrak.ale.server.test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import junit.framework.Assert;
+
+import org.fosstrak.ale.server.Tag;
+import org.fosstrak.ale.server.impl.TagWindow;
+import org.junit.Test;
+
+/**
+ * test the sliding and tumbling window over the event cycle rounds.
+ * 
+ * @author agent
+ *
+ */
+public class TagWindowTest {
+	
+	/**
+	 * a sliding window reports every round and expires the tags of the oldest round.
+	 */
+	@Test
+	public void testSlidingWindow() {
+		TagWindow window = new TagWindow(3, false);
+		
+		window.advance(bucket("1", "10"));
+		Assert.assertTrue(window.isReportDue());
+		Assert.assertEquals(2, window.size());
+		
+		window.advance(bucket("10", "11"));
+		window.advance(bucket("100"));
+		Assert.assertEquals(4, window.size());
+		
+		// expires bucket (a, b) - b is still contained in the second bucket.
+		window.advance(bucket());
+		Assert.assertTrue(window.isReportDue());
+		Assert.assertEquals(3, window.size());
+		Assert.assertFalse(window.getTags().contains(tag("1")));
+		Assert.assertTrue(window.getTags().contains(tag("10")));
+		
+		// expires bucket (b, c).
+		window.advance(bucket());
+		Assert.assertEquals(1, window.size());
+		Assert.assertTrue(window.getTags().contains(tag("100")));
+	}
+	
+	/**
+	 * the window delivers the latest sighting of a tag.
+	 */
+	@Test
+	public void testLatestSighting() {
+		TagWindow window = new TagWindow(2, false);
+		Tag first = tag("1");
+		first.setTimestamp(1L);
+		Tag second = tag("1");
+		second.setTimestamp(2L);
+		window.advance(bucket(first));
+		window.advance(bucket(second));
+		Assert.assertEquals(1, window.size());
+		Assert.assertEquals(2L, window.getTags().iterator().next().getTimestamp());
+	}
+	
+	/**
+	 * a tumbling window reports once complete and starts over afterwards.
+	 */
+	@Test
+	public void testTumblingWindow() {
+		TagWindow window = new TagWindow(2, true);
+		
+		window.advance(bucket("1"));
+		Assert.assertFalse(window.isReportDue());
+		window.advance(bucket("10"));
+		Assert.assertTrue(window.isReportDue());
+		Assert.assertEquals(2, window.size());
+		
+		window.advance(bucket("11"));
+		Assert.assertFalse(window.isReportDue());
+		Assert.assertEquals(1, window.size());
+		Assert.assertTrue(window.getTags().contains(tag("11")));
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testNoBuckets() {
+		new TagWindow(0, false);
+	}
+	
+	private Tag tag(String binary) {
+		Tag tag = new Tag("reader");
+		tag.setTagIDAsPureURI(binary);
+		tag.setTagAsBinary(binary);
+		return tag;
+	}
+	
+	private Set<Tag> bucket(String... binaries) {
+		Set<Tag> bucket = new HashSet<Tag> ();
+		for (String binary : binaries) {
+			bucket.add(tag(binary));
+		}
+		return bucket;
+	}
+	
+	private Set<Tag> bucket(Tag tag) {
+		Set<Tag> bucket = new HashSet<Tag> ();
+		bucket.add(tag);
+		return bucket;
+	}
+}
@@ -27,6 +27,7 @@ import org.easymock.EasyMock;
 import org.fosstrak.ale.exception.ECSpecValidationException;
 import org.fosstrak.ale.server.readers.LogicalReaderManager;
 import org.fosstrak.ale.server.util.ECSpecValidator;
+import org.fosstrak.ale.server.util.ExtensionHelper;
 import org.fosstrak.ale.util.DeserializerUtil;
 import org.fosstrak.ale.xsd.ale.epcglobal.ECBoundarySpec;
 import org.fosstrak.ale.xsd.ale.epcglobal.ECFilterSpec;
@@ -179,6 +180,74 @@ public class ECSpecValidatorTest {
 		validator.checkBoundarySpecStoppingCondition(new ECBoundarySpec());		
 	}
 	
+	/**
+	 * verify that the tag count extension is accepted as stopping condition.
+	 * @throws ECSpecValidationException violation against the specification.
+	 */
+	@Test
+	public void testCheckBoundarySpecStoppingConditionTagCount() throws ECSpecValidationException {
+		ECBoundarySpec ecBoundarySpec = new ECBoundarySpec();
+		ecBoundarySpec.getOtherAttributes().put(ExtensionHelper.BOUNDARY_TAG_COUNT, "12");
+		Assert.assertTrue(validator.checkBoundarySpecExtensions(ecBoundarySpec));
+		Assert.assertTrue(validator.checkBoundarySpecStoppingCondition(ecBoundarySpec));
+	}
+	
+	/**
+	 * verify that a non-positive tag count extension is rejected.
+	 * @throws ECSpecValidationException expected test result.
+	 */
+	@Test(expected = ECSpecValidationException.class)
+	public void testCheckBoundarySpecExtensionsIllegalTagCount() throws ECSpecValidationException {
+		ECBoundarySpec ecBoundarySpec = new ECBoundarySpec();
+		ecBoundarySpec.getOtherAttributes().put(ExtensionHelper.BOUNDARY_TAG_COUNT, "0");
+		validator.checkBoundarySpecExtensions(ecBoundarySpec);
+	}
+	
+	/**
+	 * verify that a window must be a multiple of the duration.
+	 * @throws ECSpecValidationException expected test result.
+	 */
+	@Test(expected = ECSpecValidationException.class)
+	public void testCheckBoundarySpecExtensionsIllegalWindow() throws ECSpecValidationException {
+		ECBoundarySpec ecBoundarySpec = new ECBoundarySpec();
+		ECTime duration = new ECTime();
+		duration.setUnit("MS");
+		duration.setValue(2000);
+		ecBoundarySpec.setDuration(duration);
+		ecBoundarySpec.getOtherAttributes().put(ExtensionHelper.BOUNDARY_WINDOW_MODE, ExtensionHelper.WINDOW_SLIDING);
+		ecBoundarySpec.getOtherAttributes().put(ExtensionHelper.BOUNDARY_WINDOW_SIZE, "30000");
+		Assert.assertTrue(validator.checkBoundarySpecExtensions(ecBoundarySpec));
+		
+		ecBoundarySpec.getOtherAttributes().put(ExtensionHelper.BOUNDARY_WINDOW_SIZE, "3000");
+		validator.checkBoundarySpecExtensions(ecBoundarySpec);
+	}
+	
+	/**
+	 * verify that an invalid tag pattern extension is rejected.
+	 * @throws ECSpecValidationException expected test result.
+	 */
+	@Test(expected = ECSpecValidationException.class)
+	public void testCheckBoundarySpecExtensionsIllegalTagPattern() throws ECSpecValidationException {
+		ECBoundarySpec ecBoundarySpec = new ECBoundarySpec();
+		ecBoundarySpec.getOtherAttributes().put(ExtensionHelper.BOUNDARY_TAG_PATTERN, "urn:epc:pat:invalid");
+		validator.checkBoundarySpecExtensions(ecBoundarySpec);
+	}
+	
+	/**
+	 * verify that the number of profiled rounds must be positive.
+	 * @throws ECSpecValidationException expected test result.
+	 */
+	@Test(expected = ECSpecValidationException.class)
+	public void testCheckSpecExtensionsIllegalProfileRounds() throws ECSpecValidationException {
+		ECSpec spec = new ECSpec();
+		Assert.assertTrue(validator.checkSpecExtensions(spec));
+		spec.getOtherAttributes().put(ExtensionHelper.SPEC_PROFILE_ROUNDS, "20");
+		Assert.assertTrue(validator.checkSpecExtensions(spec));
+		
+		spec.getOtherAttributes().put(ExtensionHelper.SPEC_PROFILE_ROUNDS, "0");
+		validator.checkSpecExtensions(spec);
+	}
+	
 	/**
 	 * test the report spec validation.
 	 * @throws ECSpecValidationException violation against the specification.
@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.server.util.test;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import junit.framework.Assert;
+
+import org.fosstrak.ale.server.util.EPCDecoder;
+import org.fosstrak.ale.server.util.TagHelper;
+import org.fosstrak.tdt.TDTEngine;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * verify the fast EPC decoder against the TDT engine.
+ * @author agent
+ *
+ */
+public class EPCDecoderTest {
+	
+	/** a SGTIN-96 in binary. */
+	private static final String SGTIN_BINARY = "001100000111010000000010010000100010000000011101100010000100000000000000000011111110011000110010";
+	
+	/** number of bits of the company prefix by partition. */
+	private static final int[] COMPANY_PREFIX_BITS = new int[] { 40, 37, 34, 30, 27, 24, 20 };
+	
+	/** number of bits of the SSCC serial reference by partition. */
+	private static final int[] SSCC_SERIAL_REFERENCE_BITS = new int[] { 18, 21, 24, 28, 31, 34, 38 };
+	
+	private final Random random = new Random(4711);
+	
+	private TDTEngine tdt;
+	
+	@Before
+	public void beforeEachTest() throws Exception {
+		TagHelper.setTDTEngine(null);
+		tdt = TagHelper.getTDTEngine();
+	}
+	
+	@Test
+	public void testDecodeSGTIN() throws Exception {
+		byte[] epc = EPCDecoder.fromBigInteger(new BigInteger(SGTIN_BINARY, 2));
+		Assert.assertEquals(SGTIN_BINARY, EPCDecoder.toBinaryString(epc));
+		Assert.assertEquals("urn:epc:id:sgtin:0037000.030241.1041970", EPCDecoder.decodePureIdentity(epc));
+	}
+	
+	@Test
+	public void testFromHex() throws Exception {
+		String hex = tdt.bin2hex(SGTIN_BINARY);
+		byte[] epc = EPCDecoder.fromHex(hex);
+		Assert.assertEquals(SGTIN_BINARY, EPCDecoder.toBinaryString(epc));
+		Assert.assertEquals(SGTIN_BINARY, EPCDecoder.toBinaryString(EPCDecoder.fromHex(hex.toLowerCase())));
+		
+		// leading zeros omitted.
+		Assert.assertEquals("000000000000000000000000000000000000000000000000000000000000000000000000000000000000000100000001", EPCDecoder.toBinaryString(EPCDecoder.fromHex("101")));
+		Assert.assertNull(EPCDecoder.fromHex("xyz"));
+		Assert.assertNull(EPCDecoder.fromHex("1234567890123456789012345"));
+		Assert.assertNull(EPCDecoder.fromBigInteger(BigInteger.ONE.shiftLeft(96)));
+	}
+	
+	/**
+	 * the fast path must deliver the same pure identity as the TDT for all the partitions.
+	 */
+	@Test
+	public void testDecodeSameAsTDT() throws Exception {
+		for (int partition=0; partition<COMPANY_PREFIX_BITS.length; partition++) {
+			int cp = COMPANY_PREFIX_BITS[partition];
+			assertSameAsTDT(new StringBuilder()
+					.append(field(0x30, 8)).append(field(3, 3)).append(field(partition, 3))
+					.append(randomField(cp, 12 - partition)).append(randomField(44 - cp, 1 + partition))
+					.append(randomField(38, -1)).toString());
+			assertSameAsTDT(new StringBuilder()
+					.append(field(0x31, 8)).append(field(0, 3)).append(field(partition, 3))
+					.append(randomField(cp, 12 - partition)).append(randomField(SSCC_SERIAL_REFERENCE_BITS[partition], 5 + partition))
+					.append(field(0, 24)).toString());
+			if (partition == 0) {
+				// the TDT rejects a GRAI without asset type digits.
+				continue;
+			}
+			assertSameAsTDT(new StringBuilder()
+					.append(field(0x33, 8)).append(field(0, 3)).append(field(partition, 3))
+					.append(randomField(cp, 12 - partition)).append(randomField(44 - cp, partition))
+					.append(randomField(38, -1)).toString());
+		}
+		assertSameAsTDT(new StringBuilder()
+				.append(field(0x35, 8)).append(randomField(28, -1)).append(randomField(24, -1))
+				.append(randomField(36, -1)).toString());
+	}
+	
+	/**
+	 * unknown headers and invalid partitions are left to the TDT.
+	 */
+	@Test
+	public void testDecodeUnsupported() throws Exception {
+		// GIAI-96
+		Assert.assertNull(EPCDecoder.decodePureIdentity(EPCDecoder.fromBigInteger(new BigInteger("34" + "0000000000000000000000", 16))));
+		// SGTIN-96 with partition 7
+		Assert.assertNull(EPCDecoder.decodePureIdentity(EPCDecoder.fromBigInteger(new BigInteger("307" + "C00000000000000000000", 16))));
+		Assert.assertNull(EPCDecoder.decodePureIdentity(null));
+		Assert.assertNull(EPCDecoder.decodePureIdentity(new byte[4]));
+	}
+	
+	private void assertSameAsTDT(String binary) throws Exception {
+		Assert.assertEquals(96, binary.length());
+		byte[] epc = EPCDecoder.fromBigInteger(new BigInteger(binary, 2));
+		Assert.assertEquals(binary, EPCDecoder.toBinaryString(epc));
+		String expected = TagHelper.convert_to_PURE_IDENTITY("96", null, null, binary);
+		Assert.assertNotNull(expected);
+		Assert.assertEquals(expected, EPCDecoder.decodePureIdentity(epc));
+	}
+	
+	/**
+	 * @param bits the number of bits.
+	 * @param digits the maximum number of decimal digits of the value, -1 if only limited by the number of bits.
+	 * @return a random value in binary.
+	 */
+	private String randomField(int bits, int digits) {
+		BigInteger max = BigInteger.ONE.shiftLeft(bits);
+		if (digits >= 0) {
+			max = max.min(BigInteger.TEN.pow(digits));
+		}
+		BigInteger value = new BigInteger(bits + 8, random).mod(max);
+		return field(value.longValue(), bits);
+	}
+	
+	private String field(long value, int bits) {
+		StringBuilder field = new StringBuilder(Long.toBinaryString(value));
+		while (field.length() < bits) {
+			field.insert(0, '0');
+		}
+		return field.toString();
+	}
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.server.util.test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import junit.framework.Assert;
+
+import org.apache.log4j.AppenderSkeleton;
+import org.apache.log4j.Logger;
+import org.apache.log4j.spi.LoggingEvent;
+import org.easymock.EasyMock;
+import org.fosstrak.ale.server.EventCycle;
+import org.fosstrak.ale.server.ReaderPath;
+import org.fosstrak.ale.server.Report;
+import org.fosstrak.ale.server.Tag;
+import org.fosstrak.ale.server.metrics.SpecMetrics;
+import org.fosstrak.ale.server.util.TagFlow;
+import org.fosstrak.ale.server.util.TagLogger;
+import org.fosstrak.ale.util.DeserializerUtil;
+import org.fosstrak.ale.xsd.ale.epcglobal.ECReportSpec;
+import org.fosstrak.ale.xsd.ale.epcglobal.ECSpec;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * test the stamps of the tags on their way through the ALE and the latencies computed from them.
+ * 
+ * @author agent
+ *
+ */
+public class TagFlowTest {
+	
+	/** number of tags in the round. */
+	private static final int NUMBER_OF_TAGS = 20;
+	
+	/** collects the exported timelines. */
+	private final List<String> timelines = new ArrayList<String>();
+	
+	private final AppenderSkeleton appender = new AppenderSkeleton() {
+		@Override
+		protected void append(LoggingEvent event) {
+			timelines.add(event.getRenderedMessage());
+		}
+		
+		public boolean requiresLayout() {
+			return false;
+		}
+		
+		public void close() {
+		}
+	};
+	
+	@Before
+	public void setUp() {
+		Logger.getLogger(TagFlow.TIMELINE_CATEGORY).addAppender(appender);
+	}
+	
+	@After
+	public void tearDown() {
+		TagFlow.setEnabled(true);
+		TagLogger.setSampleRate(0);
+		Logger.getLogger(TagFlow.TIMELINE_CATEGORY).removeAppender(appender);
+	}
+	
+	/**
+	 * test that the copies delivered by the composite readers keep the stamps.
+	 */
+	@Test
+	public void testCopyKeepsStamps() {
+		Tag tag = new Tag("reader");
+		tag.setDecodeNanos(10);
+		tag.setRouteNanos(20);
+		tag.setInsertNanos(30);
+		
+		Tag copy = tag.deliveredBy("composite", ReaderPath.of("composite"));
+		Assert.assertEquals(10, copy.getDecodeNanos());
+		Assert.assertEquals(20, copy.getRouteNanos());
+		Assert.assertEquals(30, copy.getInsertNanos());
+	}
+	
+	/**
+	 * test that no stamps are taken if disabled.
+	 */
+	@Test
+	public void testDisabled() {
+		TagFlow.setEnabled(false);
+		Assert.assertEquals(0, TagFlow.stamp());
+		TagFlow.setEnabled(true);
+		Assert.assertTrue(TagFlow.stamp() != 0);
+	}
+	
+	/**
+	 * test that the latencies of the tags included in a report are recorded on delivery.
+	 */
+	@Test
+	public void testLatenciesOnDelivery() throws Exception {
+		Report report = createReport("filtered", createTags());
+		SpecMetrics metrics = new SpecMetrics();
+		
+		Assert.assertNotNull(report.getECReport());
+		report.tagsDelivered(metrics, "spec", TagFlow.stamp());
+		// only the half of the tags passes the filter.
+		Assert.assertEquals(NUMBER_OF_TAGS / 2, metrics.getDeliveryLatency().getCount());
+		Assert.assertEquals(NUMBER_OF_TAGS / 2, metrics.getReportLatency().getCount());
+		Assert.assertTrue(metrics.getDeliveryLatency().getSum() >= metrics.getReportLatency().getSum());
+		
+		// the stamps are recorded only once.
+		report.tagsDelivered(metrics, "spec", TagFlow.stamp());
+		Assert.assertEquals(NUMBER_OF_TAGS / 2, metrics.getDeliveryLatency().getCount());
+		Assert.assertTrue(timelines.isEmpty());
+	}
+	
+	/**
+	 * test that the partitioned evaluation records the same latencies.
+	 */
+	@Test
+	public void testLatenciesPartitioned() throws Exception {
+		Report report = createReport("all", createTags());
+		SpecMetrics metrics = new SpecMetrics();
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Assert.assertNotNull(report.getECReport(executor, 3));
+		} finally {
+			executor.shutdownNow();
+		}
+		report.tagsDelivered(metrics, "spec", TagFlow.stamp());
+		Assert.assertEquals(NUMBER_OF_TAGS, metrics.getDeliveryLatency().getCount());
+	}
+	
+	/**
+	 * test that the sampled tags are exported as timeline.
+	 */
+	@Test
+	public void testTimeline() throws Exception {
+		TagLogger.setSampleRate(1);
+		Report report = createReport("all", createTags());
+		
+		Assert.assertNotNull(report.getECReport());
+		report.tagsDelivered(new SpecMetrics(), "spec", TagFlow.stamp());
+		Assert.assertEquals(NUMBER_OF_TAGS, timelines.size());
+		String timeline = timelines.get(0);
+		Assert.assertTrue(timeline, timeline.startsWith("timeline 'urn:epc:tag:sgtin-96:"));
+		Assert.assertTrue(timeline, timeline.contains("[reader] [spec/all] decode=0 route=- insert="));
+		Assert.assertTrue(timeline, timeline.contains(" delivery="));
+	}
+	
+	private Report createReport(String reportName, Set<Tag> tags) throws Exception {
+		ECSpec spec = DeserializerUtil.deserializeECSpec(TagFlowTest.class.getResourceAsStream("/ecspecs/reportEvaluator-test.xml"));
+		EventCycle eventCycle = EasyMock.createNiceMock(EventCycle.class);
+		EasyMock.expect(eventCycle.getTags()).andReturn(tags).anyTimes();
+		EasyMock.expect(eventCycle.getLastEventCycleTags()).andReturn(new HashSet<Tag>()).anyTimes();
+		EasyMock.replay(eventCycle);
+		
+		for (ECReportSpec reportSpec : spec.getReportSpecs().getReportSpec()) {
+			if (reportName.equals(reportSpec.getReportName())) {
+				return new Report(reportSpec, eventCycle);
+			}
+		}
+		throw new IllegalArgumentException("no report " + reportName);
+	}
+	
+	/**
+	 * create stamped SGTIN-96 tags with alternating filter values 1 and 3.
+	 */
+	private Set<Tag> createTags() {
+		Set<Tag> tags = new HashSet<Tag>();
+		for (int i=0; i<NUMBER_OF_TAGS; i++) {
+			int filter = (i % 2 == 0) ? 1 : 3;
+			String binary = toBinary(48, 8) + toBinary(filter, 3) + toBinary(5, 3) + toBinary(37000, 24) + toBinary(30241, 20) + toBinary(i + 1, 38);
+			Tag tag = new Tag("reader");
+			tag.setTagAsBinary(binary);
+			tag.setTagIDAsPureURI(String.format("urn:epc:tag:sgtin-96:%d.0037000.030241.%d", filter, i + 1));
+			tag.setTagLength("96");
+			tag.setFilter("" + filter);
+			tag.setCompanyPrefixLength("7");
+			tag.setDecodeNanos(TagFlow.stamp());
+			tag.setInsertNanos(TagFlow.stamp());
+			tags.add(tag);
+		}
+		return tags;
+	}
+	
+	private String toBinary(long value, int bits) {
+		StringBuilder binary = new StringBuilder(Long.toBinaryString(value));
+		while (binary.length() < bits) {
+			binary.insert(0, '0');
+		}
+		return binary.toString();
+	}
+}
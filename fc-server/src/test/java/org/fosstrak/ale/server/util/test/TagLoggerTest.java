@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2026 the Fosstrak contributors
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.ale.server.util.test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.Assert;
+
+import org.apache.log4j.AppenderSkeleton;
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.apache.log4j.spi.LoggingEvent;
+import org.fosstrak.ale.server.Tag;
+import org.fosstrak.ale.server.util.TagLogger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * test the logging facade of the per-tag code paths.
+ * 
+ * @author agent
+ *
+ */
+public class TagLoggerTest {
+	
+	/** collects the messages of the sampled trace. */
+	private final List<String> sampled = new ArrayList<String>();
+	
+	private final AppenderSkeleton appender = new AppenderSkeleton() {
+		@Override
+		protected void append(LoggingEvent event) {
+			sampled.add(event.getRenderedMessage());
+		}
+		
+		public boolean requiresLayout() {
+			return false;
+		}
+		
+		public void close() {
+		}
+	};
+	
+	private Level level;
+	
+	@Before
+	public void setUp() {
+		level = Logger.getLogger(TagLoggerTest.class).getLevel();
+		Logger.getLogger(TagLoggerTest.class).setLevel(Level.INFO);
+		Logger.getLogger(TagLogger.SAMPLE_CATEGORY).addAppender(appender);
+	}
+	
+	@After
+	public void tearDown() {
+		TagLogger.setSampleRate(0);
+		Logger.getLogger(TagLoggerTest.class).setLevel(level);
+		Logger.getLogger(TagLogger.SAMPLE_CATEGORY).removeAppender(appender);
+	}
+	
+	/**
+	 * a tag counting the accesses to its id.
+	 */
+	private static final class CountingTag extends Tag {
+		
+		private final AtomicInteger accesses = new AtomicInteger();
+		
+		private CountingTag(String pureURI) {
+			setTagIDAsPureURI(pureURI);
+		}
+		
+		@Override
+		public String getTagIDAsPureURI() {
+			accesses.incrementAndGet();
+			return super.getTagIDAsPureURI();
+		}
+	}
+	
+	/**
+	 * test that nothing is built when neither debug nor the sampled trace is enabled.
+	 */
+	@Test
+	public void testDisabled() {
+		TagLogger logger = TagLogger.getLogger(TagLoggerTest.class);
+		CountingTag tag = new CountingTag("urn:epc:id:sgtin:1234567.123456.1");
+		
+		Assert.assertFalse(logger.isEnabled());
+		logger.tag("event", tag, "context", "detail");
+		logger.debug("part1", tag, "part3");
+		Assert.assertEquals(0, tag.accesses.get());
+		Assert.assertTrue(sampled.isEmpty());
+	}
+	
+	/**
+	 * test that the sampled trace selects the same tags on every call and roughly one in N.
+	 */
+	@Test
+	public void testSampling() {
+		TagLogger logger = TagLogger.getLogger(TagLoggerTest.class);
+		TagLogger.setSampleRate(1);
+		Assert.assertTrue(logger.isEnabled());
+		logger.tag("event", new CountingTag("urn:epc:id:sgtin:1234567.123456.1"), "reader", "group");
+		Assert.assertEquals(1, sampled.size());
+		Assert.assertEquals("TagLoggerTest: event 'urn:epc:id:sgtin:1234567.123456.1' [reader] [group]", sampled.get(0));
+		
+		final int rate = 10;
+		final int tags = 10000;
+		TagLogger.setSampleRate(rate);
+		int selected = 0;
+		for (int i = 0; i < tags; i++) {
+			Tag tag = new CountingTag("urn:epc:id:sgtin:1234567.123456." + i);
+			boolean first = TagLogger.isSampled(tag);
+			Assert.assertEquals(first, TagLogger.isSampled(tag));
+			if (first) {
+				selected++;
+			}
+		}
+		Assert.assertTrue("selected " + selected, (selected > tags / rate / 2) && (selected < tags / rate * 2));
+		
+		TagLogger.setSampleRate(0);
+		Assert.assertFalse(TagLogger.isSampled(new CountingTag("urn:epc:id:sgtin:1234567.123456.1")));
+	}
+}